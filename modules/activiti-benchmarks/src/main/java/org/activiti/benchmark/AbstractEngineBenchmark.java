@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.repository.DeploymentBuilder;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class for benchmarks that need a process engine: builds an in-memory H2 engine once per trial
+ * (see {@link BenchmarkProcessEngineConfiguration}) and closes it again at the end of the trial.
+ * 
+ * The history level can be changed from the command line, eg. <code>-p history=full</code>.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractEngineBenchmark {
+
+  @Param({ "audit" })
+  public String history;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ProcessEngine processEngine;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Setup(Level.Trial)
+  public void buildProcessEngine() {
+    BenchmarkProcessEngineConfiguration configuration = new BenchmarkProcessEngineConfiguration(getClass().getSimpleName());
+    configuration.setHistory(history);
+    configure(configuration);
+
+    processEngine = configuration.buildProcessEngine();
+    processEngineConfiguration = configuration;
+    repositoryService = processEngine.getRepositoryService();
+    runtimeService = processEngine.getRuntimeService();
+    taskService = processEngine.getTaskService();
+    managementService = processEngine.getManagementService();
+
+    deploy();
+  }
+
+  @TearDown(Level.Trial)
+  public void closeProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+      processEngine = null;
+    }
+  }
+
+  /**
+   * Hook to tweak the engine configuration before the engine is built.
+   */
+  protected void configure(ProcessEngineConfigurationImpl configuration) {
+  }
+
+  /**
+   * Hook to deploy the process definitions needed by the benchmark.
+   */
+  protected abstract void deploy();
+
+  protected void deployClasspathResources(String... resources) {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment().name(getClass().getSimpleName());
+    for (String resource : resources) {
+      deploymentBuilder.addClasspathResource(resource);
+    }
+    deploymentBuilder.deploy();
+  }
+
+  /**
+   * Removes all running process instances, so the runtime tables don't keep growing between iterations.
+   */
+  protected void deleteProcessInstances() {
+    StatementCounters statementCounters = StatementCounters.suspend();
+    try {
+      for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+        runtimeService.deleteProcessInstance(processInstance.getId(), null);
+      }
+    } finally {
+      StatementCounters.resume(statementCounters);
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the acquisition (select + lock) and execution of async jobs, the way the
+ * {@link org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor} does it, but synchronously on the benchmark thread.
+ * 
+ * The jobs are created when the iteration is set up, by starting {@link #BATCH_SIZE} process instances
+ * that stop at an asynchronous service task.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = AsyncJobBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = AsyncJobBenchmark.BATCH_SIZE)
+@Fork(1)
+public class AsyncJobBenchmark extends AbstractEngineBenchmark {
+
+  public static final int BATCH_SIZE = 200;
+
+  protected AsyncExecutor asyncExecutor;
+
+  @Override
+  protected void deploy() {
+    deployClasspathResources("org/activiti/benchmark/asyncServiceTaskProcess.bpmn20.xml");
+    asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+  }
+
+  @Setup(Level.Iteration)
+  public void createJobs() {
+    StatementCounters statementCounters = StatementCounters.suspend();
+    try {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+      }
+    } finally {
+      StatementCounters.resume(statementCounters);
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void cleanRuntimeData() {
+    deleteProcessInstances();
+  }
+
+  @Benchmark
+  public int acquireAndExecuteJobs(StatementCounters statementCounters) {
+    AcquiredJobEntities acquiredJobs = processEngineConfiguration.getCommandExecutor().execute(new AcquireJobsCmd(asyncExecutor));
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      new ExecuteAsyncRunnable(job, processEngineConfiguration).run();
+    }
+    return acquiredJobs.size();
+  }
+
+}
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.io.Reader;
+import java.util.Properties;
+
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * In-memory H2 engine configuration used by all benchmarks.
+ * 
+ * Every benchmark gets its own database, the async executor is never activated (jobs are executed on the benchmark thread)
+ * and every MyBatis statement passes through the {@link StatementCountingInterceptor}.
+ */
+public class BenchmarkProcessEngineConfiguration extends StandaloneInMemProcessEngineConfiguration {
+
+  public BenchmarkProcessEngineConfiguration(String databaseName) {
+    this.jdbcUrl = "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=1000";
+    this.processEngineName = databaseName;
+    this.asyncExecutorActivate = false;
+  }
+
+  @Override
+  public Configuration initMybatisConfiguration(Environment environment, Reader reader, Properties properties) {
+    Configuration configuration = super.initMybatisConfiguration(environment, reader, properties);
+    configuration.addInterceptor(new StatementCountingInterceptor());
+    return configuration;
+  }
+
+}
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DbSqlSession#flush()} for a number of inserted, updated and deleted entities.
+ * 
+ * {@link ByteArrayEntity} is used as it has no dependencies on other entities and has a revision
+ * (so the optimistic locking checks are part of the measurement).
+ * Runs with and without the JDBC batch flush mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DbSqlSessionFlushBenchmark extends AbstractEngineBenchmark {
+
+  @Param({ "1", "10", "100" })
+  public int entityCount;
+
+  @Param({ "false", "true" })
+  public boolean jdbcBatchFlush;
+
+  protected byte[] bytes = new byte[256];
+  protected List<String> existingIds;
+  protected byte counter;
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl configuration) {
+    configuration.setJdbcBatchFlushEnabled(jdbcBatchFlush);
+  }
+
+  @Override
+  protected void deploy() {
+    existingIds = managementService.executeCommand(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        List<String> ids = new ArrayList<String>(entityCount);
+        for (ByteArrayEntity byteArray : insertByteArrays(commandContext)) {
+          ids.add(byteArray.getId());
+        }
+        return ids;
+      }
+    });
+  }
+
+  /**
+   * Inserts the entities and flushes, then deletes them again and flushes a second time.
+   */
+  @Benchmark
+  public void flushInsertsAndDeletes(StatementCounters statementCounters) {
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DbSqlSession dbSqlSession = commandContext.getDbSqlSession();
+        List<ByteArrayEntity> byteArrays = insertByteArrays(commandContext);
+        dbSqlSession.flush();
+
+        ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+        for (ByteArrayEntity byteArray : byteArrays) {
+          byteArrayEntityManager.delete(byteArray, false);
+        }
+        dbSqlSession.flush();
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Loads the existing entities, changes them and flushes the updates.
+   */
+  @Benchmark
+  public void flushUpdates(StatementCounters statementCounters) {
+    final byte[] changedBytes = new byte[bytes.length];
+    changedBytes[0] = ++counter; // the persistent state compares the content of the bytes
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+        for (String id : existingIds) {
+          ByteArrayEntity byteArray = byteArrayEntityManager.findById(id);
+          byteArray.setBytes(changedBytes);
+        }
+        commandContext.getDbSqlSession().flush();
+        return null;
+      }
+    });
+  }
+
+  protected List<ByteArrayEntity> insertByteArrays(CommandContext commandContext) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    List<ByteArrayEntity> byteArrays = new ArrayList<ByteArrayEntity>(entityCount);
+    for (int i = 0; i < entityCount; i++) {
+      ByteArrayEntity byteArray = byteArrayEntityManager.create();
+      byteArray.setName("benchmark-" + i);
+      byteArray.setBytes(bytes);
+      byteArrayEntityManager.insert(byteArray, false);
+      byteArrays.add(byteArray);
+    }
+    return byteArrays;
+  }
+
+}
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.ExclusiveGateway;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.Gateway;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.ManualTask;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link org.activiti.engine.impl.agenda.DefaultActivitiEngineAgenda} loop for a process that forks
+ * into a number of branches through a gateway and joins them again, all within the start transaction.
+ * 
+ * For the exclusive gateway, only the last outgoing sequence flow has a condition that evaluates to true, so every
+ * condition is evaluated. For the inclusive gateway, all conditions evaluate to true.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GatewayFanOutBenchmark extends AbstractEngineBenchmark {
+
+  protected static final String PROCESS_KEY = "gatewayFanOutProcess";
+
+  @Param({ "parallel", "inclusive", "exclusive" })
+  public String gatewayType;
+
+  @Param({ "2", "10", "50" })
+  public int branches;
+
+  protected Map<String, Object> variables;
+
+  @Override
+  protected void deploy() {
+    repositoryService.createDeployment()
+        .name(getClass().getSimpleName())
+        .addBpmnModel(PROCESS_KEY + ".bpmn20.xml", createFanOutModel())
+        .deploy();
+
+    variables = Collections.<String, Object> singletonMap("branch", branches - 1);
+  }
+
+  @Benchmark
+  public ProcessInstance startFanOutProcess(StatementCounters statementCounters) {
+    return runtimeService.startProcessInstanceByKey(PROCESS_KEY, variables);
+  }
+
+  protected BpmnModel createFanOutModel() {
+    Process process = new Process();
+    process.setId(PROCESS_KEY);
+
+    StartEvent startEvent = new StartEvent();
+    startEvent.setId("theStart");
+    process.addFlowElement(startEvent);
+
+    Gateway fork = createGateway("fork");
+    process.addFlowElement(fork);
+    process.addFlowElement(createSequenceFlow("flowToFork", startEvent, fork, null));
+
+    Gateway join = createGateway("join");
+    process.addFlowElement(join);
+
+    for (int i = 0; i < branches; i++) {
+      ManualTask manualTask = new ManualTask();
+      manualTask.setId("branch" + i);
+      process.addFlowElement(manualTask);
+      process.addFlowElement(createSequenceFlow("forkFlow" + i, fork, manualTask, createCondition(i)));
+      process.addFlowElement(createSequenceFlow("joinFlow" + i, manualTask, join, null));
+    }
+
+    EndEvent endEvent = new EndEvent();
+    endEvent.setId("theEnd");
+    process.addFlowElement(endEvent);
+    process.addFlowElement(createSequenceFlow("flowToEnd", join, endEvent, null));
+
+    BpmnModel bpmnModel = new BpmnModel();
+    bpmnModel.addProcess(process);
+    return bpmnModel;
+  }
+
+  protected Gateway createGateway(String id) {
+    Gateway gateway = null;
+    if ("parallel".equals(gatewayType)) {
+      gateway = new ParallelGateway();
+    } else if ("inclusive".equals(gatewayType)) {
+      gateway = new InclusiveGateway();
+    } else {
+      gateway = new ExclusiveGateway();
+    }
+    gateway.setId(id);
+    return gateway;
+  }
+
+  protected String createCondition(int branch) {
+    if ("inclusive".equals(gatewayType)) {
+      return "${branch >= 0}";
+    } else if ("exclusive".equals(gatewayType)) {
+      return "${branch == " + branch + "}";
+    }
+    return null;
+  }
+
+  protected SequenceFlow createSequenceFlow(String id, FlowElement source, FlowElement target, String condition) {
+    SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+    sequenceFlow.setId(id);
+    sequenceFlow.setConditionExpression(condition);
+    return sequenceFlow;
+  }
+
+}
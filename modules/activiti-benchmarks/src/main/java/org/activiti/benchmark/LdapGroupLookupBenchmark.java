@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.NamingException;
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.InitialDirContext;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.ldap.LDAPConfigurator;
+import org.activiti.ldap.LDAPConnectionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.ldap.server.ApacheDSContainer;
+
+/**
+ * Measures fetching the groups of a user through the {@link LDAPConfigurator}, against an embedded ApacheDS server 
+ * that is started for every trial. The group cache is disabled, so every lookup does the LDAP searches.
+ * 
+ * Compares a new connection per call with pooled connections (<code>-p connectionPoolSize=0,4</code>) and plain with 
+ * paged searches (<code>-p searchPageSize=0,50</code>). The user is a member of groupCount groups.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class LdapGroupLookupBenchmark extends AbstractEngineBenchmark {
+
+  public static final int LDAP_PORT = 33390;
+  public static final String USER_DN = "uid=kermit,ou=users,o=activiti";
+
+  @Param({ "0", "4" })
+  public int connectionPoolSize;
+
+  @Param({ "0", "50" })
+  public int searchPageSize;
+
+  @Param({ "200" })
+  public int groupCount;
+
+  protected ApacheDSContainer ldapServer;
+
+  @Override
+  protected void configure(ProcessEngineConfigurationImpl configuration) {
+    LDAPConfigurator ldapConfigurator = new LDAPConfigurator();
+    ldapConfigurator.setServer("ldap://localhost");
+    ldapConfigurator.setPort(LDAP_PORT);
+    ldapConfigurator.setUser("uid=admin,ou=users,o=activiti");
+    ldapConfigurator.setPassword("pass");
+
+    ldapConfigurator.setBaseDn("o=activiti");
+    ldapConfigurator.setQueryUserByUserId("(&(objectClass=inetOrgPerson)(uid={0}))");
+    ldapConfigurator.setQueryGroupsForUser("(&(objectClass=groupOfUniqueNames)(uniqueMember={0}))");
+    ldapConfigurator.setUserIdAttribute("uid");
+    ldapConfigurator.setUserFirstNameAttribute("cn");
+    ldapConfigurator.setUserLastNameAttribute("sn");
+    ldapConfigurator.setGroupIdAttribute("uid");
+    ldapConfigurator.setGroupNameAttribute("cn");
+
+    ldapConfigurator.setConnectionPoolSize(connectionPoolSize);
+    ldapConfigurator.setSearchPageSize(searchPageSize);
+
+    startLdapServer(ldapConfigurator);
+    configuration.addConfigurator(ldapConfigurator);
+  }
+
+  protected void startLdapServer(LDAPConfigurator ldapConfigurator) {
+    try {
+      ldapServer = new ApacheDSContainer("o=activiti", "classpath:org/activiti/benchmark/ldap-users.ldif");
+      ldapServer.setPort(LDAP_PORT);
+      ldapServer.afterPropertiesSet();
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not start the embedded LDAP server", e);
+    }
+
+    InitialDirContext context = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+    try {
+      for (int i = 0; i < groupCount; i++) {
+        BasicAttributes attributes = new BasicAttributes(true);
+        BasicAttribute objectClass = new BasicAttribute("objectClass");
+        objectClass.add("groupOfUniqueNames");
+        objectClass.add("top");
+        attributes.put(objectClass);
+        attributes.put("cn", "Group " + i);
+        attributes.put("uid", "group" + i);
+        attributes.put("uniqueMember", USER_DN);
+        context.createSubcontext("cn=Group " + i + ",ou=groups,o=activiti", attributes);
+      }
+    } catch (NamingException e) {
+      throw new IllegalStateException("Could not create the groups in the embedded LDAP server", e);
+    } finally {
+      LDAPConnectionUtil.closeDirectoryContext(context);
+    }
+  }
+
+  @Override
+  protected void deploy() {
+  }
+
+  @TearDown(Level.Trial)
+  public void stopLdapServer() throws Exception {
+    if (ldapServer != null) {
+      ldapServer.destroy();
+      ldapServer = null;
+    }
+  }
+
+  @Benchmark
+  public List<Group> findGroupsByUser() {
+    return processEngine.getIdentityService().createGroupQuery().groupMember("kermit").list();
+  }
+
+}
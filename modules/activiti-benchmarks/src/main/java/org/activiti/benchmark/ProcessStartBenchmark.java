@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link org.activiti.engine.RuntimeService#startProcessInstanceByKey(String)},
+ * both for a process that runs to its end in one transaction and for one that stops in a user task.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ProcessStartBenchmark extends AbstractEngineBenchmark {
+
+  @Override
+  protected void deploy() {
+    deployClasspathResources("org/activiti/benchmark/straightThroughProcess.bpmn20.xml", 
+        "org/activiti/benchmark/oneTaskProcess.bpmn20.xml");
+  }
+
+  @TearDown(Level.Iteration)
+  public void cleanRuntimeData() {
+    deleteProcessInstances();
+  }
+
+  @Benchmark
+  public ProcessInstance startStraightThroughProcess(StatementCounters statementCounters) {
+    return runtimeService.startProcessInstanceByKey("straightThroughProcess");
+  }
+
+  @Benchmark
+  public ProcessInstance startProcessToUserTask(StatementCounters statementCounters) {
+    return runtimeService.startProcessInstanceByKey("oneTaskProcess");
+  }
+
+}
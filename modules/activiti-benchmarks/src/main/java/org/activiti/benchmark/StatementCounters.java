@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-thread SQL statement counters, reported by JMH next to the primary benchmark result.
+ * 
+ * The counters are filled by the {@link StatementCountingInterceptor}, which is plugged into the MyBatis configuration of
+ * the benchmarked engine. Only statements issued on the benchmark thread itself are counted, which is why the benchmarks
+ * execute jobs synchronously instead of through the async executor thread pool.
+ * 
+ * Divide a counter by the number of operations of the same iteration to get the statements per operation.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StatementCounters {
+
+  protected static final ThreadLocal<StatementCounters> CURRENT = new ThreadLocal<StatementCounters>();
+
+  public long selects;
+  public long inserts;
+  public long updates;
+  public long deletes;
+
+  @Setup(Level.Iteration)
+  public void bind() {
+    selects = 0;
+    inserts = 0;
+    updates = 0;
+    deletes = 0;
+    CURRENT.set(this);
+  }
+
+  @TearDown(Level.Iteration)
+  public void unbind() {
+    CURRENT.remove();
+  }
+
+  public long statements() {
+    return selects + inserts + updates + deletes;
+  }
+
+  public static StatementCounters current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Stops counting on the current thread, eg. while benchmark fixtures are created.
+   * Returns the counters that were bound, to be passed to {@link #resume(StatementCounters)}.
+   */
+  public static StatementCounters suspend() {
+    StatementCounters statementCounters = CURRENT.get();
+    CURRENT.remove();
+    return statementCounters;
+  }
+
+  public static void resume(StatementCounters statementCounters) {
+    if (statementCounters != null) {
+      CURRENT.set(statementCounters);
+    }
+  }
+
+  public void count(SqlCommandType sqlCommandType) {
+    switch (sqlCommandType) {
+    case SELECT:
+      selects++;
+      break;
+    case INSERT:
+      inserts++;
+      break;
+    case UPDATE:
+      updates++;
+      break;
+    case DELETE:
+      deletes++;
+      break;
+    default:
+      break;
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.Properties;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * MyBatis plugin that counts every mapped statement executed on the current thread
+ * into the {@link StatementCounters} bound to that thread (if any).
+ * 
+ * A bulk insert counts as one statement, as it is one round trip to the database.
+ */
+@Intercepts({
+  @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+  @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class })
+})
+public class StatementCountingInterceptor implements Interceptor {
+
+  public Object intercept(Invocation invocation) throws Throwable {
+    StatementCounters statementCounters = StatementCounters.current();
+    if (statementCounters != null) {
+      MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+      statementCounters.count(mappedStatement.getSqlCommandType());
+    }
+    return invocation.proceed();
+  }
+
+  public Object plugin(Object target) {
+    return Plugin.wrap(target, this);
+  }
+
+  public void setProperties(Properties properties) {
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.task.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link org.activiti.engine.TaskService#complete(String, Map)}, optionally passing variables.
+ * 
+ * Every task can only be completed once, so each iteration is a single shot of {@link #BATCH_SIZE} completions
+ * of tasks that were created (outside of the measurement) when the iteration was set up.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = TaskCompleteBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = TaskCompleteBenchmark.BATCH_SIZE)
+@Fork(1)
+public class TaskCompleteBenchmark extends AbstractEngineBenchmark {
+
+  public static final int BATCH_SIZE = 500;
+
+  @Param({ "0", "10" })
+  public int variableCount;
+
+  protected Map<String, Object> variables;
+  protected Deque<String> taskIds = new ArrayDeque<String>();
+
+  @Override
+  protected void deploy() {
+    deployClasspathResources("org/activiti/benchmark/oneTaskProcess.bpmn20.xml");
+
+    variables = new HashMap<String, Object>();
+    for (int i = 0; i < variableCount; i++) {
+      variables.put("var" + i, "value" + i);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createTasks() {
+    StatementCounters statementCounters = StatementCounters.suspend();
+    try {
+      taskIds.clear();
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+      }
+      for (Task task : taskService.createTaskQuery().list()) {
+        taskIds.add(task.getId());
+      }
+    } finally {
+      StatementCounters.resume(statementCounters);
+    }
+  }
+
+  @Benchmark
+  public void completeTask(StatementCounters statementCounters) {
+    taskService.complete(taskIds.poll(), variables);
+  }
+
+}
@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures variable access through {@link org.activiti.engine.impl.persistence.entity.VariableScopeImpl}, in a command of its own (so including
+ * the loading of the variable instances and, for updates, the flush).
+ * 
+ * Reading a variable through the task walks up to the parent scope (the process instance).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class VariableScopeBenchmark extends AbstractEngineBenchmark {
+
+  @Param({ "1", "20" })
+  public int variableCount;
+
+  protected String processInstanceId;
+  protected String taskId;
+  protected long counter;
+
+  @Override
+  protected void deploy() {
+    deployClasspathResources("org/activiti/benchmark/oneTaskProcess.bpmn20.xml");
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < variableCount; i++) {
+      variables.put("var" + i, "value" + i);
+    }
+    variables.put("counter", 0L);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    processInstanceId = processInstance.getId();
+    taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+  }
+
+  @Benchmark
+  public Object getExecutionVariable(StatementCounters statementCounters) {
+    return managementService.executeCommand(new Command<Object>() {
+      public Object execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstanceId);
+        return execution.getVariable("var0");
+      }
+    });
+  }
+
+  @Benchmark
+  public Object getVariableThroughTask(StatementCounters statementCounters) {
+    return managementService.executeCommand(new Command<Object>() {
+      public Object execute(CommandContext commandContext) {
+        TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+        return task.getVariable("var0");
+      }
+    });
+  }
+
+  @Benchmark
+  public Object getAllVariables(StatementCounters statementCounters) {
+    return managementService.executeCommand(new Command<Object>() {
+      public Object execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstanceId);
+        return execution.getVariables();
+      }
+    });
+  }
+
+  @Benchmark
+  public void setExecutionVariable(StatementCounters statementCounters) {
+    final long value = ++counter;
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstanceId);
+        execution.setVariable("counter", value);
+        return null;
+      }
+    });
+  }
+
+}
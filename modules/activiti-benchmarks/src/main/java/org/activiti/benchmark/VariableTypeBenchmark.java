@@ -0,0 +1,153 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.variable.CompactJsonType;
+import org.activiti.engine.impl.variable.CompactSerializableType;
+import org.activiti.engine.impl.variable.LongJsonType;
+import org.activiti.engine.impl.variable.SerializableType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures serializing and deserializing an order document with the byte array backed variable types: 
+ * {@link SerializableType} and {@link LongJsonType} against their compact counterparts.
+ * 
+ * No engine is involved, only the conversion between the value and the bytes stored in ACT_GE_BYTEARRAY.
+ * The stored size is reported through the {@link SizeCounters} secondary result: divide it by the number of 
+ * operations of the same iteration to get the bytes per value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class VariableTypeBenchmark {
+
+  @Param({ "serializable", "compactSerializable", "longJson", "compactJson" })
+  public String type;
+
+  @Param({ "50", "500" })
+  public int payloadKiloBytes;
+
+  protected SerializableType variableType;
+  protected Object value;
+  protected byte[] bytes;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    int lineCount = payloadKiloBytes * 1024 / 64;
+
+    if ("serializable".equals(type)) {
+      variableType = new SerializableType(false);
+    } else if ("compactSerializable".equals(type)) {
+      variableType = new CompactSerializableType(false, 1024);
+    } else if ("longJson".equals(type)) {
+      variableType = new LongJsonType(0, objectMapper);
+    } else if ("compactJson".equals(type)) {
+      variableType = new CompactJsonType(0, objectMapper, 1024);
+    } else {
+      throw new IllegalArgumentException("Unknown variable type " + type);
+    }
+
+    if (variableType instanceof LongJsonType) {
+      value = createJsonOrder(objectMapper, lineCount);
+    } else {
+      value = createSerializableOrder(lineCount);
+    }
+    bytes = variableType.serialize(value, null);
+  }
+
+  @Benchmark
+  public byte[] serialize(SizeCounters sizeCounters) {
+    byte[] serializedBytes = variableType.serialize(value, null);
+    sizeCounters.storedBytes += serializedBytes.length;
+    return serializedBytes;
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return variableType.deserialize(bytes, null);
+  }
+
+  protected HashMap<String, Object> createSerializableOrder(int lineCount) {
+    HashMap<String, Object> order = new HashMap<String, Object>();
+    order.put("orderId", "order-1");
+    order.put("customer", "customer-1");
+    List<HashMap<String, Object>> lines = new ArrayList<HashMap<String, Object>>();
+    for (int i = 0; i < lineCount; i++) {
+      HashMap<String, Object> line = new HashMap<String, Object>();
+      line.put("product", "product-" + (i % 100));
+      line.put("description", "Description of product " + (i % 100));
+      line.put("quantity", i % 10);
+      line.put("price", (i % 100) * 1.5d);
+      lines.add(line);
+    }
+    order.put("lines", lines);
+    return order;
+  }
+
+  protected ObjectNode createJsonOrder(ObjectMapper objectMapper, int lineCount) {
+    ObjectNode order = objectMapper.createObjectNode();
+    order.put("orderId", "order-1");
+    order.put("customer", "customer-1");
+    ArrayNode lines = order.putArray("lines");
+    for (int i = 0; i < lineCount; i++) {
+      ObjectNode line = lines.addObject();
+      line.put("product", "product-" + (i % 100));
+      line.put("description", "Description of product " + (i % 100));
+      line.put("quantity", i % 10);
+      line.put("price", (i % 100) * 1.5d);
+    }
+    return order;
+  }
+
+  /**
+   * Per-thread total of the stored bytes of the serialized values.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class SizeCounters {
+
+    public long storedBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      storedBytes = 0;
+    }
+
+  }
+
+}
@@ -22,6 +22,7 @@ import javax.el.MapELResolver;
 import org.activiti.cdi.impl.el.CdiResolver;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.el.LazyJsonELResolver;
 import org.activiti.engine.impl.el.VariableScopeElResolver;
 
 /**
@@ -49,6 +50,7 @@ public class CdiExpressionManager extends ExpressionManager {
     compositeElResolver.add(new ArrayELResolver());
     compositeElResolver.add(new ListELResolver());
     compositeElResolver.add(new MapELResolver());
+    compositeElResolver.add(new LazyJsonELResolver());
     compositeElResolver.add(new BeanELResolver());
     return compositeElResolver;
   }
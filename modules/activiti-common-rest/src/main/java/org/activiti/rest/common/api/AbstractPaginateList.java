@@ -18,7 +18,10 @@ import java.util.Map;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.impl.AbstractQuery;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.query.KeysetQuery;
 import org.activiti.engine.query.Query;
+import org.activiti.engine.query.QueryCursor;
 import org.activiti.engine.query.QueryProperty;
 
 /**
@@ -26,9 +29,16 @@ import org.activiti.engine.query.QueryProperty;
  */
 public abstract class AbstractPaginateList {
 
+  public static final String PAGING_OFFSET = "offset";
+  public static final String PAGING_KEYSET = "keyset";
+
   /**
    * uses the pagination parameters form the request and makes sure to order the result and set all pagination attributes for the response to render
    * 
+   * Lists are paged by offset (start and size) unless a continuation token is passed as 'after' parameter, or 'paging' is 'keyset': 
+   * the page then starts after the last row of the previous page and the response holds the token for the next page. The 
+   * total is only counted with keyset paging when 'includeTotal' is true, and can be skipped with offset paging the same way.
+   * 
    * @param req
    *          The request containing the pagination parameters
    * @param query
@@ -65,6 +75,18 @@ public abstract class AbstractPaginateList {
       paginateRequest.setSort(requestParams.get("sort"));
     }
 
+    if (paginateRequest.getAfter() == null) {
+      paginateRequest.setAfter(requestParams.get("after"));
+    }
+
+    if (paginateRequest.getPaging() == null) {
+      paginateRequest.setPaging(requestParams.get("paging"));
+    }
+
+    if (paginateRequest.getIncludeTotal() == null && requestParams.get("includeTotal") != null) {
+      paginateRequest.setIncludeTotal(RequestUtil.getBoolean(requestParams, "includeTotal", true));
+    }
+
     // Use defaults for paging, if not set in the PaginationRequest, nor in
     // the URL
     Integer start = paginateRequest.getStart();
@@ -102,18 +124,53 @@ public abstract class AbstractPaginateList {
       }
     }
 
+    boolean keysetPaging = paginateRequest.getAfter() != null || PAGING_KEYSET.equals(paginateRequest.getPaging());
+    if (!keysetPaging && paginateRequest.getPaging() != null && !PAGING_OFFSET.equals(paginateRequest.getPaging())) {
+      throw new ActivitiIllegalArgumentException("Value for param 'paging' is not valid : '" + paginateRequest.getPaging() + "', must be '" + PAGING_OFFSET + "' or '" + PAGING_KEYSET + "'");
+    }
+    boolean includeTotal = paginateRequest.getIncludeTotal() != null ? paginateRequest.getIncludeTotal() : !keysetPaging;
+
     // Get result and set pagination parameters
-    List list = processList(query.listPage(start, size));
     DataResponse response = new DataResponse();
-    response.setStart(start);
+    List list = null;
+    if (keysetPaging) {
+      KeysetPage page = listPageAfter(query, paginateRequest.getAfter(), size, sort, order);
+      list = processList(page.getResults());
+      response.setStart(0);
+      if (page.hasNextPage()) {
+        response.setContinuationToken(new ContinuationToken(sort, order, page.getNextCursor()).encode());
+      }
+
+    } else {
+      list = processList(query.listPage(start, size));
+      response.setStart(start);
+    }
+
     response.setSize(list.size());
     response.setSort(sort);
     response.setOrder(order);
-    response.setTotal(query.count());
+    response.setTotal(includeTotal ? query.count() : -1L);
     response.setData(list);
     return response;
   }
 
+  @SuppressWarnings("rawtypes")
+  protected KeysetPage listPageAfter(Query query, String after, int size, String sort, String order) {
+    if (!(query instanceof KeysetQuery)) {
+      throw new ActivitiIllegalArgumentException("Keyset paging is not supported for this list");
+    }
+
+    QueryCursor cursor = null;
+    if (after != null) {
+      ContinuationToken continuationToken = ContinuationToken.decode(after);
+      if (!continuationToken.matches(sort, order)) {
+        throw new ActivitiIllegalArgumentException("The continuation token was created for another sort or order");
+      }
+      cursor = continuationToken.getCursor();
+    }
+    return ((KeysetQuery) query).listPageAfter(cursor, size);
+  }
+
   /**
    * uses the pagination parameters from the request and makes sure to order the result and set all pagination attributes for the response to render
    * 
@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.rest.common.api;
+
+import java.util.Date;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.query.QueryCursor;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * The opaque token that a client passes back to fetch the next page of a list with keyset paging. It holds the 
+ * sort and order the list was requested with and the {@link QueryCursor} of the last row, as URL-safe base64 of 
+ * a small JSON document.
+ */
+public class ContinuationToken {
+
+  protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  protected static final String TYPE_STRING = "string";
+  protected static final String TYPE_INTEGER = "integer";
+  protected static final String TYPE_LONG = "long";
+  protected static final String TYPE_DATE = "date";
+
+  protected String sort;
+  protected String order;
+  protected QueryCursor cursor;
+
+  public ContinuationToken(String sort, String order, QueryCursor cursor) {
+    this.sort = sort;
+    this.order = order;
+    this.cursor = cursor;
+  }
+
+  public String encode() {
+    ObjectNode tokenNode = OBJECT_MAPPER.createObjectNode();
+    tokenNode.put("sort", sort);
+    tokenNode.put("order", order);
+    tokenNode.put("id", cursor.getId());
+
+    Object sortValue = cursor.getSortValue();
+    if (sortValue instanceof Date) {
+      tokenNode.put("type", TYPE_DATE);
+      tokenNode.put("value", ((Date) sortValue).getTime());
+    } else if (sortValue instanceof Integer) {
+      tokenNode.put("type", TYPE_INTEGER);
+      tokenNode.put("value", (Integer) sortValue);
+    } else if (sortValue instanceof Long) {
+      tokenNode.put("type", TYPE_LONG);
+      tokenNode.put("value", (Long) sortValue);
+    } else if (sortValue != null) {
+      tokenNode.put("type", TYPE_STRING);
+      tokenNode.put("value", sortValue.toString());
+    }
+
+    try {
+      return Base64Variants.MODIFIED_FOR_URL.encode(OBJECT_MAPPER.writeValueAsBytes(tokenNode));
+    } catch (Exception e) {
+      throw new ActivitiIllegalArgumentException("Could not create continuation token", e);
+    }
+  }
+
+  public static ContinuationToken decode(String token) {
+    JsonNode tokenNode;
+    try {
+      tokenNode = OBJECT_MAPPER.readTree(Base64Variants.MODIFIED_FOR_URL.decode(token));
+    } catch (Exception e) {
+      throw new ActivitiIllegalArgumentException("Invalid continuation token: '" + token + "'", e);
+    }
+    if (tokenNode == null || !tokenNode.hasNonNull("id")) {
+      throw new ActivitiIllegalArgumentException("Invalid continuation token: '" + token + "'");
+    }
+
+    Object sortValue = null;
+    JsonNode valueNode = tokenNode.get("value");
+    if (valueNode != null && !valueNode.isNull()) {
+      String type = tokenNode.path("type").asText();
+      if (TYPE_DATE.equals(type)) {
+        sortValue = new Date(valueNode.asLong());
+      } else if (TYPE_INTEGER.equals(type)) {
+        sortValue = valueNode.asInt();
+      } else if (TYPE_LONG.equals(type)) {
+        sortValue = valueNode.asLong();
+      } else {
+        sortValue = valueNode.asText();
+      }
+    }
+
+    return new ContinuationToken(textOrNull(tokenNode, "sort"), textOrNull(tokenNode, "order"), 
+        new QueryCursor(sortValue, tokenNode.get("id").asText()));
+  }
+
+  protected static String textOrNull(JsonNode node, String fieldName) {
+    JsonNode fieldNode = node.get(fieldName);
+    return fieldNode != null && !fieldNode.isNull() ? fieldNode.asText() : null;
+  }
+
+  /**
+   * @return whether the token was created for a list with the given sort and order.
+   */
+  public boolean matches(String sort, String order) {
+    return (sort == null ? this.sort == null : sort.equals(this.sort)) && (order == null ? this.order == null : order.equals(this.order));
+  }
+
+  public String getSort() {
+    return sort;
+  }
+
+  public String getOrder() {
+    return order;
+  }
+
+  public QueryCursor getCursor() {
+    return cursor;
+  }
+
+}
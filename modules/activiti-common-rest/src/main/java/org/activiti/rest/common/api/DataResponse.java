@@ -13,6 +13,9 @@
 
 package org.activiti.rest.common.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 /**
  * @author Tijs Rademakers
  */
@@ -24,6 +27,7 @@ public class DataResponse {
   String sort;
   String order;
   int size;
+  String continuationToken;
 
   public Object getData() {
     return data;
@@ -73,4 +77,17 @@ public class DataResponse {
   public void setSize(int size) {
     this.size = size;
   }
+
+  /**
+   * @return the token to pass as 'after' parameter to get the next page with keyset paging, 
+   *         or null when there is no next page or the list wasn't paged that way.
+   */
+  @JsonInclude(Include.NON_NULL)
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+  public void setContinuationToken(String continuationToken) {
+    this.continuationToken = continuationToken;
+  }
 }
@@ -29,6 +29,15 @@ public class PaginateRequest {
 
   protected String order;
 
+  /** Continuation token of the previous page, selects keyset paging. */
+  protected String after;
+
+  /** "keyset" selects keyset paging for the first page, "offset" (default) uses start and size. */
+  protected String paging;
+
+  /** Whether the total is counted, which costs an extra query. Defaults to true with offset paging, false with keyset paging. */
+  protected Boolean includeTotal;
+
   public Integer getStart() {
     return start;
   }
@@ -60,4 +69,28 @@ public class PaginateRequest {
   public void setOrder(String order) {
     this.order = order;
   }
+
+  public String getAfter() {
+    return after;
+  }
+
+  public void setAfter(String after) {
+    this.after = after;
+  }
+
+  public String getPaging() {
+    return paging;
+  }
+
+  public void setPaging(String paging) {
+    this.paging = paging;
+  }
+
+  public Boolean getIncludeTotal() {
+    return includeTotal;
+  }
+
+  public void setIncludeTotal(Boolean includeTotal) {
+    this.includeTotal = includeTotal;
+  }
 }
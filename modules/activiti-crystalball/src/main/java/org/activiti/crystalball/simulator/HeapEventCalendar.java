@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.runtime.ClockReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EventCalendar} backed by a binary heap: adding an event and removing the first event take O(log n), where the 
+ * {@link SimpleEventCalendar} scans all events after every removal. Use it for simulations with many scheduled events.
+ * 
+ * Events are ordered by the event comparator. Events that are equal according to the comparator are returned in the order 
+ * in which they were added, the same as the {@link SimpleEventCalendar} does.
+ */
+public class HeapEventCalendar implements EventCalendar {
+
+  private static Logger log = LoggerFactory.getLogger(HeapEventCalendar.class);
+
+  protected PriorityQueue<ScheduledEvent> eventQueue;
+  protected Comparator<SimulationEvent> eventComparator;
+  protected final ClockReader clockReader;
+  protected long sequence;
+
+  public HeapEventCalendar(ClockReader clockReader, Comparator<SimulationEvent> eventComparator) {
+    this.clockReader = clockReader;
+    this.eventComparator = eventComparator;
+    this.eventQueue = new PriorityQueue<ScheduledEvent>(11, new ScheduledEventComparator(eventComparator));
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return eventQueue.isEmpty();
+  }
+
+  @Override
+  public SimulationEvent peekFirstEvent() {
+    ScheduledEvent scheduledEvent = eventQueue.peek();
+    return scheduledEvent != null ? scheduledEvent.event : null;
+  }
+
+  @Override
+  public SimulationEvent removeFirstEvent() {
+    ScheduledEvent scheduledEvent = eventQueue.poll();
+    if (scheduledEvent == null) {
+      return null;
+    }
+
+    SimulationEvent minEvent = scheduledEvent.event;
+    if (minEvent.hasSimulationTime() && minEvent.getSimulationTime() < this.clockReader.getCurrentTime().getTime()) {
+      throw new ActivitiException("Unable to execute event from the past");
+    }
+    return minEvent;
+  }
+
+  @Override
+  public void addEvent(SimulationEvent event) {
+    if (event == null) {
+      throw new ActivitiIllegalArgumentException("Simulation event is null");
+    }
+    log.debug("Scheduling new event [{}]", event);
+    eventQueue.add(new ScheduledEvent(event, sequence++));
+  }
+
+  public void addEvents(Collection<SimulationEvent> simulationEvents) {
+    for (SimulationEvent event : simulationEvents) {
+      addEvent(event);
+    }
+  }
+
+  /**
+   * @return a copy of the scheduled events, in the order in which they will be removed.
+   */
+  @Override
+  public List<SimulationEvent> getEvents() {
+    List<ScheduledEvent> scheduledEvents = new ArrayList<ScheduledEvent>(eventQueue);
+    Collections.sort(scheduledEvents, eventQueue.comparator());
+    List<SimulationEvent> events = new ArrayList<SimulationEvent>(scheduledEvents.size());
+    for (ScheduledEvent scheduledEvent : scheduledEvents) {
+      events.add(scheduledEvent.event);
+    }
+    return events;
+  }
+
+  @Override
+  public void clear() {
+    eventQueue.clear();
+  }
+
+  public int size() {
+    return eventQueue.size();
+  }
+
+  protected static class ScheduledEvent {
+
+    protected final SimulationEvent event;
+    protected final long sequence;
+
+    public ScheduledEvent(SimulationEvent event, long sequence) {
+      this.event = event;
+      this.sequence = sequence;
+    }
+  }
+
+  protected static class ScheduledEventComparator implements Comparator<ScheduledEvent> {
+
+    protected Comparator<SimulationEvent> eventComparator;
+
+    public ScheduledEventComparator(Comparator<SimulationEvent> eventComparator) {
+      this.eventComparator = eventComparator;
+    }
+
+    @Override
+    public int compare(ScheduledEvent o1, ScheduledEvent o2) {
+      int result = eventComparator.compare(o1.event, o2.event);
+      if (result != 0) {
+        return result;
+      }
+      return o1.sequence < o2.sequence ? -1 : (o1.sequence > o2.sequence ? 1 : 0);
+    }
+  }
+
+}
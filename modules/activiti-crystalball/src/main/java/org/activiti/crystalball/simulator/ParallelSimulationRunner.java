@@ -0,0 +1,126 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.delegate.VariableScope;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.FactoryBean;
+
+/**
+ * Executes independent replicas of a simulation run in parallel, eg. to run the same scenario with different random seeds.
+ * 
+ * Every replica is created by the simulation run factory and executed on its own thread, which also keeps the {@link SimulationRunContext}
+ * of the replicas apart. The replicas must not share state: the factory has to create every run with its own process engine (for example 
+ * with the {@link org.activiti.crystalball.simulator.impl.InMemorySimulationProcessEngineFactory}) and its own event calendar, and the 
+ * engines need a clock per thread, like the {@link org.activiti.crystalball.simulator.impl.clock.ThreadLocalClock} with a 
+ * {@link org.activiti.crystalball.simulator.impl.clock.SimulationClockFactory}.
+ */
+public class ParallelSimulationRunner {
+
+  private static Logger log = LoggerFactory.getLogger(ParallelSimulationRunner.class);
+
+  protected FactoryBean<SimulationRun> simulationRunFactory;
+  protected int threadCount;
+
+  public ParallelSimulationRunner(FactoryBean<SimulationRun> simulationRunFactory, int threadCount) {
+    if (threadCount <= 0) {
+      throw new ActivitiIllegalArgumentException("The thread count must be larger than zero");
+    }
+    this.simulationRunFactory = simulationRunFactory;
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Executes one replica for every variable scope, which is passed to {@link SimulationRun#execute(VariableScope)} of the replica, and waits 
+   * until all replicas are done.
+   * 
+   * @throws CrystalballException when a replica failed, after the other replicas are done. The failures of the other replicas are added as suppressed exceptions.
+   */
+  public void execute(List<? extends VariableScope> executions) {
+    if (executions.isEmpty()) {
+      return;
+    }
+
+    BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("activiti-simulation-run-%d").build();
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(threadCount, executions.size()), threadFactory);
+    try {
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      for (int i = 0; i < executions.size(); i++) {
+        futures.add(executorService.submit(new SimulationRunReplica(i, executions.get(i))));
+      }
+
+      CrystalballException failure = null;
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          log.error("Simulation run replica {} failed", i, e.getCause());
+          if (failure == null) {
+            failure = new CrystalballException("Simulation run replica " + i + " failed", e.getCause());
+          } else {
+            failure.addSuppressed(e.getCause());
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new CrystalballException("Interrupted while waiting for the simulation run replicas", e);
+        }
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+
+    } finally {
+      // The threads are not reused for later calls, so nothing stays behind in the thread locals of the simulation
+      executorService.shutdownNow();
+    }
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  protected class SimulationRunReplica implements Runnable {
+
+    protected int replicaIndex;
+    protected VariableScope execution;
+
+    public SimulationRunReplica(int replicaIndex, VariableScope execution) {
+      this.replicaIndex = replicaIndex;
+      this.execution = execution;
+    }
+
+    @Override
+    public void run() {
+      SimulationRun simulationRun;
+      try {
+        simulationRun = simulationRunFactory.getObject();
+      } catch (Exception e) {
+        throw new CrystalballException("Unable to create simulation run replica " + replicaIndex, e);
+      }
+      log.debug("Executing simulation run replica {}", replicaIndex);
+      simulationRun.execute(execution);
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.crystalball.simulator.impl.clock.SimulationClockFactory;
+import org.activiti.crystalball.simulator.impl.clock.ThreadLocalClock;
+import org.activiti.engine.impl.ProcessEngineImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.runtime.Clock;
+import org.springframework.beans.factory.FactoryBean;
+
+/**
+ * Builds every process engine from a new configuration, on its own in-memory H2 database and with a unique name, so 
+ * simulation runs can be executed in parallel without sharing any state (see {@link org.activiti.crystalball.simulator.ParallelSimulationRunner}).
+ * 
+ * All engines use the same clock, by default a {@link ThreadLocalClock} that gives every thread its own simulation time.
+ * Override {@link #configure(ProcessEngineConfigurationImpl)} to customize the configuration of the engines.
+ */
+public class InMemorySimulationProcessEngineFactory implements FactoryBean<ProcessEngineImpl> {
+
+  protected static final AtomicLong ENGINE_COUNTER = new AtomicLong();
+
+  protected Clock clock = new ThreadLocalClock(new SimulationClockFactory());
+  protected String history = "full";
+
+  @Override
+  public ProcessEngineImpl getObject() {
+    long engineNumber = ENGINE_COUNTER.getAndIncrement();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setProcessEngineName("simulationProcessEngine-" + engineNumber);
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:simulation-" + engineNumber);
+    processEngineConfiguration.setClock(clock);
+    processEngineConfiguration.setHistory(history);
+    configure(processEngineConfiguration);
+
+    return (ProcessEngineImpl) processEngineConfiguration.buildProcessEngine();
+  }
+
+  /**
+   * Hook to customize the configuration before the engine is built.
+   */
+  protected void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
+  }
+
+  @Override
+  public Class<?> getObjectType() {
+    return ProcessEngineImpl.class;
+  }
+
+  @Override
+  public boolean isSingleton() {
+    return false;
+  }
+
+  public Clock getClock() {
+    return clock;
+  }
+
+  public void setClock(Clock clock) {
+    this.clock = clock;
+  }
+
+  public String getHistory() {
+    return history;
+  }
+
+  public void setHistory(String history) {
+    this.history = history;
+  }
+
+}
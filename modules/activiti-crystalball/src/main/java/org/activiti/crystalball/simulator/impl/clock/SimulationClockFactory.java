@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator.impl.clock;
+
+import org.activiti.engine.runtime.Clock;
+import org.springframework.beans.factory.FactoryBean;
+
+/**
+ * Factory for {@link SimulationClockImpl}s, to give every thread of a {@link ThreadLocalClock} its own simulation time.
+ */
+public class SimulationClockFactory implements FactoryBean<Clock> {
+
+  @Override
+  public Clock getObject() {
+    return new SimulationClockImpl();
+  }
+
+  @Override
+  public Class<?> getObjectType() {
+    return SimulationClockImpl.class;
+  }
+
+  @Override
+  public boolean isSingleton() {
+    return false;
+  }
+
+}
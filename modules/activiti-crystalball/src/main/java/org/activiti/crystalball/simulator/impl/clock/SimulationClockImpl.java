@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator.impl.clock;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.activiti.engine.impl.util.TimeZoneUtil;
+import org.activiti.engine.runtime.Clock;
+
+/**
+ * Clock that keeps its current time per instance, where the {@link org.activiti.engine.impl.util.DefaultClockImpl} shares 
+ * it between all instances. Created by the {@link SimulationClockFactory} for a {@link ThreadLocalClock}, every simulation 
+ * thread then has its own simulation time.
+ */
+public class SimulationClockImpl implements Clock {
+
+  protected volatile Calendar currentTime;
+
+  @Override
+  public void setCurrentTime(Date currentTime) {
+    Calendar time = null;
+
+    if (currentTime != null) {
+      time = new GregorianCalendar();
+      time.setTime(currentTime);
+    }
+
+    setCurrentCalendar(time);
+  }
+
+  @Override
+  public void setCurrentCalendar(Calendar currentTime) {
+    this.currentTime = currentTime;
+  }
+
+  @Override
+  public void reset() {
+    currentTime = null;
+  }
+
+  @Override
+  public Date getCurrentTime() {
+    Calendar time = currentTime;
+    return time == null ? new Date() : time.getTime();
+  }
+
+  @Override
+  public Calendar getCurrentCalendar() {
+    Calendar time = currentTime;
+    return time == null ? new GregorianCalendar() : (Calendar) time.clone();
+  }
+
+  @Override
+  public Calendar getCurrentCalendar(TimeZone timeZone) {
+    return TimeZoneUtil.convertToTimeZone(getCurrentCalendar(), timeZone);
+  }
+
+  @Override
+  public TimeZone getCurrentTimeZone() {
+    return getCurrentCalendar().getTimeZone();
+  }
+
+}
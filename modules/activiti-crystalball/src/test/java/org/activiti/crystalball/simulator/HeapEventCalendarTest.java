@@ -0,0 +1,133 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.activiti.engine.impl.util.DefaultClockImpl;
+import org.activiti.engine.runtime.Clock;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeapEventCalendarTest {
+
+  protected Comparator<SimulationEvent> comparator = new SimulationEventComparator();
+  protected Clock clock = new DefaultClockImpl();
+
+  @Before
+  public void setUp() {
+    this.clock.setCurrentTime(new Date(0));
+  }
+
+  @Test
+  public void testIsEmpty() throws Exception {
+    EventCalendar calendar = new HeapEventCalendar(clock, comparator);
+    assertTrue(calendar.isEmpty());
+    assertNull(calendar.peekFirstEvent());
+    assertNull(calendar.removeFirstEvent());
+  }
+
+  @Test
+  public void testAddEventsAndRemoveFirst() throws Exception {
+    SimulationEvent event1 = new SimulationEvent.Builder("any type").simulationTime(1).build();
+    SimulationEvent event2 = new SimulationEvent.Builder("any type").simulationTime(2).build();
+    EventCalendar calendar = new HeapEventCalendar(clock, comparator);
+
+    calendar.addEvent(event1);
+    calendar.addEvent(event2);
+    calendar.addEvent(event1);
+
+    assertEquals(event1, calendar.peekFirstEvent());
+    assertEquals(event1, calendar.removeFirstEvent());
+    assertEquals(event1, calendar.removeFirstEvent());
+    assertEquals(event2, calendar.removeFirstEvent());
+    assertTrue(calendar.isEmpty());
+  }
+
+  @Test
+  public void testEqualEventsInInsertionOrder() throws Exception {
+    SimulationEvent first = new SimulationEvent.Builder("first").simulationTime(5).build();
+    SimulationEvent second = new SimulationEvent.Builder("second").simulationTime(5).build();
+    SimulationEvent third = new SimulationEvent.Builder("third").simulationTime(5).build();
+    SimulationEvent systemEvent = new SimulationEvent.Builder("system").simulationTime(5).priority(-1).build();
+    EventCalendar calendar = new HeapEventCalendar(clock, comparator);
+
+    calendar.addEvent(first);
+    calendar.addEvent(second);
+    calendar.addEvent(systemEvent);
+    calendar.addEvent(third);
+
+    assertSame(systemEvent, calendar.removeFirstEvent());
+    assertSame(first, calendar.removeFirstEvent());
+    assertSame(second, calendar.removeFirstEvent());
+    assertSame(third, calendar.removeFirstEvent());
+  }
+
+  @Test
+  public void testSameOrderAsSimpleEventCalendar() throws Exception {
+    HeapEventCalendar heapCalendar = new HeapEventCalendar(clock, comparator);
+    SimpleEventCalendar simpleCalendar = new SimpleEventCalendar(clock, comparator);
+
+    Random random = new Random(42);
+    List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+    for (int i = 0; i < 1000; i++) {
+      events.add(new SimulationEvent.Builder("event" + i).simulationTime(random.nextInt(100)).priority(random.nextInt(3)).build());
+    }
+    heapCalendar.addEvents(events);
+    simpleCalendar.addEvents(events);
+
+    List<SimulationEvent> sortedEvents = new ArrayList<SimulationEvent>(events);
+    Collections.sort(sortedEvents, comparator);
+    assertEquals(sortedEvents, heapCalendar.getEvents());
+    assertEquals(1000, heapCalendar.size());
+
+    while (!simpleCalendar.isEmpty()) {
+      assertSame(simpleCalendar.removeFirstEvent(), heapCalendar.removeFirstEvent());
+    }
+    assertTrue(heapCalendar.isEmpty());
+  }
+
+  @Test
+  public void testClear() throws Exception {
+    SimulationEvent event1 = new SimulationEvent.Builder("any type").simulationTime(1).build();
+    EventCalendar calendar = new HeapEventCalendar(clock, comparator);
+
+    calendar.addEvent(event1);
+
+    calendar.clear();
+    assertTrue(calendar.isEmpty());
+    assertNull(calendar.removeFirstEvent());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testRunEventFromPast() throws Exception {
+    SimulationEvent event1 = new SimulationEvent.Builder("any type").simulationTime(1).build();
+    EventCalendar calendar = new HeapEventCalendar(clock, comparator);
+
+    calendar.addEvent(event1);
+    this.clock.setCurrentTime(new Date(2));
+    calendar.removeFirstEvent();
+    fail("RuntimeException expected");
+  }
+}
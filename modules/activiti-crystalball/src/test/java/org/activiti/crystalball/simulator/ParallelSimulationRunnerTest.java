@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.crystalball.simulator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.activiti.crystalball.simulator.impl.DeployClasspathResourcesEventHandler;
+import org.activiti.crystalball.simulator.impl.InMemorySimulationProcessEngineFactory;
+import org.activiti.crystalball.simulator.impl.StartProcessByKeyEventHandler;
+import org.activiti.engine.ProcessEngines;
+import org.activiti.engine.delegate.VariableScope;
+import org.activiti.engine.impl.el.NoExecutionVariableScope;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelSimulationRunnerTest {
+
+  private static final String USERTASK_PROCESS = "org/activiti/crystalball/simulator/impl/playback/PlaybackProcessStartTest.testUserTask.bpmn20.xml";
+
+  protected RecordingEventHandler recordingEventHandler = new RecordingEventHandler();
+
+  @After
+  public void destroyProcessEngines() {
+    ProcessEngines.destroy();
+  }
+
+  @Test
+  public void testReplicasOnSeparateEngines() throws Exception {
+    List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+    events.add(createEvent("deploy", 1, "resources", Collections.singletonList(USERTASK_PROCESS)));
+    events.add(createEvent("start", 1000, "processDefinitionKey", "oneTaskProcess"));
+    events.add(createEvent("record", 1500, null, null));
+    events.add(createEvent("start", 2000, "processDefinitionKey", "oneTaskProcess"));
+    events.add(createEvent("record", 2500, null, null));
+
+    new ParallelSimulationRunner(createSimulationRunFactory(events), 4).execute(createExecutions(8));
+
+    // Every replica has its own engine, database and simulation time
+    assertEquals(8, recordingEventHandler.getRecords().size());
+    for (List<String> records : recordingEventHandler.getRecords().values()) {
+      assertEquals(Arrays.asList("1500:1", "2500:2"), records);
+    }
+  }
+
+  @Test
+  public void testFailingReplicas() throws Exception {
+    List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+    events.add(createEvent("record", 1000, null, null));
+    events.add(createEvent("fail", 2000, null, null));
+
+    try {
+      new ParallelSimulationRunner(createSimulationRunFactory(events), 2).execute(createExecutions(3));
+      fail("CrystalballException expected");
+    } catch (CrystalballException e) {
+      assertEquals("Simulation run replica 0 failed", e.getMessage());
+      assertEquals(2, e.getSuppressed().length);
+    }
+    assertEquals(3, recordingEventHandler.getRecords().size());
+  }
+
+  protected SimpleSimulationRunFactory createSimulationRunFactory(List<SimulationEvent> events) {
+    Map<String, SimulationEventHandler> handlers = new HashMap<String, SimulationEventHandler>();
+    handlers.put("deploy", new DeployClasspathResourcesEventHandler("resources"));
+    handlers.put("start", new StartProcessByKeyEventHandler("processDefinitionKey", "businessKey", "variables"));
+    handlers.put("record", recordingEventHandler);
+    handlers.put("fail", new FailingEventHandler());
+
+    InMemorySimulationProcessEngineFactory processEngineFactory = new InMemorySimulationProcessEngineFactory();
+
+    SimpleSimulationRunFactory simulationRunFactory = new SimpleSimulationRunFactory();
+    simulationRunFactory.setCustomEventHandlerMap(handlers);
+    simulationRunFactory.setProcessEngine(processEngineFactory);
+    simulationRunFactory.setEventCalendar(new HeapEventCalendarFactory(processEngineFactory.getClock(), new SimulationEventComparator(), events));
+    return simulationRunFactory;
+  }
+
+  protected List<VariableScope> createExecutions(int replicaCount) {
+    List<VariableScope> executions = new ArrayList<VariableScope>();
+    for (int i = 0; i < replicaCount; i++) {
+      executions.add(new NoExecutionVariableScope());
+    }
+    return executions;
+  }
+
+  protected SimulationEvent createEvent(String type, long simulationTime, String propertyName, Object propertyValue) {
+    Map<String, Object> properties = new HashMap<String, Object>();
+    if (propertyName != null) {
+      properties.put(propertyName, propertyValue);
+    }
+    return new SimulationEvent.Builder(type).simulationTime(simulationTime).properties(properties).build();
+  }
+
+  // Records the simulation time and the number of process instances per engine
+  static class RecordingEventHandler implements SimulationEventHandler {
+
+    protected ConcurrentMap<String, List<String>> records = new ConcurrentHashMap<String, List<String>>();
+
+    public void init() {
+    }
+
+    public void handle(SimulationEvent event) {
+      String engineName = SimulationRunContext.getProcessEngine().getName();
+      records.putIfAbsent(engineName, Collections.synchronizedList(new ArrayList<String>()));
+      records.get(engineName).add(SimulationRunContext.getClock().getCurrentTime().getTime() + ":" + SimulationRunContext.getRuntimeService().createProcessInstanceQuery().count());
+    }
+
+    public ConcurrentMap<String, List<String>> getRecords() {
+      return records;
+    }
+  }
+
+  static class FailingEventHandler implements SimulationEventHandler {
+
+    public void init() {
+    }
+
+    public void handle(SimulationEvent event) {
+      throw new RuntimeException("Simulated failure");
+    }
+  }
+
+}
@@ -350,6 +350,14 @@ public class DmnEngineConfiguration {
    */
   protected boolean enableSafeDmnXml;
 
+  /**
+   * Set this to true to analyse FIRST and UNIQUE decision tables on their first execution and build an index on their
+   * equality and numeric range input entries. From then on the index is used to select the candidate rules, so
+   * only those rules are evaluated instead of every rule of the table. The outcome is the same as with the linear
+   * evaluation, but the audit trail only contains the evaluated candidate rules, which is why it is disabled by default.
+   */
+  protected boolean enableDecisionTableIndex;
+
   public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
     return createDmnEngineConfigurationFromResource("activiti.dmn.cfg.xml", "dmnEngineConfiguration");
   }
@@ -1342,6 +1350,15 @@ public class DmnEngineConfiguration {
     return this;
   }
 
+  public boolean isEnableDecisionTableIndex() {
+    return enableDecisionTableIndex;
+  }
+
+  public DmnEngineConfiguration setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    this.enableDecisionTableIndex = enableDecisionTableIndex;
+    return this;
+  }
+
   public Clock getClock() {
     return clock;
   }
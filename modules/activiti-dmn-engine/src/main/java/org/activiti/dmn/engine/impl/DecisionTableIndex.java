@@ -0,0 +1,347 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.activiti.dmn.model.DecisionRule;
+import org.activiti.dmn.model.DecisionTable;
+import org.activiti.dmn.model.HitPolicy;
+import org.activiti.dmn.model.InputClause;
+import org.activiti.dmn.model.OutputClause;
+import org.activiti.dmn.model.RuleInputClauseContainer;
+import org.activiti.dmn.model.RuleOutputClauseContainer;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index on the input entries of a FIRST or UNIQUE decision table, used to select the rules that can match a set of input variables.
+ * 
+ * Only input entries comparing a plain input variable with a literal are indexed: equality with a number or a string and the numeric range operators
+ * <code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code> and <code>&gt;=</code>. A rule that is not selected is a rule for which one of these entries
+ * evaluates to false, every other rule is still a candidate. The candidate rules are evaluated as before, so the index never changes the outcome of a
+ * decision, it only skips rules that cannot match.
+ */
+public class DecisionTableIndex implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final Pattern VARIABLE_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+  protected static final Pattern ENTRY_PATTERN = Pattern.compile("(==|<=|>=|<|>)\\s*(-?\\d+(?:\\.\\d+)?|'[^'\\\\]*'|\"[^\"\\\\]*\")");
+
+  /** Largest integer for which the comparison with a double, as done by MVEL, is exact */
+  protected static final long MAX_EXACT_LONG = 1L << 53;
+
+  protected int ruleCount;
+  protected List<ColumnIndex> columnIndexes;
+
+  /** Set once all input entries of the table are known to compile, see {@link RuleEngineExecutorImpl} */
+  protected volatile boolean inputEntriesCompiled;
+
+  protected DecisionTableIndex(int ruleCount, List<ColumnIndex> columnIndexes) {
+    this.ruleCount = ruleCount;
+    this.columnIndexes = columnIndexes;
+  }
+
+  /**
+   * Analyses the decision table and builds its index.
+   * 
+   * @return the index, or null when the hit policy is not FIRST or UNIQUE or when none of the input entries can be indexed
+   */
+  public static DecisionTableIndex build(DecisionTable decisionTable) {
+    if (decisionTable == null || decisionTable.getRules().isEmpty()) {
+      return null;
+    }
+
+    if (decisionTable.getHitPolicy() != HitPolicy.FIRST && decisionTable.getHitPolicy() != HitPolicy.UNIQUE) {
+      return null;
+    }
+
+    List<DecisionRule> rules = decisionTable.getRules();
+    List<ColumnIndex> columnIndexes = new ArrayList<ColumnIndex>();
+    for (InputClause inputClause : decisionTable.getInputs()) {
+      ColumnIndex columnIndex = buildColumnIndex(decisionTable, inputClause, rules);
+      if (columnIndex != null) {
+        columnIndexes.add(columnIndex);
+      }
+    }
+
+    if (columnIndexes.isEmpty()) {
+      return null;
+    }
+
+    return new DecisionTableIndex(rules.size(), columnIndexes);
+  }
+
+  protected static ColumnIndex buildColumnIndex(DecisionTable decisionTable, InputClause inputClause, List<DecisionRule> rules) {
+    if (inputClause.getInputExpression() == null || inputClause.getInputExpression().getText() == null) {
+      return null;
+    }
+
+    String variableName = inputClause.getInputExpression().getText().trim();
+    if (!VARIABLE_PATTERN.matcher(variableName).matches() || isVariableUpdated(decisionTable, variableName)) {
+      return null;
+    }
+
+    ColumnIndex columnIndex = new ColumnIndex(variableName, rules.size());
+    boolean indexed = false;
+    for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+      String entryText = getInputEntryText(rules.get(ruleIndex), inputClause);
+      if (entryText == null || !columnIndex.addEntry(ruleIndex, entryText)) {
+        columnIndex.alwaysCandidates.set(ruleIndex);
+      } else {
+        indexed = true;
+      }
+    }
+
+    return indexed ? columnIndex : null;
+  }
+
+  /**
+   * The index is built on the values of the input variables before the first rule is evaluated,
+   * so a variable that can be changed while evaluating the table cannot be indexed.
+   */
+  protected static boolean isVariableUpdated(DecisionTable decisionTable, String variableName) {
+    for (OutputClause outputClause : decisionTable.getOutputs()) {
+      if (variableName.equals(outputClause.getName())) {
+        return true;
+      }
+    }
+
+    Pattern variablePattern = Pattern.compile("(?<![A-Za-z0-9_$.])" + Pattern.quote(variableName) + "(?![A-Za-z0-9_$])");
+    for (DecisionRule rule : decisionTable.getRules()) {
+      for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+        String text = inputContainer.getInputEntry().getText();
+        if (text != null && !ENTRY_PATTERN.matcher(text.trim()).matches() && variablePattern.matcher(text).find()) {
+          return true;
+        }
+      }
+      for (RuleOutputClauseContainer outputContainer : rule.getOutputEntries()) {
+        String text = outputContainer.getOutputEntry().getText();
+        if (text != null && variablePattern.matcher(text).find()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  protected static String getInputEntryText(DecisionRule rule, InputClause inputClause) {
+    for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+      if (inputContainer.getInputClause() == inputClause) {
+        return inputContainer.getInputEntry().getText();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the rules, by rule row index, that can match the given variables.
+   */
+  public BitSet findCandidateRules(Map<String, Object> variables) {
+    BitSet candidateRules = new BitSet(ruleCount);
+    candidateRules.set(0, ruleCount);
+    for (ColumnIndex columnIndex : columnIndexes) {
+      BitSet columnCandidates = columnIndex.findCandidateRules(variables.get(columnIndex.variableName));
+      if (columnCandidates != null) {
+        candidateRules.and(columnCandidates);
+      }
+    }
+    return candidateRules;
+  }
+
+  public int getRuleCount() {
+    return ruleCount;
+  }
+
+  public boolean isInputEntriesCompiled() {
+    return inputEntriesCompiled;
+  }
+
+  public void setInputEntriesCompiled(boolean inputEntriesCompiled) {
+    this.inputEntriesCompiled = inputEntriesCompiled;
+  }
+
+  /**
+   * Converts a number to a value that compares exactly like MVEL compares the number with a literal,
+   * or returns null when the number cannot be compared exactly.
+   */
+  protected static BigDecimal toComparableValue(Object value) {
+    if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+
+    } else if (value instanceof Long) {
+      long longValue = (Long) value;
+      if (Math.abs(longValue) <= MAX_EXACT_LONG) {
+        return BigDecimal.valueOf(longValue);
+      }
+
+    } else if (value instanceof Double) {
+      double doubleValue = (Double) value;
+      if (!Double.isNaN(doubleValue) && !Double.isInfinite(doubleValue)) {
+        return new BigDecimal(doubleValue);
+      }
+    }
+    return null;
+  }
+
+  protected static class ColumnIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String variableName;
+
+    /** Rules with an empty entry or an entry that is not indexed in this column */
+    protected BitSet alwaysCandidates;
+
+    /** Rules with a numeric entry, candidates when the variable is not a number */
+    protected BitSet numericEntries;
+
+    /** Rules with a string entry, candidates when the variable is not a string */
+    protected BitSet stringEntries;
+
+    protected Map<String, BitSet> stringEqualTo = new HashMap<String, BitSet>();
+    protected NavigableMap<BigDecimal, BitSet> equalTo = new TreeMap<BigDecimal, BitSet>();
+    protected NavigableMap<BigDecimal, BitSet> greaterThan = new TreeMap<BigDecimal, BitSet>();
+    protected NavigableMap<BigDecimal, BitSet> greaterThanOrEqual = new TreeMap<BigDecimal, BitSet>();
+    protected NavigableMap<BigDecimal, BitSet> lessThan = new TreeMap<BigDecimal, BitSet>();
+    protected NavigableMap<BigDecimal, BitSet> lessThanOrEqual = new TreeMap<BigDecimal, BitSet>();
+
+    public ColumnIndex(String variableName, int ruleCount) {
+      this.variableName = variableName;
+      this.alwaysCandidates = new BitSet(ruleCount);
+      this.numericEntries = new BitSet(ruleCount);
+      this.stringEntries = new BitSet(ruleCount);
+    }
+
+    /**
+     * @return true if the entry was indexed, false if the rule always has to be evaluated for this column
+     */
+    public boolean addEntry(int ruleIndex, String entryText) {
+      if (StringUtils.isEmpty(entryText)) {
+        return false;
+      }
+
+      Matcher matcher = ENTRY_PATTERN.matcher(entryText.trim());
+      if (!matcher.matches()) {
+        return false;
+      }
+
+      String operator = matcher.group(1);
+      String literal = matcher.group(2);
+
+      if (literal.startsWith("'") || literal.startsWith("\"")) {
+        if (!"==".equals(operator)) {
+          return false;
+        }
+        addRule(stringEqualTo, literal.substring(1, literal.length() - 1), ruleIndex);
+        stringEntries.set(ruleIndex);
+        return true;
+      }
+
+      BigDecimal value = parseNumericLiteral(literal);
+      if (value == null) {
+        return false;
+      }
+
+      if ("==".equals(operator)) {
+        addRule(equalTo, value, ruleIndex);
+      } else if (">".equals(operator)) {
+        addRule(greaterThan, value, ruleIndex);
+      } else if (">=".equals(operator)) {
+        addRule(greaterThanOrEqual, value, ruleIndex);
+      } else if ("<".equals(operator)) {
+        addRule(lessThan, value, ruleIndex);
+      } else {
+        addRule(lessThanOrEqual, value, ruleIndex);
+      }
+      numericEntries.set(ruleIndex);
+      return true;
+    }
+
+    protected BigDecimal parseNumericLiteral(String literal) {
+      try {
+        if (literal.indexOf('.') >= 0) {
+          // MVEL compiles a decimal literal to a double
+          return new BigDecimal(Double.parseDouble(literal));
+        }
+
+        BigDecimal value = new BigDecimal(literal);
+        if (value.abs().compareTo(BigDecimal.valueOf(MAX_EXACT_LONG)) > 0) {
+          return null;
+        }
+        return value;
+
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    protected <K> void addRule(Map<K, BitSet> rulesByValue, K value, int ruleIndex) {
+      BitSet rules = rulesByValue.get(value);
+      if (rules == null) {
+        rules = new BitSet();
+        rulesByValue.put(value, rules);
+      }
+      rules.set(ruleIndex);
+    }
+
+    /**
+     * @return the candidate rules for the variable value, or null when the value cannot be looked up in the index
+     */
+    public BitSet findCandidateRules(Object value) {
+      if (value instanceof String) {
+        BitSet candidates = (BitSet) alwaysCandidates.clone();
+        candidates.or(numericEntries);
+        BitSet matches = stringEqualTo.get(value);
+        if (matches != null) {
+          candidates.or(matches);
+        }
+        return candidates;
+      }
+
+      BigDecimal numericValue = toComparableValue(value);
+      if (numericValue == null) {
+        return null;
+      }
+
+      BitSet candidates = (BitSet) alwaysCandidates.clone();
+      candidates.or(stringEntries);
+      BitSet matches = equalTo.get(numericValue);
+      if (matches != null) {
+        candidates.or(matches);
+      }
+      // an entry '> x' matches when x < value, an entry '< x' when x > value
+      orAll(candidates, greaterThan.headMap(numericValue, false));
+      orAll(candidates, greaterThanOrEqual.headMap(numericValue, true));
+      orAll(candidates, lessThan.tailMap(numericValue, false));
+      orAll(candidates, lessThanOrEqual.tailMap(numericValue, true));
+      return candidates;
+    }
+
+    protected void orAll(BitSet candidates, Map<BigDecimal, BitSet> rulesByValue) {
+      for (BitSet rules : rulesByValue.values()) {
+        candidates.or(rules);
+      }
+    }
+  }
+}
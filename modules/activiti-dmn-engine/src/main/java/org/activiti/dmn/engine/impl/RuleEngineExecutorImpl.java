@@ -12,16 +12,22 @@
  */
 package org.activiti.dmn.engine.impl;
 
+import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.activiti.dmn.api.RuleEngineExecutionResult;
 import org.activiti.dmn.engine.ActivitiDmnException;
 import org.activiti.dmn.engine.ActivitiDmnExpressionException;
+import org.activiti.dmn.engine.DmnEngineConfiguration;
 import org.activiti.dmn.engine.RuleEngineExecutor;
+import org.activiti.dmn.engine.impl.context.Context;
 import org.activiti.dmn.engine.impl.mvel.ExecutionVariableFactory;
 import org.activiti.dmn.engine.impl.mvel.MvelExecutionContext;
 import org.activiti.dmn.engine.impl.mvel.MvelExecutionContextBuilder;
@@ -31,6 +37,7 @@ import org.activiti.dmn.model.DecisionRule;
 import org.activiti.dmn.model.DecisionTable;
 import org.activiti.dmn.model.DmnDefinition;
 import org.activiti.dmn.model.HitPolicy;
+import org.activiti.dmn.model.InputClause;
 import org.activiti.dmn.model.LiteralExpression;
 import org.activiti.dmn.model.RuleInputClauseContainer;
 import org.activiti.dmn.model.RuleOutputClauseContainer;
@@ -46,6 +53,12 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
 
   private static final Logger logger = LoggerFactory.getLogger(RuleEngineExecutorImpl.class);
 
+  /**
+   * Indexes of the deployed decisions, built on their first execution. The decisions are weakly referenced,
+   * so an index is released together with the deployment cache entry of its decision.
+   */
+  protected Map<Decision, DecisionTableIndex> decisionTableIndexes = Collections.synchronizedMap(new WeakHashMap<Decision, DecisionTableIndex>());
+
   /**
    * Executes the given decision table and creates the outcome results
    *
@@ -59,6 +72,38 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
   public RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
       Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers) {
 
+    return execute(decision, input, customExpressionFunctions, propertyHandlers, null, null);
+  }
+
+  /**
+   * Executes the given decision table, reusing the given compiled expressions, and creates the outcome results.
+   * When the decision table index is enabled in the engine configuration, only the candidate rules selected
+   * by the index of the decision table are evaluated.
+   *
+   * @param decision
+   *          the DMN decision 
+   * @param input
+   *          map with input variables
+   * @param compiledExpressions
+   *          the compiled expressions of the deployed decision
+   * @return updated execution variables map
+   */
+  public RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
+      Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers,
+      Map<String, Serializable> compiledExpressions) {
+
+    DecisionTableIndex decisionTableIndex = null;
+    if (compiledExpressions != null) {
+      decisionTableIndex = resolveDecisionTableIndex(decision);
+    }
+
+    return execute(decision, input, customExpressionFunctions, propertyHandlers, compiledExpressions, decisionTableIndex);
+  }
+
+  protected RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
+      Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers,
+      Map<String, Serializable> compiledExpressions, DecisionTableIndex decisionTableIndex) {
+
     if (decision  == null) {
       throw new IllegalArgumentException("no decision provided");
     }
@@ -72,9 +117,10 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     // create execution context and audit trail
     MvelExecutionContext executionContext = MvelExecutionContextBuilder.build(decision, input, 
         customExpressionFunctions, propertyHandlers);
+    executionContext.setCompiledExpressions(compiledExpressions);
 
     // evaluate decision table
-    Map<String, Object> resultVariables = evaluateDecisionTable(currentDecisionTable, executionContext);
+    Map<String, Object> resultVariables = evaluateDecisionTable(currentDecisionTable, executionContext, decisionTableIndex);
 
     // end audit trail
     executionContext.getAuditContainer().stopAudit(resultVariables);
@@ -85,7 +131,33 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     return executionResult;
   }
 
+  /**
+   * Returns the index of the decision table of the given decision, or null when the index is not enabled 
+   * in the engine configuration or when the decision table cannot be indexed.
+   */
+  protected DecisionTableIndex resolveDecisionTableIndex(Decision decision) {
+    DmnEngineConfiguration dmnEngineConfiguration = Context.getDmnEngineConfiguration();
+    if (decision == null || dmnEngineConfiguration == null || !dmnEngineConfiguration.isEnableDecisionTableIndex() 
+        || !(decision.getExpression() instanceof DecisionTable)) {
+      
+      return null;
+    }
+
+    synchronized (decisionTableIndexes) {
+      if (!decisionTableIndexes.containsKey(decision)) {
+        // tables that cannot be indexed are kept with a null index, so they are only analysed once
+        decisionTableIndexes.put(decision, DecisionTableIndex.build((DecisionTable) decision.getExpression()));
+      }
+      return decisionTableIndexes.get(decision);
+    }
+  }
+
   protected Map<String, Object> evaluateDecisionTable(DecisionTable decisionTable, MvelExecutionContext executionContext) {
+    return evaluateDecisionTable(decisionTable, executionContext, null);
+  }
+
+  protected Map<String, Object> evaluateDecisionTable(DecisionTable decisionTable, MvelExecutionContext executionContext,
+      DecisionTableIndex decisionTableIndex) {
 
     if (decisionTable == null || decisionTable.getRules().isEmpty()) {
       throw new IllegalArgumentException("no rules present in table");
@@ -105,16 +177,35 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     int ruleRowCounter = 0;
 
     try {
-      // evaluate rule conditions
-      for (DecisionRule rule : decisionTable.getRules()) {
+      BitSet candidateRules = findCandidateRules(decisionTable, decisionTableIndex, executionContext);
+
+      if (candidateRules != null) {
+        // only evaluate the rules that can match, in rule order; the audit trail only holds 
+        // the evaluated rules, so the rule counter is the position of the rule in the audit trail
+        List<DecisionRule> rules = decisionTable.getRules();
+        for (int ruleIndex = candidateRules.nextSetBit(0); ruleIndex >= 0; ruleIndex = candidateRules.nextSetBit(ruleIndex + 1)) {
 
-        Boolean ruleResult = executeRule(ruleRowCounter, rule, executionContext, validConclusionsStack);
+          Boolean ruleResult = executeRule(ruleRowCounter, rules.get(ruleIndex), executionContext, validConclusionsStack);
 
-        if (shouldContinueEvaluating(decisionTable.getHitPolicy(), ruleResult) == false) {
-          break;
+          if (shouldContinueEvaluating(decisionTable.getHitPolicy(), ruleResult) == false) {
+            break;
+          }
+
+          ruleRowCounter++;
         }
 
-        ruleRowCounter++;
+      } else {
+        // evaluate rule conditions
+        for (DecisionRule rule : decisionTable.getRules()) {
+
+          Boolean ruleResult = executeRule(ruleRowCounter, rule, executionContext, validConclusionsStack);
+
+          if (shouldContinueEvaluating(decisionTable.getHitPolicy(), ruleResult) == false) {
+            break;
+          }
+
+          ruleRowCounter++;
+        }
       }
 
     } catch (ActivitiDmnException ade) {
@@ -128,6 +219,49 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     return executionContext.getResultVariables();
   }
 
+  /**
+   * Returns the rules that have to be evaluated according to the decision table index, 
+   * or null when all rules have to be evaluated.
+   */
+  protected BitSet findCandidateRules(DecisionTable decisionTable, DecisionTableIndex decisionTableIndex, MvelExecutionContext executionContext) {
+
+    if (decisionTableIndex == null || decisionTableIndex.getRuleCount() != decisionTable.getRules().size()) {
+      return null;
+    }
+
+    // the linear evaluation fails on an input expression that is not present on the context or on an input entry 
+    // that cannot be compiled, fall back to it so skipping rules never hides such a failure
+    Map<String, Object> stackVariables = executionContext.getStackVariables();
+    if (stackVariables == null || stackVariables.isEmpty() || executionContext.getCompiledExpressions() == null) {
+      return null;
+    }
+
+    for (InputClause inputClause : decisionTable.getInputs()) {
+      try {
+        executionContext.checkExecutionContext(inputClause.getInputExpression().getText());
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+
+    if (!decisionTableIndex.isInputEntriesCompiled()) {
+      try {
+        for (DecisionRule rule : decisionTable.getRules()) {
+          for (RuleInputClauseContainer conditionContainer : rule.getInputEntries()) {
+            if (StringUtils.isNotEmpty(conditionContainer.getInputEntry().getText())) {
+              MvelExpressionExecutor.compileInputExpression(conditionContainer.getInputClause(), conditionContainer.getInputEntry(), executionContext);
+            }
+          }
+        }
+      } catch (RuntimeException e) {
+        return null;
+      }
+      decisionTableIndex.setInputEntriesCompiled(true);
+    }
+
+    return decisionTableIndex.findCandidateRules(stackVariables);
+  }
+
   protected Boolean shouldContinueEvaluating(HitPolicy hitPolicy, Boolean ruleResult) {
 
     Boolean shouldContinue = Boolean.TRUE;
@@ -20,6 +20,8 @@ import org.activiti.dmn.api.RuleEngineExecutionResult;
 import org.activiti.dmn.engine.ActivitiDmnIllegalArgumentException;
 import org.activiti.dmn.engine.ActivitiDmnObjectNotFoundException;
 import org.activiti.dmn.engine.DmnEngineConfiguration;
+import org.activiti.dmn.engine.RuleEngineExecutor;
+import org.activiti.dmn.engine.impl.RuleEngineExecutorImpl;
 import org.activiti.dmn.engine.impl.interceptor.Command;
 import org.activiti.dmn.engine.impl.interceptor.CommandContext;
 import org.activiti.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
@@ -97,8 +99,17 @@ public class ExecuteDecisionCmd implements Command<RuleEngineExecutionResult>, S
     DecisionTableCacheEntry decisionTableCacheEntry = deploymentManager.resolveDecisionTable(decisionTable);
     Decision decision = decisionTableCacheEntry.getDecision();
 
-    RuleEngineExecutionResult executionResult = dmnEngineConfiguration.getRuleEngineExecutor().execute(decision, variables, 
-        dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers());
+    RuleEngineExecutor ruleEngineExecutor = dmnEngineConfiguration.getRuleEngineExecutor();
+    RuleEngineExecutionResult executionResult = null;
+    if (ruleEngineExecutor instanceof RuleEngineExecutorImpl) {
+      // Reuses the expressions compiled by previous executions of the deployed decision
+      executionResult = ((RuleEngineExecutorImpl) ruleEngineExecutor).execute(decision, variables, 
+          dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers(),
+          decisionTableCacheEntry.getCompiledExpressions());
+    } else {
+      executionResult = ruleEngineExecutor.execute(decision, variables, 
+          dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers());
+    }
 
     if (executionResult != null && executionResult.getAuditTrail() != null) {
       executionResult.getAuditTrail().setDmnDeploymentId(decisionTable.getDeploymentId());
@@ -12,6 +12,7 @@
  */
 package org.activiti.dmn.engine.impl.mvel;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +32,7 @@ public class MvelExecutionContext {
     protected ParserContext parserContext = null;
     protected Map<Class<?>, PropertyHandler> propertyHandlers = new HashMap<Class<?>, PropertyHandler>();
     protected DecisionExecutionAuditContainer auditContainer = null;
+    protected Map<String, Serializable> compiledExpressions = null;
 
     public void checkExecutionContext(String variableId) {
 
@@ -92,4 +94,12 @@ public class MvelExecutionContext {
     public void setAuditContainer(DecisionExecutionAuditContainer auditContainer) {
         this.auditContainer = auditContainer;
     }
+
+    public Map<String, Serializable> getCompiledExpressions() {
+        return compiledExpressions;
+    }
+
+    public void setCompiledExpressions(Map<String, Serializable> compiledExpressions) {
+        this.compiledExpressions = compiledExpressions;
+    }
 }
\ No newline at end of file
@@ -13,6 +13,7 @@
 package org.activiti.dmn.engine.impl.mvel;
 
 import java.io.Serializable;
+import java.util.Map;
 
 import org.activiti.dmn.engine.ActivitiDmnExpressionException;
 import org.activiti.dmn.model.InputClause;
@@ -54,7 +55,7 @@ public class MvelExpressionExecutor {
         String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText());
 
         // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(parsedExpression, executionContext.getParserContext());
+        Serializable compiledExpression = compileExpression(parsedExpression, executionContext);
 
         // execute MVEL expression
         Boolean result;
@@ -79,7 +80,7 @@ public class MvelExpressionExecutor {
         }
 
         // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(outputEntry.getText(), executionContext.getParserContext());
+        Serializable compiledExpression = compileExpression(outputEntry.getText(), executionContext);
 
         // execute MVEL expression
         Object result = null;
@@ -93,4 +94,30 @@ public class MvelExpressionExecutor {
 
         return result;
     }
+
+    /**
+     * Compiles the input entry as it is compiled when executing it, without executing it.
+     */
+    public static Serializable compileInputExpression(InputClause inputClause, UnaryTests inputEntry, MvelExecutionContext executionContext) {
+        String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText());
+        return compileExpression(parsedExpression, executionContext);
+    }
+
+    /**
+     * Compiles the expression, or returns the compiled expression from the execution context
+     * when the same expression was compiled before for the decision being executed.
+     */
+    protected static Serializable compileExpression(String expression, MvelExecutionContext executionContext) {
+        Map<String, Serializable> compiledExpressions = executionContext.getCompiledExpressions();
+        if (compiledExpressions == null) {
+            return MVEL.compileExpression(expression, executionContext.getParserContext());
+        }
+
+        Serializable compiledExpression = compiledExpressions.get(expression);
+        if (compiledExpression == null) {
+            compiledExpression = MVEL.compileExpression(expression, executionContext.getParserContext());
+            compiledExpressions.put(expression, compiledExpression);
+        }
+        return compiledExpression;
+    }
 }
\ No newline at end of file
@@ -13,6 +13,8 @@
 package org.activiti.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.activiti.dmn.model.Decision;
@@ -29,6 +31,12 @@ public class DecisionTableCacheEntry implements Serializable {
     protected DmnDefinition dmnDefinition;
     protected Decision decision;
 
+    /**
+     * The compiled MVEL input and output entry expressions of the decision, keyed by expression text.
+     * Filled on first execution, and dropped together with this entry when the deployment is removed from the cache.
+     */
+    protected Map<String, Serializable> compiledExpressions = new ConcurrentHashMap<String, Serializable>();
+
     public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision) {
         this.decisionTableEntity = decisionTableEntity;
         this.dmnDefinition = dmnDefinition;
@@ -58,4 +66,8 @@ public class DecisionTableCacheEntry implements Serializable {
     public void setDecision(Decision decision) {
         this.decision = decision;
     }
+
+    public Map<String, Serializable> getCompiledExpressions() {
+        return compiledExpressions;
+    }
 }
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.dmn.api.DmnRuleService;
+import org.activiti.dmn.api.RuleEngineExecutionResult;
+import org.activiti.dmn.engine.DmnEngineConfiguration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Runs decision tables deployed on an engine with the decision table index enabled
+ * and compares the indexed evaluation with the linear evaluation of every rule.
+ */
+public class DecisionTableIndexTest {
+
+    @Rule
+    public ActivitiDmnRule activitiRule = new ActivitiDmnRule("indexed.activiti.dmn.cfg.xml");
+
+    protected DmnEngineConfiguration dmnEngineConfiguration;
+    protected DmnRuleService ruleService;
+
+    @Before
+    public void initDmnEngine() {
+        this.dmnEngineConfiguration = activitiRule.getDmnEngine().getDmnEngineConfiguration();
+        this.ruleService = activitiRule.getDmnEngine().getDmnRuleService();
+        Assert.assertTrue(dmnEngineConfiguration.isEnableDecisionTableIndex());
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/deployment/indexed_decision_table.dmn")
+    public void executeIndexedFirstDecisionTable() {
+        Object[][] inputs = new Object[][] { { -5, "gold" }, { 0, "x" }, { 5, "gold" }, { 5, "silver" }, { 10.0, "silver" }, 
+            { 10.5, "gold" }, { 11L, "gold" }, { 150, "x" }, { 50, "bronze" }, { 50, "x" }, { "5", "gold" }, { null, "gold" } };
+
+        for (Object[] input : inputs) {
+            assertSameOutcome("decision", createInput(input[0], input[1]));
+        }
+
+        // a missing input variable is reported the same way, with or without index
+        Map<String, Object> missingInput = new HashMap<String, Object>();
+        missingInput.put("input1", 5);
+        assertSameOutcome("decision", missingInput);
+
+        // only the candidate rules selected by the index are evaluated
+        RuleEngineExecutionResult indexedResult = ruleService.executeDecisionByKey("decision", createInput(50, "x"));
+        Assert.assertEquals("other", indexedResult.getResultVariables().get("output1"));
+        Assert.assertEquals(2, indexedResult.getAuditTrail().getRuleExecutions().size());
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/deployment/indexed_unique_decision_table.dmn")
+    public void executeIndexedUniqueDecisionTable() {
+        Object[][] inputs = new Object[][] { { 1, "x" }, { 1, "a" }, { 2, "a" }, { -1, "b" }, { 101, "c" }, { 101.5, "a" }, 
+            { 0, "x" }, { 1L, "b" }, { 1.0, "a" }, { "1", "a" }, { null, "b" }, { 7, null } };
+
+        for (Object[] input : inputs) {
+            assertSameOutcome("uniqueDecision", createInput(input[0], input[1]));
+        }
+
+        Map<String, Object> missingInput = new HashMap<String, Object>();
+        missingInput.put("input2", "a");
+        assertSameOutcome("uniqueDecision", missingInput);
+
+        RuleEngineExecutionResult indexedResult = ruleService.executeDecisionByKey("uniqueDecision", createInput(-1, "b"));
+        Assert.assertEquals("b", indexedResult.getResultVariables().get("output1"));
+        Assert.assertEquals(2, indexedResult.getAuditTrail().getRuleExecutions().size());
+    }
+
+    protected RuleEngineExecutionResult assertSameOutcome(String decisionKey, Map<String, Object> input) {
+        RuleEngineExecutionResult linearResult;
+        dmnEngineConfiguration.setEnableDecisionTableIndex(false);
+        try {
+            linearResult = ruleService.executeDecisionByKey(decisionKey, new HashMap<String, Object>(input));
+        } finally {
+            dmnEngineConfiguration.setEnableDecisionTableIndex(true);
+        }
+
+        RuleEngineExecutionResult indexedResult = ruleService.executeDecisionByKey(decisionKey, new HashMap<String, Object>(input));
+
+        Assert.assertEquals("result of " + input, linearResult.getResultVariables(), indexedResult.getResultVariables());
+        Assert.assertEquals("failure of " + input, linearResult.getAuditTrail().isFailed(), indexedResult.getAuditTrail().isFailed());
+        Assert.assertEquals("exception of " + input, linearResult.getAuditTrail().getExceptionMessage(), indexedResult.getAuditTrail().getExceptionMessage());
+        return indexedResult;
+    }
+
+    protected Map<String, Object> createInput(Object input1, Object input2) {
+        Map<String, Object> input = new HashMap<String, Object>();
+        input.put("input1", input1);
+        input.put("input2", input2);
+        return input;
+    }
+}
@@ -12,10 +12,17 @@
  */
 package org.activiti.dmn.engine.test;
 
+import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
+import org.activiti.dmn.api.DmnDecisionTable;
 import org.activiti.dmn.api.RuleEngineExecutionResult;
+import org.activiti.dmn.engine.impl.DecisionTableIndex;
+import org.activiti.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.activiti.dmn.model.DecisionTable;
 import org.joda.time.LocalDate;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
@@ -40,6 +47,77 @@ public class RuntimeTest extends AbstractActivitiDmnTest {
         Assert.assertEquals(result.getResultVariables().get("output2"), 3D);
     }
 
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/deployment/multiple_conclusions.dmn")
+    public void executeDecision_reuses_compiled_expressions() {
+        Map<String, Object> processVariablesInput = new HashMap<String, Object>();
+        processVariablesInput.put("input1", 10);
+        RuleEngineExecutionResult result = ruleService.executeDecisionByKey("decision", processVariablesInput);
+        Assert.assertEquals("test3", result.getResultVariables().get("output1"));
+
+        DmnDecisionTable decisionTable = repositoryService.createDecisionTableQuery().decisionTableKey("decision").singleResult();
+        DecisionTableCacheEntry cacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId());
+        Map<String, Serializable> compiledExpressions = cacheEntry.getCompiledExpressions();
+        Assert.assertFalse(compiledExpressions.isEmpty());
+        Set<String> compiledAfterFirstExecution = new HashSet<String>(compiledExpressions.keySet());
+
+        // same expressions, different outcome: nothing new gets compiled
+        processVariablesInput = new HashMap<String, Object>();
+        processVariablesInput.put("input1", 10);
+        result = ruleService.executeDecisionByKey("decision", processVariablesInput);
+        Assert.assertEquals("test3", result.getResultVariables().get("output1"));
+        Assert.assertEquals(3D, result.getResultVariables().get("output2"));
+        Assert.assertEquals(compiledAfterFirstExecution, compiledExpressions.keySet());
+
+        processVariablesInput = new HashMap<String, Object>();
+        processVariablesInput.put("input1", 5);
+        result = ruleService.executeDecisionByKey("decision", processVariablesInput);
+        Assert.assertEquals("test2", result.getResultVariables().get("output1"));
+        Assert.assertEquals(2D, result.getResultVariables().get("output2"));
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/deployment/indexed_decision_table.dmn")
+    public void executeDecision_indexed_decision_table() {
+        DmnDecisionTable decisionTable = repositoryService.createDecisionTableQuery().decisionTableKey("decision").singleResult();
+        DecisionTableCacheEntry cacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId());
+        DecisionTableIndex decisionTableIndex = DecisionTableIndex.build((DecisionTable) cacheEntry.getDecision().getExpression());
+        Assert.assertNotNull(decisionTableIndex);
+
+        Object[][] inputs = new Object[][] { { -5, "gold" }, { 0, "x" }, { 5, "gold" }, { 5, "silver" }, { 10.0, "silver" }, 
+            { 10.5, "gold" }, { 11L, "gold" }, { 150, "x" }, { 50, "bronze" }, { 50, "x" }, { "5", "gold" }, { null, "gold" } };
+        String[] expectedOutputs = new String[] { "negative", "zero", "small gold", "small silver", "small silver", 
+            "large gold", "large gold", "huge", "b", "other", null, null };
+
+        try {
+            for (int i = 0; i < inputs.length; i++) {
+                dmnEngineConfiguration.setEnableDecisionTableIndex(false);
+                RuleEngineExecutionResult linearResult = ruleService.executeDecisionByKey("decision", createIndexedDecisionInput(inputs[i]));
+
+                dmnEngineConfiguration.setEnableDecisionTableIndex(true);
+                RuleEngineExecutionResult indexedResult = ruleService.executeDecisionByKey("decision", createIndexedDecisionInput(inputs[i]));
+
+                Assert.assertEquals(linearResult.getResultVariables(), indexedResult.getResultVariables());
+                if (expectedOutputs[i] != null) {
+                    Assert.assertEquals(expectedOutputs[i], indexedResult.getResultVariables().get("output1"));
+                }
+            }
+        } finally {
+            dmnEngineConfiguration.setEnableDecisionTableIndex(false);
+        }
+
+        // only the rules matching the indexed entries and the rules with entries that are not indexed are evaluated
+        Assert.assertEquals(2, decisionTableIndex.findCandidateRules(createIndexedDecisionInput(new Object[] { 50, "x" })).cardinality());
+        Assert.assertEquals(8, decisionTableIndex.findCandidateRules(createIndexedDecisionInput(new Object[] { null, null })).cardinality());
+    }
+
+    protected Map<String, Object> createIndexedDecisionInput(Object[] input) {
+        Map<String, Object> processVariablesInput = new HashMap<String, Object>();
+        processVariablesInput.put("input1", input[0]);
+        processVariablesInput.put("input2", input[1]);
+        return processVariablesInput;
+    }
+
     @Test
     @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/deployment/dates_1.dmn")
     public void executeDecision_static_dates() {
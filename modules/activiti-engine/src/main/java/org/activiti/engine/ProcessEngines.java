@@ -56,7 +56,7 @@ public abstract class ProcessEngines {
 
   public static final String NAME_DEFAULT = "default";
 
-  protected static boolean isInitialized;
+  protected static volatile boolean isInitialized;
   protected static Map<String, ProcessEngine> processEngines = new HashMap<String, ProcessEngine>();
   protected static Map<String, ProcessEngineInfo> processEngineInfosByName = new HashMap<String, ProcessEngineInfo>();
   protected static Map<String, ProcessEngineInfo> processEngineInfosByResourceUrl = new HashMap<String, ProcessEngineInfo>();
@@ -131,14 +131,14 @@ public abstract class ProcessEngines {
    * Registers the given process engine. No {@link ProcessEngineInfo} will be available for this process engine. An engine that is registered will be closed when the {@link ProcessEngines#destroy()}
    * is called.
    */
-  public static void registerProcessEngine(ProcessEngine processEngine) {
+  public synchronized static void registerProcessEngine(ProcessEngine processEngine) {
     processEngines.put(processEngine.getName(), processEngine);
   }
 
   /**
    * Unregisters the given process engine.
    */
-  public static void unregister(ProcessEngine processEngine) {
+  public synchronized static void unregister(ProcessEngine processEngine) {
     processEngines.remove(processEngine.getName());
   }
 
@@ -196,15 +196,15 @@ public abstract class ProcessEngines {
   }
 
   /** Get initialization results. */
-  public static List<ProcessEngineInfo> getProcessEngineInfos() {
-    return processEngineInfos;
+  public synchronized static List<ProcessEngineInfo> getProcessEngineInfos() {
+    return new ArrayList<ProcessEngineInfo>(processEngineInfos);
   }
 
   /**
    * Get initialization results. Only info will we available for process engines which were added in the {@link ProcessEngines#init()}. No {@link ProcessEngineInfo} is available for engines which were
    * registered programatically.
    */
-  public static ProcessEngineInfo getProcessEngineInfo(String processEngineName) {
+  public synchronized static ProcessEngineInfo getProcessEngineInfo(String processEngineName) {
     return processEngineInfosByName.get(processEngineName);
   }
 
@@ -218,7 +218,7 @@ public abstract class ProcessEngines {
    * @param processEngineName
    *          is the name of the process engine or null for the default process engine.
    */
-  public static ProcessEngine getProcessEngine(String processEngineName) {
+  public synchronized static ProcessEngine getProcessEngine(String processEngineName) {
     if (!isInitialized()) {
       init();
     }
@@ -228,7 +228,7 @@ public abstract class ProcessEngines {
   /**
    * retries to initialize a process engine that previously failed.
    */
-  public static ProcessEngineInfo retry(String resourceUrl) {
+  public synchronized static ProcessEngineInfo retry(String resourceUrl) {
     log.debug("retying initializing of resource {}", resourceUrl);
     try {
       return initProcessEngineFromResource(new URL(resourceUrl));
@@ -239,9 +239,11 @@ public abstract class ProcessEngines {
 
   /**
    * provides access to process engine to application clients in a managed server environment.
+   * 
+   * @return a copy of the registered process engines, so it can be iterated while engines are registered or closed.
    */
-  public static Map<String, ProcessEngine> getProcessEngines() {
-    return processEngines;
+  public synchronized static Map<String, ProcessEngine> getProcessEngines() {
+    return new HashMap<String, ProcessEngine>(processEngines);
   }
 
   /**
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.delegate.event;
+
+/**
+ * An {@link ActivitiEventListener} that doesn't receive its events while the command that caused them is executing, 
+ * but after its transaction has been committed, on the threads of the engine's async event listener executor.
+ * Events of a command that fails are never delivered.
+ * 
+ * The events of one process instance are delivered in the order in which they were dispatched, events of 
+ * different process instances can be delivered concurrently. Since the command has already completed, there is
+ * no command context while the listener is called: it has to use the services of the process engine to access 
+ * the engine data. Exceptions thrown by the listener are logged and otherwise ignored.
+ * 
+ * Typical use cases are audit trails and analytics that shouldn't add to the execution time of the command.
+ * 
+ * Listeners declared in a process definition are delivered asynchronously when they are referenced by class. 
+ * Listeners referenced by a delegate expression are resolved while the command executes, so they always 
+ * receive their events synchronously.
+ */
+public interface ActivitiAsyncEventListener extends ActivitiEventListener {
+
+}
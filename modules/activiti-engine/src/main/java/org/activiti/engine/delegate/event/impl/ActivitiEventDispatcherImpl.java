@@ -12,6 +12,10 @@
  */
 package org.activiti.engine.delegate.event.impl;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.engine.delegate.event.ActivitiEntityEvent;
 import org.activiti.engine.delegate.event.ActivitiEvent;
@@ -33,6 +37,16 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
   protected ActivitiEventSupport eventSupport;
   protected boolean enabled = true;
 
+  /**
+   * If true, {@link #isEnabled(ActivitiEventType)} only returns true for event types that have a listener,
+   * either registered on the engine or in one of the deployed process definitions. No events are skipped until
+   * the listener types of the deployed process definitions have been registered.
+   */
+  protected boolean skipEventsWithoutListeners;
+  protected Set<ActivitiEventType> processDefinitionListenerTypes = Collections.newSetFromMap(new ConcurrentHashMap<ActivitiEventType, Boolean>());
+  protected volatile boolean processDefinitionListenersForAllTypes;
+  protected volatile boolean processDefinitionListenerTypesRegistered;
+
   public ActivitiEventDispatcherImpl() {
     eventSupport = new ActivitiEventSupport();
   }
@@ -45,6 +59,44 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     return enabled;
   }
 
+  /**
+   * @return true, if events of the given type need to be created and dispatched. This is the case when the dispatcher
+   *         is enabled and, when configured to skip events without listeners, a listener can receive events of the type.
+   */
+  public boolean isEnabled(ActivitiEventType type) {
+    if (!enabled) {
+      return false;
+    }
+    return !skipEventsWithoutListeners || eventSupport.hasListeners(type) || hasProcessDefinitionListeners(type);
+  }
+
+  /**
+   * @return {@link #isEnabled(ActivitiEventType)} for this implementation, {@link ActivitiEventDispatcher#isEnabled()} for 
+   *         other implementations of the dispatcher, which don't skip events of a type.
+   */
+  public static boolean isEventEnabled(ActivitiEventDispatcher eventDispatcher, ActivitiEventType type) {
+    if (eventDispatcher instanceof ActivitiEventDispatcherImpl) {
+      return ((ActivitiEventDispatcherImpl) eventDispatcher).isEnabled(type);
+    }
+    return eventDispatcher.isEnabled();
+  }
+
+  protected boolean hasProcessDefinitionListeners(ActivitiEventType type) {
+    return !processDefinitionListenerTypesRegistered || processDefinitionListenersForAllTypes || processDefinitionListenerTypes.contains(type);
+  }
+
+  /**
+   * Called for each event listener of a deployed process definition, when the engine is booted and when a process
+   * definition is parsed, so events of the given types (all types when none are given) are not skipped.
+   */
+  public void addProcessDefinitionListenerTypes(ActivitiEventType... types) {
+    if (types == null || types.length == 0) {
+      processDefinitionListenersForAllTypes = true;
+    } else {
+      Collections.addAll(processDefinitionListenerTypes, types);
+    }
+  }
+
   @Override
   public void addEventListener(ActivitiEventListener listenerToAdd) {
     eventSupport.addEventListener(listenerToAdd);
@@ -74,17 +126,50 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
       }
     }
     
+    if (skipEventsWithoutListeners && !hasProcessDefinitionListeners(event.getType())) {
+      // no need to look up the process definition
+      return;
+    }
+
     // Try getting hold of the Process definition, based on the process definition key, if a context is active
     CommandContext commandContext = Context.getCommandContext();
     if (commandContext != null) {
       BpmnModel bpmnModel = extractBpmnModelFromEvent(event);
       if (bpmnModel != null) {
-        ((ActivitiEventSupport) bpmnModel.getEventSupport()).dispatchEvent(event);
+        ((ActivitiEventSupport) bpmnModel.getEventSupport()).dispatchEvent(event, getAsyncEventListenerExecutor());
       }
     }
     
   }
 
+  public boolean isSkipEventsWithoutListeners() {
+    return skipEventsWithoutListeners;
+  }
+
+  public void setSkipEventsWithoutListeners(boolean skipEventsWithoutListeners) {
+    this.skipEventsWithoutListeners = skipEventsWithoutListeners;
+  }
+
+  public boolean isProcessDefinitionListenerTypesRegistered() {
+    return processDefinitionListenerTypesRegistered;
+  }
+
+  /**
+   * Set once the listener types of all process definitions deployed when the engine was booted are registered:
+   * events without listeners are only skipped from then on.
+   */
+  public void setProcessDefinitionListenerTypesRegistered(boolean processDefinitionListenerTypesRegistered) {
+    this.processDefinitionListenerTypesRegistered = processDefinitionListenerTypesRegistered;
+  }
+
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return eventSupport.getAsyncEventListenerExecutor();
+  }
+
+  public void setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    eventSupport.setAsyncEventListenerExecutor(asyncEventListenerExecutor);
+  }
+
   /**
    * In case no process-context is active, this method attempts to extract a process-definition based on the event. In case it's an event related to an entity, this can be deducted by inspecting the
    * entity, without additional queries to the database.
@@ -12,22 +12,27 @@
  */
 package org.activiti.engine.delegate.event.impl;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.delegate.event.ActivitiAsyncEventListener;
 import org.activiti.engine.delegate.event.ActivitiEvent;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.bpmn.helper.DelegateActivitiEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Class that allows adding and removing event listeners and dispatching events to the appropriate listeners.
  * 
+ * The listeners are copied on write, so dispatching never locks. When an {@link AsyncEventListenerExecutor} is set,
+ * the events of {@link ActivitiAsyncEventListener}s are handed to it instead of being delivered right away.
+ * 
  * @author Frederik Heremans
  */
 public class ActivitiEventSupport {
@@ -35,11 +40,12 @@ public class ActivitiEventSupport {
   private static final Logger LOG = LoggerFactory.getLogger(ActivitiEventSupport.class);
 
   protected List<ActivitiEventListener> eventListeners;
-  protected Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+  protected volatile Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+  protected AsyncEventListenerExecutor asyncEventListenerExecutor;
 
   public ActivitiEventSupport() {
     eventListeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-    typedListeners = new HashMap<ActivitiEventType, List<ActivitiEventListener>>();
+    typedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(ActivitiEventType.class);
   }
 
   public synchronized void addEventListener(ActivitiEventListener listenerToAdd) {
@@ -74,7 +80,26 @@ public class ActivitiEventSupport {
     }
   }
 
+  /**
+   * @return true if any listener is registered for all events or for events of the given type.
+   */
+  public boolean hasListeners(ActivitiEventType type) {
+    if (!eventListeners.isEmpty()) {
+      return true;
+    }
+    List<ActivitiEventListener> typed = typedListeners.get(type);
+    return typed != null && !typed.isEmpty();
+  }
+
   public void dispatchEvent(ActivitiEvent event) {
+    dispatchEvent(event, asyncEventListenerExecutor);
+  }
+
+  /**
+   * Dispatches the event, handing the events of {@link ActivitiAsyncEventListener}s to the given executor (if not null). 
+   * Used for the listeners of process definitions, of which the event support has no executor of its own.
+   */
+  public void dispatchEvent(ActivitiEvent event, AsyncEventListenerExecutor asyncEventListenerExecutor) {
     if (event == null) {
       throw new ActivitiIllegalArgumentException("Event cannot be null.");
     }
@@ -86,7 +111,7 @@ public class ActivitiEventSupport {
     // Call global listeners
     if (!eventListeners.isEmpty()) {
       for (ActivitiEventListener listener : eventListeners) {
-        dispatchEvent(event, listener);
+        dispatchEvent(event, listener, asyncEventListenerExecutor);
       }
     }
 
@@ -94,11 +119,27 @@ public class ActivitiEventSupport {
     List<ActivitiEventListener> typed = typedListeners.get(event.getType());
     if (typed != null && !typed.isEmpty()) {
       for (ActivitiEventListener listener : typed) {
-        dispatchEvent(event, listener);
+        dispatchEvent(event, listener, asyncEventListenerExecutor);
       }
     }
   }
 
+  protected void dispatchEvent(ActivitiEvent event, ActivitiEventListener listener, AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    if (asyncEventListenerExecutor != null && isAsyncEventListener(listener)) {
+      asyncEventListenerExecutor.deliver(event, listener);
+    } else {
+      dispatchEvent(event, listener);
+    }
+  }
+
+  protected boolean isAsyncEventListener(ActivitiEventListener listener) {
+    if (listener instanceof DelegateActivitiEventListener) {
+      // Class based listener of a process definition
+      return ((DelegateActivitiEventListener) listener).isAsyncEventListener();
+    }
+    return listener instanceof ActivitiAsyncEventListener;
+  }
+
   protected void dispatchEvent(ActivitiEvent event, ActivitiEventListener listener) {
     try {
       listener.onEvent(event);
@@ -116,13 +157,23 @@ public class ActivitiEventSupport {
   protected synchronized void addTypedEventListener(ActivitiEventListener listener, ActivitiEventType type) {
     List<ActivitiEventListener> listeners = typedListeners.get(type);
     if (listeners == null) {
-      // Add an empty list of listeners for this type
+      // Add an empty list of listeners for this type, to a copy of the map that replaces the one being read by dispatching threads
       listeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-      typedListeners.put(type, listeners);
+      Map<ActivitiEventType, List<ActivitiEventListener>> newTypedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(typedListeners);
+      newTypedListeners.put(type, listeners);
+      typedListeners = newTypedListeners;
     }
 
     if (!listeners.contains(listener)) {
       listeners.add(listener);
     }
   }
+
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return asyncEventListenerExecutor;
+  }
+
+  public void setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+  }
 }
@@ -0,0 +1,227 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.delegate.event.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.delegate.event.ActivitiAsyncEventListener;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the events of {@link ActivitiAsyncEventListener}s once the command that dispatched them has been committed.
+ * 
+ * The deliveries run on a fixed number of lanes, each being a single thread with a bounded queue. All events of 
+ * a process instance go to the same lane, which keeps them in order. When the queue of a lane is full, the committing 
+ * thread waits until there is room again, so a slow listener slows down the engine instead of exhausting the memory.
+ */
+public class AsyncEventListenerExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventListenerExecutor.class);
+
+  protected static final String PENDING_DELIVERIES_ATTRIBUTE = "asyncEventListenerDeliveries";
+
+  protected int numberOfLanes;
+  protected int queueSizePerLane;
+  protected long shutdownTimeoutInSeconds = 60L;
+
+  protected ThreadPoolExecutor[] lanes;
+  protected AtomicInteger laneCounter = new AtomicInteger();
+
+  public AsyncEventListenerExecutor(int numberOfLanes, int queueSizePerLane) {
+    this.numberOfLanes = numberOfLanes;
+    this.queueSizePerLane = queueSizePerLane;
+  }
+
+  /**
+   * Delivers the event to the listener after the transaction of the current command has been committed or, when 
+   * there's no command or transaction, right away (but still on a lane thread).
+   */
+  public void deliver(ActivitiEvent event, ActivitiEventListener listener) {
+    CommandContext commandContext = Context.getCommandContext();
+    TransactionContext transactionContext = commandContext != null ? Context.getTransactionContext() : null;
+    if (transactionContext == null) {
+      List<EventDelivery> deliveries = new ArrayList<EventDelivery>(1);
+      deliveries.add(new EventDelivery(event, listener));
+      submit(getLane(event), deliveries);
+      return;
+    }
+
+    PendingDeliveries pendingDeliveries = (PendingDeliveries) commandContext.getAttribute(PENDING_DELIVERIES_ATTRIBUTE);
+    if (pendingDeliveries == null) {
+      pendingDeliveries = new PendingDeliveries();
+      commandContext.addAttribute(PENDING_DELIVERIES_ATTRIBUTE, pendingDeliveries);
+      
+      // Not on command context close: with a transaction managed outside of the engine (e.g. Spring), 
+      // the command is closed before the transaction is committed. Rolled back events are never delivered.
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, pendingDeliveries);
+    }
+    pendingDeliveries.add(getLane(event), new EventDelivery(event, listener));
+  }
+
+  protected int getLane(ActivitiEvent event) {
+    String key = event.getProcessInstanceId() != null ? event.getProcessInstanceId() : event.getExecutionId();
+    int hash = key != null ? key.hashCode() : laneCounter.getAndIncrement();
+    return (hash & Integer.MAX_VALUE) % numberOfLanes;
+  }
+
+  protected void submit(int lane, final List<EventDelivery> deliveries) {
+    getLanes()[lane].execute(new Runnable() {
+      public void run() {
+        for (EventDelivery delivery : deliveries) {
+          delivery.deliver();
+        }
+      }
+    });
+  }
+
+  protected synchronized ThreadPoolExecutor[] getLanes() {
+    if (lanes == null) {
+      lanes = new ThreadPoolExecutor[numberOfLanes];
+      for (int i = 0; i < numberOfLanes; i++) {
+        lanes[i] = createLane(i);
+      }
+    }
+    return lanes;
+  }
+
+  protected ThreadPoolExecutor createLane(final int lane) {
+    ThreadFactory threadFactory = new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "activiti-async-event-listener-" + lane);
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+
+    RejectedExecutionHandler waitForRoomHandler = new RejectedExecutionHandler() {
+      public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+          LOG.warn("Async event listener executor is shut down, events are not delivered");
+          return;
+        }
+        try {
+          // The lane thread is running, as the queue can only be full when it is busy
+          executor.getQueue().put(runnable);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          LOG.warn("Interrupted while waiting to queue events for async event listeners, events are not delivered");
+        }
+      }
+    };
+
+    return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueSizePerLane), threadFactory, waitForRoomHandler);
+  }
+
+  /**
+   * Delivers the queued events and stops the lane threads.
+   */
+  public synchronized void shutdown() {
+    if (lanes == null) {
+      return;
+    }
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor lane : lanes) {
+        if (!lane.awaitTermination(shutdownTimeoutInSeconds, TimeUnit.SECONDS)) {
+          LOG.warn("Timeout during shutdown of async event listener executor, not all events were delivered");
+          lane.shutdownNow();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted during shutdown of async event listener executor", e);
+    }
+    lanes = null;
+  }
+
+  public int getNumberOfLanes() {
+    return numberOfLanes;
+  }
+
+  public int getQueueSizePerLane() {
+    return queueSizePerLane;
+  }
+
+  public long getShutdownTimeoutInSeconds() {
+    return shutdownTimeoutInSeconds;
+  }
+
+  public void setShutdownTimeoutInSeconds(long shutdownTimeoutInSeconds) {
+    this.shutdownTimeoutInSeconds = shutdownTimeoutInSeconds;
+  }
+
+  protected static class EventDelivery {
+
+    protected ActivitiEvent event;
+    protected ActivitiEventListener listener;
+
+    public EventDelivery(ActivitiEvent event, ActivitiEventListener listener) {
+      this.event = event;
+      this.listener = listener;
+    }
+
+    public void deliver() {
+      try {
+        listener.onEvent(event);
+      } catch (Throwable t) {
+        LOG.warn("Exception while executing async event-listener, which was ignored", t);
+      }
+    }
+  }
+
+  /**
+   * The deliveries of one command, grouped per lane, which are submitted once the transaction has been committed.
+   */
+  protected class PendingDeliveries implements TransactionListener {
+
+    protected List<EventDelivery>[] deliveriesPerLane;
+
+    @SuppressWarnings("unchecked")
+    public PendingDeliveries() {
+      this.deliveriesPerLane = new List[numberOfLanes];
+    }
+
+    public void add(int lane, EventDelivery delivery) {
+      if (deliveriesPerLane[lane] == null) {
+        deliveriesPerLane[lane] = new ArrayList<EventDelivery>();
+      }
+      deliveriesPerLane[lane].add(delivery);
+    }
+
+    public void execute(CommandContext commandContext) {
+      for (int lane = 0; lane < deliveriesPerLane.length; lane++) {
+        if (deliveriesPerLane[lane] != null) {
+          submit(lane, deliveriesPerLane[lane]);
+        }
+      }
+    }
+  }
+
+}
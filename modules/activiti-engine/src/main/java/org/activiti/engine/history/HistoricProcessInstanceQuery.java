@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.query.KeysetQuery;
 import org.activiti.engine.query.Query;
 import org.activiti.engine.runtime.ProcessInstanceQuery;
 
@@ -30,7 +31,7 @@ import org.activiti.engine.runtime.ProcessInstanceQuery;
  * @author Tijs Rademakers
  * @author Falko Menge
  */
-public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInstanceQuery, HistoricProcessInstance> {
+public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInstanceQuery, HistoricProcessInstance>, KeysetQuery<HistoricProcessInstance> {
 
   /**
    * Only select historic process instances with the given process instance. {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match.
@@ -302,6 +303,18 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
    */
   HistoricProcessInstanceQuery limitProcessInstanceVariables(Integer processInstanceVariablesLimit);
 
+  /**
+   * Fetches the variables included with {@link #includeProcessVariables()} in a second query for the process instances of the
+   * requested page, instead of joining them in the process instance query. The paging is then done by the database and
+   * {@link #limitProcessInstanceVariables(Integer)} no longer caps the result.
+   */
+  HistoricProcessInstanceQuery fetchVariablesSeparately();
+
+  /**
+   * Only includes the process variables with the given names. Implies {@link #fetchVariablesSeparately()}.
+   */
+  HistoricProcessInstanceQuery limitIncludedVariables(String... variableNames);
+
   /**
    * Only select process instances that failed due to an exception happening during a job execution.
    */
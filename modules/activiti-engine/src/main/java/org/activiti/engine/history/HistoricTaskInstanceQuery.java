@@ -15,6 +15,7 @@ package org.activiti.engine.history;
 
 import java.util.Date;
 
+import org.activiti.engine.query.KeysetQuery;
 import org.activiti.engine.task.TaskInfoQuery;
 
 /**
@@ -23,7 +24,7 @@ import org.activiti.engine.task.TaskInfoQuery;
  * @author Tom Baeyens
  * @author Joram Barrez
  */
-public interface HistoricTaskInstanceQuery extends TaskInfoQuery<HistoricTaskInstanceQuery, HistoricTaskInstance> {
+public interface HistoricTaskInstanceQuery extends TaskInfoQuery<HistoricTaskInstanceQuery, HistoricTaskInstance>, KeysetQuery<HistoricTaskInstance> {
 
   /** Only select historic task instances with the given task delete reason. */
   HistoricTaskInstanceQuery taskDeleteReason(String taskDeleteReason);
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.activiti.engine.ActivitiException;
@@ -24,7 +25,9 @@ import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.query.KeysetPage;
 import org.activiti.engine.query.Query;
+import org.activiti.engine.query.QueryCursor;
 import org.activiti.engine.query.QueryProperty;
 
 /**
@@ -60,6 +63,18 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
   protected NullHandlingOnOrder nullHandlingOnOrder;
 
+  // The first order of the query and the number of orders, to check whether keyset paging is possible
+  protected QueryProperty firstOrderProperty;
+  protected String firstOrderDirection;
+  protected NullHandlingOnOrder firstOrderNullHandling;
+  protected int orderCount;
+
+  // Position after which the rows of a keyset page start, only set while such a page is fetched
+  protected String keysetColumn;
+  protected String keysetOperator;
+  protected Object keysetValue;
+  protected String keysetId;
+
   protected AbstractQuery() {
     parameter = this;
   }
@@ -108,6 +123,12 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     if (orderProperty == null) {
       throw new ActivitiIllegalArgumentException("You should call any of the orderBy methods first before specifying a direction");
     }
+    if (orderCount == 0) {
+      firstOrderProperty = orderProperty;
+      firstOrderDirection = direction.getName();
+      firstOrderNullHandling = nullHandlingOnOrder;
+    }
+    orderCount++;
     addOrder(orderProperty.getName(), direction.getName(), nullHandlingOnOrder);
     orderProperty = null;
     nullHandlingOnOrder = null;
@@ -149,6 +170,86 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  /**
+   * Implements {@link org.activiti.engine.query.KeysetQuery#listPageAfter(QueryCursor, int)} for the subclasses that 
+   * support keyset paging: the rows after the cursor are selected with a condition on the order property and the id, 
+   * so that the database doesn't need to skip the rows of the previous pages.
+   */
+  public KeysetPage<U> listPageAfter(QueryCursor cursor, int maxResults) {
+    checkQueryOk();
+    if (maxResults <= 0) {
+      throw new ActivitiIllegalArgumentException("maxResults must be greater than 0 for keyset paging");
+    }
+    if (orderCount > 1 || firstOrderNullHandling != null) {
+      throw new ActivitiIllegalArgumentException("Keyset paging needs a query ordered by at most one property, without null handling");
+    }
+
+    String idColumn = getKeysetIdColumn();
+    boolean orderedById = firstOrderProperty == null || idColumn.equals(firstOrderProperty.getName());
+    if (!orderedById && !isKeysetSortProperty(firstOrderProperty)) {
+      throw new ActivitiIllegalArgumentException("Keyset paging is not supported when ordering by " + firstOrderProperty.getName());
+    }
+    if (cursor != null && (cursor.getId() == null || (!orderedById && cursor.getSortValue() == null))) {
+      throw new ActivitiIllegalArgumentException("Invalid cursor for keyset paging: " + cursor);
+    }
+
+    String sortOrder = SORTORDER_DESC.equals(firstOrderDirection) ? SORTORDER_DESC : SORTORDER_ASC;
+    String originalOrderBy = orderBy;
+    if (orderedById) {
+      orderBy = idColumn + " " + sortOrder;
+    } else {
+      orderBy = firstOrderProperty.getName() + " " + sortOrder + ", " + idColumn + " " + sortOrder;
+      keysetColumn = firstOrderProperty.getName();
+    }
+    keysetOperator = SORTORDER_DESC.equals(sortOrder) ? "<" : ">";
+    if (cursor != null) {
+      keysetValue = cursor.getSortValue();
+      keysetId = cursor.getId();
+    }
+
+    List<U> results;
+    try {
+      // One extra row tells whether there is a next page
+      results = listPage(0, maxResults < Integer.MAX_VALUE ? maxResults + 1 : maxResults);
+    } finally {
+      orderBy = originalOrderBy;
+      keysetColumn = null;
+      keysetOperator = null;
+      keysetValue = null;
+      keysetId = null;
+    }
+
+    QueryCursor nextCursor = null;
+    if (results.size() > maxResults) {
+      results = new ArrayList<U>(results.subList(0, maxResults));
+      U lastResult = results.get(maxResults - 1);
+      nextCursor = new QueryCursor(orderedById ? null : getKeysetSortValue(lastResult, firstOrderProperty), getKeysetRowId(lastResult));
+    }
+    return new KeysetPage<U>(results, nextCursor);
+  }
+
+  /**
+   * @return the id column that is added as last order column for keyset paging.
+   */
+  protected String getKeysetIdColumn() {
+    return "RES.ID_";
+  }
+
+  /**
+   * Subclasses supporting keyset paging return true for the (non-null) properties they can be paged by.
+   */
+  protected boolean isKeysetSortProperty(QueryProperty property) {
+    return false;
+  }
+
+  protected Object getKeysetSortValue(U result, QueryProperty property) {
+    throw new ActivitiIllegalArgumentException("Keyset paging is not supported by " + getClass().getName());
+  }
+
+  protected String getKeysetRowId(U result) {
+    throw new ActivitiIllegalArgumentException("Keyset paging is not supported by " + getClass().getName());
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
@@ -247,6 +348,22 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
       return getOrderBy();
   }
 
+  public String getKeysetColumn() {
+    return keysetColumn;
+  }
+
+  public String getKeysetOperator() {
+    return keysetOperator;
+  }
+
+  public Object getKeysetValue() {
+    return keysetValue;
+  }
+
+  public String getKeysetId() {
+    return keysetId;
+  }
+
   public String getDatabaseType() {
     return databaseType;
   }
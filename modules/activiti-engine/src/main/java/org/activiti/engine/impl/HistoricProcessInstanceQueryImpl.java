@@ -14,6 +14,7 @@
 package org.activiti.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +28,7 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.activiti.engine.query.QueryProperty;
 import org.activiti.engine.repository.ProcessDefinition;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -68,6 +70,8 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
   protected String involvedUser;
   protected boolean includeProcessVariables;
   protected Integer processInstanceVariablesLimit;
+  protected boolean fetchVariablesSeparately;
+  protected List<String> includedVariableNames;
   protected boolean withJobException;
   protected String tenantId;
   protected String tenantIdLike;
@@ -329,6 +333,23 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return this;
   }
 
+  public HistoricProcessInstanceQuery fetchVariablesSeparately() {
+    this.fetchVariablesSeparately = true;
+    return this;
+  }
+
+  public HistoricProcessInstanceQuery limitIncludedVariables(String... variableNames) {
+    if (variableNames == null) {
+      throw new ActivitiIllegalArgumentException("Variable names is null");
+    }
+    if (variableNames.length == 0) {
+      throw new ActivitiIllegalArgumentException("Variable names is empty");
+    }
+    this.includedVariableNames = Arrays.asList(variableNames);
+    this.fetchVariablesSeparately = true;
+    return this;
+  }
+
   public Integer getProcessInstanceVariablesLimit() {
     return processInstanceVariablesLimit;
   }
@@ -604,6 +625,24 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return results;
   }
 
+  @Override
+  protected boolean isKeysetSortProperty(QueryProperty property) {
+    return property == HistoricProcessInstanceQueryProperty.START_TIME || property == HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_;
+  }
+
+  @Override
+  protected Object getKeysetSortValue(HistoricProcessInstance historicProcessInstance, QueryProperty property) {
+    if (property == HistoricProcessInstanceQueryProperty.START_TIME) {
+      return historicProcessInstance.getStartTime();
+    }
+    return historicProcessInstance.getId();
+  }
+
+  @Override
+  protected String getKeysetRowId(HistoricProcessInstance historicProcessInstance) {
+    return historicProcessInstance.getId();
+  }
+
   protected void localize(HistoricProcessInstance processInstance, CommandContext commandContext) {
     HistoricProcessInstanceEntity processInstanceEntity = (HistoricProcessInstanceEntity) processInstance;
     processInstanceEntity.setLocalizedName(null);
@@ -641,7 +680,8 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
   protected void checkQueryOk() {
     super.checkQueryOk();
 
-    if (includeProcessVariables) {
+    // the variables fetched in a separate query are not part of the process instance query
+    if (includeProcessVariables && !fetchVariablesSeparately) {
       this.orderBy(HistoricProcessInstanceQueryProperty.INCLUDED_VARIABLE_TIME).asc();
     }
   }
@@ -763,6 +803,14 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
   public boolean isIncludeProcessVariables() {
     return includeProcessVariables;
   }
+
+  public boolean isFetchVariablesSeparately() {
+    return fetchVariablesSeparately;
+  }
+
+  public List<String> getIncludedVariableNames() {
+    return includedVariableNames;
+  }
   
   public boolean isWithException() {
     return withJobException;
@@ -28,6 +28,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntity;
 import org.activiti.engine.impl.variable.VariableTypes;
+import org.activiti.engine.query.QueryProperty;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -107,6 +108,7 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   protected boolean includeTaskLocalVariables = false;
   protected boolean includeProcessVariables = false;
   protected Integer taskVariablesLimit;
+  protected List<String> resolvedCandidateGroups;
   protected List<HistoricTaskInstanceQueryImpl> orQueryObjects = new ArrayList<HistoricTaskInstanceQueryImpl>();
   protected HistoricTaskInstanceQueryImpl currentOrQueryObject = null;
   protected boolean inOrStatement = false;
@@ -127,6 +129,7 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
+    resetResolvedCandidateGroups();
     return commandContext.getHistoricTaskInstanceEntityManager().findHistoricTaskInstanceCountByQueryCriteria(this);
   }
 
@@ -134,6 +137,7 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   public List<HistoricTaskInstance> executeList(CommandContext commandContext, Page page) {
     ensureVariablesInitialized();
     checkQueryOk();
+    resetResolvedCandidateGroups();
     List<HistoricTaskInstance> tasks = null;
     if (includeTaskLocalVariables || includeProcessVariables) {
       tasks = commandContext.getHistoricTaskInstanceEntityManager().findHistoricTaskInstancesAndVariablesByQueryCriteria(this);
@@ -150,6 +154,24 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     return tasks;
   }
 
+  @Override
+  protected boolean isKeysetSortProperty(QueryProperty property) {
+    return property == HistoricTaskInstanceQueryProperty.START || property == HistoricTaskInstanceQueryProperty.TASK_PRIORITY;
+  }
+
+  @Override
+  protected Object getKeysetSortValue(HistoricTaskInstance historicTaskInstance, QueryProperty property) {
+    if (property == HistoricTaskInstanceQueryProperty.START) {
+      return historicTaskInstance.getStartTime();
+    }
+    return historicTaskInstance.getPriority();
+  }
+
+  @Override
+  protected String getKeysetRowId(HistoricTaskInstance historicTaskInstance) {
+    return historicTaskInstance.getId();
+  }
+
   public HistoricTaskInstanceQueryImpl processInstanceId(String processInstanceId) {
     if (inOrStatement) {
       this.currentOrQueryObject.processInstanceId = processInstanceId;
@@ -1294,15 +1316,26 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
   }
 
   protected List<String> getGroupsForCandidateUser(String candidateUser) {
-    // TODO: Discuss about removing this feature? Or document it properly
-    // and maybe recommend to not use it
-    // and explain alternatives
-    List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
-    List<String> groupIds = new ArrayList<String>();
-    for (Group group : groups) {
-      groupIds.add(group.getId());
-    }
-    return groupIds;
+    // the groups are needed several times while building the sql, so they are only resolved once per execution
+    if (resolvedCandidateGroups == null) {
+      // TODO: Discuss about removing this feature? Or document it properly
+      // and maybe recommend to not use it
+      // and explain alternatives
+      List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
+      List<String> groupIds = new ArrayList<String>();
+      for (Group group : groups) {
+        groupIds.add(group.getId());
+      }
+      resolvedCandidateGroups = groupIds;
+    }
+    return resolvedCandidateGroups;
+  }
+
+  protected void resetResolvedCandidateGroups() {
+    resolvedCandidateGroups = null;
+    for (HistoricTaskInstanceQueryImpl orQueryObject : orQueryObjects) {
+      orQueryObject.resetResolvedCandidateGroups();
+    }
   }
 
   // getters and setters
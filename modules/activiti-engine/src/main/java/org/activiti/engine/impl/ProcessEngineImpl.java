@@ -29,6 +29,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.TransactionContextFactory;
+import org.activiti.engine.impl.cmd.RegisterProcessDefinitionListenerTypesCmd;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.form.api.FormRepositoryService;
@@ -81,6 +82,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationsProcessEngineBuild());
     }
 
+    if (processEngineConfiguration.isUsingRelationalDatabase() && processEngineConfiguration.isSkipEventsWithoutListeners()) {
+      commandExecutor.execute(new RegisterProcessDefinitionListenerTypesCmd());
+    }
+
     if (name == null) {
       log.info("default activiti ProcessEngine created");
     } else {
@@ -106,6 +111,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.shutdown();
     }
 
+    if (processEngineConfiguration.getEventLogWriter() != null) {
+      processEngineConfiguration.getEventLogWriter().shutdown();
+    }
+
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
@@ -113,6 +122,14 @@ public class ProcessEngineImpl implements ProcessEngine {
     }
     
     processEngineConfiguration.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createGlobalEvent(ActivitiEventType.ENGINE_CLOSED));
+
+    if (processEngineConfiguration.getAsyncEventListenerExecutor() != null) {
+      processEngineConfiguration.getAsyncEventListenerExecutor().shutdown();
+    }
+
+    if (processEngineConfiguration.getIdGeneratorPrefetchExecutor() != null) {
+      processEngineConfiguration.getIdGeneratorPrefetchExecutor().shutdown();
+    }
   }
 
   // getters and setters
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -25,6 +26,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.SuspensionState;
 import org.activiti.engine.impl.variable.VariableTypes;
+import org.activiti.engine.query.QueryProperty;
 import org.activiti.engine.task.DelegationState;
 import org.activiti.engine.task.Task;
 import org.activiti.engine.task.TaskQuery;
@@ -104,6 +106,9 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   protected boolean includeTaskLocalVariables;
   protected boolean includeProcessVariables;
   protected Integer taskVariablesLimit;
+  protected List<String> resolvedCandidateGroups;
+  protected boolean fetchVariablesSeparately;
+  protected List<String> includedVariableNames;
   protected String userIdForCandidateAndAssignee;
   protected boolean bothCandidateAndAssigned;
   protected String locale;
@@ -1144,6 +1149,23 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return this;
   }
 
+  public TaskQuery fetchVariablesSeparately() {
+    this.fetchVariablesSeparately = true;
+    return this;
+  }
+
+  public TaskQuery limitIncludedVariables(String... variableNames) {
+    if (variableNames == null) {
+      throw new ActivitiIllegalArgumentException("Variable names is null");
+    }
+    if (variableNames.length == 0) {
+      throw new ActivitiIllegalArgumentException("Variable names is empty");
+    }
+    this.includedVariableNames = Arrays.asList(variableNames);
+    this.fetchVariablesSeparately = true;
+    return this;
+  }
+
   public Integer getTaskVariablesLimit() {
     return taskVariablesLimit;
   }
@@ -1167,15 +1189,26 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   }
 
   protected List<String> getGroupsForCandidateUser(String candidateUser) {
-    // TODO: Discuss about removing this feature? Or document it properly
-    // and maybe recommend to not use it
-    // and explain alternatives
-    List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
-    List<String> groupIds = new ArrayList<String>();
-    for (Group group : groups) {
-      groupIds.add(group.getId());
+    // the groups are needed several times while building the sql, so they are only resolved once per execution
+    if (resolvedCandidateGroups == null) {
+      // TODO: Discuss about removing this feature? Or document it properly
+      // and maybe recommend to not use it
+      // and explain alternatives
+      List<Group> groups = Context.getCommandContext().getGroupEntityManager().findGroupsByUser(candidateUser);
+      List<String> groupIds = new ArrayList<String>();
+      for (Group group : groups) {
+        groupIds.add(group.getId());
+      }
+      resolvedCandidateGroups = groupIds;
+    }
+    return resolvedCandidateGroups;
+  }
+
+  protected void resetResolvedCandidateGroups() {
+    resolvedCandidateGroups = null;
+    for (TaskQueryImpl orQueryObject : orQueryObjects) {
+      orQueryObject.resetResolvedCandidateGroups();
     }
-    return groupIds;
   }
 
   protected void ensureVariablesInitialized() {
@@ -1295,11 +1328,32 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return specialOrderBy;
   }
 
+  // keyset paging ////////////////////////////////////////////////////////////
+
+  @Override
+  protected boolean isKeysetSortProperty(QueryProperty property) {
+    return property == TaskQueryProperty.CREATE_TIME || property == TaskQueryProperty.PRIORITY;
+  }
+
+  @Override
+  protected Object getKeysetSortValue(Task task, QueryProperty property) {
+    if (property == TaskQueryProperty.CREATE_TIME) {
+      return task.getCreateTime();
+    }
+    return task.getPriority();
+  }
+
+  @Override
+  protected String getKeysetRowId(Task task) {
+    return task.getId();
+  }
+
   // results ////////////////////////////////////////////////////////////////
 
   public List<Task> executeList(CommandContext commandContext, Page page) {
     ensureVariablesInitialized();
     checkQueryOk();
+    resetResolvedCandidateGroups();
     List<Task> tasks = null;
     if (includeTaskLocalVariables || includeProcessVariables) {
       tasks = commandContext.getTaskEntityManager().findTasksAndVariablesByQueryCriteria(this);
@@ -1319,6 +1373,7 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
+    resetResolvedCandidateGroups();
     return commandContext.getTaskEntityManager().findTaskCountByQueryCriteria(this);
   }
 
@@ -1579,6 +1634,14 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
     return includeProcessVariables;
   }
 
+  public boolean isFetchVariablesSeparately() {
+    return fetchVariablesSeparately;
+  }
+
+  public List<String> getIncludedVariableNames() {
+    return includedVariableNames;
+  }
+
   public boolean isBothCandidateAndAssigned() {
     return bothCandidateAndAssigned;
   }
@@ -5,6 +5,7 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.ExecutionListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -170,7 +171,7 @@ public class ContinueProcessOperation extends AbstractOperation {
   protected void executeActivityBehavior(ActivityBehavior activityBehavior, FlowNode flowNode) {
     logger.debug("Executing activityBehavior {} on activity '{}' with execution {}", activityBehavior.getClass(), flowNode.getId(), execution.getId());
 
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.ACTIVITY_STARTED)) {
       Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
           ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_STARTED, flowNode.getId(), flowNode.getName(), execution.getId(),
               execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
@@ -196,7 +197,7 @@ public class ContinueProcessOperation extends AbstractOperation {
     }
 
     // Firing event that transition is being taken
-    if(Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if(Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.SEQUENCEFLOW_TAKEN)) {
       FlowElement sourceFlowElement = sequenceFlow.getSourceFlowElement();
       FlowElement targetFlowElement = sequenceFlow.getTargetFlowElement();
       Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
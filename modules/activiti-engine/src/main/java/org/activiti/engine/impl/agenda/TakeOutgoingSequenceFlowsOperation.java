@@ -14,6 +14,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.activiti.engine.impl.util.condition.ConditionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -193,7 +194,7 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
     boolean completeAdhocSubProcess = false;
     AdhocSubProcess adhocSubProcess = (AdhocSubProcess) flowNode.getParentContainer();
     if (adhocSubProcess.getCompletionCondition() != null) {
-      Expression expression = Context.getProcessEngineConfiguration().getExpressionManager().createExpression(adhocSubProcess.getCompletionCondition());
+      Expression expression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), adhocSubProcess.getCompletionCondition());
       Condition condition = new UelExpressionCondition(expression);
       if (condition.evaluate(adhocSubProcess.getId(), execution)) {
         completeAdhocSubProcess = true;
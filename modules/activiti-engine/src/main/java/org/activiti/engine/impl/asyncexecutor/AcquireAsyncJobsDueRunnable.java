@@ -46,32 +46,16 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     Thread.currentThread().setName("activiti-acquire-async-jobs");
 
     final CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    AdaptiveJobAcquisition adaptiveJobAcquisition = createAdaptiveJobAcquisition();
 
     while (!isInterrupted) {
 
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
-
-        boolean allJobsSuccessfullyOffered = true; 
-        for (JobEntity job : acquiredJobs.getJobs()) {
-          boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
-          if (!jobSuccessFullyOffered) {
-            allJobsSuccessfullyOffered = false;
-          }
-        }
-        
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly. 
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0; 
-        }
-        
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+        if (adaptiveJobAcquisition != null) {
+          millisToWait = acquireAdaptively(commandExecutor, adaptiveJobAcquisition);
+          
+        } else {
+          millisToWait = acquire(commandExecutor);
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
@@ -115,6 +99,71 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected AdaptiveJobAcquisition createAdaptiveJobAcquisition() {
+    if (!(asyncExecutor instanceof DefaultAsyncJobExecutor) || !((DefaultAsyncJobExecutor) asyncExecutor).isAdaptiveJobAcquisition()) {
+      return null;
+    }
+    DefaultAsyncJobExecutor defaultAsyncExecutor = (DefaultAsyncJobExecutor) asyncExecutor;
+    return new AdaptiveJobAcquisition(asyncExecutor.getMaxAsyncJobsDuePerAcquisition(), defaultAsyncExecutor.getMaxAdaptiveJobsPerAcquisition(), 
+        defaultAsyncExecutor.getMinAdaptiveJobAcquireWaitTimeInMillis(), asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis());
+  }
+
+  protected int getRemainingCapacity() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      return ((DefaultAsyncJobExecutor) asyncExecutor).getRemainingCapacity();
+    }
+    return Integer.MAX_VALUE;
+  }
+
+  protected long acquire(CommandExecutor commandExecutor) {
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+
+    boolean allJobsSuccessfullyOffered = offerJobs(acquiredJobs);
+
+    // If all jobs are executed, we check if we got back the amount we expected
+    // If not, we will wait, as to not query the database needlessly. 
+    // Otherwise, we set the wait time to 0, as to query again immediately.
+    long waitTime = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+      waitTime = 0; 
+    }
+
+    // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
+    if (waitTime == 0 && !allJobsSuccessfullyOffered) {
+      waitTime = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+    }
+    return waitTime;
+  }
+
+  protected long acquireAdaptively(CommandExecutor commandExecutor, AdaptiveJobAcquisition adaptiveJobAcquisition) {
+    
+    // Don't lock jobs that can't be executed right away: they would only need to be unlocked again
+    int remainingCapacity = getRemainingCapacity();
+    if (remainingCapacity <= 0) {
+      return Math.max(asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis(), adaptiveJobAcquisition.getMinWaitTimeInMillis());
+    }
+
+    int jobsRequested = adaptiveJobAcquisition.getBatchSize(remainingCapacity);
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, jobsRequested));
+
+    if (!offerJobs(acquiredJobs)) {
+      return adaptiveJobAcquisition.jobsRejected();
+    }
+    return adaptiveJobAcquisition.jobsAcquired(acquiredJobs.size(), jobsRequested);
+  }
+
+  protected boolean offerJobs(AcquiredJobEntities acquiredJobs) {
+    boolean allJobsSuccessfullyOffered = true; 
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
+      if (!jobSuccessFullyOffered) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    return allJobsSuccessfullyOffered;
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
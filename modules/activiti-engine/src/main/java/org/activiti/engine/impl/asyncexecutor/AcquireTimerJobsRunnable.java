@@ -50,11 +50,13 @@ public class AcquireTimerJobsRunnable implements Runnable {
     Thread.currentThread().setName("activiti-acquire-timer-jobs");
 
     final CommandExecutor commandExecutor = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor();
+    AdaptiveJobAcquisition adaptiveJobAcquisition = createAdaptiveJobAcquisition();
 
     while (!isInterrupted) {
 
       try {
-        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        int jobsRequested = adaptiveJobAcquisition != null ? adaptiveJobAcquisition.getBatchSize() : asyncExecutor.getMaxTimerJobsPerAcquisition();
+        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, jobsRequested));
 
         commandExecutor.execute(new Command<Void>() {
 
@@ -68,10 +70,15 @@ public class AcquireTimerJobsRunnable implements Runnable {
         });
         
         // if all jobs were executed
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
         int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-          millisToWait = 0; 
+        if (adaptiveJobAcquisition != null) {
+          millisToWait = adaptiveJobAcquisition.jobsAcquired(jobsAcquired, jobsRequested);
+          
+        } else {
+          millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+          if (jobsAcquired >= jobsRequested) {
+            millisToWait = 0; 
+          }
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
@@ -115,6 +122,15 @@ public class AcquireTimerJobsRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected AdaptiveJobAcquisition createAdaptiveJobAcquisition() {
+    if (!(asyncExecutor instanceof DefaultAsyncJobExecutor) || !((DefaultAsyncJobExecutor) asyncExecutor).isAdaptiveJobAcquisition()) {
+      return null;
+    }
+    DefaultAsyncJobExecutor defaultAsyncExecutor = (DefaultAsyncJobExecutor) asyncExecutor;
+    return new AdaptiveJobAcquisition(asyncExecutor.getMaxTimerJobsPerAcquisition(), defaultAsyncExecutor.getMaxAdaptiveJobsPerAcquisition(), 
+        defaultAsyncExecutor.getMinAdaptiveJobAcquireWaitTimeInMillis(), asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis());
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
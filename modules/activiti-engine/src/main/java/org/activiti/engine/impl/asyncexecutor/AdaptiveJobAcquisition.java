@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+/**
+ * Keeps track of the batch size and wait time of an acquisition thread when adaptive job acquisition is enabled.
+ * 
+ * The batch size doubles (up to the maximum) when the previous acquisition of the full batch size came back full and halves (down to the minimum) 
+ * when it came back empty. The wait time follows the backlog: no wait when the batch was full, the minimum wait time when 
+ * some jobs were found and an exponentially growing wait time (up to the maximum) while no jobs are found.
+ * 
+ * Instances are not thread-safe: each acquisition thread uses its own instance.
+ */
+public class AdaptiveJobAcquisition {
+
+  protected final int minBatchSize;
+  protected final int maxBatchSize;
+  protected final long minWaitTimeInMillis;
+  protected final long maxWaitTimeInMillis;
+
+  protected int batchSize;
+  protected long idleWaitTimeInMillis;
+
+  public AdaptiveJobAcquisition(int minBatchSize, int maxBatchSize, long minWaitTimeInMillis, long maxWaitTimeInMillis) {
+    this.minBatchSize = Math.max(1, minBatchSize);
+    this.maxBatchSize = Math.max(this.minBatchSize, maxBatchSize);
+    this.minWaitTimeInMillis = Math.max(0L, minWaitTimeInMillis);
+    this.maxWaitTimeInMillis = Math.max(this.minWaitTimeInMillis, maxWaitTimeInMillis);
+    this.batchSize = this.minBatchSize;
+  }
+
+  /**
+   * @return the number of jobs to acquire in the next acquisition, limited by the given remaining capacity.
+   */
+  public int getBatchSize(int remainingCapacity) {
+    return Math.max(1, Math.min(batchSize, remainingCapacity));
+  }
+
+  /**
+   * Adapts the batch size to the result of an acquisition.
+   * 
+   * @return the time (in milliseconds) to wait before the next acquisition.
+   */
+  public long jobsAcquired(int jobsAcquired, int jobsRequested) {
+    if (jobsAcquired >= jobsRequested) {
+      // only grow when the full batch size was requested, not when the request was limited by the remaining capacity
+      if (jobsRequested >= batchSize) {
+        batchSize = (int) Math.min((long) batchSize * 2, maxBatchSize);
+      }
+      idleWaitTimeInMillis = 0L;
+      return 0L;
+    }
+
+    if (jobsAcquired == 0) {
+      batchSize = Math.max(batchSize / 2, minBatchSize);
+      idleWaitTimeInMillis = idleWaitTimeInMillis == 0L ? minWaitTimeInMillis : Math.min(idleWaitTimeInMillis * 2, maxWaitTimeInMillis);
+      return idleWaitTimeInMillis;
+    }
+
+    idleWaitTimeInMillis = 0L;
+    return minWaitTimeInMillis;
+  }
+
+  /**
+   * Shrinks the batch size when not all acquired jobs could be handed to the executor.
+   * 
+   * @return the time (in milliseconds) to wait before the next acquisition.
+   */
+  public long jobsRejected() {
+    batchSize = Math.max(batchSize / 2, minBatchSize);
+    return minWaitTimeInMillis;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getMinBatchSize() {
+    return minBatchSize;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public long getMinWaitTimeInMillis() {
+    return minWaitTimeInMillis;
+  }
+
+  public long getMaxWaitTimeInMillis() {
+    return maxWaitTimeInMillis;
+  }
+
+}
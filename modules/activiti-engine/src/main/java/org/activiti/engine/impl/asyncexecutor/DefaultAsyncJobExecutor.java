@@ -12,21 +12,28 @@
  */
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import javax.sql.DataSource;
+
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.runtime.Job;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +70,23 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   /** The executor service used for job execution */
   protected ExecutorService executorService;
 
+  /**
+   * When enabled and the JVM supports virtual threads (Java 21+), every job is executed on its own virtual thread
+   * instead of on the thread pool. Jobs typically block on the database or remote calls, so the number of concurrently
+   * executing jobs is limited by {@link #virtualThreadMaxConcurrency} instead of by the number of platform threads.
+   * When virtual threads are not available, the regular thread pool is used.
+   */
+  protected boolean isVirtualThreadExecution;
+
+  /**
+   * The maximum number of jobs executed concurrently on virtual threads. By default (0 or less) the maximum number
+   * of active connections of the data source is used, as every executing job holds a connection.
+   */
+  protected int virtualThreadMaxConcurrency = -1;
+
+  /** Permits for jobs executing on virtual threads, null when the thread pool is used */
+  protected Semaphore virtualThreadPermits;
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool used for job execution
    */
@@ -88,6 +112,15 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultQueueSizeFullWaitTime = 0; 
 
+  /**
+   * When enabled, the number of jobs acquired per query grows (up to {@link #maxAdaptiveJobsPerAcquisition}) while
+   * acquisitions come back full and shrinks again when they come back empty. Async jobs are only acquired when
+   * the thread pool has room for them, and the acquire wait time adapts to the amount of jobs found.
+   */
+  protected boolean isAdaptiveJobAcquisition;
+  protected int maxAdaptiveJobsPerAcquisition = 64;
+  protected int minAdaptiveJobAcquireWaitTimeInMillis = 100;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int timerLockTimeInMillis = 5 * 60 * 1000;
   protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
@@ -114,32 +147,29 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     if (isActive) {
       runnable = createRunnableForJob(job);
       
+      if (virtualThreadPermits != null) {
+        if (!virtualThreadPermits.tryAcquire()) {
+          // The maximum number of concurrently executing jobs is reached: handled the same way as a full queue
+          unacquireJob(job);
+          return false;
+        }
+        runnable = new PermitReleasingRunnable(runnable, virtualThreadPermits);
+      }
+      
       try {
         executorService.execute(runnable);
       } catch (RejectedExecutionException e) {
         
+        if (virtualThreadPermits != null) {
+          virtualThreadPermits.release();
+        }
+        
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs 
         // that are to be executed is full and can't store more.
         // The job is now 'unlocked', meaning that the lock owner/time is set to null,
         // so other executors can pick the job up (or this async executor, the next time the 
         // acquire query is executed.
-        
-        // This can happen while already in a command context (for example in a transaction listener
-        // after the async executor has been hinted that a new async job is created)
-        // or not (when executed in the acquire thread runnable)
-        
-        CommandContext commandContext = Context.getCommandContext();
-        if (commandContext != null) {
-          commandContext.getJobManager().unacquire(job);
-          
-        } else {
-          processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-            public Void execute(CommandContext commandContext) {
-              commandContext.getJobManager().unacquire(job);
-              return null;
-            }
-          });
-        }
+        unacquireJob(job);
         
         // Job queue full, returning true so (if wanted) the acquiring can be throttled
         return false;
@@ -152,6 +182,26 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     return true;
   }
 
+  protected void unacquireJob(final Job job) {
+    
+    // This can happen while already in a command context (for example in a transaction listener
+    // after the async executor has been hinted that a new async job is created)
+    // or not (when executed in the acquire thread runnable)
+    
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      commandContext.getJobManager().unacquire(job);
+      
+    } else {
+      processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getJobManager().unacquire(job);
+          return null;
+        }
+      });
+    }
+  }
+
   protected Runnable createRunnableForJob(final Job job) {
     if (executeAsyncRunnableFactory == null) {
       return new ExecuteAsyncRunnable(job, processEngineConfiguration);
@@ -230,6 +280,17 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (isVirtualThreadExecution && executorService == null) {
+      executorService = createVirtualThreadExecutorService();
+      if (executorService != null) {
+        int maxConcurrency = determineVirtualThreadMaxConcurrency();
+        log.info("Executing async jobs on virtual threads, with at most {} jobs executing concurrently", maxConcurrency);
+        virtualThreadPermits = new Semaphore(maxConcurrency);
+        return;
+      }
+      log.warn("Virtual threads are not supported by this JVM, falling back to a thread pool for async job execution");
+    }
+
     if (threadPoolQueue == null) {
       log.info("Creating thread pool queue of size {}", queueSize);
       threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
@@ -243,6 +304,73 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  /**
+   * Creates an executor service that starts a new virtual thread for each job, or returns null when the JVM
+   * doesn't support virtual threads. Reflection is used, as the engine is compiled against older Java versions.
+   */
+  protected ExecutorService createVirtualThreadExecutorService() {
+    try {
+      Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+      threadBuilder = threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, "activiti-async-job-executor-virtual-thread-", 1L);
+      ThreadFactory threadFactory = (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(threadBuilder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+      
+    } catch (Exception e) {
+      log.debug("Could not create virtual thread executor service", e);
+      return null;
+    }
+  }
+
+  protected int determineVirtualThreadMaxConcurrency() {
+    if (virtualThreadMaxConcurrency > 0) {
+      return virtualThreadMaxConcurrency;
+    }
+
+    DataSource dataSource = processEngineConfiguration.getDataSource();
+    if (dataSource instanceof PooledDataSource) {
+      return ((PooledDataSource) dataSource).getPoolMaximumActiveConnections();
+    }
+
+    // Commonly used connection pools (HikariCP, Commons DBCP 2, Tomcat JDBC)
+    if (dataSource != null) {
+      for (String methodName : new String[] { "getMaximumPoolSize", "getMaxTotal", "getMaxActive" }) {
+        try {
+          Method method = dataSource.getClass().getMethod(methodName);
+          Object maxConnections = method.invoke(dataSource);
+          if (maxConnections instanceof Integer && (Integer) maxConnections > 0) {
+            return (Integer) maxConnections;
+          }
+        } catch (Exception e) {
+          // Not this type of connection pool
+        }
+      }
+    }
+
+    return processEngineConfiguration.getJdbcMaxActiveConnections();
+  }
+
+  /**
+   * The number of jobs that can currently be offered to this executor without being rejected,
+   * or {@link Integer#MAX_VALUE} when this is not known.
+   */
+  public int getRemainingCapacity() {
+    if (virtualThreadPermits != null) {
+      return virtualThreadPermits.availablePermits();
+    }
+    if (threadPoolQueue == null) {
+      return Integer.MAX_VALUE;
+    }
+
+    int remainingCapacity = threadPoolQueue.remainingCapacity();
+    if (executorService instanceof ThreadPoolExecutor) {
+      // Jobs are queued when all core threads are busy, threads up to the max pool size are only added when the queue is full 
+      ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executorService;
+      remainingCapacity += Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+    }
+    return remainingCapacity;
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
       
@@ -259,6 +387,7 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       }
   
       executorService = null;
+      virtualThreadPermits = null;
     }
   }
 
@@ -432,6 +561,22 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.executorService = executorService;
   }
 
+  public boolean isVirtualThreadExecution() {
+    return isVirtualThreadExecution;
+  }
+
+  public void setVirtualThreadExecution(boolean isVirtualThreadExecution) {
+    this.isVirtualThreadExecution = isVirtualThreadExecution;
+  }
+
+  public int getVirtualThreadMaxConcurrency() {
+    return virtualThreadMaxConcurrency;
+  }
+
+  public void setVirtualThreadMaxConcurrency(int virtualThreadMaxConcurrency) {
+    this.virtualThreadMaxConcurrency = virtualThreadMaxConcurrency;
+  }
+
   public String getLockOwner() {
     return lockOwner;
   }
@@ -472,6 +617,30 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
   }
 
+  public boolean isAdaptiveJobAcquisition() {
+    return isAdaptiveJobAcquisition;
+  }
+
+  public void setAdaptiveJobAcquisition(boolean isAdaptiveJobAcquisition) {
+    this.isAdaptiveJobAcquisition = isAdaptiveJobAcquisition;
+  }
+
+  public int getMaxAdaptiveJobsPerAcquisition() {
+    return maxAdaptiveJobsPerAcquisition;
+  }
+
+  public void setMaxAdaptiveJobsPerAcquisition(int maxAdaptiveJobsPerAcquisition) {
+    this.maxAdaptiveJobsPerAcquisition = maxAdaptiveJobsPerAcquisition;
+  }
+
+  public int getMinAdaptiveJobAcquireWaitTimeInMillis() {
+    return minAdaptiveJobAcquireWaitTimeInMillis;
+  }
+
+  public void setMinAdaptiveJobAcquireWaitTimeInMillis(int minAdaptiveJobAcquireWaitTimeInMillis) {
+    this.minAdaptiveJobAcquireWaitTimeInMillis = minAdaptiveJobAcquireWaitTimeInMillis;
+  }
+
   public int getDefaultTimerJobAcquireWaitTimeInMillis() {
     return defaultTimerJobAcquireWaitTimeInMillis;
   }
@@ -540,4 +709,26 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.executeAsyncRunnableFactory = executeAsyncRunnableFactory;
   }
 
+  /**
+   * Releases the permit of a job executing on a virtual thread when the job is done.
+   */
+  protected static class PermitReleasingRunnable implements Runnable {
+
+    protected final Runnable runnable;
+    protected final Semaphore permits;
+
+    public PermitReleasingRunnable(Runnable runnable, Semaphore permits) {
+      this.runnable = runnable;
+      this.permits = permits;
+    }
+
+    public void run() {
+      try {
+        runnable.run();
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
 }
@@ -26,6 +26,7 @@ import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -51,8 +52,8 @@ public class BoundaryMessageEventActivityBehavior extends BoundaryEventActivityB
     if (StringUtils.isNotEmpty(messageEventDefinition.getMessageRef())) {
       messageName = messageEventDefinition.getMessageRef();
     } else {
-      Expression messageExpression = commandContext.getProcessEngineConfiguration().getExpressionManager()
-          .createExpression(messageEventDefinition.getMessageExpression());
+      Expression messageExpression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), 
+          messageEventDefinition.getMessageExpression());
       messageName = messageExpression.getValue(execution).toString();
     }
     
@@ -20,12 +20,11 @@ import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
-import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.SubProcessActivityBehavior;
-import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.apache.commons.lang3.StringUtils;
@@ -86,9 +85,7 @@ public class CallActivityBehavior extends AbstractBpmnActivityBehavior implement
       throw new ActivitiException("Cannot start process instance. Process definition " + processDefinition.getName() + " (id = " + processDefinition.getId() + ") is suspended");
     }
 
-    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
     ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
-    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
 
     ExecutionEntity executionEntity = (ExecutionEntity) execution;
     CallActivity callActivity = (CallActivity) executionEntity.getCurrentFlowElement();
@@ -96,7 +93,7 @@ public class CallActivityBehavior extends AbstractBpmnActivityBehavior implement
     String businessKey = null;
 
     if (!StringUtils.isEmpty(callActivity.getBusinessKey())) {
-      Expression expression = expressionManager.createExpression(callActivity.getBusinessKey());
+      Expression expression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), callActivity.getBusinessKey());
       businessKey = expression.getValue(execution).toString();
 
     } else if (callActivity.isInheritBusinessKey()) {
@@ -122,7 +119,7 @@ public class CallActivityBehavior extends AbstractBpmnActivityBehavior implement
     for (IOParameter ioParameter : callActivity.getInParameters()) {
       Object value = null;
       if (StringUtils.isNotEmpty(ioParameter.getSourceExpression())) {
-        Expression expression = expressionManager.createExpression(ioParameter.getSourceExpression().trim());
+        Expression expression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), ioParameter.getSourceExpression().trim());
         value = expression.getValue(execution);
 
       } else {
@@ -148,15 +145,13 @@ public class CallActivityBehavior extends AbstractBpmnActivityBehavior implement
   public void completing(DelegateExecution execution, DelegateExecution subProcessInstance) throws Exception {
     // only data. no control flow available on this execution.
 
-    ExpressionManager expressionManager = Context.getProcessEngineConfiguration().getExpressionManager();
-
     // copy process variables
     ExecutionEntity executionEntity = (ExecutionEntity) execution;
     CallActivity callActivity = (CallActivity) executionEntity.getCurrentFlowElement();
     for (IOParameter ioParameter : callActivity.getOutParameters()) {
       Object value = null;
       if (StringUtils.isNotEmpty(ioParameter.getSourceExpression())) {
-        Expression expression = expressionManager.createExpression(ioParameter.getSourceExpression().trim());
+        Expression expression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), ioParameter.getSourceExpression().trim());
         value = expression.getValue(subProcessInstance);
 
       } else {
@@ -11,7 +11,7 @@ import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.DelegateHelper;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
-import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.activiti.engine.impl.util.ProcessDefinitionUtil;
 import org.activiti.engine.repository.ProcessDefinition;
 
@@ -21,7 +21,7 @@ public class DmnActivityBehavior extends TaskActivityBehavior {
 
   private static final long serialVersionUID = 1L;
   
-  protected static final String EXPRESSION_DECISION_TABLE_REFERENCE_KEY = "decisionTableReferenceKey";
+  public static final String EXPRESSION_DECISION_TABLE_REFERENCE_KEY = "decisionTableReferenceKey";
   
   protected Task task;
   
@@ -46,7 +46,6 @@ public class DmnActivityBehavior extends TaskActivityBehavior {
     }
     
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
-    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
     
     if (processEngineConfiguration.isEnableProcessDefinitionInfoCache()) {
       ObjectNode taskElementProperties = Context.getBpmnOverrideElementProperties(task.getId(), execution.getProcessDefinitionId());
@@ -54,7 +53,7 @@ public class DmnActivityBehavior extends TaskActivityBehavior {
     }
     
     String finaldecisionTableKeyValue = null;
-    Object decisionTableKeyValue = expressionManager.createExpression(activeDecisionTableKey).getValue(execution);
+    Object decisionTableKeyValue = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), activeDecisionTableKey).getValue(execution);
     if (decisionTableKeyValue != null) {
       if (decisionTableKeyValue instanceof String) {
         finaldecisionTableKeyValue = (String) decisionTableKeyValue;
@@ -19,6 +19,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.activiti.engine.impl.util.ExecutionGraphUtil;
+import org.activiti.engine.impl.util.ExecutionTreeSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,19 +64,19 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
 
     lockFirstParentScope(execution);
 
+    // One snapshot of the executions and one reachability check per activity, instead of one per execution
+    String gatewayActivityId = execution.getCurrentActivityId();
     Collection<ExecutionEntity> allExecutions = executionEntityManager.findChildExecutionsByProcessInstanceId(execution.getProcessInstanceId());
-    Iterator<ExecutionEntity> executionIterator = allExecutions.iterator();
-    boolean oneExecutionCanReachGateway = false;
-    while (!oneExecutionCanReachGateway && executionIterator.hasNext()) {
-      ExecutionEntity executionEntity = executionIterator.next();
-      if (!executionEntity.getActivityId().equals(execution.getCurrentActivityId())) {
-        boolean canReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId());
-        if (canReachGateway) {
-          oneExecutionCanReachGateway = true;
-        }
-      } else if (executionEntity.getActivityId().equals(execution.getCurrentActivityId()) && executionEntity.isActive()) {
-        // Special case: the execution has reached the inc gw, but the operation hasn't been executed yet for that execution
-        oneExecutionCanReachGateway = true;
+    ExecutionTreeSnapshot executionTree = new ExecutionTreeSnapshot(allExecutions);
+
+    // Special case: an execution has reached the inc gw, but the operation hasn't been executed yet for that execution
+    boolean oneExecutionCanReachGateway = executionTree.hasActiveExecutionInActivity(gatewayActivityId);
+
+    Iterator<String> activityIdIterator = executionTree.getActivityIds().iterator();
+    while (!oneExecutionCanReachGateway && activityIdIterator.hasNext()) {
+      String activityId = activityIdIterator.next();
+      if (activityId != null && !activityId.equals(gatewayActivityId)) {
+        oneExecutionCanReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), activityId, gatewayActivityId);
       }
     }
 
@@ -85,8 +86,7 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
       logger.debug("Inclusive gateway cannot be reached by any execution and is activated");
 
       // Kill all executions here (except the incoming)
-      Collection<ExecutionEntity> executionsInGateway = executionEntityManager
-          .findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+      Collection<ExecutionEntity> executionsInGateway = executionTree.getInactiveExecutionsInActivity(gatewayActivityId);
       for (ExecutionEntity executionEntityInGateway : executionsInGateway) {
         if (!executionEntityInGateway.getId().equals(execution.getId())) {
           commandContext.getHistoryManager().recordActivityEnd(executionEntityInGateway, null);
@@ -26,6 +26,7 @@ import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.apache.commons.lang3.StringUtils;
 
 public class IntermediateCatchMessageEventActivityBehavior extends IntermediateCatchEventActivityBehavior {
@@ -46,8 +47,8 @@ public class IntermediateCatchMessageEventActivityBehavior extends IntermediateC
     if (StringUtils.isNotEmpty(messageEventDefinition.getMessageRef())) {
       messageName = messageEventDefinition.getMessageRef();
     } else {
-      Expression messageExpression = commandContext.getProcessEngineConfiguration().getExpressionManager()
-          .createExpression(messageEventDefinition.getMessageExpression());
+      Expression messageExpression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), 
+          messageEventDefinition.getMessageExpression());
       messageName = messageExpression.getValue(execution).toString();
     }
     
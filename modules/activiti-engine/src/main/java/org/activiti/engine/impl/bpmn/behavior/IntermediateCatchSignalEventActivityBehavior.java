@@ -25,6 +25,7 @@ import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.apache.commons.lang3.StringUtils;
 
 public class IntermediateCatchSignalEventActivityBehavior extends IntermediateCatchEventActivityBehavior {
@@ -47,8 +48,8 @@ public class IntermediateCatchSignalEventActivityBehavior extends IntermediateCa
     if (StringUtils.isNotEmpty(signalEventDefinition.getSignalRef())) {
       signalName = signalEventDefinition.getSignalRef();
     } else {
-      Expression signalExpression = commandContext.getProcessEngineConfiguration().getExpressionManager()
-          .createExpression(signalEventDefinition.getSignalExpression());
+      Expression signalExpression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), 
+          signalEventDefinition.getSignalExpression());
       signalName = signalExpression.getValue(execution).toString();
     }
     
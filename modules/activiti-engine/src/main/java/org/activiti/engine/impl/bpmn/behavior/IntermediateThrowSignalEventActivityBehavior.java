@@ -22,9 +22,11 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.SignalBroadcastJobHandler;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
@@ -64,10 +66,17 @@ public class IntermediateThrowSignalEventActivityBehavior extends AbstractBpmnAc
     if (signalEventName != null) {
       eventSubscriptionName = signalEventName;
     } else {
-      Expression expressionObject = commandContext.getProcessEngineConfiguration().getExpressionManager().createExpression(signalExpression);
+      Expression expressionObject = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), signalExpression);
       eventSubscriptionName = expressionObject.getValue(execution).toString();
     }
 
+    if (!processInstanceScope && commandContext.getProcessEngineConfiguration().isEnableAsyncSignalBroadcast()) {
+      SignalBroadcastJobHandler.scheduleSignalBroadcast(commandContext, eventSubscriptionName, execution.getTenantId(), 
+          commandContext.getProcessEngineConfiguration().getAsyncSignalBroadcastBatchSize());
+      Context.getAgenda().planTakeOutgoingSequenceFlowsOperation((ExecutionEntity) execution, true);
+      return;
+    }
+
     EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
     List<SignalEventSubscriptionEntity> subscriptionEntities = null;
     if (processInstanceScope) {
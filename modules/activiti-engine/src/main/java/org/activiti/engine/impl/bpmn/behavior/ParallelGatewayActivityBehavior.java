@@ -68,19 +68,27 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
     lockFirstParentScope(execution);
 
-    DelegateExecution multiInstanceExecution = null;
-    if (hasMultiInstanceParent(parallelGateway)) {
-      multiInstanceExecution = findMultiInstanceParentExecution(execution);
-    }
-
     ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
-    Collection<ExecutionEntity> joinedExecutions = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
-    if (multiInstanceExecution != null) {
-      joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
-    }
-
     int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
-    int nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
+
+    Collection<ExecutionEntity> joinedExecutions = null;
+    int nbrOfExecutionsCurrentlyJoined;
+    if (nbrOfExecutionsToJoin == 1) {
+      // Nothing to join: the arriving execution activates the gateway, no need to look up the inactive executions
+      nbrOfExecutionsCurrentlyJoined = 1;
+
+    } else {
+      joinedExecutions = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+
+      DelegateExecution multiInstanceExecution = null;
+      if (hasMultiInstanceParent(parallelGateway)) {
+        multiInstanceExecution = findMultiInstanceParentExecution(execution);
+      }
+      if (multiInstanceExecution != null) {
+        joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
+      }
+      nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
+    }
 
     // Fork
 
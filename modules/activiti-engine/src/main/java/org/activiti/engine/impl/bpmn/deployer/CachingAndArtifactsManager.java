@@ -29,6 +29,7 @@ import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionInfoEntityManager;
+import org.activiti.engine.impl.util.ReachabilityTable;
 
 /**
  * Updates caches and artifacts for a deployment, its process definitions, 
@@ -52,6 +53,10 @@ public class CachingAndArtifactsManager {
       BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
       Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
       ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+      if (process != null) {
+        cacheEntry.setCompiledExpressions(parsedDeployment.getBpmnParseForProcessDefinition(processDefinition).getCompiledExpressions(process.getId()));
+        cacheEntry.setReachabilityTable(ReachabilityTable.forInclusiveGateways(process));
+      }
       processDefinitionCache.add(processDefinition.getId(), cacheEntry);
       addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
     
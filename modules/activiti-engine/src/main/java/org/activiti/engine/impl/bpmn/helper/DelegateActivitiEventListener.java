@@ -12,7 +12,9 @@
  */
 package org.activiti.engine.impl.bpmn.helper;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.delegate.event.ActivitiAsyncEventListener;
 import org.activiti.engine.delegate.event.ActivitiEntityEvent;
 import org.activiti.engine.delegate.event.ActivitiEvent;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
@@ -52,6 +54,18 @@ public class DelegateActivitiEventListener extends BaseDelegateEventListener {
     return failOnException;
   }
 
+  /**
+   * @return true if the delegate is an {@link ActivitiAsyncEventListener}, so it receives its events after the commit.
+   */
+  public boolean isAsyncEventListener() {
+    try {
+      return getDelegateInstance() instanceof ActivitiAsyncEventListener;
+    } catch (ActivitiException e) {
+      // Reported when the event is delivered
+      return false;
+    }
+  }
+
   protected ActivitiEventListener getDelegateInstance() {
     if (delegateInstance == null) {
       Object instance = ReflectUtil.instantiate(className);
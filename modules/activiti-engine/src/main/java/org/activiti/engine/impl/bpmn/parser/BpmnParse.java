@@ -36,6 +36,7 @@ import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.bpmn.model.SubProcess;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.delegate.event.impl.ActivitiEventSupport;
 import org.activiti.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.activiti.engine.impl.bpmn.parser.factory.ListenerFactory;
@@ -113,6 +114,12 @@ public class BpmnParse implements BpmnXMLConstants {
    */
   protected Map<String, String> prefixs = new HashMap<String, String>();
 
+  /**
+   * Expressions compiled during parsing, by process id and expression text. 
+   * They are stored in the process definition cache entry, so they don't need to be parsed again on every evaluation.
+   */
+  protected Map<String, Map<String, Expression>> compiledExpressions = new HashMap<String, Map<String, Expression>>();
+
   // Factories
   protected ActivityBehaviorFactory activityBehaviorFactory;
   protected ListenerFactory listenerFactory;
@@ -510,6 +517,29 @@ public class BpmnParse implements BpmnXMLConstants {
     this.currentProcess = currentProcess;
   }
 
+  /**
+   * Compiles the given expression text for the current process, unless it was compiled before.
+   */
+  public void addCompiledExpression(String expressionText) {
+    if (currentProcess == null || expressionText == null || expressionText.length() == 0) {
+      return;
+    }
+
+    Map<String, Expression> processExpressions = compiledExpressions.get(currentProcess.getId());
+    if (processExpressions == null) {
+      processExpressions = new HashMap<String, Expression>();
+      compiledExpressions.put(currentProcess.getId(), processExpressions);
+    }
+
+    if (!processExpressions.containsKey(expressionText)) {
+      processExpressions.put(expressionText, Context.getProcessEngineConfiguration().getExpressionManager().createExpression(expressionText));
+    }
+  }
+
+  public Map<String, Expression> getCompiledExpressions(String processId) {
+    return compiledExpressions.get(processId);
+  }
+
   public void setCurrentSubProcess(SubProcess subProcess) {
     currentSubprocessStack.push(subProcess);
   }
@@ -29,6 +29,7 @@ public class AdhocSubProcessParseHandler extends AbstractActivityBpmnParseHandle
   protected void executeParse(BpmnParse bpmnParse, SubProcess subProcess) {
 
     subProcess.setBehavior(bpmnParse.getActivityBehaviorFactory().createAdhocSubprocessActivityBehavior(subProcess));
+    bpmnParse.addCompiledExpression(((AdhocSubProcess) subProcess).getCompletionCondition());
 
     bpmnParse.processFlowElements(subProcess.getFlowElements());
     processArtifacts(bpmnParse, subProcess.getArtifacts());
@@ -14,6 +14,7 @@ package org.activiti.engine.impl.bpmn.parser.handler;
 
 import org.activiti.bpmn.model.BaseElement;
 import org.activiti.bpmn.model.CallActivity;
+import org.activiti.bpmn.model.IOParameter;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 
 /**
@@ -27,6 +28,20 @@ public class CallActivityParseHandler extends AbstractActivityBpmnParseHandler<C
 
   protected void executeParse(BpmnParse bpmnParse, CallActivity callActivity) {
     callActivity.setBehavior(bpmnParse.getActivityBehaviorFactory().createCallActivityBehavior(callActivity));
+
+    bpmnParse.addCompiledExpression(callActivity.getBusinessKey());
+    for (IOParameter ioParameter : callActivity.getInParameters()) {
+      addCompiledSourceExpression(bpmnParse, ioParameter);
+    }
+    for (IOParameter ioParameter : callActivity.getOutParameters()) {
+      addCompiledSourceExpression(bpmnParse, ioParameter);
+    }
+  }
+
+  protected void addCompiledSourceExpression(BpmnParse bpmnParse, IOParameter ioParameter) {
+    if (ioParameter.getSourceExpression() != null) {
+      bpmnParse.addCompiledExpression(ioParameter.getSourceExpression().trim());
+    }
   }
 
 }
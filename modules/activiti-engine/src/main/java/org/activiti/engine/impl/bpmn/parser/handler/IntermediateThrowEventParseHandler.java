@@ -41,6 +41,7 @@ public class IntermediateThrowEventParseHandler extends AbstractActivityBpmnPars
 
     if (eventDefinition instanceof SignalEventDefinition) {
       SignalEventDefinition signalEventDefinition = (SignalEventDefinition) eventDefinition;
+      bpmnParse.addCompiledExpression(signalEventDefinition.getSignalExpression());
       intermediateEvent.setBehavior(bpmnParse.getActivityBehaviorFactory().createIntermediateThrowSignalEventActivityBehavior(intermediateEvent, signalEventDefinition,
           bpmnParse.getBpmnModel().getSignal(signalEventDefinition.getSignalRef())));
       
@@ -39,6 +39,8 @@ public class MessageEventDefinitionParseHandler extends AbstractBpmnParseHandler
       messageDefinition.setExtensionElements(message.getExtensionElements());
     }
 
+    bpmnParse.addCompiledExpression(messageDefinition.getMessageExpression());
+
     if (bpmnParse.getCurrentFlowElement() instanceof IntermediateCatchEvent) {
       IntermediateCatchEvent intermediateCatchEvent = (IntermediateCatchEvent) bpmnParse.getCurrentFlowElement();
       intermediateCatchEvent.setBehavior(bpmnParse.getActivityBehaviorFactory().createIntermediateCatchMessageEventActivityBehavior(intermediateCatchEvent, messageDefinition));
@@ -20,8 +20,10 @@ import org.activiti.bpmn.model.EventListener;
 import org.activiti.bpmn.model.ImplementationType;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.delegate.event.impl.ActivitiEventSupport;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.slf4j.Logger;
@@ -83,6 +85,7 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
       for (EventListener eventListener : eventListeners) {
         // Extract specific event-types (if any)
         ActivitiEventType[] types = ActivitiEventType.getTypesFromString(eventListener.getEvents());
+        addProcessDefinitionListenerTypes(types);
 
         if (ImplementationType.IMPLEMENTATION_TYPE_CLASS.equals(eventListener.getImplementationType())) {
           getEventSupport(bpmnParse.getBpmnModel()).addEventListener(bpmnParse.getListenerFactory().createClassDelegateEventListener(eventListener), types);
@@ -105,6 +108,16 @@ public class ProcessParseHandler extends AbstractBpmnParseHandler<Process> {
 
   }
   
+  /**
+   * Lets the engine's event dispatcher know events of the given types can't be skipped.
+   */
+  protected void addProcessDefinitionListenerTypes(ActivitiEventType[] types) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.getEventDispatcher() instanceof ActivitiEventDispatcherImpl) {
+      ((ActivitiEventDispatcherImpl) processEngineConfiguration.getEventDispatcher()).addProcessDefinitionListenerTypes(types);
+    }
+  }
+
   protected ActivitiEventSupport getEventSupport(BpmnModel bpmnModel) {
     return (ActivitiEventSupport) bpmnModel.getEventSupport();
   }
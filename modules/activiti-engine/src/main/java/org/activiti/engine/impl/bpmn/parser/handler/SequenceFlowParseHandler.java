@@ -32,6 +32,7 @@ public class SequenceFlowParseHandler extends AbstractBpmnParseHandler<SequenceF
     org.activiti.bpmn.model.Process process = bpmnParse.getCurrentProcess();
     sequenceFlow.setSourceFlowElement(process.getFlowElement(sequenceFlow.getSourceRef(), true));
     sequenceFlow.setTargetFlowElement(process.getFlowElement(sequenceFlow.getTargetRef(), true));
+    bpmnParse.addCompiledExpression(sequenceFlow.getConditionExpression());
   }
 
 }
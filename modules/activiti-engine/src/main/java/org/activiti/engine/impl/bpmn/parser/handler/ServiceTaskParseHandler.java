@@ -13,8 +13,10 @@
 package org.activiti.engine.impl.bpmn.parser.handler;
 
 import org.activiti.bpmn.model.BaseElement;
+import org.activiti.bpmn.model.FieldExtension;
 import org.activiti.bpmn.model.ImplementationType;
 import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.engine.impl.bpmn.behavior.DmnActivityBehavior;
 import org.activiti.engine.impl.bpmn.behavior.WebServiceActivityBehavior;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 import org.apache.commons.lang3.StringUtils;
@@ -51,6 +53,11 @@ public class ServiceTaskParseHandler extends AbstractActivityBpmnParseHandler<Se
         
       } else if (serviceTask.getType().equalsIgnoreCase("dmn")) {
         serviceTask.setBehavior(bpmnParse.getActivityBehaviorFactory().createDmnActivityBehavior(serviceTask));
+        for (FieldExtension fieldExtension : serviceTask.getFieldExtensions()) {
+          if (DmnActivityBehavior.EXPRESSION_DECISION_TABLE_REFERENCE_KEY.equals(fieldExtension.getFieldName())) {
+            bpmnParse.addCompiledExpression(StringUtils.isNotEmpty(fieldExtension.getExpression()) ? fieldExtension.getExpression() : fieldExtension.getStringValue());
+          }
+        }
 
       } else {
         logger.warn("Invalid service task type: '" + serviceTask.getType() + "' " + " for service task " + serviceTask.getId());
@@ -36,6 +36,8 @@ public class SignalEventDefinitionParseHandler extends AbstractBpmnParseHandler<
       signal = bpmnParse.getBpmnModel().getSignal(signalDefinition.getSignalRef());
     }
 
+    bpmnParse.addCompiledExpression(signalDefinition.getSignalExpression());
+
     if (bpmnParse.getCurrentFlowElement() instanceof IntermediateCatchEvent) {
       IntermediateCatchEvent intermediateCatchEvent = (IntermediateCatchEvent) bpmnParse.getCurrentFlowElement();
       intermediateCatchEvent.setBehavior(bpmnParse.getActivityBehaviorFactory().createIntermediateCatchSignalEventActivityBehavior(intermediateCatchEvent, signalDefinition, signal));
@@ -26,6 +26,27 @@ public class PerformanceSettings {
    */
   protected boolean enableEagerExecutionTreeFetching;
   
+  /**
+   * Experimental setting: if true, the first time the variables of an execution are needed in a command,
+   * the variables of all executions of its process instance are fetched in one roundtrip, together with
+   * the byte arrays holding their values (e.g. serializable variables). 
+   * 
+   * Walking up the execution tree to resolve a variable then doesn't need a query per parent execution,
+   * at the expense of loading variables (and byte arrays) that aren't always used.
+   */
+  protected boolean enableProcessInstanceVariablePrefetch;
+  
+  /**
+   * Experimental setting: if true, JSON variables used in expressions (e.g. ${order.customer.tier}) aren't parsed
+   * into a full tree. Only the requested fields are read by streaming through the stored JSON, and the resolved
+   * fields are kept for the rest of the command. The full tree is only parsed when it's needed as a whole,
+   * e.g. when the expression returns the variable itself or changes one of its fields.
+   * 
+   * Custom expression managers that build their own resolver chain need to add a
+   * {@link org.activiti.engine.impl.el.LazyJsonELResolver} to it.
+   */
+  protected boolean enableLazyJsonVariablesInExpressions;
+  
   /**
    * Experimental setting: keeps a count on each execution that holds
    * how many variables, jobs, tasks, event subscriptions, etc. the execution has.
@@ -58,6 +79,22 @@ public class PerformanceSettings {
     this.enableEagerExecutionTreeFetching = enableEagerExecutionTreeFetching;
   }
 
+  public boolean isEnableProcessInstanceVariablePrefetch() {
+    return enableProcessInstanceVariablePrefetch;
+  }
+
+  public void setEnableProcessInstanceVariablePrefetch(boolean enableProcessInstanceVariablePrefetch) {
+    this.enableProcessInstanceVariablePrefetch = enableProcessInstanceVariablePrefetch;
+  }
+
+  public boolean isEnableLazyJsonVariablesInExpressions() {
+    return enableLazyJsonVariablesInExpressions;
+  }
+
+  public void setEnableLazyJsonVariablesInExpressions(boolean enableLazyJsonVariablesInExpressions) {
+    this.enableLazyJsonVariablesInExpressions = enableLazyJsonVariablesInExpressions;
+  }
+
   public boolean isEnableExecutionRelationshipCounts() {
     return enableExecutionRelationshipCounts;
   }
@@ -24,6 +24,7 @@ import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
+import org.activiti.engine.delegate.event.impl.AsyncEventListenerExecutor;
 import org.activiti.engine.form.AbstractFormType;
 import org.activiti.engine.impl.*;
 import org.activiti.engine.impl.agenda.DefaultActivitiEngineAgendaFactory;
@@ -43,19 +44,27 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.DbIdGenerator;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.db.IbatisVariableTypeHandler;
+import org.activiti.engine.impl.db.PrefetchingDbIdGenerator;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.event.CompensationEventHandler;
 import org.activiti.engine.impl.event.EventHandler;
 import org.activiti.engine.impl.event.MessageEventHandler;
 import org.activiti.engine.impl.event.SignalEventHandler;
+import org.activiti.engine.impl.event.logger.BackgroundEventLogWriter;
+import org.activiti.engine.impl.event.logger.EventLogDurability;
 import org.activiti.engine.impl.event.logger.EventLogger;
 import org.activiti.engine.impl.form.*;
+import org.activiti.engine.impl.history.AsyncHistoryManager;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.history.HistoryManager;
+import org.activiti.engine.impl.identity.DefaultUserGroupCache;
+import org.activiti.engine.impl.identity.UserGroupCache;
 import org.activiti.engine.impl.interceptor.*;
 import org.activiti.engine.impl.jobexecutor.*;
+import org.activiti.engine.impl.metrics.CommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
 import org.activiti.engine.impl.persistence.GenericManagerFactory;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
@@ -85,6 +94,7 @@ import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
 import org.apache.ibatis.transaction.TransactionFactory;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.ibatis.type.JdbcType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +115,8 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Tom Baeyens
@@ -233,6 +245,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryManager historyManager;
 
+  /**
+   * If true, the append-only history of a command (historic variable updates, historic form properties and event comments) 
+   * is written by an asynchronous job instead of in the transaction of the command. See {@link AsyncHistoryManager}.
+   * Ignored when a custom {@link #historyManager} is set.
+   */
+  protected boolean enableAsyncHistory;
+
   // Job Manager
 
   protected JobManager jobManager;
@@ -273,6 +292,32 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * If set to true, the process definition, process definition info and knowledge base caches are {@link ConcurrentDeploymentCache}s 
+   * instead of {@link DefaultDeploymentCache}s: reads don't take a global lock and hit, miss, eviction and load statistics are kept.
+   */
+  protected boolean enableConcurrentDeploymentCache;
+
+  /**
+   * Maximum estimated memory weight, in bytes, of the process definition cache (see {@link ProcessDefinitionCacheEntryWeigher}).
+   * By default no maximum. Setting a maximum weight enables the {@link ConcurrentDeploymentCache} for the process definition cache.
+   */
+  protected long processDefinitionCacheMaxWeight = -1;
+
+  /**
+   * Maximum number of users of which the groups are cached by the {@link UserGroupCache}, used when resolving the candidate groups 
+   * of a user in task queries. By default (-1) the groups of a user are not cached.
+   */
+  protected int userGroupCacheLimit = -1;
+
+  /**
+   * Time in milliseconds after which cached groups of a user expire, so changes made outside of the engine become visible.
+   * Membership changes done through the IdentityService invalidate the cache immediately.
+   */
+  protected long userGroupCacheExpirationTime = 300000L; // default: five minutes
+
+  protected UserGroupCache userGroupCache;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -347,6 +392,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected long asyncExecutorSecondsToWaitOnShutdown = 60L;
 
+  /**
+   * When enabled and the JVM supports virtual threads, each async job is
+   * executed on its own virtual thread instead of on the bounded thread pool
+   * ({@link #asyncExecutorCorePoolSize}, {@link #asyncExecutorMaxPoolSize} and
+   * the queue settings are then not used). When virtual threads are not
+   * supported, the thread pool is used. Default value = false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorVirtualThreads;
+
+  /**
+   * The maximum number of async jobs executing concurrently on virtual
+   * threads. By default (-1), the maximum number of active connections of the
+   * data source is used.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected int asyncExecutorVirtualThreadMaxConcurrency = -1;
+
   /**
    * The number of timer jobs that are acquired during one query (before a job
    * is executed, an acquirement thread fetches jobs from the database and puts
@@ -403,6 +470,47 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultQueueSizeFullWaitTime = 0;
 
+  /**
+   * When enabled, the number of jobs acquired during one query adapts to the
+   * amount of due jobs: it grows (up to {@link #asyncExecutorMaxAdaptiveJobsPerAcquisition})
+   * when the previous query returned as many jobs as requested and shrinks again
+   * (down to {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} or
+   * {@link #asyncExecutorMaxTimerJobsPerAcquisition}) when it returned none.
+   * Async jobs are only acquired when the thread pool has room for them and
+   * the acquire wait time grows from {@link #asyncExecutorMinAdaptiveJobAcquireWaitTime}
+   * up to the default acquire wait time while no jobs are found.
+   * Default value = false.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorAdaptiveJobAcquisition;
+
+  /**
+   * The maximum number of jobs acquired during one query when
+   * {@link #asyncExecutorAdaptiveJobAcquisition} is enabled. Default value = 64.
+   */
+  protected int asyncExecutorMaxAdaptiveJobsPerAcquisition = 64;
+
+  /**
+   * The time (in milliseconds) the acquisition threads wait when
+   * {@link #asyncExecutorAdaptiveJobAcquisition} is enabled and some, but not
+   * enough, jobs were found or the thread pool is full. Default value = 100.
+   */
+  protected int asyncExecutorMinAdaptiveJobAcquireWaitTime = 100;
+
+  /**
+   * When enabled, due async and timer jobs are selected with a
+   * 'select ... for update skip locked' query on PostgreSQL (9.5+), Oracle and
+   * MySQL (8.0+). The selected jobs are locked in the database until the
+   * acquiring transaction commits, so concurrent acquisition threads (on this
+   * or other engines) skip them and claim a disjoint set of jobs instead of
+   * failing with an optimistic locking exception.
+   *
+   * Has no effect on other databases. Default value = false.
+   */
+  protected boolean asyncExecutorSkipLockedJobAcquisition;
+
   /**
    * When a job is acquired, it is locked so other async executors can't lock
    * and execute it. While doing this, the 'name' of the lock owner is written
@@ -492,6 +600,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If set to true, a {@link PrefetchingDbIdGenerator} is used instead of the {@link DbIdGenerator} (when no custom id generator is set):
+   * ids are handed out without synchronization and the next id block is fetched in the background before the current one is used up.
+   */
+  protected boolean enablePrefetchingIdGenerator;
+
+  /**
+   * Number of ids every thread takes at once from the id block, when the {@link PrefetchingDbIdGenerator} is used.
+   * 0 (default) disables the per thread sub blocks.
+   */
+  protected int idGeneratorThreadBlockSize;
+
+  /**
+   * Executor fetching the next id block in the background, when the {@link PrefetchingDbIdGenerator} is used.
+   * A single daemon thread executor is created when none is set. It is shut down when the process engine is closed.
+   */
+  protected ExecutorService idGeneratorPrefetchExecutor;
+
   // BPMN PARSER //////////////////////////////////////////////////////////////
 
   protected List<BpmnParseHandler> preBpmnParseHandlers;
@@ -531,6 +657,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean serializableVariableTypeTrackDeserializedObjects = true;
 
+  /**
+   * If true, new serializable and long JSON variables are stored by the {@link CompactSerializableType} and {@link CompactJsonType},
+   * which compress values of at least {@link #compactVariableTypesCompressionThreshold} bytes.
+   * 
+   * The compact types are always registered, so their values can still be read after this setting is switched off, 
+   * and the values stored by the regular types remain readable after switching it on.
+   */
+  protected boolean enableCompactVariableTypes;
+  protected int compactVariableTypesCompressionThreshold = 1024;
+
   protected ExpressionManager expressionManager;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
@@ -549,6 +685,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected CommandContextFactory commandContextFactory;
   protected TransactionContextFactory transactionContextFactory;
 
+  /**
+   * If set to true, a {@link DefaultCommandMetricsRegistry} is created (when no {@link #commandMetricsRegistry} is set),
+   * which records the latency, SQL statement counts, flush time, agenda operations and entity cache lookups of every command.
+   */
+  protected boolean enableCommandMetrics;
+
+  /**
+   * Receives the metrics of every executed command. By default null, meaning no metrics are collected.
+   */
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
   protected Map<Object, Object> beans;
 
   protected DelegateInterceptor delegateInterceptor;
@@ -575,14 +722,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int batchSizeProcessInstances = 25;
   protected int batchSizeTasks = 25;
 
+  /**
+   * If true, global signals without payload (thrown through the {@link org.activiti.engine.RuntimeService} or by a globally scoped 
+   * signal throw event) are delivered asynchronously by jobs that each handle {@link #asyncSignalBroadcastBatchSize} subscriptions,
+   * instead of delivering them to all subscriptions in the transaction that throws the signal.
+   */
+  protected boolean enableAsyncSignalBroadcast;
+  protected int asyncSignalBroadcastBatchSize = 100;
+
   protected boolean enableEventDispatcher = true;
   protected ActivitiEventDispatcher eventDispatcher;
   protected List<ActivitiEventListener> eventListeners;
   protected Map<String, List<ActivitiEventListener>> typedEventListeners;
 
+  /**
+   * If true, the engine doesn't create events of types no listener is registered for, on the engine or in a 
+   * deployed process definition. The event listeners of all deployed process definitions are read when the engine 
+   * is booted, and those of process definitions deployed afterwards when this engine parses them. In a cluster, 
+   * process definitions deployed on another engine after this one was booted are only taken into account once this 
+   * engine has used them (e.g. started or continued one of their process instances), so events created before are skipped.
+   */
+  protected boolean skipEventsWithoutListeners;
+
+  /**
+   * Executor that delivers the events of {@link org.activiti.engine.delegate.event.ActivitiAsyncEventListener}s
+   * after the commit, with {@link #asyncEventListenerThreads} threads each having a queue of {@link #asyncEventListenerQueueSize} 
+   * batches of events.
+   */
+  protected AsyncEventListenerExecutor asyncEventListenerExecutor;
+  protected int asyncEventListenerThreads = 2;
+  protected int asyncEventListenerQueueSize = 1000;
+
   // Event logging to database
   protected boolean enableDatabaseEventLogging;
 
+  /**
+   * When the rows of the database event logging are written. With {@link EventLogDurability#EVENTUAL} they are 
+   * written after the commit by the {@link #eventLogWriter}, which buffers {@link #eventLogWriterQueueSize} commands 
+   * and inserts at most {@link #eventLogWriterMaxEntriesPerTransaction} rows per transaction.
+   */
+  protected EventLogDurability eventLogDurability = EventLogDurability.AT_COMMIT;
+  protected BackgroundEventLogWriter eventLogWriter;
+  protected int eventLogWriterQueueSize = 1000;
+  protected int eventLogWriterMaxEntriesPerTransaction = 500;
+
   /**
    * Using field injection together with a delegate expression for a service
    * task / execution listener / task listener is not thread-sade , see user
@@ -618,6 +801,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
+  /**
+   * If set to true, the inserts, updates and deletes of a flush are sent to the database as JDBC batches
+   * (consecutive statements with the same mapped statement are grouped in one batch), instead of one round trip per statement.
+   * The optimistic locking checks use the update counts reported for the batch.
+   *
+   * Default false. Only enable it when the JDBC driver reports the update count of every statement in a batch
+   * (some drivers return Statement.SUCCESS_NO_INFO, in which case concurrent updates can't be detected).
+   */
+  protected boolean isJdbcBatchFlushEnabled;
+
   protected ObjectMapper objectMapper = new ObjectMapper();
 
   /**
@@ -698,6 +891,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initScriptingEngines();
     initClock();
     initBusinessCalendarManager();
+    initCommandMetricsRegistry();
     initCommandContextFactory();
     initTransactionContextFactory();
     initCommandExecutors();
@@ -709,6 +903,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initProcessDefinitionCache();
     initProcessDefinitionInfoCache();
     initKnowledgeBaseCache();
+    initUserGroupCache();
     initJobHandlers();
     initJobManager();
     initAsyncExecutor();
@@ -1294,7 +1489,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initHistoryManager() {
     if (historyManager == null) {
-      historyManager = new DefaultHistoryManager(this, historyLevel);
+      if (enableAsyncHistory) {
+        historyManager = new AsyncHistoryManager(this, historyLevel);
+      } else {
+        historyManager = new DefaultHistoryManager(this, historyLevel);
+      }
     }
   }
 
@@ -1343,6 +1542,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    dbSqlSessionFactory.setJdbcBatchFlushEnabled(isJdbcBatchFlushEnabled);
+    dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(asyncExecutorSkipLockedJobAcquisition);
+    if (asyncExecutorSkipLockedJobAcquisition && !DbSqlSessionFactory.SKIP_LOCKED_DATABASE_TYPES.contains(databaseType)) {
+      log.warn("Skip locked job acquisition is not supported for database type {}, jobs will be acquired with regular queries", databaseType);
+    }
     addSessionFactory(dbSqlSessionFactory);
   }
 
@@ -1432,7 +1636,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache || processDefinitionCacheMaxWeight > 0) {
+        processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit, 
+            processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
+      } else if (processDefinitionCacheLimit <= 0) {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
       } else {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
@@ -1442,7 +1649,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionInfoCache() {
     if (processDefinitionInfoCache == null) {
-      if (processDefinitionInfoCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, 
+            new ConcurrentDeploymentCache<ProcessDefinitionInfoCacheObject>(processDefinitionInfoCacheLimit));
+      } else if (processDefinitionInfoCacheLimit <= 0) {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor);
       } else {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, processDefinitionInfoCacheLimit);
@@ -1452,7 +1662,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initKnowledgeBaseCache() {
     if (knowledgeBaseCache == null) {
-      if (knowledgeBaseCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        knowledgeBaseCache = new ConcurrentDeploymentCache<Object>(knowledgeBaseCacheLimit);
+      } else if (knowledgeBaseCacheLimit <= 0) {
         knowledgeBaseCache = new DefaultDeploymentCache<Object>();
       } else {
         knowledgeBaseCache = new DefaultDeploymentCache<Object>(knowledgeBaseCacheLimit);
@@ -1460,6 +1672,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initUserGroupCache() {
+    if (userGroupCache == null && userGroupCacheLimit > 0) {
+      userGroupCache = new DefaultUserGroupCache(userGroupCacheLimit, userGroupCacheExpirationTime, clock);
+    }
+  }
+
   public void initDeployers() {
     if (this.deployers == null) {
       this.deployers = new ArrayList<Deployer>();
@@ -1695,6 +1913,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    SignalBroadcastJobHandler signalBroadcastJobHandler = new SignalBroadcastJobHandler();
+    jobHandlers.put(signalBroadcastJobHandler.getType(), signalBroadcastJobHandler);
+
+    AsyncHistoryJobHandler asyncHistoryJobHandler = new AsyncHistoryJobHandler();
+    jobHandlers.put(asyncHistoryJobHandler.getType(), asyncHistoryJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1724,6 +1948,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
       defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
 
+      // Virtual threads
+      defaultAsyncExecutor.setVirtualThreadExecution(asyncExecutorVirtualThreads);
+      defaultAsyncExecutor.setVirtualThreadMaxConcurrency(asyncExecutorVirtualThreadMaxConcurrency);
+
+      // Acquisition size
+      defaultAsyncExecutor.setMaxTimerJobsPerAcquisition(asyncExecutorMaxTimerJobsPerAcquisition);
+      defaultAsyncExecutor.setMaxAsyncJobsDuePerAcquisition(asyncExecutorMaxAsyncJobsDuePerAcquisition);
+
+      // Adaptive acquisition
+      defaultAsyncExecutor.setAdaptiveJobAcquisition(asyncExecutorAdaptiveJobAcquisition);
+      defaultAsyncExecutor.setMaxAdaptiveJobsPerAcquisition(asyncExecutorMaxAdaptiveJobsPerAcquisition);
+      defaultAsyncExecutor.setMinAdaptiveJobAcquireWaitTimeInMillis(asyncExecutorMinAdaptiveJobAcquireWaitTime);
+
       // Acquisition wait time
       defaultAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(asyncExecutorDefaultTimerJobAcquireWaitTime);
       defaultAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(asyncExecutorDefaultAsyncJobAcquireWaitTime);
@@ -1783,17 +2020,38 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = getCommandExecutor();
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
-      dbIdGenerator.setIdBlockSize(idBlockSize);
-      dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
-      dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
-      idGenerator = dbIdGenerator;
+      if (enablePrefetchingIdGenerator) {
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setIdBlockSize(idBlockSize);
+        prefetchingDbIdGenerator.setThreadBlockSize(idGeneratorThreadBlockSize);
+        prefetchingDbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        prefetchingDbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
+        if (idGeneratorPrefetchExecutor == null) {
+          idGeneratorPrefetchExecutor = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder()
+              .namingPattern("activiti-id-block-prefetch").daemon(true).build());
+        }
+        prefetchingDbIdGenerator.setPrefetchExecutor(idGeneratorPrefetchExecutor);
+        idGenerator = prefetchingDbIdGenerator;
+        
+      } else {
+        DbIdGenerator dbIdGenerator = new DbIdGenerator();
+        dbIdGenerator.setIdBlockSize(idBlockSize);
+        dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
+        idGenerator = dbIdGenerator;
+      }
     }
   }
 
   // OTHER
   // ////////////////////////////////////////////////////////////////////
 
+  public void initCommandMetricsRegistry() {
+    if (commandMetricsRegistry == null && enableCommandMetrics) {
+      commandMetricsRegistry = new DefaultCommandMetricsRegistry();
+    }
+  }
+
   public void initCommandContextFactory() {
     if (commandContextFactory == null) {
       commandContextFactory = new CommandContextFactory();
@@ -1837,9 +2095,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableTypes.addType(new DoubleType());
       variableTypes.addType(new UUIDType());
       variableTypes.addType(new JsonType(getMaxLengthString(), objectMapper));
+      // The first type able to store a value is used for new values, so the compact types go either before or after their regular counterpart
+      CompactJsonType compactJsonType = new CompactJsonType(getMaxLengthString() + 1, objectMapper, compactVariableTypesCompressionThreshold);
+      CompactSerializableType compactSerializableType = new CompactSerializableType(serializableVariableTypeTrackDeserializedObjects, compactVariableTypesCompressionThreshold);
+      if (enableCompactVariableTypes) {
+        variableTypes.addType(compactJsonType);
+      }
       variableTypes.addType(new LongJsonType(getMaxLengthString() + 1, objectMapper));
       variableTypes.addType(new ByteArrayType());
+      if (enableCompactVariableTypes) {
+        variableTypes.addType(compactSerializableType);
+      }
       variableTypes.addType(new SerializableType(serializableVariableTypeTrackDeserializedObjects));
+      if (!enableCompactVariableTypes) {
+        variableTypes.addType(compactJsonType);
+        variableTypes.addType(compactSerializableType);
+      }
       variableTypes.addType(new CustomObjectType("item", ItemInstance.class));
       variableTypes.addType(new CustomObjectType("message", MessageInstance.class));
       if (customPostVariableTypes != null) {
@@ -1963,6 +2234,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         // We try adding the variable right before SerializableType, if
         // available
         int serializableIndex = variableTypes.getTypeIndex(SerializableType.TYPE_NAME);
+        int compactSerializableIndex = variableTypes.getTypeIndex(CompactSerializableType.TYPE_NAME);
+        if (compactSerializableIndex > -1 && compactSerializableIndex < serializableIndex) {
+          serializableIndex = compactSerializableIndex;
+        }
         if (serializableIndex > -1) {
           variableTypes.addType(new JPAEntityVariableType(), serializableIndex);
         } else {
@@ -1992,6 +2267,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     this.eventDispatcher.setEnabled(enableEventDispatcher);
 
+    if (this.eventDispatcher instanceof ActivitiEventDispatcherImpl) {
+      ActivitiEventDispatcherImpl eventDispatcherImpl = (ActivitiEventDispatcherImpl) this.eventDispatcher;
+      eventDispatcherImpl.setSkipEventsWithoutListeners(skipEventsWithoutListeners);
+
+      if (asyncEventListenerExecutor == null) {
+        asyncEventListenerExecutor = new AsyncEventListenerExecutor(asyncEventListenerThreads, asyncEventListenerQueueSize);
+      }
+      eventDispatcherImpl.setAsyncEventListenerExecutor(asyncEventListenerExecutor);
+    }
+
     if (eventListeners != null) {
       for (ActivitiEventListener listenerToAdd : eventListeners) {
         this.eventDispatcher.addEventListener(listenerToAdd);
@@ -2021,7 +2306,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (enableDatabaseEventLogging) {
       // Database event logging uses the default logging mechanism and adds
       // a specific event listener to the list of event listeners
-      getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+      EventLogger eventLogger = new EventLogger(clock, objectMapper);
+      if (eventLogDurability == EventLogDurability.EVENTUAL) {
+        if (eventLogWriter == null) {
+          eventLogWriter = new BackgroundEventLogWriter(commandExecutor, eventLogWriterQueueSize, eventLogWriterMaxEntriesPerTransaction);
+        }
+        eventLogger.setEventLogWriter(eventLogWriter);
+      }
+      getEventDispatcher().addEventListener(eventLogger);
     }
   }
 
@@ -2369,6 +2661,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnablePrefetchingIdGenerator() {
+    return enablePrefetchingIdGenerator;
+  }
+
+  public ProcessEngineConfigurationImpl setEnablePrefetchingIdGenerator(boolean enablePrefetchingIdGenerator) {
+    this.enablePrefetchingIdGenerator = enablePrefetchingIdGenerator;
+    return this;
+  }
+
+  public int getIdGeneratorThreadBlockSize() {
+    return idGeneratorThreadBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorThreadBlockSize(int idGeneratorThreadBlockSize) {
+    this.idGeneratorThreadBlockSize = idGeneratorThreadBlockSize;
+    return this;
+  }
+
+  public ExecutorService getIdGeneratorPrefetchExecutor() {
+    return idGeneratorPrefetchExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorPrefetchExecutor(ExecutorService idGeneratorPrefetchExecutor) {
+    this.idGeneratorPrefetchExecutor = idGeneratorPrefetchExecutor;
+    return this;
+  }
+
   public String getWsSyncFactoryClassName() {
     return wsSyncFactoryClassName;
   }
@@ -2442,6 +2761,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableCompactVariableTypes() {
+    return enableCompactVariableTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCompactVariableTypes(boolean enableCompactVariableTypes) {
+    this.enableCompactVariableTypes = enableCompactVariableTypes;
+    return this;
+  }
+
+  public int getCompactVariableTypesCompressionThreshold() {
+    return compactVariableTypesCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setCompactVariableTypesCompressionThreshold(int compactVariableTypesCompressionThreshold) {
+    this.compactVariableTypesCompressionThreshold = compactVariableTypesCompressionThreshold;
+    return this;
+  }
+
   public boolean isSerializableVariableTypeTrackDeserializedObjects() {
     return serializableVariableTypeTrackDeserializedObjects;
   }
@@ -2504,6 +2841,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableCommandMetrics() {
+    return enableCommandMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCommandMetrics(boolean enableCommandMetrics) {
+    this.enableCommandMetrics = enableCommandMetrics;
+    return this;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+    return this;
+  }
+
   public CommandContextFactory getCommandContextFactory() {
     return commandContextFactory;
   }
@@ -2814,6 +3169,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableAsyncSignalBroadcast() {
+    return enableAsyncSignalBroadcast;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableAsyncSignalBroadcast(boolean enableAsyncSignalBroadcast) {
+    this.enableAsyncSignalBroadcast = enableAsyncSignalBroadcast;
+    return this;
+  }
+
+  public int getAsyncSignalBroadcastBatchSize() {
+    return asyncSignalBroadcastBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncSignalBroadcastBatchSize(int asyncSignalBroadcastBatchSize) {
+    this.asyncSignalBroadcastBatchSize = asyncSignalBroadcastBatchSize;
+    return this;
+  }
+
   public int getProcessDefinitionCacheLimit() {
     return processDefinitionCacheLimit;
   }
@@ -2841,6 +3214,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableConcurrentDeploymentCache() {
+    return enableConcurrentDeploymentCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+    this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+    return this;
+  }
+
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
   public DeploymentCache<Object> getKnowledgeBaseCache() {
     return knowledgeBaseCache;
   }
@@ -2850,6 +3241,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getUserGroupCacheLimit() {
+    return userGroupCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setUserGroupCacheLimit(int userGroupCacheLimit) {
+    this.userGroupCacheLimit = userGroupCacheLimit;
+    return this;
+  }
+
+  public long getUserGroupCacheExpirationTime() {
+    return userGroupCacheExpirationTime;
+  }
+
+  public ProcessEngineConfigurationImpl setUserGroupCacheExpirationTime(long userGroupCacheExpirationTime) {
+    this.userGroupCacheExpirationTime = userGroupCacheExpirationTime;
+    return this;
+  }
+
+  public UserGroupCache getUserGroupCache() {
+    return userGroupCache;
+  }
+
+  public ProcessEngineConfigurationImpl setUserGroupCache(UserGroupCache userGroupCache) {
+    this.userGroupCache = userGroupCache;
+    return this;
+  }
+
   public boolean isEnableSafeBpmnXml() {
     return enableSafeBpmnXml;
   }
@@ -2873,6 +3291,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isSkipEventsWithoutListeners() {
+    return skipEventsWithoutListeners;
+  }
+
+  public ProcessEngineConfigurationImpl setSkipEventsWithoutListeners(boolean skipEventsWithoutListeners) {
+    this.skipEventsWithoutListeners = skipEventsWithoutListeners;
+    return this;
+  }
+
+  public AsyncEventListenerExecutor getAsyncEventListenerExecutor() {
+    return asyncEventListenerExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerExecutor(AsyncEventListenerExecutor asyncEventListenerExecutor) {
+    this.asyncEventListenerExecutor = asyncEventListenerExecutor;
+    return this;
+  }
+
+  public int getAsyncEventListenerThreads() {
+    return asyncEventListenerThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerThreads(int asyncEventListenerThreads) {
+    this.asyncEventListenerThreads = asyncEventListenerThreads;
+    return this;
+  }
+
+  public int getAsyncEventListenerQueueSize() {
+    return asyncEventListenerQueueSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventListenerQueueSize(int asyncEventListenerQueueSize) {
+    this.asyncEventListenerQueueSize = asyncEventListenerQueueSize;
+    return this;
+  }
+
   public Map<String, List<ActivitiEventListener>> getTypedEventListeners() {
     return typedEventListeners;
   }
@@ -2913,6 +3367,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public EventLogDurability getEventLogDurability() {
+    return eventLogDurability;
+  }
+
+  public ProcessEngineConfigurationImpl setEventLogDurability(EventLogDurability eventLogDurability) {
+    this.eventLogDurability = eventLogDurability;
+    return this;
+  }
+
+  public BackgroundEventLogWriter getEventLogWriter() {
+    return eventLogWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setEventLogWriter(BackgroundEventLogWriter eventLogWriter) {
+    this.eventLogWriter = eventLogWriter;
+    return this;
+  }
+
+  public int getEventLogWriterQueueSize() {
+    return eventLogWriterQueueSize;
+  }
+
+  public ProcessEngineConfigurationImpl setEventLogWriterQueueSize(int eventLogWriterQueueSize) {
+    this.eventLogWriterQueueSize = eventLogWriterQueueSize;
+    return this;
+  }
+
+  public int getEventLogWriterMaxEntriesPerTransaction() {
+    return eventLogWriterMaxEntriesPerTransaction;
+  }
+
+  public ProcessEngineConfigurationImpl setEventLogWriterMaxEntriesPerTransaction(int eventLogWriterMaxEntriesPerTransaction) {
+    this.eventLogWriterMaxEntriesPerTransaction = eventLogWriterMaxEntriesPerTransaction;
+    return this;
+  }
+
   public int getMaxLengthStringVariableType() {
     return maxLengthStringVariableType;
   }
@@ -2940,6 +3430,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJdbcBatchFlushEnabled() {
+    return isJdbcBatchFlushEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchFlushEnabled(boolean isJdbcBatchFlushEnabled) {
+    this.isJdbcBatchFlushEnabled = isJdbcBatchFlushEnabled;
+    return this;
+  }
+
   public boolean isUsingRelationalDatabase() {
     return usingRelationalDatabase;
   }
@@ -2963,6 +3462,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableProcessInstanceVariablePrefetch(boolean enableProcessInstanceVariablePrefetch) {
+    this.performanceSettings.setEnableProcessInstanceVariablePrefetch(enableProcessInstanceVariablePrefetch);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableLazyJsonVariablesInExpressions(boolean enableLazyJsonVariablesInExpressions) {
+    this.performanceSettings.setEnableLazyJsonVariablesInExpressions(enableLazyJsonVariablesInExpressions);
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setEnableExecutionRelationshipCounts(boolean enableExecutionRelationshipCounts) {
     this.performanceSettings.setEnableExecutionRelationshipCounts(enableExecutionRelationshipCounts);
     return this;
@@ -3525,6 +4034,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableAsyncHistory() {
+    return enableAsyncHistory;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableAsyncHistory(boolean enableAsyncHistory) {
+    this.enableAsyncHistory = enableAsyncHistory;
+    return this;
+  }
+
   public JobManager getJobManager() {
     return jobManager;
   }
@@ -3774,6 +4292,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isAsyncExecutorVirtualThreads() {
+    return asyncExecutorVirtualThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreads(boolean asyncExecutorVirtualThreads) {
+    this.asyncExecutorVirtualThreads = asyncExecutorVirtualThreads;
+    return this;
+  }
+
+  public int getAsyncExecutorVirtualThreadMaxConcurrency() {
+    return asyncExecutorVirtualThreadMaxConcurrency;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorVirtualThreadMaxConcurrency(int asyncExecutorVirtualThreadMaxConcurrency) {
+    this.asyncExecutorVirtualThreadMaxConcurrency = asyncExecutorVirtualThreadMaxConcurrency;
+    return this;
+  }
+
+  public boolean isAsyncExecutorAdaptiveJobAcquisition() {
+    return asyncExecutorAdaptiveJobAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveJobAcquisition(boolean asyncExecutorAdaptiveJobAcquisition) {
+    this.asyncExecutorAdaptiveJobAcquisition = asyncExecutorAdaptiveJobAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxAdaptiveJobsPerAcquisition() {
+    return asyncExecutorMaxAdaptiveJobsPerAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxAdaptiveJobsPerAcquisition(int asyncExecutorMaxAdaptiveJobsPerAcquisition) {
+    this.asyncExecutorMaxAdaptiveJobsPerAcquisition = asyncExecutorMaxAdaptiveJobsPerAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorMinAdaptiveJobAcquireWaitTime() {
+    return asyncExecutorMinAdaptiveJobAcquireWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMinAdaptiveJobAcquireWaitTime(int asyncExecutorMinAdaptiveJobAcquireWaitTime) {
+    this.asyncExecutorMinAdaptiveJobAcquireWaitTime = asyncExecutorMinAdaptiveJobAcquireWaitTime;
+    return this;
+  }
+
+  public boolean isAsyncExecutorSkipLockedJobAcquisition() {
+    return asyncExecutorSkipLockedJobAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorSkipLockedJobAcquisition(boolean asyncExecutorSkipLockedJobAcquisition) {
+    this.asyncExecutorSkipLockedJobAcquisition = asyncExecutorSkipLockedJobAcquisition;
+    return this;
+  }
+
   public String getAsyncExecutorLockOwner() {
     return asyncExecutorLockOwner;
   }
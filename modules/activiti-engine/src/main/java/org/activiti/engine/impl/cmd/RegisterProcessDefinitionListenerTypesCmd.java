@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.activiti.bpmn.converter.BpmnXMLConverter;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EventListener;
+import org.activiti.bpmn.model.Process;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.ProcessDefinitionQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ResourceEntity;
+import org.activiti.engine.impl.util.io.BytesStreamSource;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lets the {@link ActivitiEventDispatcherImpl} know the event types the listeners of all deployed process definitions
+ * are registered for, so it doesn't skip those events for process definitions that haven't been parsed by this engine.
+ *
+ * Only the BPMN XML of the process definitions is read: they are not parsed nor added to the process definition cache.
+ */
+public class RegisterProcessDefinitionListenerTypesCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RegisterProcessDefinitionListenerTypesCmd.class);
+
+  protected int pageSize = 100;
+
+  public Void execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!(processEngineConfiguration.getEventDispatcher() instanceof ActivitiEventDispatcherImpl)) {
+      return null;
+    }
+    ActivitiEventDispatcherImpl eventDispatcher = (ActivitiEventDispatcherImpl) processEngineConfiguration.getEventDispatcher();
+
+    ProcessDefinitionQueryImpl query = new ProcessDefinitionQueryImpl();
+    query.orderByProcessDefinitionId().asc();
+
+    // Several process definitions can be defined in the same resource
+    Set<String> readResources = new HashSet<String>();
+    int firstResult = 0;
+    List<ProcessDefinition> processDefinitions;
+    do {
+      processDefinitions = commandContext.getProcessDefinitionEntityManager().findProcessDefinitionsByQueryCriteria(query, new Page(firstResult, pageSize));
+      for (ProcessDefinition processDefinition : processDefinitions) {
+        if (readResources.add(processDefinition.getDeploymentId() + "/" + processDefinition.getResourceName())) {
+          registerListenerTypes(commandContext, processDefinition, eventDispatcher);
+        }
+      }
+      firstResult += pageSize;
+    } while (processDefinitions.size() == pageSize);
+
+    eventDispatcher.setProcessDefinitionListenerTypesRegistered(true);
+    return null;
+  }
+
+  protected void registerListenerTypes(CommandContext commandContext, ProcessDefinition processDefinition, ActivitiEventDispatcherImpl eventDispatcher) {
+    ResourceEntity resource = commandContext.getResourceEntityManager().findResourceByDeploymentIdAndResourceName(
+        processDefinition.getDeploymentId(), processDefinition.getResourceName());
+    if (resource == null) {
+      return;
+    }
+
+    try {
+      for (Process process : readBpmnModel(commandContext, resource).getProcesses()) {
+        for (EventListener eventListener : process.getEventListeners()) {
+          eventDispatcher.addProcessDefinitionListenerTypes(ActivitiEventType.getTypesFromString(eventListener.getEvents()));
+        }
+      }
+    } catch (Exception e) {
+      // The listeners are unknown, so no event can be skipped
+      LOGGER.warn("Could not read the event listeners of resource {} of deployment {}, no events will be skipped",
+          resource.getName(), resource.getDeploymentId(), e);
+      eventDispatcher.addProcessDefinitionListenerTypes();
+    }
+  }
+
+  protected BpmnModel readBpmnModel(CommandContext commandContext, ResourceEntity resource) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    BytesStreamSource streamSource = new BytesStreamSource(resource.getBytes());
+    BpmnXMLConverter converter = new BpmnXMLConverter();
+    if (processEngineConfiguration.getXmlEncoding() != null) {
+      return converter.convertToBpmnModel(streamSource, false, processEngineConfiguration.isEnableSafeBpmnXml(), processEngineConfiguration.getXmlEncoding());
+    }
+    return converter.convertToBpmnModel(streamSource, false, processEngineConfiguration.isEnableSafeBpmnXml());
+  }
+
+}
@@ -25,6 +25,7 @@ import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.SignalBroadcastJobHandler;
 import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
@@ -70,6 +71,12 @@ public class SignalEventReceivedCmd implements Command<Void> {
 
     EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
     if (executionId == null) {
+      if (payload == null && commandContext.getProcessEngineConfiguration().isEnableAsyncSignalBroadcast()) {
+        SignalBroadcastJobHandler.scheduleSignalBroadcast(commandContext, eventName, tenantId, 
+            commandContext.getProcessEngineConfiguration().getAsyncSignalBroadcastBatchSize());
+        return null;
+      }
+      
       signalEvents = eventSubscriptionEntityManager.findSignalEventSubscriptionsByEventName(eventName, tenantId);
     } else {
 
@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * MyBatis {@link Transaction} that executes statements on the connection of another {@link SqlSession}.
+ * 
+ * Used by the {@link DbSqlSession} to send the flushed statements through a batch executor, 
+ * as part of the transaction of the regular session: committing, rolling back and closing 
+ * are left to the regular session.
+ */
+public class BatchFlushTransaction implements Transaction {
+
+  protected SqlSession sqlSession;
+
+  public BatchFlushTransaction(SqlSession sqlSession) {
+    this.sqlSession = sqlSession;
+  }
+
+  public Connection getConnection() throws SQLException {
+    return sqlSession.getConnection();
+  }
+
+  public void commit() throws SQLException {
+  }
+
+  public void rollback() throws SQLException {
+  }
+
+  public void close() throws SQLException {
+  }
+
+  public Integer getTimeout() throws SQLException {
+    return null;
+  }
+
+}
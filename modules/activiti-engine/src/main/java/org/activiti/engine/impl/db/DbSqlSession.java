@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -59,6 +60,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
 import org.activiti.engine.impl.interceptor.Session;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.Entity;
@@ -66,7 +68,12 @@ import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -155,7 +162,13 @@ public class DbSqlSession implements Session {
   protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations
     = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
   protected List<Entity> updatedObjects = new ArrayList<Entity>();
+
+  /** Only set while flushing in JDBC batch mode, see {@link #flushBatch()} */
+  protected SqlSession batchSqlSession;
+  protected Set<Object> batchOptimisticLockingChecks;
  
+  protected CommandMetrics commandMetrics;
+
   protected String connectionMetadataDefaultCatalog;
   protected String connectionMetadataDefaultSchema;
 
@@ -204,6 +217,9 @@ public class DbSqlSession implements Session {
 
   public int update(String statement, Object parameters) {
     String updateStatement = dbSqlSessionFactory.mapStatement(statement);
+    if (commandMetrics != null) {
+      commandMetrics.updateExecuted();
+    }
     return getSqlSession().update(updateStatement, parameters);
   }
 
@@ -317,6 +333,9 @@ public class DbSqlSession implements Session {
       return Collections.EMPTY_LIST;
     }
     
+    if (commandMetrics != null) {
+      commandMetrics.selectExecuted();
+    }
     List loadedObjects = sqlSession.selectList(statement, parameter);
     if (useCache) {
       return cacheLoadOrStore(loadedObjects);
@@ -331,11 +350,17 @@ public class DbSqlSession implements Session {
     if (firstResult == -1 || maxResults == -1) {
       return Collections.EMPTY_LIST;
     }
+    if (commandMetrics != null) {
+      commandMetrics.selectExecuted();
+    }
     return sqlSession.selectList(statement, parameter);
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
+    if (commandMetrics != null) {
+      commandMetrics.selectExecuted();
+    }
     Object result = sqlSession.selectOne(statement, parameter);
     if (result instanceof Entity) {
       Entity loadedObject = (Entity) result;
@@ -354,6 +379,9 @@ public class DbSqlSession implements Session {
     
     if (useCache) {
       entity = entityCache.findInCache(entityClass, id);
+      if (commandMetrics != null) {
+        commandMetrics.entityCacheLookup(entityClass, entity != null);
+      }
       if (entity != null) {
         return entity;
       }
@@ -361,6 +389,9 @@ public class DbSqlSession implements Session {
     
     String selectStatement = dbSqlSessionFactory.getSelectStatement(entityClass);
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
+    if (commandMetrics != null) {
+      commandMetrics.selectExecuted();
+    }
     entity = (T) sqlSession.selectOne(selectStatement, id);
     if (entity == null) {
       return null;
@@ -407,6 +438,7 @@ public class DbSqlSession implements Session {
   // ////////////////////////////////////////////////////////////////////
 
   public void flush() {
+    long flushStartTime = commandMetrics != null ? System.nanoTime() : 0L;
     determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
     removeUnnecessaryOperations();
 
@@ -414,9 +446,74 @@ public class DbSqlSession implements Session {
       debugFlush();
     }
 
-    flushInserts();
-    flushUpdates();
-    flushDeletes();
+    if (dbSqlSessionFactory.isJdbcBatchFlushEnabled()) {
+      flushBatch();
+    } else {
+      flushInserts();
+      flushUpdates();
+      flushDeletes();
+    }
+
+    if (commandMetrics != null) {
+      commandMetrics.flushExecuted(System.nanoTime() - flushStartTime);
+    }
+  }
+
+  /**
+   * Flushes the inserts, updates and deletes through a MyBatis batch executor on the connection of this session.
+   * Consecutive statements with the same mapped statement are sent to the database as one JDBC batch.
+   * 
+   * The optimistic locking checks are done afterwards, using the update count of each statement in the batch.
+   */
+  protected void flushBatch() {
+    batchSqlSession = createBatchSqlSession();
+    batchOptimisticLockingChecks = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    boolean flushed = false;
+    try {
+      flushInserts();
+      flushUpdates();
+      flushDeletes();
+
+      List<BatchResult> batchResults = batchSqlSession.flushStatements();
+      flushed = true;
+      checkBatchUpdateCounts(batchResults);
+
+    } finally {
+      if (!flushed) {
+        batchSqlSession.rollback(true); // closes the pending batch statements without executing them
+      }
+      batchSqlSession = null;
+      batchOptimisticLockingChecks = null;
+      
+      // the regular session didn't see the flushed statements, so its local cache can be stale
+      sqlSession.clearCache();
+    }
+  }
+
+  protected SqlSession createBatchSqlSession() {
+    Configuration configuration = dbSqlSessionFactory.getSqlSessionFactory().getConfiguration();
+    Executor executor = configuration.newExecutor(new BatchFlushTransaction(sqlSession), ExecutorType.BATCH);
+    return new DefaultSqlSession(configuration, executor, false);
+  }
+
+  protected void checkBatchUpdateCounts(List<BatchResult> batchResults) {
+    for (BatchResult batchResult : batchResults) {
+      List<Object> parameterObjects = batchResult.getParameterObjects();
+      int[] updateCounts = batchResult.getUpdateCounts();
+      for (int i = 0; i < parameterObjects.size() && i < updateCounts.length; i++) {
+        // drivers that don't report the update counts of a batch return Statement.SUCCESS_NO_INFO, which can't be checked
+        if (updateCounts[i] == 0 && batchOptimisticLockingChecks.contains(parameterObjects.get(i))) {
+          throw new ActivitiOptimisticLockingException(parameterObjects.get(i) + " was updated by another transaction concurrently");
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the session the flushed statements are executed on.
+   */
+  protected SqlSession getFlushSqlSession() {
+    return batchSqlSession != null ? batchSqlSession : sqlSession;
   }
 
   /**
@@ -646,7 +743,10 @@ public class DbSqlSession implements Session {
      }
      
      log.debug("inserting: {}", entity);
-     sqlSession.insert(insertStatement, entity);
+     getFlushSqlSession().insert(insertStatement, entity);
+     if (commandMetrics != null) {
+       commandMetrics.insertExecuted();
+     }
      
      // See https://activiti.atlassian.net/browse/ACT-1290
      if (entity instanceof HasRevision) {
@@ -677,7 +777,10 @@ public class DbSqlSession implements Session {
         }
         index++;
       }
-      sqlSession.insert(insertStatement, subList);
+      getFlushSqlSession().insert(insertStatement, subList);
+      if (commandMetrics != null) {
+        commandMetrics.insertExecuted();
+      }
     }
     
     if (hasRevision != null && hasRevision) {
@@ -698,16 +801,19 @@ public class DbSqlSession implements Session {
 
 
   protected void flushUpdates() {
-    for (Entity updatedObject : updatedObjects) {
-      String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-      updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+    if (batchSqlSession != null) {
+      flushBatchUpdates();
+      return;
+    }
 
-      if (updateStatement == null) {
-        throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
-      }
+    for (Entity updatedObject : updatedObjects) {
+      String updateStatement = getUpdateStatement(updatedObject);
 
       log.debug("updating: {}", updatedObject);
       int updatedRecords = sqlSession.update(updateStatement, updatedObject);
+      if (commandMetrics != null) {
+        commandMetrics.updateExecuted();
+      }
       if (updatedRecords == 0) {
         throw new ActivitiOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
       }
@@ -721,6 +827,51 @@ public class DbSqlSession implements Session {
     updatedObjects.clear();
   }
 
+  /**
+   * Groups the updates by update statement, so each group can be sent as one JDBC batch.
+   * The update counts are checked once the batch is executed.
+   */
+  protected void flushBatchUpdates() {
+    Map<String, List<Entity>> updatesByStatement = new LinkedHashMap<String, List<Entity>>();
+    for (Entity updatedObject : updatedObjects) {
+      String updateStatement = getUpdateStatement(updatedObject);
+      List<Entity> updates = updatesByStatement.get(updateStatement);
+      if (updates == null) {
+        updates = new ArrayList<Entity>();
+        updatesByStatement.put(updateStatement, updates);
+      }
+      updates.add(updatedObject);
+    }
+
+    for (Map.Entry<String, List<Entity>> updates : updatesByStatement.entrySet()) {
+      for (Entity updatedObject : updates.getValue()) {
+        log.debug("updating: {}", updatedObject);
+        batchSqlSession.update(updates.getKey(), updatedObject);
+        batchOptimisticLockingChecks.add(updatedObject);
+        if (commandMetrics != null) {
+          commandMetrics.updateExecuted();
+        }
+
+        // The batch executor binds the parameters right away, so the revision can be incremented
+        // before the batch is executed. A delete of the same entity later in the flush needs it.
+        if (updatedObject instanceof HasRevision) {
+          ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        }
+      }
+    }
+    updatedObjects.clear();
+  }
+
+  protected String getUpdateStatement(Entity updatedObject) {
+    String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+    updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+    if (updateStatement == null) {
+      throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+    }
+    return updateStatement;
+  }
+
   protected void flushDeletes() {
     
     if (deletedObjects.size() == 0 && bulkDeleteOperations.size() == 0) {
@@ -751,7 +902,10 @@ public class DbSqlSession implements Session {
     // Bulk deletes
     if (bulkDeleteOperations.containsKey(entityClass)) {
       for (BulkDeleteOperation bulkDeleteOperation : bulkDeleteOperations.get(entityClass)) {
-        bulkDeleteOperation.execute(sqlSession);
+        bulkDeleteOperation.execute(getFlushSqlSession());
+        if (commandMetrics != null) {
+          commandMetrics.deleteExecuted();
+        }
       }
     }
   }
@@ -766,13 +920,19 @@ public class DbSqlSession implements Session {
 
       // It only makes sense to check for optimistic locking exceptions
       // for objects that actually have a revision
-      if (entity instanceof HasRevision) {
+      if (entity instanceof HasRevision && batchSqlSession != null) {
+        batchSqlSession.delete(deleteStatement, entity);
+        batchOptimisticLockingChecks.add(entity);
+      } else if (entity instanceof HasRevision) {
         int nrOfRowsDeleted = sqlSession.delete(deleteStatement, entity);
         if (nrOfRowsDeleted == 0) {
           throw new ActivitiOptimisticLockingException(entity + " was updated by another transaction concurrently");
         }
       } else {
-        sqlSession.delete(deleteStatement, entity);
+        getFlushSqlSession().delete(deleteStatement, entity);
+      }
+      if (commandMetrics != null) {
+        commandMetrics.deleteExecuted();
       }
     }
   }
@@ -1404,6 +1564,14 @@ public class DbSqlSession implements Session {
     return sqlSession;
   }
 
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  public void setCommandMetrics(CommandMetrics commandMetrics) {
+    this.commandMetrics = commandMetrics;
+  }
+
   public DbSqlSessionFactory getDbSqlSessionFactory() {
     return dbSqlSessionFactory;
   }
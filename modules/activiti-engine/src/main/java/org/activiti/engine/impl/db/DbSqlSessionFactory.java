@@ -14,8 +14,11 @@
 package org.activiti.engine.impl.db;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.activiti.engine.ActivitiException;
@@ -35,6 +38,11 @@ public class DbSqlSessionFactory implements SessionFactory {
   
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<String, Map<String, String>>();
 
+  /**
+   * Database types for which the job acquisition statements have a 'for update skip locked' variant.
+   */
+  public static final Set<String> SKIP_LOCKED_DATABASE_TYPES = new HashSet<String>(Arrays.asList("postgres", "oracle", "mysql"));
+
   /**
    * A map {class, boolean}, to indicate whether or not a certain {@link Entity} class can be bulk inserted.
    */
@@ -67,6 +75,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
+  protected boolean isJdbcBatchFlushEnabled;
+  protected boolean isSkipLockedJobAcquisitionEnabled;
   
   public Class<?> getSessionType() {
     return DbSqlSession.class;
@@ -74,6 +84,7 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public Session openSession(CommandContext commandContext) {
     DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    dbSqlSession.setCommandMetrics(commandContext.getCommandMetrics());
     if (getDatabaseSchema() != null && getDatabaseSchema().length() > 0) {
       try {
         dbSqlSession.getSqlSession().getConnection().setSchema(getDatabaseSchema());
@@ -328,4 +339,24 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.maxNrOfStatementsInBulkInsert = maxNrOfStatementsInBulkInsert;
   }
 
+  public boolean isJdbcBatchFlushEnabled() {
+    return isJdbcBatchFlushEnabled;
+  }
+
+  public void setJdbcBatchFlushEnabled(boolean isJdbcBatchFlushEnabled) {
+    this.isJdbcBatchFlushEnabled = isJdbcBatchFlushEnabled;
+  }
+
+  /**
+   * @return true when jobs are acquired with 'for update skip locked' queries, which is only the case when it is enabled
+   *         and the database type supports it (see {@link #SKIP_LOCKED_DATABASE_TYPES}).
+   */
+  public boolean isSkipLockedJobAcquisitionEnabled() {
+    return isSkipLockedJobAcquisitionEnabled && SKIP_LOCKED_DATABASE_TYPES.contains(databaseType);
+  }
+
+  public void setSkipLockedJobAcquisitionEnabled(boolean isSkipLockedJobAcquisitionEnabled) {
+    this.isSkipLockedJobAcquisitionEnabled = isSkipLockedJobAcquisitionEnabled;
+  }
+
 }
@@ -0,0 +1,244 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IdGenerator} handing out ids of database id blocks, like the {@link DbIdGenerator}, without synchronizing every call.
+ * 
+ * Ids are taken from the current block with an atomic increment. When a given part of the block is used 
+ * (see {@link #setPrefetchRatio(double)}), the next block is fetched by the prefetch executor (see 
+ * {@link #setPrefetchExecutor(ExecutorService)}), so the thread that exhausts the current block normally doesn't 
+ * have to wait for the {@link GetNextIdBlockCmd}. Without prefetch executor, or once it is shut down, the next 
+ * block is fetched by the thread that exhausts the current block.
+ * 
+ * Optionally, every thread takes a sub block of ids at once (see {@link #setThreadBlockSize(int)}), so even 
+ * the atomic increment is only done once per sub block. Ids are then not handed out in order across threads,
+ * and the unused ids of a sub block are lost when the thread ends.
+ */
+public class PrefetchingDbIdGenerator implements IdGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(PrefetchingDbIdGenerator.class);
+
+  protected int idBlockSize;
+  protected double prefetchRatio = 0.25;
+  protected int threadBlockSize;
+
+  protected CommandExecutor commandExecutor;
+  protected CommandConfig commandConfig;
+  protected ExecutorService prefetchExecutor;
+
+  protected AtomicReference<IdRange> currentRange = new AtomicReference<IdRange>(new IdRange(0, -1, 0));
+  protected AtomicReference<FutureTask<IdBlock>> prefetchedBlock = new AtomicReference<FutureTask<IdBlock>>();
+  protected Lock newBlockLock = new ReentrantLock();
+
+  protected ThreadLocal<ThreadIdRange> threadRanges = new ThreadLocal<ThreadIdRange>() {
+    protected ThreadIdRange initialValue() {
+      return new ThreadIdRange();
+    }
+  };
+
+  public String getNextId() {
+    if (threadBlockSize > 1) {
+      return Long.toString(getNextThreadId());
+    }
+    return Long.toString(getNextSharedId());
+  }
+
+  protected long getNextSharedId() {
+    while (true) {
+      IdRange range = currentRange.get();
+      long id = range.next.getAndIncrement();
+      if (id <= range.last) {
+        if (id == range.prefetchId) {
+          prefetchNewBlock();
+        }
+        return id;
+      }
+      switchToNewBlock(range);
+    }
+  }
+
+  protected long getNextThreadId() {
+    ThreadIdRange threadRange = threadRanges.get();
+    if (threadRange.next > threadRange.last) {
+      reserveThreadRange(threadRange);
+    }
+    return threadRange.next++;
+  }
+
+  protected void reserveThreadRange(ThreadIdRange threadRange) {
+    while (true) {
+      IdRange range = currentRange.get();
+      long first = range.next.getAndAdd(threadBlockSize);
+      if (first <= range.last) {
+        long last = Math.min(first + threadBlockSize - 1, range.last);
+        if (first <= range.prefetchId && range.prefetchId <= last) {
+          prefetchNewBlock();
+        }
+        threadRange.next = first;
+        threadRange.last = last;
+        return;
+      }
+      switchToNewBlock(range);
+    }
+  }
+
+  /**
+   * Replaces the exhausted range by a new block, unless another thread did so already.
+   */
+  protected void switchToNewBlock(IdRange exhaustedRange) {
+    newBlockLock.lock();
+    try {
+      if (currentRange.get() == exhaustedRange) {
+        IdBlock idBlock = takeNewBlock();
+        long prefetchId = idBlock.getLastId() - (long) ((idBlock.getLastId() - idBlock.getNextId() + 1) * prefetchRatio);
+        currentRange.set(new IdRange(idBlock.getNextId(), idBlock.getLastId(), Math.max(prefetchId, idBlock.getNextId())));
+      }
+    } finally {
+      newBlockLock.unlock();
+    }
+  }
+
+  protected IdBlock takeNewBlock() {
+    FutureTask<IdBlock> prefetchTask = prefetchedBlock.getAndSet(null);
+    if (prefetchTask != null) {
+      try {
+        return prefetchTask.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.debug("Interrupted while waiting for the prefetched id block, fetching a new one");
+      } catch (ExecutionException e) {
+        log.warn("Prefetching the next id block failed, fetching a new one", e.getCause());
+      }
+    }
+    return fetchNewBlock();
+  }
+
+  protected void prefetchNewBlock() {
+    FutureTask<IdBlock> prefetchTask = new FutureTask<IdBlock>(new Callable<IdBlock>() {
+      public IdBlock call() throws Exception {
+        return fetchNewBlock();
+      }
+    });
+
+    if (prefetchExecutor != null && prefetchedBlock.compareAndSet(null, prefetchTask)) {
+      try {
+        prefetchExecutor.execute(prefetchTask);
+      } catch (RejectedExecutionException e) {
+        // the executor is shut down, the next block will be fetched when the current one is used up
+        prefetchedBlock.compareAndSet(prefetchTask, null);
+        log.debug("Id block prefetch rejected, the prefetch executor is shut down");
+      }
+    }
+  }
+
+  protected IdBlock fetchNewBlock() {
+    return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
+  }
+
+  public int getIdBlockSize() {
+    return idBlockSize;
+  }
+
+  public void setIdBlockSize(int idBlockSize) {
+    this.idBlockSize = idBlockSize;
+  }
+
+  public double getPrefetchRatio() {
+    return prefetchRatio;
+  }
+
+  /**
+   * Sets the part of the id block that is left when the next block is fetched in the background, 0.25 by default.
+   */
+  public void setPrefetchRatio(double prefetchRatio) {
+    this.prefetchRatio = prefetchRatio;
+  }
+
+  public int getThreadBlockSize() {
+    return threadBlockSize;
+  }
+
+  /**
+   * Sets the number of ids every thread takes from the id block at once. Disabled (0) by default.
+   */
+  public void setThreadBlockSize(int threadBlockSize) {
+    this.threadBlockSize = threadBlockSize;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public CommandConfig getCommandConfig() {
+    return commandConfig;
+  }
+
+  public void setCommandConfig(CommandConfig commandConfig) {
+    this.commandConfig = commandConfig;
+  }
+
+  public ExecutorService getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  /**
+   * Sets the executor fetching the next id block in the background. The executor is not shut down by the id generator.
+   */
+  public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong next;
+    protected final long last;
+
+    /** The id that triggers fetching the next block */
+    protected final long prefetchId;
+
+    public IdRange(long next, long last, long prefetchId) {
+      this.next = new AtomicLong(next);
+      this.last = last;
+      this.prefetchId = prefetchId;
+    }
+  }
+
+  protected static class ThreadIdRange {
+
+    protected long next;
+    protected long last = -1;
+  }
+
+}
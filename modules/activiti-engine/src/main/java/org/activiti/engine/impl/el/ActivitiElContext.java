@@ -17,27 +17,44 @@ import javax.el.ELResolver;
 import javax.el.FunctionMapper;
 import javax.el.VariableMapper;
 
+import org.activiti.engine.delegate.VariableScope;
+
 /**
  * @author Tom Baeyens
  * @author Joram Barrez
  */
 public class ActivitiElContext extends ELContext {
 
+  protected static final FunctionMapper FUNCTION_MAPPER = new ActivitiFunctionMapper();
+
   protected ELResolver elResolver;
+  protected VariableScope variableScope;
 
   public ActivitiElContext(ELResolver elResolver) {
     this.elResolver = elResolver;
   }
 
+  /**
+   * Binds the variable scope to this context, so the given (shared) resolver can resolve its variables.
+   */
+  public ActivitiElContext(ELResolver elResolver, VariableScope variableScope) {
+    this.elResolver = elResolver;
+    this.variableScope = variableScope;
+  }
+
   public ELResolver getELResolver() {
     return elResolver;
   }
 
   public FunctionMapper getFunctionMapper() {
-    return new ActivitiFunctionMapper();
+    return FUNCTION_MAPPER;
   }
 
   public VariableMapper getVariableMapper() {
     return null;
   }
+
+  public VariableScope getVariableScope() {
+    return variableScope;
+  }
 }
@@ -15,7 +15,6 @@ package org.activiti.engine.impl.el;
 import java.util.Map;
 
 import javax.el.ArrayELResolver;
-import javax.el.BeanELResolver;
 import javax.el.CompositeELResolver;
 import javax.el.ELContext;
 import javax.el.ELResolver;
@@ -53,6 +52,14 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ParsingElContext();
   protected Map<Object, Object> beans;
 
+  /**
+   * Resolver chain shared by the {@link ELContext}s of all variable scopes, which only bind the variable scope. 
+   * Not used when a subclass overrides {@link #createElResolver(VariableScope)}.
+   */
+  protected volatile ELResolver sharedElResolver;
+  protected ELResolver beanElResolver = new MethodHandleBeanELResolver();
+  protected Boolean sharedElResolverSupported;
+
   public ExpressionManager() {
     this(null);
   }
@@ -99,13 +106,50 @@ public class ExpressionManager {
   }
 
   protected ActivitiElContext createElContext(VariableScope variableScope) {
+    if (isSharedElResolverSupported()) {
+      return new ActivitiElContext(getSharedElResolver(), variableScope);
+    }
+
     ELResolver elResolver = createElResolver(variableScope);
     return new ActivitiElContext(elResolver);
   }
 
+  protected ELResolver getSharedElResolver() {
+    ELResolver elResolver = sharedElResolver;
+    if (elResolver == null) {
+      elResolver = createElResolverChain(new VariableScopeElResolver());
+      sharedElResolver = elResolver;
+    }
+    return elResolver;
+  }
+
+  /**
+   * The shared resolver chain can only be used when subclasses don't build their own chain per variable scope.
+   */
+  protected boolean isSharedElResolverSupported() {
+    if (sharedElResolverSupported == null) {
+      boolean supported = true;
+      Class<?> clazz = getClass();
+      while (supported && clazz != ExpressionManager.class) {
+        try {
+          clazz.getDeclaredMethod("createElResolver", VariableScope.class);
+          supported = false;
+        } catch (NoSuchMethodException e) {
+          clazz = clazz.getSuperclass();
+        }
+      }
+      sharedElResolverSupported = supported;
+    }
+    return sharedElResolverSupported;
+  }
+
   protected ELResolver createElResolver(VariableScope variableScope) {
+    return createElResolverChain(new VariableScopeElResolver(variableScope));
+  }
+
+  protected ELResolver createElResolverChain(ELResolver variableScopeElResolver) {
     CompositeELResolver elResolver = new CompositeELResolver();
-    elResolver.add(new VariableScopeElResolver(variableScope));
+    elResolver.add(variableScopeElResolver);
 
     if (beans != null) {
       // ACT-1102: Also expose all beans in configuration when using
@@ -117,9 +161,10 @@ public class ExpressionManager {
     elResolver.add(new ArrayELResolver());
     elResolver.add(new ListELResolver());
     elResolver.add(new MapELResolver());
+    elResolver.add(new LazyJsonELResolver());
     elResolver.add(new JsonNodeELResolver());
     elResolver.add(new DynamicBeanPropertyELResolver(ItemInstance.class, "getFieldValue", "setFieldValue")); // TODO: needs verification
-    elResolver.add(new BeanELResolver());
+    elResolver.add(beanElResolver);
     return elResolver;
   }
 
@@ -129,6 +174,7 @@ public class ExpressionManager {
 
   public void setBeans(Map<Object, Object> beans) {
     this.beans = beans;
+    this.sharedElResolver = null;
   }
 
 }
@@ -47,7 +47,7 @@ public class JuelExpression implements Expression {
     try {
       ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext);
       Context.getProcessEngineConfiguration().getDelegateInterceptor().handleInvocation(invocation);
-      return invocation.getInvocationResult();
+      return LazyJsonELResolver.unwrap(invocation.getInvocationResult());
     } catch (PropertyNotFoundException pnfe) {
       throw new ActivitiException("Unknown property used in expression: " + expressionText, pnfe);
     } catch (MethodNotFoundException mnfe) {
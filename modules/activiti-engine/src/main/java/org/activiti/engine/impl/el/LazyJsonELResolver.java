@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.el;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Resolves the properties of {@link LazyJsonValue}s. As long as the JSON variable hasn't been parsed, the properties 
+ * are read from the stored JSON, otherwise (and for changing a property) the parsed {@link JsonNode} is handed to the 
+ * rest of the resolver chain, i.e. the {@link JsonNodeELResolver}.
+ * 
+ * Methods invoked on a lazy value and lazy values passed as method parameters get the parsed {@link JsonNode}, 
+ * so beans keep receiving the same values as without lazy resolution.
+ */
+public class LazyJsonELResolver extends ELResolver {
+
+  @Override
+  public Class<?> getCommonPropertyType(ELContext context, Object base) {
+    return base instanceof LazyJsonValue ? Object.class : null;
+  }
+
+  @Override
+  public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+    return null;
+  }
+
+  @Override
+  public Class<?> getType(ELContext context, Object base, Object property) {
+    if (base instanceof LazyJsonValue) {
+      context.setPropertyResolved(true);
+      return Object.class;
+    }
+    return null;
+  }
+
+  @Override
+  public Object getValue(ELContext context, Object base, Object property) {
+    if (base instanceof LazyJsonValue) {
+      LazyJsonValue lazyJsonValue = (LazyJsonValue) base;
+      if (lazyJsonValue.isParsed()) {
+        JsonNode jsonNode = lazyJsonValue.getJsonNode();
+        if (jsonNode != null) {
+          return context.getELResolver().getValue(context, jsonNode, property);
+        }
+        context.setPropertyResolved(true);
+        return null;
+      }
+
+      context.setPropertyResolved(true);
+      return lazyJsonValue.getProperty(property.toString());
+    }
+    return null;
+  }
+
+  @Override
+  public boolean isReadOnly(ELContext context, Object base, Object property) {
+    if (base instanceof LazyJsonValue) {
+      context.setPropertyResolved(true);
+    }
+    return false;
+  }
+
+  @Override
+  public void setValue(ELContext context, Object base, Object property, Object value) {
+    if (base instanceof LazyJsonValue) {
+      JsonNode jsonNode = ((LazyJsonValue) base).getJsonNode();
+      if (jsonNode != null) {
+        context.getELResolver().setValue(context, jsonNode, property, unwrap(value));
+      } else {
+        context.setPropertyResolved(true);
+      }
+    }
+  }
+
+  @Override
+  public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
+    if (base instanceof LazyJsonValue) {
+      return context.getELResolver().invoke(context, ((LazyJsonValue) base).getJsonNode(), method, paramTypes, unwrap(params));
+    }
+    if (containsLazyJsonValue(params)) {
+      return context.getELResolver().invoke(context, base, method, paramTypes, unwrap(params));
+    }
+    return null;
+  }
+
+  protected boolean containsLazyJsonValue(Object[] params) {
+    if (params != null) {
+      for (Object param : params) {
+        if (param instanceof LazyJsonValue) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  protected Object[] unwrap(Object[] params) {
+    if (!containsLazyJsonValue(params)) {
+      return params;
+    }
+    Object[] unwrappedParams = new Object[params.length];
+    for (int i = 0; i < params.length; i++) {
+      unwrappedParams[i] = unwrap(params[i]);
+    }
+    return unwrappedParams;
+  }
+
+  public static Object unwrap(Object value) {
+    if (value instanceof LazyJsonValue) {
+      return ((LazyJsonValue) value).getJsonNode();
+    }
+    return value;
+  }
+
+}
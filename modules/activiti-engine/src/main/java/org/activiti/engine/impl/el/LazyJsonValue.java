@@ -0,0 +1,241 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.el;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.variable.JsonType;
+import org.activiti.engine.impl.variable.LongJsonType;
+import org.activiti.engine.impl.variable.VariableType;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A JSON variable (or one of its objects or arrays) used in an expression, of which the stored JSON isn't parsed
+ * as a whole. Every property that is read is looked up by streaming through the stored JSON up to the requested field,
+ * skipping all other fields, and is kept for the rest of the command. Objects and arrays are returned as
+ * {@link LazyJsonValue}s again, so only the path used in the expression is ever read.
+ * 
+ * Once the variable value is parsed as a whole (see {@link #getJsonNode()}), for example because the expression
+ * changes one of its fields, the parsed tree is used instead, so the changes are visible to all following expressions.
+ * 
+ * The properties are resolved by the {@link LazyJsonELResolver}.
+ */
+public class LazyJsonValue {
+
+  protected static final String LAZY_JSON_VALUES_ATTRIBUTE = "lazyJsonValues";
+
+  protected VariableInstanceEntity variableInstance;
+  protected JsonFactory jsonFactory;
+  protected String jsonText;
+  protected byte[] jsonBytes;
+  protected String[] path;
+  protected Map<String, Object> resolvedProperties = new HashMap<String, Object>();
+
+  protected LazyJsonValue(VariableInstanceEntity variableInstance, JsonFactory jsonFactory, String jsonText, byte[] jsonBytes) {
+    this.variableInstance = variableInstance;
+    this.jsonFactory = jsonFactory;
+    this.jsonText = jsonText;
+    this.jsonBytes = jsonBytes;
+    this.path = new String[0];
+  }
+
+  protected LazyJsonValue(LazyJsonValue parent, String fieldName) {
+    this.variableInstance = parent.variableInstance;
+    this.jsonFactory = parent.jsonFactory;
+    this.jsonText = parent.jsonText;
+    this.jsonBytes = parent.jsonBytes;
+    this.path = new String[parent.path.length + 1];
+    System.arraycopy(parent.path, 0, path, 0, parent.path.length);
+    this.path[parent.path.length] = fieldName;
+  }
+
+  /**
+   * @return the lazy value of the given JSON variable for the current command, or null when the variable 
+   *         isn't a JSON variable, has no value or its value has been parsed already.
+   */
+  @SuppressWarnings("unchecked")
+  public static LazyJsonValue forVariable(VariableInstanceEntity variableInstance) {
+    VariableType type = variableInstance.getType();
+    if (!(type instanceof JsonType || type instanceof LongJsonType) || variableInstance.getCachedValue() instanceof JsonNode) {
+      return null;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      return null;
+    }
+
+    Map<VariableInstanceEntity, LazyJsonValue> lazyJsonValues = (Map<VariableInstanceEntity, LazyJsonValue>) commandContext.getAttribute(LAZY_JSON_VALUES_ATTRIBUTE);
+    if (lazyJsonValues == null) {
+      lazyJsonValues = new IdentityHashMap<VariableInstanceEntity, LazyJsonValue>();
+      commandContext.addAttribute(LAZY_JSON_VALUES_ATTRIBUTE, lazyJsonValues);
+    }
+
+    LazyJsonValue lazyJsonValue = lazyJsonValues.get(variableInstance);
+    if (lazyJsonValue == null) {
+      String jsonText = null;
+      byte[] jsonBytes = null;
+      if (type instanceof LongJsonType) {
+        byte[] bytes = variableInstance.getBytes();
+        if (bytes == null) {
+          return null;
+        }
+        jsonBytes = ((LongJsonType) type).getJsonBytes(bytes);
+      } else {
+        jsonText = variableInstance.getTextValue();
+        if (jsonText == null || jsonText.length() == 0) {
+          return null;
+        }
+      }
+
+      JsonFactory jsonFactory = commandContext.getProcessEngineConfiguration().getObjectMapper().getFactory();
+      lazyJsonValue = new LazyJsonValue(variableInstance, jsonFactory, jsonText, jsonBytes);
+      lazyJsonValues.put(variableInstance, lazyJsonValue);
+    }
+    return lazyJsonValue;
+  }
+
+  /**
+   * @return true when the variable value has been parsed as a whole, in which case the properties 
+   *         must be read from {@link #getJsonNode()}.
+   */
+  public boolean isParsed() {
+    return variableInstance.getCachedValue() instanceof JsonNode;
+  }
+
+  /**
+   * @return the value of the given field, converted the same way as the {@link JsonNodeELResolver} does. 
+   *         Objects and arrays are returned as {@link LazyJsonValue}.
+   */
+  public Object getProperty(String fieldName) {
+    if (resolvedProperties.containsKey(fieldName)) {
+      return resolvedProperties.get(fieldName);
+    }
+
+    Object value = readProperty(fieldName);
+    resolvedProperties.put(fieldName, value);
+    return value;
+  }
+
+  protected Object readProperty(String fieldName) {
+    JsonParser parser = null;
+    try {
+      parser = jsonText != null ? jsonFactory.createParser(jsonText) : jsonFactory.createParser(jsonBytes);
+      parser.nextToken();
+      for (String pathFieldName : path) {
+        if (!moveToFieldValue(parser, pathFieldName)) {
+          return null;
+        }
+      }
+      if (!moveToFieldValue(parser, fieldName)) {
+        return null;
+      }
+
+      JsonToken token = parser.getCurrentToken();
+      if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+        return new LazyJsonValue(this, fieldName);
+      }
+      return getScalarValue(parser);
+
+    } catch (IOException e) {
+      throw new ActivitiException("Error reading json variable " + variableInstance.getName(), e);
+    } finally {
+      if (parser != null) {
+        try {
+          parser.close();
+        } catch (IOException e) {
+          // nothing to release, the parser reads from memory
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the parser, positioned at the start of an object, to the value of the given field.
+   * The values of the fields in front of it are skipped without being parsed.
+   */
+  protected boolean moveToFieldValue(JsonParser parser, String fieldName) throws IOException {
+    if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+      return false;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String currentFieldName = parser.getCurrentName();
+      parser.nextToken();
+      if (fieldName.equals(currentFieldName)) {
+        return true;
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  /**
+   * Same values as the {@link JsonNodeELResolver} returns for the value nodes of a parsed tree.
+   */
+  protected Object getScalarValue(JsonParser parser) throws IOException {
+    switch (parser.getCurrentToken()) {
+    case VALUE_TRUE:
+      return Boolean.TRUE;
+    case VALUE_FALSE:
+      return Boolean.FALSE;
+    case VALUE_NUMBER_INT:
+      if (parser.getNumberType() == JsonParser.NumberType.LONG) {
+        return parser.getLongValue();
+      }
+      return parser.getNumberValue().toString();
+    case VALUE_NUMBER_FLOAT:
+      return parser.getDoubleValue();
+    case VALUE_STRING:
+      return parser.getText();
+    default:
+      return "null";
+    }
+  }
+
+  /**
+   * @return the (parsed) JSON node of this value. The variable value is parsed as a whole the first time,
+   *         later calls and all other lazy values of the same variable use that tree.
+   */
+  public JsonNode getJsonNode() {
+    Object value = variableInstance.getValue();
+    if (!(value instanceof JsonNode)) {
+      return null;
+    }
+    JsonNode jsonNode = (JsonNode) value;
+    for (int i = 0; i < path.length && jsonNode != null; i++) {
+      jsonNode = jsonNode.get(path[i]);
+    }
+    return jsonNode;
+  }
+
+  public VariableInstanceEntity getVariableInstance() {
+    return variableInstance;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(getJsonNode());
+  }
+
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.el;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.el.BeanELResolver;
+import javax.el.ELContext;
+import javax.el.ELException;
+
+/**
+ * {@link BeanELResolver} that reads bean properties through {@link MethodHandle}s, which are looked up once per class and property.
+ * 
+ * Properties without a public getter on a public class, as well as writes and method invocations, are handled by the {@link BeanELResolver}.
+ */
+public class MethodHandleBeanELResolver extends BeanELResolver {
+
+  protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /** Marker for properties that can't be read with a method handle, as the concurrent map doesn't allow null values. */
+  protected static final MethodHandle NO_GETTER = MethodHandles.constant(Object.class, null);
+
+  protected ConcurrentMap<Class<?>, ConcurrentMap<String, MethodHandle>> getters = new ConcurrentHashMap<Class<?>, ConcurrentMap<String, MethodHandle>>();
+
+  public MethodHandleBeanELResolver() {
+    super();
+  }
+
+  public MethodHandleBeanELResolver(boolean readOnly) {
+    super(readOnly);
+  }
+
+  @Override
+  public Object getValue(ELContext context, Object base, Object property) {
+    if (context == null || base == null || !(property instanceof String)) {
+      return super.getValue(context, base, property);
+    }
+
+    MethodHandle getter = getGetter(base.getClass(), (String) property);
+    if (getter == NO_GETTER) {
+      return super.getValue(context, base, property);
+    }
+
+    Object value;
+    try {
+      value = (Object) getter.invokeExact(base);
+    } catch (Throwable e) {
+      throw new ELException(e);
+    }
+    context.setPropertyResolved(true);
+    return value;
+  }
+
+  protected MethodHandle getGetter(Class<?> beanClass, String property) {
+    ConcurrentMap<String, MethodHandle> classGetters = getters.get(beanClass);
+    if (classGetters == null) {
+      classGetters = new ConcurrentHashMap<String, MethodHandle>();
+      ConcurrentMap<String, MethodHandle> existingGetters = getters.putIfAbsent(beanClass, classGetters);
+      if (existingGetters != null) {
+        classGetters = existingGetters;
+      }
+    }
+
+    MethodHandle getter = classGetters.get(property);
+    if (getter == null) {
+      getter = findGetter(beanClass, property);
+      classGetters.put(property, getter);
+    }
+    return getter;
+  }
+
+  protected MethodHandle findGetter(Class<?> beanClass, String property) {
+    if (!Modifier.isPublic(beanClass.getModifiers())) {
+      return NO_GETTER;
+    }
+
+    try {
+      for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+        if (property.equals(propertyDescriptor.getName())) {
+          Method readMethod = propertyDescriptor.getReadMethod();
+          if (readMethod == null || !Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
+            return NO_GETTER;
+          }
+          return MethodHandles.publicLookup().unreflect(readMethod).asType(GETTER_TYPE);
+        }
+      }
+    } catch (IntrospectionException e) {
+      // The bean resolver will report the problem
+    } catch (IllegalAccessException e) {
+      // The bean resolver will look for an accessible method
+    }
+    return NO_GETTER;
+  }
+
+}
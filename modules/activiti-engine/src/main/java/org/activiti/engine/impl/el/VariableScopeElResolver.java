@@ -19,9 +19,14 @@ import javax.el.ELContext;
 import javax.el.ELResolver;
 
 import org.activiti.engine.delegate.VariableScope;
+import org.activiti.engine.impl.cfg.PerformanceSettings;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.identity.Authentication;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstance;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 
 /**
  * Implementation of an {@link ELResolver} that resolves expressions with the process variables of a given {@link VariableScope} as context. <br>
@@ -38,13 +43,34 @@ public class VariableScopeElResolver extends ELResolver {
 
   protected VariableScope variableScope;
 
+  /**
+   * Creates a resolver that resolves the variables of the {@link VariableScope} bound 
+   * to the {@link ActivitiElContext}, so it can be shared by all contexts.
+   */
+  public VariableScopeElResolver() {
+  }
+
   public VariableScopeElResolver(VariableScope variableScope) {
     this.variableScope = variableScope;
   }
 
+  protected VariableScope getVariableScope(ELContext context) {
+    if (variableScope != null) {
+      return variableScope;
+    } else if (context instanceof ActivitiElContext) {
+      return ((ActivitiElContext) context).getVariableScope();
+    }
+    return (VariableScope) context.getContext(VariableScope.class);
+  }
+
   public Object getValue(ELContext context, Object base, Object property) {
 
     if (base == null) {
+      VariableScope variableScope = getVariableScope(context);
+      if (variableScope == null) {
+        return null;
+      }
+
       String variable = (String) property; // according to javadoc, can only be a String
 
       if ((EXECUTION_KEY.equals(property) && variableScope instanceof ExecutionEntity) || (TASK_KEY.equals(property) && variableScope instanceof TaskEntity)) {
@@ -59,6 +85,10 @@ public class VariableScopeElResolver extends ELResolver {
       } else {
         if (variableScope.hasVariable(variable)) {
           context.setPropertyResolved(true); // if not set, the next elResolver in the CompositeElResolver will be called
+          LazyJsonValue lazyJsonValue = getLazyJsonValue(variableScope, variable);
+          if (lazyJsonValue != null) {
+            return lazyJsonValue;
+          }
           return variableScope.getVariable(variable);
         }
       }
@@ -71,18 +101,36 @@ public class VariableScopeElResolver extends ELResolver {
     return null;
   }
 
+  /**
+   * @return the {@link LazyJsonValue} of the given variable when JSON variables are resolved lazily 
+   *         (see {@link PerformanceSettings#isEnableLazyJsonVariablesInExpressions()}), null otherwise.
+   */
+  protected LazyJsonValue getLazyJsonValue(VariableScope variableScope, String variableName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null || !processEngineConfiguration.getPerformanceSettings().isEnableLazyJsonVariablesInExpressions()) {
+      return null;
+    }
+    VariableInstance variableInstance = variableScope.getVariableInstance(variableName);
+    if (variableInstance instanceof VariableInstanceEntity) {
+      return LazyJsonValue.forVariable((VariableInstanceEntity) variableInstance);
+    }
+    return null;
+  }
+
   public boolean isReadOnly(ELContext context, Object base, Object property) {
     if (base == null) {
+      VariableScope variableScope = getVariableScope(context);
       String variable = (String) property;
-      return !variableScope.hasVariable(variable);
+      return variableScope == null || !variableScope.hasVariable(variable);
     }
     return true;
   }
 
   public void setValue(ELContext context, Object base, Object property, Object value) {
     if (base == null) {
+      VariableScope variableScope = getVariableScope(context);
       String variable = (String) property;
-      if (variableScope.hasVariable(variable)) {
+      if (variableScope != null && variableScope.hasVariable(variable)) {
         variableScope.setVariable(variable, value);
       }
     }
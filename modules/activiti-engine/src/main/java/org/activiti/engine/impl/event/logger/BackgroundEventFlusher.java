@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.event.logger.handler.EventLoggerEventHandler;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flusher that hands the event log entries of a command to a {@link BackgroundEventLogWriter} once the transaction 
+ * of the command has been committed, instead of inserting them in that transaction.
+ * 
+ * The entries are still generated while the command is closing, as the handlers need the command context and
+ * the authenticated user of the command thread.
+ */
+public class BackgroundEventFlusher extends AbstractEventFlusher {
+
+  private static final Logger logger = LoggerFactory.getLogger(BackgroundEventFlusher.class);
+
+  protected EventLogger eventLogger;
+  protected BackgroundEventLogWriter eventLogWriter;
+  protected List<EventLogEntryEntity> eventLogEntries;
+
+  public BackgroundEventFlusher(EventLogger eventLogger, BackgroundEventLogWriter eventLogWriter) {
+    this.eventLogger = eventLogger;
+    this.eventLogWriter = eventLogWriter;
+  }
+
+  @Override
+  public void closing(CommandContext commandContext) {
+
+    if (commandContext.getException() != null) {
+      return; // Not interested in events about exceptions
+    }
+
+    final List<EventLogEntryEntity> generatedEventLogEntries = new ArrayList<EventLogEntryEntity>(eventHandlers.size());
+    for (EventLoggerEventHandler eventHandler : eventHandlers) {
+      try {
+        generatedEventLogEntries.add(eventHandler.generateEventLogEntry(commandContext));
+      } catch (Exception e) {
+        logger.warn("Could not create event log", e);
+      }
+    }
+    if (generatedEventLogEntries.isEmpty()) {
+      return;
+    }
+
+    // Not when the command context is closed: with a transaction managed outside of the engine (e.g. Spring), 
+    // the command is closed before the transaction is committed
+    TransactionContext transactionContext = Context.getTransactionContext();
+    if (transactionContext != null) {
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          eventLogWriter.submit(eventLogger, generatedEventLogEntries);
+        }
+      });
+    } else {
+      eventLogEntries = generatedEventLogEntries;
+    }
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  @Override
+  public void closed(CommandContext commandContext) {
+    if (eventLogEntries != null && !eventLogEntries.isEmpty()) {
+      eventLogWriter.submit(eventLogger, eventLogEntries);
+    }
+    eventLogEntries = null;
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+    eventLogEntries = null;
+  }
+
+}
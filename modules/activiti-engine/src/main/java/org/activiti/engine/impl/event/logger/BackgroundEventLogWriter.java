@@ -0,0 +1,320 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the event log entries of committed commands to the ACT_EVT_LOG table from a background thread.
+ * 
+ * The entries are queued per command in a bounded buffer. The writer thread takes as many of them as fit in 
+ * {@link #maxEntriesPerTransaction} and inserts them in one transaction, which uses the bulk insert of the 
+ * {@link org.activiti.engine.impl.db.DbSqlSession} when it is enabled. When the buffer is full, the committing 
+ * thread waits until there is room again; how often and how long that happens is available through the getters, 
+ * together with the number of written and failed entries.
+ */
+public class BackgroundEventLogWriter implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(BackgroundEventLogWriter.class);
+
+  protected CommandExecutor commandExecutor;
+  protected int queueSize;
+  protected int maxEntriesPerTransaction;
+  protected long pollIntervalInMillis = 100L;
+  protected long shutdownTimeoutInSeconds = 60L;
+
+  protected BlockingQueue<EventLogBatch> queue;
+  protected Thread writerThread;
+  protected volatile boolean active;
+  protected boolean shutdown;
+
+  protected AtomicLong submittedBatchCount = new AtomicLong();
+  protected AtomicLong blockedSubmitCount = new AtomicLong();
+  protected AtomicLong blockedTimeInNanos = new AtomicLong();
+  protected AtomicLong writtenEntryCount = new AtomicLong();
+  protected AtomicLong transactionCount = new AtomicLong();
+  protected AtomicLong failedEntryCount = new AtomicLong();
+  protected AtomicLong droppedEntryCount = new AtomicLong();
+
+  public BackgroundEventLogWriter(CommandExecutor commandExecutor, int queueSize, int maxEntriesPerTransaction) {
+    this.commandExecutor = commandExecutor;
+    this.queueSize = queueSize;
+    this.maxEntriesPerTransaction = maxEntriesPerTransaction;
+    this.queue = new ArrayBlockingQueue<EventLogBatch>(queueSize);
+  }
+
+  /**
+   * Queues the entries of a committed command. Blocks while the buffer is full. Entries submitted after 
+   * {@link #shutdown()} are dropped.
+   */
+  public void submit(EventLogger eventLogger, List<EventLogEntryEntity> eventLogEntries) {
+    if (!ensureStarted()) {
+      droppedEntryCount.addAndGet(eventLogEntries.size());
+      logger.warn("Event log writer is shut down, " + eventLogEntries.size() + " event log entries are not written");
+      return;
+    }
+
+    EventLogBatch batch = new EventLogBatch(eventLogger, eventLogEntries);
+    if (!queue.offer(batch)) {
+      blockedSubmitCount.incrementAndGet();
+      long start = System.nanoTime();
+      try {
+        queue.put(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        droppedEntryCount.addAndGet(eventLogEntries.size());
+        logger.warn("Interrupted while waiting to queue event log entries, " + eventLogEntries.size() + " entries are not written");
+        return;
+      } finally {
+        blockedTimeInNanos.addAndGet(System.nanoTime() - start);
+      }
+    }
+    submittedBatchCount.incrementAndGet();
+  }
+
+  /**
+   * @return false if the writer has been shut down.
+   */
+  protected synchronized boolean ensureStarted() {
+    if (shutdown) {
+      return false;
+    }
+    if (writerThread == null) {
+      active = true;
+      writerThread = new Thread(this, "activiti-event-log-writer");
+      writerThread.setDaemon(true);
+      writerThread.start();
+    }
+    return true;
+  }
+
+  public void run() {
+    List<EventLogBatch> batches = new ArrayList<EventLogBatch>();
+    while (active || !queue.isEmpty()) {
+      try {
+        EventLogBatch batch = queue.poll(pollIntervalInMillis, TimeUnit.MILLISECONDS);
+        if (batch == null) {
+          continue;
+        }
+
+        int entryCount = 0;
+        while (batch != null) {
+          batches.add(batch);
+          entryCount += batch.getEventLogEntries().size();
+          batch = entryCount < maxEntriesPerTransaction ? queue.poll() : null;
+        }
+        write(batches, entryCount);
+
+      } catch (InterruptedException e) {
+        logger.debug("Event log writer interrupted");
+
+      } finally {
+        batches.clear();
+      }
+    }
+  }
+
+  protected void write(List<EventLogBatch> batches, int entryCount) {
+    final List<EventLogEntryEntity> eventLogEntries = new ArrayList<EventLogEntryEntity>(entryCount);
+    for (EventLogBatch batch : batches) {
+      eventLogEntries.addAll(batch.getEventLogEntries());
+    }
+
+    try {
+      commandExecutor.execute(new InsertEventLogEntriesCmd(eventLogEntries));
+      writtenEntryCount.addAndGet(eventLogEntries.size());
+      transactionCount.incrementAndGet();
+    } catch (Throwable t) {
+      failedEntryCount.addAndGet(eventLogEntries.size());
+      logger.warn("Could not write " + eventLogEntries.size() + " event log entries", t);
+      return;
+    }
+
+    // For those who are interested: we can now broadcast the events were added
+    Map<EventLogger, Boolean> notifiedEventLoggers = new IdentityHashMap<EventLogger, Boolean>();
+    for (EventLogBatch batch : batches) {
+      if (notifiedEventLoggers.put(batch.getEventLogger(), Boolean.TRUE) == null) {
+        try {
+          batch.getEventLogger().notifyEventsAdded();
+        } catch (Throwable t) {
+          logger.warn("Exception while notifying event logger listeners, which was ignored", t);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the queued entries and stops the writer thread. Entries submitted afterwards are dropped.
+   */
+  public void shutdown() {
+    Thread thread;
+    synchronized (this) {
+      shutdown = true;
+      thread = writerThread;
+      if (thread == null) {
+        return;
+      }
+      active = false;
+      writerThread = null;
+    }
+
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutInSeconds));
+      if (thread.isAlive()) {
+        logger.warn("Timeout during shutdown of event log writer, not all event log entries were written");
+        thread.interrupt();
+      } else {
+        writeRemainingBatches();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Interrupted during shutdown of event log writer", e);
+    }
+  }
+
+  /**
+   * Writes the batches that were queued by submits that passed the shutdown check while the writer thread was stopping.
+   */
+  protected void writeRemainingBatches() {
+    List<EventLogBatch> batches = new ArrayList<EventLogBatch>();
+    queue.drainTo(batches);
+    if (!batches.isEmpty()) {
+      int entryCount = 0;
+      for (EventLogBatch batch : batches) {
+        entryCount += batch.getEventLogEntries().size();
+      }
+      write(batches, entryCount);
+    }
+  }
+
+  /**
+   * @return the number of command batches that are waiting to be written.
+   */
+  public int getQueuedBatchCount() {
+    return queue.size();
+  }
+
+  public synchronized boolean isShutdown() {
+    return shutdown;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public int getMaxEntriesPerTransaction() {
+    return maxEntriesPerTransaction;
+  }
+
+  public long getSubmittedBatchCount() {
+    return submittedBatchCount.get();
+  }
+
+  /**
+   * @return how many times a committing thread had to wait because the buffer was full.
+   */
+  public long getBlockedSubmitCount() {
+    return blockedSubmitCount.get();
+  }
+
+  /**
+   * @return the total time committing threads waited because the buffer was full.
+   */
+  public long getBlockedTimeInNanos() {
+    return blockedTimeInNanos.get();
+  }
+
+  public long getWrittenEntryCount() {
+    return writtenEntryCount.get();
+  }
+
+  public long getTransactionCount() {
+    return transactionCount.get();
+  }
+
+  public long getFailedEntryCount() {
+    return failedEntryCount.get();
+  }
+
+  public long getDroppedEntryCount() {
+    return droppedEntryCount.get();
+  }
+
+  public long getPollIntervalInMillis() {
+    return pollIntervalInMillis;
+  }
+
+  public void setPollIntervalInMillis(long pollIntervalInMillis) {
+    this.pollIntervalInMillis = pollIntervalInMillis;
+  }
+
+  public long getShutdownTimeoutInSeconds() {
+    return shutdownTimeoutInSeconds;
+  }
+
+  public void setShutdownTimeoutInSeconds(long shutdownTimeoutInSeconds) {
+    this.shutdownTimeoutInSeconds = shutdownTimeoutInSeconds;
+  }
+
+  protected static class EventLogBatch {
+
+    protected EventLogger eventLogger;
+    protected List<EventLogEntryEntity> eventLogEntries;
+
+    public EventLogBatch(EventLogger eventLogger, List<EventLogEntryEntity> eventLogEntries) {
+      this.eventLogger = eventLogger;
+      this.eventLogEntries = eventLogEntries;
+    }
+
+    public EventLogger getEventLogger() {
+      return eventLogger;
+    }
+
+    public List<EventLogEntryEntity> getEventLogEntries() {
+      return eventLogEntries;
+    }
+  }
+
+  protected static class InsertEventLogEntriesCmd implements Command<Void> {
+
+    protected List<EventLogEntryEntity> eventLogEntries;
+
+    public InsertEventLogEntriesCmd(List<EventLogEntryEntity> eventLogEntries) {
+      this.eventLogEntries = eventLogEntries;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      EventLogEntryEntityManager eventLogEntryEntityManager = commandContext.getEventLogEntryEntityManager();
+      for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+        eventLogEntryEntityManager.insert(eventLogEntry, false);
+      }
+      return null;
+    }
+  }
+
+}
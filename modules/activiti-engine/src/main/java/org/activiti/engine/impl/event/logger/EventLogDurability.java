@@ -0,0 +1,32 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+/**
+ * When the rows of the {@link EventLogger} are written to the ACT_EVT_LOG table.
+ */
+public enum EventLogDurability {
+
+  /**
+   * The rows are inserted in the transaction of the command that produced the events (default).
+   */
+  AT_COMMIT,
+
+  /**
+   * The rows are handed to a {@link BackgroundEventLogWriter} once the command has been committed, and are 
+   * inserted shortly after in batches by a background thread. Rows that are still queued when the process 
+   * crashes are lost.
+   */
+  EVENTUAL
+
+}
@@ -54,6 +54,9 @@ public class EventLogger implements ActivitiEventListener {
 	// Listeners for new events
 	protected List<EventLoggerListener> listeners;
 	
+	// When set, the entries are written after the commit by this writer
+	protected BackgroundEventLogWriter eventLogWriter;
+	
 	public EventLogger() {
 		initializeDefaultHandlers();
 	}
@@ -101,31 +104,30 @@ public class EventLogger implements ActivitiEventListener {
 				currentCommandContext.addAttribute(EVENT_FLUSHER_KEY, eventFlusher);
 				
 				currentCommandContext.addCloseListener(eventFlusher);
-				currentCommandContext
-				    .addCloseListener(new CommandContextCloseListener() {
-
-					    @Override
-					    public void closing(CommandContext commandContext) {
-					    }
-
-					    @Override
-					    public void closed(CommandContext commandContext) {
-						    // For those who are interested: we can now broadcast the events were added
-								if (listeners != null) {
-									for (EventLoggerListener listener : listeners) {
-										listener.eventsAdded(EventLogger.this);
-									}
-								}
-					    }
-
-              public void afterSessionsFlush(CommandContext commandContext) {
-              }
-
-              @Override
-              public void closeFailure(CommandContext commandContext) {
-              }
-					    
-				    });
+				
+				// The background writer notifies the listeners itself, once the entries are written
+				if (!(eventFlusher instanceof BackgroundEventFlusher)) {
+					currentCommandContext
+					    .addCloseListener(new CommandContextCloseListener() {
+
+						    @Override
+						    public void closing(CommandContext commandContext) {
+						    }
+
+						    @Override
+						    public void closed(CommandContext commandContext) {
+							    notifyEventsAdded();
+						    }
+
+	              public void afterSessionsFlush(CommandContext commandContext) {
+	              }
+
+	              @Override
+	              public void closeFailure(CommandContext commandContext) {
+	              }
+						    
+					    });
+				}
 			}
 
 			eventFlusher.addEventHandler(eventHandler);
@@ -194,10 +196,24 @@ public class EventLogger implements ActivitiEventListener {
 		listeners.add(listener);
 	}
 	
+	/**
+	 * For those who are interested: broadcasts that events were added
+	 */
+	protected void notifyEventsAdded() {
+		if (listeners != null) {
+			for (EventLoggerListener listener : listeners) {
+				listener.eventsAdded(this);
+			}
+		}
+	}
+	
 	/**
 	 * Subclasses that want something else than the database flusher should override this method
 	 */
 	protected EventFlusher createEventFlusher() {
+		if (eventLogWriter != null) {
+			return new BackgroundEventFlusher(this, eventLogWriter);
+		}
 		return null;
 	}
 
@@ -224,5 +240,13 @@ public class EventLogger implements ActivitiEventListener {
 	public void setListeners(List<EventLoggerListener> listeners) {
 		this.listeners = listeners;
 	}
+
+	public BackgroundEventLogWriter getEventLogWriter() {
+		return eventLogWriter;
+	}
+
+	public void setEventLogWriter(BackgroundEventLogWriter eventLogWriter) {
+		this.eventLogWriter = eventLogWriter;
+	}
 	
 }
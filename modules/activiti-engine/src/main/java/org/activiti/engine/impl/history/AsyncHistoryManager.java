@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history;
+
+import java.util.Map;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.persistence.entity.CommentEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * History manager that doesn't insert the append-only history of a command (historic variable updates, 
+ * historic form properties and event comments) in the transaction of the command, but captures it in the 
+ * {@link HistoryChangeLog} of the command. The change log is written by one asynchronous {@link AsyncHistoryJobHandler} job, 
+ * so these rows become visible to history queries once the async executor has executed that job.
+ * 
+ * History that is updated later on (process, activity, task and variable instances, identity links) is still 
+ * written in the transaction of the command, as those rows must exist when they are updated.
+ */
+public class AsyncHistoryManager extends DefaultHistoryManager {
+
+  public AsyncHistoryManager(ProcessEngineConfigurationImpl processEngineConfiguration, HistoryLevel historyLevel) {
+    super(processEngineConfiguration, historyLevel);
+  }
+
+  @Override
+  public void recordHistoricDetailVariableCreate(VariableInstanceEntity variable, ExecutionEntity sourceActivityExecution, boolean useActivityId) {
+    // Byte array values are stored in their own row, which is written right away
+    if (!isHistoryLevelAtLeast(HistoryLevel.FULL) || variable.getBytes() != null) {
+      super.recordHistoricDetailVariableCreate(variable, sourceActivityExecution, useActivityId);
+      return;
+    }
+
+    String activityInstanceId = null;
+    if (useActivityId && sourceActivityExecution != null) {
+      HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(sourceActivityExecution, false, false);
+      if (historicActivityInstance != null) {
+        activityInstanceId = historicActivityInstance.getId();
+      }
+    }
+
+    JSONObject entry = AsyncHistoryJobHandler.createEntry(AsyncHistoryJobHandler.ENTRY_TYPE_VARIABLE_UPDATE, 
+        variable.getProcessInstanceId(), variable.getExecutionId(), variable.getTaskId(), activityInstanceId, getClock().getCurrentTime());
+    entry.put(AsyncHistoryJobHandler.PROPERTYNAME_NAME, variable.getName());
+    entry.put(AsyncHistoryJobHandler.PROPERTYNAME_REVISION, variable.getRevision());
+    entry.put(AsyncHistoryJobHandler.PROPERTYNAME_VARIABLE_TYPE, variable.getType().getTypeName());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_TEXT_VALUE, variable.getTextValue());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_TEXT_VALUE2, variable.getTextValue2());
+    // Stored as text, as JSON has no representation for NaN and infinite numbers
+    if (variable.getDoubleValue() != null) {
+      entry.put(AsyncHistoryJobHandler.PROPERTYNAME_DOUBLE_VALUE, variable.getDoubleValue().toString());
+    }
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_LONG_VALUE, variable.getLongValue());
+    getHistoryChangeLog().addEntry(entry);
+  }
+
+  @Override
+  public void recordFormPropertiesSubmitted(ExecutionEntity processInstance, Map<String, String> properties, String taskId) {
+    if (isHistoryLevelAtLeast(HistoryLevel.AUDIT)) {
+      String activityInstanceId = null;
+      HistoricActivityInstanceEntity historicActivityInstance = findActivityInstance(processInstance, true, false);
+      if (historicActivityInstance != null) {
+        activityInstanceId = historicActivityInstance.getId();
+      }
+
+      for (String propertyId : properties.keySet()) {
+        JSONObject entry = AsyncHistoryJobHandler.createEntry(AsyncHistoryJobHandler.ENTRY_TYPE_FORM_PROPERTY, 
+            processInstance.getProcessInstanceId(), processInstance.getId(), taskId, activityInstanceId, getClock().getCurrentTime());
+        entry.put(AsyncHistoryJobHandler.PROPERTYNAME_PROPERTY_ID, propertyId);
+        entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_PROPERTY_VALUE, properties.get(propertyId));
+        getHistoryChangeLog().addEntry(entry);
+      }
+    }
+  }
+
+  @Override
+  protected void insertComment(CommentEntity comment) {
+    JSONObject entry = AsyncHistoryJobHandler.createEntry(AsyncHistoryJobHandler.ENTRY_TYPE_COMMENT, 
+        comment.getProcessInstanceId(), null, comment.getTaskId(), null, comment.getTime());
+    entry.put(AsyncHistoryJobHandler.PROPERTYNAME_COMMENT_TYPE, comment.getType());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_USER_ID, comment.getUserId());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_ACTION, comment.getAction());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_MESSAGE, comment.getMessage());
+    entry.putOpt(AsyncHistoryJobHandler.PROPERTYNAME_FULL_MESSAGE, comment.getFullMessage());
+    getHistoryChangeLog().addEntry(entry);
+  }
+
+  protected HistoryChangeLog getHistoryChangeLog() {
+    return HistoryChangeLog.getHistoryChangeLog(Context.getCommandContext());
+  }
+
+}
@@ -23,6 +23,7 @@ import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.identity.Authentication;
@@ -107,7 +108,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && ActivitiEventDispatcherImpl.isEventEnabled(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance));
         }
@@ -143,7 +144,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
       
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && ActivitiEventDispatcherImpl.isEventEnabled(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -171,7 +172,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
       
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && ActivitiEventDispatcherImpl.isEventEnabled(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED)) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -210,7 +211,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && ActivitiEventDispatcherImpl.isEventEnabled(activitiEventDispatcher, ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, historicActivityInstanceEntity));
         }
@@ -233,7 +234,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && ActivitiEventDispatcherImpl.isEventEnabled(activitiEventDispatcher, ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED)) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
         }
@@ -738,7 +739,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         comment.setMessage(new String[] { groupId, type });
       }
       
-      getCommentEntityManager().insert(comment);
+      insertComment(comment);
     }
   }
 
@@ -771,7 +772,7 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         }
         comment.setMessage(new String[] { groupId, type });
       }
-      getCommentEntityManager().insert(comment);
+      insertComment(comment);
     }
   }
 
@@ -796,10 +797,14 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         comment.setAction(Event.ACTION_DELETE_ATTACHMENT);
       }
       comment.setMessage(attachmentName);
-      getCommentEntityManager().insert(comment);
+      insertComment(comment);
     }
   }
 
+  protected void insertComment(CommentEntity comment) {
+    getCommentEntityManager().insert(comment);
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.history;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.util.json.JSONArray;
+import org.activiti.engine.impl.util.json.JSONObject;
+
+/**
+ * The history entries captured by the {@link AsyncHistoryManager} during one command.
+ * 
+ * When the command context is closing, all entries are handed over to one {@link AsyncHistoryJobHandler} job, 
+ * which is persisted in the same transaction as the runtime changes of the command.
+ */
+public class HistoryChangeLog implements CommandContextCloseListener {
+
+  protected static final String ATTRIBUTE_NAME = HistoryChangeLog.class.getName();
+
+  protected JSONArray entries = new JSONArray();
+
+  /**
+   * @return the change log of the given command context, created on first use.
+   */
+  public static HistoryChangeLog getHistoryChangeLog(CommandContext commandContext) {
+    HistoryChangeLog historyChangeLog = (HistoryChangeLog) commandContext.getAttribute(ATTRIBUTE_NAME);
+    if (historyChangeLog == null) {
+      historyChangeLog = new HistoryChangeLog();
+      commandContext.addAttribute(ATTRIBUTE_NAME, historyChangeLog);
+      commandContext.addCloseListener(historyChangeLog);
+    }
+    return historyChangeLog;
+  }
+
+  public void addEntry(JSONObject entry) {
+    entries.put(entry);
+  }
+
+  public int size() {
+    return entries.length();
+  }
+
+  public void closing(CommandContext commandContext) {
+    if (entries.length() > 0) {
+      AsyncHistoryJobHandler.scheduleAsyncHistoryJob(commandContext, entries);
+      entries = new JSONArray();
+    }
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+  }
+
+  public void closed(CommandContext commandContext) {
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+  }
+
+}
@@ -0,0 +1,211 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.runtime.ClockReader;
+
+/**
+ * {@link UserGroupCache} without a global lock: reads only touch a {@link ConcurrentHashMap} and the access order of the entry.
+ * 
+ * Cached entries expire after the expiration time (0 or less means never). When more users than the cache size are cached 
+ * (0 or less means no limit), the least recently used entries are evicted. Eviction scans the cache and is serialized, 
+ * which is fine as it only happens after a cache miss, which already did a round trip to the identity management system.
+ */
+public class DefaultUserGroupCache implements UserGroupCache {
+
+  protected ConcurrentMap<String, CacheEntry> groupCache = new ConcurrentHashMap<String, CacheEntry>();
+
+  protected int cacheSize;
+  protected long expirationTime;
+  protected ClockReader clockReader;
+
+  protected UserGroupCacheListener cacheListener;
+
+  protected AtomicLong accessCounter = new AtomicLong();
+  protected Lock evictionLock = new ReentrantLock();
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+  protected AtomicLong evictionCount = new AtomicLong();
+
+  public DefaultUserGroupCache(int cacheSize, long expirationTime, ClockReader clockReader) {
+    this.cacheSize = cacheSize;
+    this.expirationTime = expirationTime;
+    this.clockReader = clockReader;
+  }
+
+  public List<Group> get(String userId) {
+    CacheEntry cacheEntry = groupCache.get(userId);
+    if (cacheEntry != null) {
+      if (!isExpired(cacheEntry)) {
+        cacheEntry.lastAccess = accessCounter.incrementAndGet();
+        hitCount.incrementAndGet();
+        if (cacheListener != null) {
+          cacheListener.cacheHit(userId);
+        }
+        entryRead(userId, cacheEntry.timestamp);
+        return cacheEntry.groups;
+
+      } else if (groupCache.remove(userId, cacheEntry) && cacheListener != null) {
+        cacheListener.cacheExpired(userId);
+        cacheListener.cacheEviction(userId);
+      }
+    }
+
+    missCount.incrementAndGet();
+    if (cacheListener != null) {
+      cacheListener.cacheMiss(userId);
+    }
+    return null;
+  }
+
+  public void add(String userId, List<Group> groups) {
+    CacheEntry cacheEntry = new CacheEntry(clockReader.getCurrentTime().getTime(), Collections.unmodifiableList(new ArrayList<Group>(groups)));
+    cacheEntry.lastAccess = accessCounter.incrementAndGet();
+    groupCache.put(userId, cacheEntry);
+
+    if (cacheSize > 0 && groupCache.size() > cacheSize) {
+      evict(userId);
+    }
+  }
+
+  /**
+   * Replaces the groups of a user that is still cached, keeping its position in the LRU order.
+   * 
+   * @return false when the user isn't cached anymore (invalidated or evicted in the meantime), in which case nothing is cached.
+   */
+  protected boolean replace(String userId, List<Group> groups) {
+    CacheEntry cacheEntry = groupCache.get(userId);
+    if (cacheEntry == null) {
+      return false;
+    }
+    CacheEntry refreshedEntry = new CacheEntry(clockReader.getCurrentTime().getTime(), Collections.unmodifiableList(new ArrayList<Group>(groups)));
+    refreshedEntry.lastAccess = cacheEntry.lastAccess;
+    return groupCache.replace(userId, cacheEntry, refreshedEntry);
+  }
+
+  /**
+   * Called after a cache hit with the time the groups were cached. Does nothing by default, subclasses can use it to refresh 
+   * entries before they expire.
+   */
+  protected void entryRead(String userId, long cachedTime) {
+  }
+
+  public void invalidate(String userId) {
+    groupCache.remove(userId);
+  }
+
+  public void invalidateAll() {
+    groupCache.clear();
+  }
+
+  protected boolean isExpired(CacheEntry cacheEntry) {
+    return expirationTime > 0 && clockReader.getCurrentTime().getTime() - cacheEntry.timestamp >= expirationTime;
+  }
+
+  protected void evict(String addedUserId) {
+    evictionLock.lock();
+    try {
+      while (groupCache.size() > cacheSize) {
+        Map.Entry<String, CacheEntry> eldest = null;
+        for (Map.Entry<String, CacheEntry> entry : groupCache.entrySet()) {
+          if (!entry.getKey().equals(addedUserId) && (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess)) {
+            eldest = entry;
+          }
+        }
+
+        if (eldest == null) {
+          return; // only the added entry is left
+        }
+
+        if (groupCache.remove(eldest.getKey(), eldest.getValue())) {
+          evictionCount.incrementAndGet();
+          if (cacheListener != null) {
+            cacheListener.cacheEviction(eldest.getKey());
+          }
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public int size() {
+    return groupCache.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the ratio of cache reads that found the groups, 1.0 when nothing was read yet
+   */
+  public double getHitRate() {
+    long hits = getHitCount();
+    long requests = hits + getMissCount();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public long getExpirationTime() {
+    return expirationTime;
+  }
+
+  public void setExpirationTime(long expirationTime) {
+    this.expirationTime = expirationTime;
+  }
+
+  public UserGroupCacheListener getCacheListener() {
+    return cacheListener;
+  }
+
+  public void setCacheListener(UserGroupCacheListener cacheListener) {
+    this.cacheListener = cacheListener;
+  }
+
+  protected static class CacheEntry {
+
+    protected final long timestamp;
+    protected final List<Group> groups;
+    protected volatile long lastAccess;
+
+    public CacheEntry(long timestamp, List<Group> groups) {
+      this.timestamp = timestamp;
+      this.groups = groups;
+    }
+  }
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import java.util.List;
+
+import org.activiti.engine.identity.Group;
+
+/**
+ * Cache for the groups a user belongs to, used by the group entity manager when the groups of a user are needed 
+ * for a query, for example when fetching the tasks of a candidate user.
+ * 
+ * Memberships changed through the IdentityService invalidate the cache automatically. Identity management systems
+ * outside of the engine can call {@link #invalidate(String)} or {@link #invalidateAll()} when groups or memberships change.
+ */
+public interface UserGroupCache {
+
+  /**
+   * @return the cached groups of the user, or null when they are not cached or have expired.
+   */
+  List<Group> get(String userId);
+
+  void add(String userId, List<Group> groups);
+
+  /**
+   * Removes the cached groups of the given user.
+   */
+  void invalidate(String userId);
+
+  /**
+   * Removes the cached groups of all users.
+   */
+  void invalidateAll();
+
+  long getHitCount();
+
+  long getMissCount();
+
+}
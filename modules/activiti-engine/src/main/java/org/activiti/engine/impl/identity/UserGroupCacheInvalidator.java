@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.identity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+
+/**
+ * Invalidates entries of the {@link UserGroupCache} again when the command that changed the memberships is closed, 
+ * so groups cached by other commands before the transaction was committed (or rolled back) are not kept.
+ */
+public class UserGroupCacheInvalidator implements CommandContextCloseListener {
+
+  protected static final String ATTRIBUTE_NAME = "userGroupCacheInvalidator";
+
+  protected UserGroupCache userGroupCache;
+  protected Set<String> userIds = new HashSet<String>();
+  protected boolean invalidateAll;
+
+  public UserGroupCacheInvalidator(UserGroupCache userGroupCache) {
+    this.userGroupCache = userGroupCache;
+  }
+
+  /**
+   * @return the invalidator of the given command, which is registered as close listener when it is first requested.
+   */
+  public static UserGroupCacheInvalidator getInvalidator(CommandContext commandContext, UserGroupCache userGroupCache) {
+    UserGroupCacheInvalidator invalidator = (UserGroupCacheInvalidator) commandContext.getAttribute(ATTRIBUTE_NAME);
+    if (invalidator == null) {
+      invalidator = new UserGroupCacheInvalidator(userGroupCache);
+      commandContext.addAttribute(ATTRIBUTE_NAME, invalidator);
+      commandContext.addCloseListener(invalidator);
+    }
+    return invalidator;
+  }
+
+  /**
+   * Invalidates the groups of the user now and when the command is closed.
+   */
+  public void invalidate(String userId) {
+    userGroupCache.invalidate(userId);
+    userIds.add(userId);
+  }
+
+  /**
+   * Invalidates the groups of all users now and when the command is closed.
+   */
+  public void invalidateAll() {
+    userGroupCache.invalidateAll();
+    invalidateAll = true;
+  }
+
+  public void closing(CommandContext commandContext) {
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+  }
+
+  public void closed(CommandContext commandContext) {
+    invalidateCache();
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+    invalidateCache();
+  }
+
+  protected void invalidateCache() {
+    if (invalidateAll) {
+      userGroupCache.invalidateAll();
+    } else {
+      for (String userId : userIds) {
+        userGroupCache.invalidate(userId);
+      }
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.history.HistoryManager;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.*;
 import org.activiti.engine.ActivitiEngineAgenda;
@@ -49,6 +50,7 @@ public class CommandContext {
   protected List<CommandContextCloseListener> closeListeners;
   protected Map<String, Object> attributes; // General-purpose storing of anything during the lifetime of a command context
   protected boolean reused;
+  protected CommandMetrics commandMetrics; // Only set when a command metrics registry is configured
 
   protected ActivitiEngineAgenda agenda;
   protected Map<String, ExecutionEntity> involvedExecutions = new HashMap<String, ExecutionEntity>(1); // The executions involved with the command
@@ -60,6 +62,9 @@ public class CommandContext {
     this.failedJobCommandFactory = processEngineConfiguration.getFailedJobCommandFactory();
     this.sessionFactories = processEngineConfiguration.getSessionFactories();
     this.agenda = processEngineConfiguration.getEngineAgendaFactory().createAgenda(this);
+    if (processEngineConfiguration.getCommandMetricsRegistry() != null) {
+      this.commandMetrics = new CommandMetrics();
+    }
   }
 
   public void close() {
@@ -456,4 +461,12 @@ public class CommandContext {
     this.reused = reused;
   }
 
+  public CommandMetrics getCommandMetrics() {
+    return commandMetrics;
+  }
+
+  public void setCommandMetrics(CommandMetrics commandMetrics) {
+    this.commandMetrics = commandMetrics;
+  }
+
 }
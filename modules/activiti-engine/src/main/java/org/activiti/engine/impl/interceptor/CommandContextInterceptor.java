@@ -15,6 +15,7 @@ package org.activiti.engine.impl.interceptor;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +52,10 @@ public class CommandContextInterceptor extends AbstractCommandInterceptor {
       context.setReused(true);
     }
 
+    // Metrics are only recorded for the outermost command, as reused contexts share the counters
+    CommandMetrics commandMetrics = !contextReused ? context.getCommandMetrics() : null;
+    long commandStartTime = commandMetrics != null ? System.nanoTime() : 0L;
+
     try {
       
       // Push on stack
@@ -73,6 +78,11 @@ public class CommandContextInterceptor extends AbstractCommandInterceptor {
         }
       } finally {
         
+        if (commandMetrics != null) {
+          processEngineConfiguration.getCommandMetricsRegistry().recordCommand(command.getClass(), 
+              System.nanoTime() - commandStartTime, context.getException() != null, commandMetrics);
+        }
+        
         // Pop from stack
         Context.removeCommandContext();
         Context.removeProcessEngineConfiguration();
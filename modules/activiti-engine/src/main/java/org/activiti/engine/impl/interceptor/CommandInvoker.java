@@ -14,6 +14,7 @@ package org.activiti.engine.impl.interceptor;
 
 import org.activiti.engine.impl.agenda.AbstractOperation;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,8 +53,12 @@ public class CommandInvoker extends AbstractCommandInterceptor {
   }
 
   protected void executeOperations(final CommandContext commandContext) {
+    CommandMetrics commandMetrics = commandContext.getCommandMetrics();
     while (!commandContext.getAgenda().isEmpty()) {
       Runnable runnable = commandContext.getAgenda().getNextOperation();
+      if (commandMetrics != null) {
+        commandMetrics.agendaOperationExecuted();
+      }
       executeOperation(runnable);
     }
   }
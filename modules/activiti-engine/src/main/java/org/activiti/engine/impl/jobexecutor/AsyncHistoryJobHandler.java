@@ -0,0 +1,239 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.history.AsyncHistoryManager;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
+import org.activiti.engine.impl.persistence.entity.CommentEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntityManager;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricFormPropertyEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.util.json.JSONArray;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the history captured by the {@link AsyncHistoryManager} during one command.
+ * 
+ * The history entries are stored as a JSON array in a byte array, of which the id is the handler configuration 
+ * of the job. Executing the job inserts all entries at once, so they end up in the same (bulk) insert statements, 
+ * and deletes the byte array.
+ * 
+ * Entries of a process instance or task that was deleted (together with its history) after the command 
+ * and before the job was executed are skipped, as their rows would never be deleted.
+ */
+public class AsyncHistoryJobHandler implements JobHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryJobHandler.class);
+
+  public static final String TYPE = "async-history";
+
+  public static final String BYTE_ARRAY_NAME = "async-history";
+
+  public static final String ENTRY_TYPE_VARIABLE_UPDATE = "variableUpdate";
+  public static final String ENTRY_TYPE_FORM_PROPERTY = "formProperty";
+  public static final String ENTRY_TYPE_COMMENT = "comment";
+
+  public static final String PROPERTYNAME_ENTRY_TYPE = "entryType";
+  public static final String PROPERTYNAME_PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String PROPERTYNAME_EXECUTION_ID = "executionId";
+  public static final String PROPERTYNAME_TASK_ID = "taskId";
+  public static final String PROPERTYNAME_ACTIVITY_INSTANCE_ID = "activityInstanceId";
+  public static final String PROPERTYNAME_TIME = "time";
+  public static final String PROPERTYNAME_NAME = "name";
+  public static final String PROPERTYNAME_REVISION = "revision";
+  public static final String PROPERTYNAME_VARIABLE_TYPE = "variableType";
+  public static final String PROPERTYNAME_TEXT_VALUE = "textValue";
+  public static final String PROPERTYNAME_TEXT_VALUE2 = "textValue2";
+  public static final String PROPERTYNAME_DOUBLE_VALUE = "doubleValue";
+  public static final String PROPERTYNAME_LONG_VALUE = "longValue";
+  public static final String PROPERTYNAME_PROPERTY_ID = "propertyId";
+  public static final String PROPERTYNAME_PROPERTY_VALUE = "propertyValue";
+  public static final String PROPERTYNAME_COMMENT_TYPE = "commentType";
+  public static final String PROPERTYNAME_USER_ID = "userId";
+  public static final String PROPERTYNAME_ACTION = "action";
+  public static final String PROPERTYNAME_MESSAGE = "message";
+  public static final String PROPERTYNAME_FULL_MESSAGE = "fullMessage";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public static JSONObject createEntry(String entryType, String processInstanceId, String executionId, String taskId, String activityInstanceId, Date time) {
+    JSONObject entry = new JSONObject();
+    entry.put(PROPERTYNAME_ENTRY_TYPE, entryType);
+    entry.putOpt(PROPERTYNAME_PROCESS_INSTANCE_ID, processInstanceId);
+    entry.putOpt(PROPERTYNAME_EXECUTION_ID, executionId);
+    entry.putOpt(PROPERTYNAME_TASK_ID, taskId);
+    entry.putOpt(PROPERTYNAME_ACTIVITY_INSTANCE_ID, activityInstanceId);
+    if (time != null) {
+      entry.put(PROPERTYNAME_TIME, time.getTime());
+    }
+    return entry;
+  }
+
+  /**
+   * Schedules a job that writes the given history entries.
+   */
+  public static void scheduleAsyncHistoryJob(CommandContext commandContext, JSONArray entries) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity byteArray = byteArrayEntityManager.create();
+    byteArray.setName(BYTE_ARRAY_NAME);
+    try {
+      byteArray.setBytes(entries.toString().getBytes("UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      throw new ActivitiException("UTF-8 is not a supported encoding");
+    }
+    byteArrayEntityManager.insert(byteArray);
+
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(byteArray.getId());
+    commandContext.getJobManager().scheduleAsyncJob(job);
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    ByteArrayEntityManager byteArrayEntityManager = commandContext.getByteArrayEntityManager();
+    ByteArrayEntity byteArray = byteArrayEntityManager.findById(configuration);
+    if (byteArray == null) {
+      LOGGER.warn("History of async history job {} not found", job.getId());
+      return;
+    }
+
+    JSONArray entries;
+    try {
+      entries = new JSONArray(new String(byteArray.getBytes(), "UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      throw new ActivitiException("UTF-8 is not a supported encoding");
+    }
+
+    Map<String, Boolean> existingOwners = new HashMap<String, Boolean>();
+    int skippedEntries = 0;
+    for (int i = 0; i < entries.length(); i++) {
+      JSONObject entry = entries.getJSONObject(i);
+      if (!ownerExists(commandContext, entry, existingOwners)) {
+        skippedEntries++;
+        continue;
+      }
+
+      String entryType = entry.getString(PROPERTYNAME_ENTRY_TYPE);
+      if (ENTRY_TYPE_VARIABLE_UPDATE.equals(entryType)) {
+        insertHistoricVariableUpdate(commandContext, entry);
+      } else if (ENTRY_TYPE_FORM_PROPERTY.equals(entryType)) {
+        insertHistoricFormProperty(commandContext, entry);
+      } else if (ENTRY_TYPE_COMMENT.equals(entryType)) {
+        insertComment(commandContext, entry);
+      } else {
+        throw new ActivitiException("Unknown history entry type " + entryType + " in async history job " + job.getId());
+      }
+    }
+
+    byteArrayEntityManager.delete(byteArray);
+    LOGGER.debug("Wrote {} history entries of async history job {}, skipped {} entries of deleted process instances or tasks", 
+        entries.length() - skippedEntries, job.getId(), skippedEntries);
+  }
+
+  /**
+   * @return false when the process instance, or else the task, of the entry no longer exists at runtime nor in the history
+   */
+  protected boolean ownerExists(CommandContext commandContext, JSONObject entry, Map<String, Boolean> existingOwners) {
+    String processInstanceId = getString(entry, PROPERTYNAME_PROCESS_INSTANCE_ID);
+    if (processInstanceId != null) {
+      String key = PROPERTYNAME_PROCESS_INSTANCE_ID + processInstanceId;
+      if (!existingOwners.containsKey(key)) {
+        existingOwners.put(key, commandContext.getExecutionEntityManager().findById(processInstanceId) != null
+            || commandContext.getHistoricProcessInstanceEntityManager().findById(processInstanceId) != null);
+      }
+      return existingOwners.get(key);
+    }
+
+    String taskId = getString(entry, PROPERTYNAME_TASK_ID);
+    if (taskId != null) {
+      String key = PROPERTYNAME_TASK_ID + taskId;
+      if (!existingOwners.containsKey(key)) {
+        existingOwners.put(key, commandContext.getTaskEntityManager().findById(taskId) != null
+            || commandContext.getHistoricTaskInstanceEntityManager().findById(taskId) != null);
+      }
+      return existingOwners.get(key);
+    }
+
+    return true;
+  }
+
+  protected void insertHistoricVariableUpdate(CommandContext commandContext, JSONObject entry) {
+    HistoricDetailEntityManager historicDetailEntityManager = commandContext.getHistoricDetailEntityManager();
+    HistoricDetailVariableInstanceUpdateEntity historicVariableUpdate = historicDetailEntityManager.createHistoricDetailVariableInstanceUpdate();
+    setHistoricDetailFields(historicVariableUpdate, entry);
+    historicVariableUpdate.setName(entry.getString(PROPERTYNAME_NAME));
+    historicVariableUpdate.setRevision(entry.getInt(PROPERTYNAME_REVISION));
+    historicVariableUpdate.setVariableType(commandContext.getProcessEngineConfiguration().getVariableTypes()
+        .getVariableType(entry.getString(PROPERTYNAME_VARIABLE_TYPE)));
+    historicVariableUpdate.setTextValue(getString(entry, PROPERTYNAME_TEXT_VALUE));
+    historicVariableUpdate.setTextValue2(getString(entry, PROPERTYNAME_TEXT_VALUE2));
+    if (entry.has(PROPERTYNAME_DOUBLE_VALUE)) {
+      historicVariableUpdate.setDoubleValue(Double.valueOf(entry.getString(PROPERTYNAME_DOUBLE_VALUE)));
+    }
+    if (entry.has(PROPERTYNAME_LONG_VALUE)) {
+      historicVariableUpdate.setLongValue(entry.getLong(PROPERTYNAME_LONG_VALUE));
+    }
+    historicDetailEntityManager.insert(historicVariableUpdate);
+  }
+
+  protected void insertHistoricFormProperty(CommandContext commandContext, JSONObject entry) {
+    HistoricDetailEntityManager historicDetailEntityManager = commandContext.getHistoricDetailEntityManager();
+    HistoricFormPropertyEntity historicFormProperty = historicDetailEntityManager.createHistoricFormProperty();
+    setHistoricDetailFields(historicFormProperty, entry);
+    historicFormProperty.setPropertyId(entry.getString(PROPERTYNAME_PROPERTY_ID));
+    historicFormProperty.setPropertyValue(getString(entry, PROPERTYNAME_PROPERTY_VALUE));
+    historicDetailEntityManager.insert(historicFormProperty);
+  }
+
+  protected void setHistoricDetailFields(HistoricDetailEntity historicDetail, JSONObject entry) {
+    historicDetail.setProcessInstanceId(getString(entry, PROPERTYNAME_PROCESS_INSTANCE_ID));
+    historicDetail.setExecutionId(getString(entry, PROPERTYNAME_EXECUTION_ID));
+    historicDetail.setTaskId(getString(entry, PROPERTYNAME_TASK_ID));
+    historicDetail.setActivityInstanceId(getString(entry, PROPERTYNAME_ACTIVITY_INSTANCE_ID));
+    historicDetail.setTime(new Date(entry.getLong(PROPERTYNAME_TIME)));
+  }
+
+  protected void insertComment(CommandContext commandContext, JSONObject entry) {
+    CommentEntity comment = commandContext.getCommentEntityManager().create();
+    comment.setType(entry.getString(PROPERTYNAME_COMMENT_TYPE));
+    comment.setUserId(getString(entry, PROPERTYNAME_USER_ID));
+    comment.setTime(new Date(entry.getLong(PROPERTYNAME_TIME)));
+    comment.setTaskId(getString(entry, PROPERTYNAME_TASK_ID));
+    comment.setProcessInstanceId(getString(entry, PROPERTYNAME_PROCESS_INSTANCE_ID));
+    comment.setAction(getString(entry, PROPERTYNAME_ACTION));
+    comment.setMessage(getString(entry, PROPERTYNAME_MESSAGE));
+    comment.setFullMessage(getString(entry, PROPERTYNAME_FULL_MESSAGE));
+    commandContext.getCommentEntityManager().insert(comment);
+  }
+
+  protected String getString(JSONObject entry, String propertyName) {
+    return entry.has(propertyName) ? entry.getString(propertyName) : null;
+  }
+
+}
@@ -0,0 +1,164 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.compatibility.Activiti5CompatibilityHandler;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityManager;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.activiti.engine.impl.util.Activiti5Util;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers a global signal to its subscriptions in batches, each in its own transaction.
+ * 
+ * A broadcast starts with a paging job, which looks up the next batch of subscriptions (ordered by id) and schedules 
+ * a delivery job for that id range and, if the batch was full, a paging job for the next batch. The delivery jobs handle 
+ * the subscriptions of their id range the same way as the job of an asynchronous signal handles a single subscription. 
+ * Subscriptions created after the signal was thrown are not signalled.
+ * 
+ * The jobs of a running broadcast can be found in the job table, with their id range in the handler configuration.
+ */
+public class SignalBroadcastJobHandler implements JobHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SignalBroadcastJobHandler.class);
+
+  public static final String TYPE = "signal-broadcast";
+
+  public static final String PROPERTYNAME_SIGNAL_NAME = "signalName";
+  public static final String PROPERTYNAME_TENANT_ID = "tenantId";
+  public static final String PROPERTYNAME_AFTER_ID = "afterId";
+  public static final String PROPERTYNAME_LAST_ID = "lastId";
+  public static final String PROPERTYNAME_CREATED_BEFORE = "createdBefore";
+  public static final String PROPERTYNAME_BATCH_SIZE = "batchSize";
+
+  /** Margin on the broadcast time, so subscriptions aren't missed when the database rounds their creation time. */
+  protected static final long CREATED_BEFORE_MARGIN = 1000L;
+
+  public String getType() {
+    return TYPE;
+  }
+
+  /**
+   * Schedules the broadcast of the given signal to all its global subscriptions.
+   */
+  public static void scheduleSignalBroadcast(CommandContext commandContext, String signalName, String tenantId, int batchSize) {
+    Date createdBefore = new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() + CREATED_BEFORE_MARGIN);
+    scheduleJob(commandContext, createConfiguration(signalName, tenantId, null, null, createdBefore, batchSize), tenantId);
+  }
+
+  public static String createConfiguration(String signalName, String tenantId, String afterId, String lastId, Date createdBefore, int batchSize) {
+    JSONObject cfgJson = new JSONObject();
+    cfgJson.put(PROPERTYNAME_SIGNAL_NAME, signalName);
+    if (tenantId != null) {
+      cfgJson.put(PROPERTYNAME_TENANT_ID, tenantId);
+    }
+    if (afterId != null) {
+      cfgJson.put(PROPERTYNAME_AFTER_ID, afterId);
+    }
+    if (lastId != null) {
+      cfgJson.put(PROPERTYNAME_LAST_ID, lastId);
+    }
+    cfgJson.put(PROPERTYNAME_CREATED_BEFORE, createdBefore.getTime());
+    cfgJson.put(PROPERTYNAME_BATCH_SIZE, batchSize);
+    return cfgJson.toString();
+  }
+
+  protected static void scheduleJob(CommandContext commandContext, String configuration, String tenantId) {
+    JobEntity job = commandContext.getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setJobHandlerType(TYPE);
+    job.setJobHandlerConfiguration(configuration);
+    job.setTenantId(tenantId);
+    commandContext.getJobManager().scheduleAsyncJob(job);
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject cfgJson = new JSONObject(configuration);
+    String signalName = cfgJson.getString(PROPERTYNAME_SIGNAL_NAME);
+    String tenantId = cfgJson.has(PROPERTYNAME_TENANT_ID) ? cfgJson.getString(PROPERTYNAME_TENANT_ID) : null;
+    String afterId = cfgJson.has(PROPERTYNAME_AFTER_ID) ? cfgJson.getString(PROPERTYNAME_AFTER_ID) : null;
+    String lastId = cfgJson.has(PROPERTYNAME_LAST_ID) ? cfgJson.getString(PROPERTYNAME_LAST_ID) : null;
+    Date createdBefore = new Date(cfgJson.getLong(PROPERTYNAME_CREATED_BEFORE));
+    int batchSize = cfgJson.getInt(PROPERTYNAME_BATCH_SIZE);
+
+    if (lastId == null) {
+      scheduleBatch(commandContext, signalName, tenantId, afterId, createdBefore, batchSize);
+    } else {
+      deliverBatch(commandContext, signalName, tenantId, afterId, lastId, createdBefore);
+    }
+  }
+
+  protected void scheduleBatch(CommandContext commandContext, String signalName, String tenantId, String afterId, Date createdBefore, int batchSize) {
+    List<SignalEventSubscriptionEntity> subscriptions = commandContext.getEventSubscriptionEntityManager()
+        .findSignalEventSubscriptionsByEventNameAndIdRange(signalName, tenantId, afterId, null, createdBefore, batchSize);
+    if (subscriptions.isEmpty()) {
+      LOGGER.debug("All deliveries of signal '{}' are scheduled", signalName);
+      return;
+    }
+
+    String lastId = subscriptions.get(subscriptions.size() - 1).getId();
+    scheduleJob(commandContext, createConfiguration(signalName, tenantId, afterId, lastId, createdBefore, batchSize), tenantId);
+    LOGGER.debug("Scheduled delivery of signal '{}' to {} subscriptions after id {}", signalName, subscriptions.size(), afterId);
+
+    if (subscriptions.size() >= batchSize) {
+      scheduleJob(commandContext, createConfiguration(signalName, tenantId, lastId, null, createdBefore, batchSize), tenantId);
+    } else {
+      LOGGER.debug("All deliveries of signal '{}' are scheduled", signalName);
+    }
+  }
+
+  protected void deliverBatch(CommandContext commandContext, String signalName, String tenantId, String afterId, String lastId, Date createdBefore) {
+    long startTime = System.currentTimeMillis();
+    EventSubscriptionEntityManager eventSubscriptionEntityManager = commandContext.getEventSubscriptionEntityManager();
+    List<SignalEventSubscriptionEntity> subscriptions = eventSubscriptionEntityManager
+        .findSignalEventSubscriptionsByEventNameAndIdRange(signalName, tenantId, afterId, lastId, createdBefore, Integer.MAX_VALUE);
+
+    int deliveredCount = 0;
+    for (SignalEventSubscriptionEntity signalEventSubscriptionEntity : subscriptions) {
+      // Process instance scoped signals must be thrown within the process itself
+      if (!signalEventSubscriptionEntity.isGlobalScoped()) {
+        continue;
+      }
+
+      if (Activiti5Util.isActiviti5ProcessDefinitionId(commandContext, signalEventSubscriptionEntity.getProcessDefinitionId())) {
+        Activiti5CompatibilityHandler activiti5CompatibilityHandler = Activiti5Util.getActiviti5CompatibilityHandler();
+        activiti5CompatibilityHandler.signalEventReceived(signalEventSubscriptionEntity, null, false);
+
+      } else {
+        commandContext.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
+            ActivitiEventBuilder.createSignalEvent(ActivitiEventType.ACTIVITY_SIGNALED, signalEventSubscriptionEntity.getActivityId(), signalName,
+                null, signalEventSubscriptionEntity.getExecutionId(), signalEventSubscriptionEntity.getProcessInstanceId(),
+                signalEventSubscriptionEntity.getProcessDefinitionId()));
+
+        eventSubscriptionEntityManager.eventReceived(signalEventSubscriptionEntity, null, false);
+      }
+      deliveredCount++;
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Delivered signal '{}' to {} subscriptions with ids from {} to {} in {} ms", 
+          signalName, deliveredCount, afterId, lastId, System.currentTimeMillis() - startTime);
+    }
+  }
+
+}
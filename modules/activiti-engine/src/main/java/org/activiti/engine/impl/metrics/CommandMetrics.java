@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counters collected during the execution of one command (i.e. for the lifetime of one command context).
+ * When the command is done, they are handed to the {@link CommandMetricsRegistry}.
+ * 
+ * Instances are only used by the thread executing the command and are not thread-safe.
+ */
+public class CommandMetrics {
+
+  protected long selectCount;
+  protected long insertCount;
+  protected long updateCount;
+  protected long deleteCount;
+  protected long flushTimeInNanos;
+  protected long agendaOperationCount;
+
+  /** Entity type to {hits, misses} */
+  protected Map<String, long[]> entityCacheLookups;
+
+  public void selectExecuted() {
+    selectCount++;
+  }
+
+  public void insertExecuted() {
+    insertCount++;
+  }
+
+  public void updateExecuted() {
+    updateCount++;
+  }
+
+  public void deleteExecuted() {
+    deleteCount++;
+  }
+
+  public void flushExecuted(long flushTimeInNanos) {
+    this.flushTimeInNanos += flushTimeInNanos;
+  }
+
+  public void agendaOperationExecuted() {
+    agendaOperationCount++;
+  }
+
+  public void entityCacheLookup(Class<?> entityClass, boolean hit) {
+    if (entityCacheLookups == null) {
+      entityCacheLookups = new HashMap<String, long[]>();
+    }
+    String entityType = getEntityType(entityClass);
+    long[] lookups = entityCacheLookups.get(entityType);
+    if (lookups == null) {
+      lookups = new long[2];
+      entityCacheLookups.put(entityType, lookups);
+    }
+    lookups[hit ? 0 : 1]++;
+  }
+
+  protected String getEntityType(Class<?> entityClass) {
+    String entityType = entityClass.getSimpleName();
+    if (entityType.endsWith("Impl")) {
+      entityType = entityType.substring(0, entityType.length() - 4);
+    }
+    return entityType;
+  }
+
+  public long getSelectCount() {
+    return selectCount;
+  }
+
+  public long getInsertCount() {
+    return insertCount;
+  }
+
+  public long getUpdateCount() {
+    return updateCount;
+  }
+
+  public long getDeleteCount() {
+    return deleteCount;
+  }
+
+  public long getFlushTimeInNanos() {
+    return flushTimeInNanos;
+  }
+
+  public long getAgendaOperationCount() {
+    return agendaOperationCount;
+  }
+
+  /**
+   * @return entity type to an array of {hits, misses}, or null when there were no lookups.
+   */
+  public Map<String, long[]> getEntityCacheLookups() {
+    return entityCacheLookups;
+  }
+
+}
@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import org.activiti.engine.impl.interceptor.Command;
+
+/**
+ * Receives the metrics of every executed command, when configured on the process engine configuration
+ * (see {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#setCommandMetricsRegistry(CommandMetricsRegistry)}).
+ * 
+ * Implementations are called concurrently by all threads executing commands, and should be fast: the call 
+ * happens on the thread that executed the command. The {@link DefaultCommandMetricsRegistry} keeps the metrics 
+ * in memory, other implementations can forward them to a monitoring system.
+ */
+public interface CommandMetricsRegistry {
+
+  /**
+   * @param commandClass the class of the executed {@link Command}
+   * @param durationInNanos the time the command took, including flushing the session and committing the transaction
+   * @param failed true when the command threw an exception
+   * @param commandMetrics the counters collected while executing the command
+   */
+  void recordCommand(Class<?> commandClass, long durationInNanos, boolean failed, CommandMetrics commandMetrics);
+
+}
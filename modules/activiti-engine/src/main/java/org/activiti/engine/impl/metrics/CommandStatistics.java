@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated metrics of all executions of one command class.
+ */
+public class CommandStatistics {
+
+  protected final String commandName;
+  protected final LatencyHistogram latency = new LatencyHistogram();
+  protected final AtomicLong failureCount = new AtomicLong();
+  protected final AtomicLong selectCount = new AtomicLong();
+  protected final AtomicLong insertCount = new AtomicLong();
+  protected final AtomicLong updateCount = new AtomicLong();
+  protected final AtomicLong deleteCount = new AtomicLong();
+  protected final AtomicLong flushTimeInNanos = new AtomicLong();
+  protected final AtomicLong agendaOperationCount = new AtomicLong();
+
+  public CommandStatistics(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public void record(long durationInNanos, boolean failed, CommandMetrics commandMetrics) {
+    latency.record(durationInNanos);
+    if (failed) {
+      failureCount.incrementAndGet();
+    }
+    add(selectCount, commandMetrics.getSelectCount());
+    add(insertCount, commandMetrics.getInsertCount());
+    add(updateCount, commandMetrics.getUpdateCount());
+    add(deleteCount, commandMetrics.getDeleteCount());
+    add(flushTimeInNanos, commandMetrics.getFlushTimeInNanos());
+    add(agendaOperationCount, commandMetrics.getAgendaOperationCount());
+  }
+
+  protected void add(AtomicLong counter, long value) {
+    if (value != 0L) {
+      counter.addAndGet(value);
+    }
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+  public long getExecutionCount() {
+    return latency.getCount();
+  }
+
+  public long getFailureCount() {
+    return failureCount.get();
+  }
+
+  public long getSelectCount() {
+    return selectCount.get();
+  }
+
+  public long getInsertCount() {
+    return insertCount.get();
+  }
+
+  public long getUpdateCount() {
+    return updateCount.get();
+  }
+
+  public long getDeleteCount() {
+    return deleteCount.get();
+  }
+
+  public long getFlushTimeInNanos() {
+    return flushTimeInNanos.get();
+  }
+
+  public long getAgendaOperationCount() {
+    return agendaOperationCount.get();
+  }
+
+}
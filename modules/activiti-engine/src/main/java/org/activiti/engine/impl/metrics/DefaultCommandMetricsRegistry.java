@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the metrics of all executed commands in memory, aggregated per command class and per entity type.
+ * The metrics can be read through the getters (for example to publish them over JMX) or exported in the
+ * Prometheus text format with the {@link PrometheusCommandMetricsExporter}.
+ */
+public class DefaultCommandMetricsRegistry implements CommandMetricsRegistry {
+
+  protected ConcurrentMap<String, CommandStatistics> commandStatistics = new ConcurrentHashMap<String, CommandStatistics>();
+  protected ConcurrentMap<String, EntityCacheStatistics> entityCacheStatistics = new ConcurrentHashMap<String, EntityCacheStatistics>();
+
+  public void recordCommand(Class<?> commandClass, long durationInNanos, boolean failed, CommandMetrics commandMetrics) {
+    getOrCreateCommandStatistics(commandClass.getName()).record(durationInNanos, failed, commandMetrics);
+
+    Map<String, long[]> entityCacheLookups = commandMetrics.getEntityCacheLookups();
+    if (entityCacheLookups != null) {
+      for (Map.Entry<String, long[]> entry : entityCacheLookups.entrySet()) {
+        getOrCreateEntityCacheStatistics(entry.getKey()).record(entry.getValue()[0], entry.getValue()[1]);
+      }
+    }
+  }
+
+  protected CommandStatistics getOrCreateCommandStatistics(String commandName) {
+    CommandStatistics statistics = commandStatistics.get(commandName);
+    if (statistics == null) {
+      statistics = new CommandStatistics(commandName);
+      CommandStatistics existingStatistics = commandStatistics.putIfAbsent(commandName, statistics);
+      if (existingStatistics != null) {
+        statistics = existingStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  protected EntityCacheStatistics getOrCreateEntityCacheStatistics(String entityType) {
+    EntityCacheStatistics statistics = entityCacheStatistics.get(entityType);
+    if (statistics == null) {
+      statistics = new EntityCacheStatistics(entityType);
+      EntityCacheStatistics existingStatistics = entityCacheStatistics.putIfAbsent(entityType, statistics);
+      if (existingStatistics != null) {
+        statistics = existingStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * @return the statistics of the given command class, or null when it wasn't executed yet.
+   */
+  public CommandStatistics getCommandStatistics(Class<?> commandClass) {
+    return commandStatistics.get(commandClass.getName());
+  }
+
+  /**
+   * @return the statistics of all executed commands, sorted by command class name.
+   */
+  public Map<String, CommandStatistics> getCommandStatistics() {
+    return Collections.unmodifiableMap(new TreeMap<String, CommandStatistics>(commandStatistics));
+  }
+
+  /**
+   * @return the entity cache statistics of all looked up entity types, sorted by entity type.
+   */
+  public Map<String, EntityCacheStatistics> getEntityCacheStatistics() {
+    return Collections.unmodifiableMap(new TreeMap<String, EntityCacheStatistics>(entityCacheStatistics));
+  }
+
+  public void reset() {
+    commandStatistics.clear();
+    entityCacheStatistics.clear();
+  }
+
+}
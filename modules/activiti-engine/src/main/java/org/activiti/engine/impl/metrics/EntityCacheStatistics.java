@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregated lookups by id of one entity type in the entity cache of the command contexts.
+ */
+public class EntityCacheStatistics {
+
+  protected final String entityType;
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  public EntityCacheStatistics(String entityType) {
+    this.entityType = entityType;
+  }
+
+  public void record(long hits, long misses) {
+    if (hits != 0L) {
+      hitCount.addAndGet(hits);
+    }
+    if (misses != 0L) {
+      missCount.addAndGet(misses);
+    }
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+}
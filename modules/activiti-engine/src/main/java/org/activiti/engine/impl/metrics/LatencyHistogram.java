@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of durations, with fixed bucket bounds from 1 millisecond to 10 seconds.
+ */
+public class LatencyHistogram {
+
+  /** Upper bounds (inclusive) of the buckets, in nanoseconds. Durations above the last bound go in an extra bucket. */
+  public static final long[] BUCKET_BOUNDS = { 
+    millis(1), millis(2.5), millis(5), millis(10), millis(25), millis(50), millis(100), millis(250), millis(500),
+    millis(1000), millis(2500), millis(5000), millis(10000) };
+
+  protected final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+  protected final AtomicLong count = new AtomicLong();
+  protected final AtomicLong sum = new AtomicLong();
+
+  public void record(long durationInNanos) {
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS.length && durationInNanos > BUCKET_BOUNDS[bucket]) {
+      bucket++;
+    }
+    bucketCounts.incrementAndGet(bucket);
+    count.incrementAndGet();
+    sum.addAndGet(durationInNanos);
+  }
+
+  /**
+   * @return the number of durations per bucket (not cumulative), the last element being the count above the last bound.
+   */
+  public long[] getBucketCounts() {
+    long[] counts = new long[bucketCounts.length()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = bucketCounts.get(i);
+    }
+    return counts;
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSumInNanos() {
+    return sum.get();
+  }
+
+  public double getAverageInMillis() {
+    long currentCount = count.get();
+    return currentCount > 0 ? (double) sum.get() / currentCount / TimeUnit.MILLISECONDS.toNanos(1) : 0.0;
+  }
+
+  protected static long millis(double millis) {
+    return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+}
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ActivitiException;
+
+/**
+ * Writes the metrics of a {@link DefaultCommandMetricsRegistry} in the Prometheus text exposition format.
+ */
+public class PrometheusCommandMetricsExporter {
+
+  protected static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  protected DefaultCommandMetricsRegistry metricsRegistry;
+
+  public PrometheusCommandMetricsExporter(DefaultCommandMetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public String export() {
+    StringWriter writer = new StringWriter();
+    try {
+      export(writer);
+    } catch (IOException e) {
+      throw new ActivitiException("Could not export command metrics", e);
+    }
+    return writer.toString();
+  }
+
+  public void export(Writer writer) throws IOException {
+    Iterable<CommandStatistics> commands = metricsRegistry.getCommandStatistics().values();
+
+    writeHeader(writer, "activiti_command_duration_seconds", "histogram", "Command execution time, including flush and commit");
+    for (CommandStatistics statistics : commands) {
+      String labels = label("command", statistics.getCommandName());
+      LatencyHistogram latency = statistics.getLatency();
+      long[] bucketCounts = latency.getBucketCounts();
+      long cumulativeCount = 0L;
+      for (int i = 0; i < bucketCounts.length; i++) {
+        cumulativeCount += bucketCounts[i];
+        String bound = i < LatencyHistogram.BUCKET_BOUNDS.length ? String.valueOf(LatencyHistogram.BUCKET_BOUNDS[i] / NANOS_PER_SECOND) : "+Inf";
+        writeSample(writer, "activiti_command_duration_seconds_bucket", labels + "," + label("le", bound), cumulativeCount);
+      }
+      writeSample(writer, "activiti_command_duration_seconds_sum", labels, latency.getSumInNanos() / NANOS_PER_SECOND);
+      writeSample(writer, "activiti_command_duration_seconds_count", labels, cumulativeCount);
+    }
+
+    writeHeader(writer, "activiti_command_failures_total", "counter", "Number of command executions that threw an exception");
+    for (CommandStatistics statistics : commands) {
+      writeSample(writer, "activiti_command_failures_total", label("command", statistics.getCommandName()), statistics.getFailureCount());
+    }
+
+    writeHeader(writer, "activiti_command_sql_statements_total", "counter", "Number of SQL statements issued by the commands");
+    for (CommandStatistics statistics : commands) {
+      String labels = label("command", statistics.getCommandName());
+      writeSample(writer, "activiti_command_sql_statements_total", labels + "," + label("type", "select"), statistics.getSelectCount());
+      writeSample(writer, "activiti_command_sql_statements_total", labels + "," + label("type", "insert"), statistics.getInsertCount());
+      writeSample(writer, "activiti_command_sql_statements_total", labels + "," + label("type", "update"), statistics.getUpdateCount());
+      writeSample(writer, "activiti_command_sql_statements_total", labels + "," + label("type", "delete"), statistics.getDeleteCount());
+    }
+
+    writeHeader(writer, "activiti_command_flush_duration_seconds_total", "counter", "Time spent flushing the session of the commands");
+    for (CommandStatistics statistics : commands) {
+      writeSample(writer, "activiti_command_flush_duration_seconds_total", label("command", statistics.getCommandName()), statistics.getFlushTimeInNanos() / NANOS_PER_SECOND);
+    }
+
+    writeHeader(writer, "activiti_command_agenda_operations_total", "counter", "Number of agenda operations executed by the commands");
+    for (CommandStatistics statistics : commands) {
+      writeSample(writer, "activiti_command_agenda_operations_total", label("command", statistics.getCommandName()), statistics.getAgendaOperationCount());
+    }
+
+    writeHeader(writer, "activiti_entity_cache_lookups_total", "counter", "Lookups by id in the entity cache of the command contexts");
+    for (EntityCacheStatistics statistics : metricsRegistry.getEntityCacheStatistics().values()) {
+      String labels = label("entity", statistics.getEntityType());
+      writeSample(writer, "activiti_entity_cache_lookups_total", labels + "," + label("result", "hit"), statistics.getHitCount());
+      writeSample(writer, "activiti_entity_cache_lookups_total", labels + "," + label("result", "miss"), statistics.getMissCount());
+    }
+  }
+
+  protected void writeHeader(Writer writer, String name, String type, String help) throws IOException {
+    writer.write("# HELP " + name + " " + help + "\n");
+    writer.write("# TYPE " + name + " " + type + "\n");
+  }
+
+  protected void writeSample(Writer writer, String name, String labels, long value) throws IOException {
+    writer.write(name + "{" + labels + "} " + value + "\n");
+  }
+
+  protected void writeSample(Writer writer, String name, String labels, double value) throws IOException {
+    writer.write(name + "{" + labels + "} " + value + "\n");
+  }
+
+  protected String label(String name, String value) {
+    return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+  }
+
+}
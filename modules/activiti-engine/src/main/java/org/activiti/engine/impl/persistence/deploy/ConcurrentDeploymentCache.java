@@ -0,0 +1,249 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache without a global lock: reads only touch a {@link ConcurrentHashMap} and the access time of the entry.
+ * 
+ * The cache can be bounded by a number of entries and/or by a maximum weight, estimated by a {@link DeploymentCacheWeigher}.
+ * When a bound is exceeded after adding an entry, the least recently used entries are evicted (the entry that was just 
+ * added is never evicted). Eviction scans the cache and is serialized, which is fine as entries are added far less often 
+ * than they are read.
+ * 
+ * Hit, miss, eviction and load statistics are kept for monitoring.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected ConcurrentMap<String, CacheEntry<T>> cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+
+  protected int limit;
+  protected long maxWeight;
+  protected DeploymentCacheWeigher<T> weigher;
+
+  protected AtomicLong weight = new AtomicLong();
+  protected Lock evictionLock = new ReentrantLock();
+
+  protected StripedCounter hitCount = new StripedCounter();
+  protected StripedCounter missCount = new StripedCounter();
+  protected AtomicLong evictionCount = new AtomicLong();
+  protected AtomicLong loadCount = new AtomicLong();
+  protected AtomicLong totalLoadTime = new AtomicLong();
+
+  /** Cache with no limit */
+  public ConcurrentDeploymentCache() {
+    this(-1);
+  }
+
+  /** Cache which has a hard limit: no more elements will be cached than the limit. */
+  public ConcurrentDeploymentCache(int limit) {
+    this(limit, -1, null);
+  }
+
+  /**
+   * Cache which is bounded by the number of elements and/or by the total weight of the elements.
+   * A limit or maximum weight of 0 or less means no bound.
+   */
+  public ConcurrentDeploymentCache(int limit, long maxWeight, DeploymentCacheWeigher<T> weigher) {
+    if (maxWeight > 0 && weigher == null) {
+      throw new IllegalArgumentException("A weigher is needed for a cache with a maximum weight");
+    }
+    this.limit = limit;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  public T get(String id) {
+    CacheEntry<T> entry = cache.get(id);
+    if (entry == null) {
+      missCount.increment();
+      return null;
+    }
+    entry.lastAccessTime = System.nanoTime();
+    hitCount.increment();
+    return entry.value;
+  }
+
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  public void add(String id, T object) {
+    CacheEntry<T> entry = new CacheEntry<T>(object, weigher != null ? weigher.weigh(id, object) : 0);
+    CacheEntry<T> previousEntry = cache.put(id, entry);
+    weight.addAndGet(previousEntry != null ? entry.weight - previousEntry.weight : entry.weight);
+
+    if (isBoundExceeded()) {
+      evict(id);
+    }
+  }
+
+  public void remove(String id) {
+    CacheEntry<T> entry = cache.remove(id);
+    if (entry != null) {
+      weight.addAndGet(-entry.weight);
+    }
+  }
+
+  public void clear() {
+    for (String id : cache.keySet()) {
+      remove(id);
+    }
+  }
+
+  protected boolean isBoundExceeded() {
+    return (limit > 0 && cache.size() > limit) || (maxWeight > 0 && weight.get() > maxWeight);
+  }
+
+  protected void evict(String addedId) {
+    evictionLock.lock();
+    try {
+      while (isBoundExceeded()) {
+        Map.Entry<String, CacheEntry<T>> eldest = null;
+        for (Map.Entry<String, CacheEntry<T>> entry : cache.entrySet()) {
+          if (!entry.getKey().equals(addedId) && (eldest == null || entry.getValue().lastAccessTime < eldest.getValue().lastAccessTime)) {
+            eldest = entry;
+          }
+        }
+
+        if (eldest == null) {
+          return; // only the added entry is left
+        }
+
+        if (cache.remove(eldest.getKey(), eldest.getValue())) {
+          weight.addAndGet(-eldest.getValue().weight);
+          evictionCount.incrementAndGet();
+          if (logger.isTraceEnabled()) {
+            logger.trace("Cache limit is reached, {} is evicted", eldest.getKey());
+          }
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Records the time it took to load an object that was not found in the cache.
+   */
+  public void recordLoad(long loadTimeInNanos) {
+    loadCount.incrementAndGet();
+    totalLoadTime.addAndGet(loadTimeInNanos);
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getWeight() {
+    return weight.get();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @return the ratio of cache reads that found the object, 1.0 when nothing was read yet
+   */
+  public double getHitRate() {
+    long hits = getHitCount();
+    long requests = hits + getMissCount();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public long getLoadCount() {
+    return loadCount.get();
+  }
+
+  public long getTotalLoadTime() {
+    return totalLoadTime.get();
+  }
+
+  /**
+   * @return the average time it took to load an object, in nanoseconds
+   */
+  public double getAverageLoadTime() {
+    long loads = getLoadCount();
+    return loads == 0 ? 0.0 : (double) getTotalLoadTime() / loads;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public DeploymentCacheWeigher<T> getWeigher() {
+    return weigher;
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final T value;
+    protected final long weight;
+    protected volatile long lastAccessTime = System.nanoTime();
+
+    public CacheEntry(T value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Counter spread over a few cells, so threads reading the cache at the same time don't all update the same value.
+   */
+  protected static class StripedCounter {
+
+    protected static final int STRIPES = 16;
+    protected static final int PADDING = 8; // one cell per cache line of 64 bytes
+
+    protected final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    public void increment() {
+      int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+      cells.incrementAndGet(stripe * PADDING);
+    }
+
+    public long sum() {
+      long sum = 0;
+      for (int i = 0; i < STRIPES; i++) {
+        sum += cells.get(i * PADDING);
+      }
+      return sum;
+    }
+  }
+
+}
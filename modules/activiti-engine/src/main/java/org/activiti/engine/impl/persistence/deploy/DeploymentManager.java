@@ -126,9 +126,13 @@ public class DeploymentManager {
         return Activiti5Util.getActiviti5CompatibilityHandler().resolveProcessDefinition(processDefinition);
       }
       
+      long loadStart = System.nanoTime();
       DeploymentEntity deployment = deploymentEntityManager.findById(deploymentId);
       deployment.setNew(false);
       deploy(deployment, null);
+      if (processDefinitionCache instanceof ConcurrentDeploymentCache) {
+        ((ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processDefinitionCache).recordLoad(System.nanoTime() - loadStart);
+      }
       cachedProcessDefinition = processDefinitionCache.get(processDefinitionId);
 
       if (cachedProcessDefinition == null) {
@@ -13,9 +13,13 @@
 package org.activiti.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.util.ReachabilityTable;
 import org.activiti.engine.repository.ProcessDefinition;
 
 /**
@@ -29,6 +33,12 @@ public class ProcessDefinitionCacheEntry implements Serializable {
   protected BpmnModel bpmnModel;
   protected Process process;
 
+  /** Expressions compiled when the process definition was parsed, by expression text. */
+  protected transient Map<String, Expression> compiledExpressions;
+
+  /** Reachability of the inclusive gateways, built when the process definition was deployed. */
+  protected transient ReachabilityTable reachabilityTable;
+
   public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
     this.processDefinition = processDefinition;
     this.bpmnModel = bpmnModel;
@@ -51,6 +61,31 @@ public class ProcessDefinitionCacheEntry implements Serializable {
     this.bpmnModel = bpmnModel;
   }
 
+  /**
+   * @return the expression compiled for the given expression text when the process definition was parsed, 
+   *         or null when the expression text isn't part of the process definition.
+   */
+  public Expression getCompiledExpression(String expressionText) {
+    Map<String, Expression> expressions = compiledExpressions;
+    return expressions != null ? expressions.get(expressionText) : null;
+  }
+
+  public Map<String, Expression> getCompiledExpressions() {
+    return compiledExpressions;
+  }
+
+  public void setCompiledExpressions(Map<String, Expression> compiledExpressions) {
+    this.compiledExpressions = compiledExpressions != null ? Collections.unmodifiableMap(compiledExpressions) : null;
+  }
+
+  public ReachabilityTable getReachabilityTable() {
+    return reachabilityTable;
+  }
+
+  public void setReachabilityTable(ReachabilityTable reachabilityTable) {
+    this.reachabilityTable = reachabilityTable;
+  }
+
   public Process getProcess() {
     return process;
   }
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.List;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.Process;
+
+/**
+ * Estimates the weight of a {@link ProcessDefinitionCacheEntry} from the size of its {@link BpmnModel}:
+ * a fixed weight per entry, per flow element (including the elements of sub processes), per diagram element 
+ * and per compiled expression.
+ * 
+ * The estimate is rough, but it is proportional to the memory held by the model, which is what 
+ * matters to keep the cache within a memory budget.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+  public static final long DEFAULT_ENTRY_WEIGHT = 4096;
+  public static final long DEFAULT_FLOW_ELEMENT_WEIGHT = 2048;
+  public static final long DEFAULT_GRAPHIC_INFO_WEIGHT = 128;
+  public static final long DEFAULT_COMPILED_EXPRESSION_WEIGHT = 512;
+
+  protected long entryWeight = DEFAULT_ENTRY_WEIGHT;
+  protected long flowElementWeight = DEFAULT_FLOW_ELEMENT_WEIGHT;
+  protected long graphicInfoWeight = DEFAULT_GRAPHIC_INFO_WEIGHT;
+  protected long compiledExpressionWeight = DEFAULT_COMPILED_EXPRESSION_WEIGHT;
+
+  public long weigh(String id, ProcessDefinitionCacheEntry cacheEntry) {
+    long weight = entryWeight;
+
+    BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+    if (bpmnModel != null) {
+      for (Process process : bpmnModel.getProcesses()) {
+        weight += flowElementWeight * process.findFlowElementsOfType(FlowElement.class, true).size();
+      }
+
+      weight += graphicInfoWeight * bpmnModel.getLocationMap().size();
+      for (List<GraphicInfo> waypoints : bpmnModel.getFlowLocationMap().values()) {
+        weight += graphicInfoWeight * waypoints.size();
+      }
+    }
+
+    if (cacheEntry.getCompiledExpressions() != null) {
+      weight += compiledExpressionWeight * cacheEntry.getCompiledExpressions().size();
+    }
+
+    return weight;
+  }
+
+  public long getEntryWeight() {
+    return entryWeight;
+  }
+
+  public void setEntryWeight(long entryWeight) {
+    this.entryWeight = entryWeight;
+  }
+
+  public long getFlowElementWeight() {
+    return flowElementWeight;
+  }
+
+  public void setFlowElementWeight(long flowElementWeight) {
+    this.flowElementWeight = flowElementWeight;
+  }
+
+  public long getGraphicInfoWeight() {
+    return graphicInfoWeight;
+  }
+
+  public void setGraphicInfoWeight(long graphicInfoWeight) {
+    this.graphicInfoWeight = graphicInfoWeight;
+  }
+
+  public long getCompiledExpressionWeight() {
+    return compiledExpressionWeight;
+  }
+
+  public void setCompiledExpressionWeight(long compiledExpressionWeight) {
+    this.compiledExpressionWeight = compiledExpressionWeight;
+  }
+
+}
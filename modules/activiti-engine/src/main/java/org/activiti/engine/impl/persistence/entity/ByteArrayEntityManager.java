@@ -23,6 +23,11 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    * Returns all {@link ByteArrayEntity}. 
    */
   List<ByteArrayEntity> findAll();
+  
+  /**
+   * Returns the {@link ByteArrayEntity} instances holding the values of the execution variables of the given process instance.
+   */
+  List<ByteArrayEntity> findVariableByteArraysByProcessInstanceId(String processInstanceId);
 
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database. 
@@ -43,6 +43,11 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     return byteArrayDataManager.findAll();
   }
   
+  @Override
+  public List<ByteArrayEntity> findVariableByteArraysByProcessInstanceId(String processInstanceId) {
+    return byteArrayDataManager.findVariableByteArraysByProcessInstanceId(processInstanceId);
+  }
+  
   @Override
   public void deleteByteArrayById(String byteArrayEntityId) {
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -78,6 +79,13 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
   /* Find (signal) */
   
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(String eventName, String tenantId);
+
+  /**
+   * Returns at most maxResults subscriptions to the given signal, ordered by id, with an id after the given afterId (if not null) 
+   * and up to the given lastId (if not null), which were created before the given date (if not null).
+   */
+  List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(String eventName, String tenantId, 
+      String afterId, String lastId, Date createdBefore, int maxResults);
   
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName);
   
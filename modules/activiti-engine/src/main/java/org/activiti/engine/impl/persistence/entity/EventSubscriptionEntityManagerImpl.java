@@ -14,6 +14,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.bpmn.model.Signal;
@@ -191,6 +192,12 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventName(eventName, tenantId);
   }
 
+  @Override
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(String eventName, String tenantId, 
+      String afterId, String lastId, Date createdBefore, int maxResults) {
+    return eventSubscriptionDataManager.findSignalEventSubscriptionsByEventNameAndIdRange(eventName, tenantId, afterId, lastId, createdBefore, maxResults);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(String processInstanceId, String eventName) {
     return eventSubscriptionDataManager.findSignalEventSubscriptionsByProcessInstanceAndEventName(processInstanceId, eventName);
@@ -26,6 +26,7 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
@@ -514,7 +515,11 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
   @Override
   protected Collection<VariableInstanceEntity> loadVariableInstances() {
-    return Context.getCommandContext().getVariableInstanceEntityManager().findVariableInstancesByExecutionId(id);
+    CommandContext commandContext = Context.getCommandContext();
+    if (processInstanceId != null && commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableProcessInstanceVariablePrefetch()) {
+      return commandContext.getVariableInstanceEntityManager().findVariableInstancesByExecutionIdWithPrefetch(id, processInstanceId);
+    }
+    return commandContext.getVariableInstanceEntityManager().findVariableInstancesByExecutionId(id);
   }
 
   @Override
@@ -534,7 +539,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_CREATED)) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -550,7 +555,7 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_UPDATED)) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
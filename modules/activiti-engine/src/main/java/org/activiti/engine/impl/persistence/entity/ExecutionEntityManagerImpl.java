@@ -25,6 +25,7 @@ import java.util.Map;
 import org.activiti.engine.ActivitiObjectNotFoundException;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.history.DeleteReason;
 import org.activiti.engine.impl.ExecutionQueryImpl;
 import org.activiti.engine.impl.Page;
@@ -245,7 +246,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
     
     // Fire events
-    if (getEventDispatcher().isEnabled()) {
+    if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.ENTITY_CREATED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, processInstanceExecution));
     }
 
@@ -276,8 +277,10 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       logger.debug("Child execution {} created with parent {}", childExecution, parentExecutionEntity.getId());
     }
 
-    if (getEventDispatcher().isEnabled()) {
+    if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.ENTITY_CREATED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, childExecution));
+    }
+    if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.ENTITY_INITIALIZED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, childExecution));
     }
 
@@ -306,7 +309,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     subProcessInstance.setProcessInstanceId(subProcessInstance.getId());
     superExecutionEntity.setSubProcessInstance(subProcessInstance);
 
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.ENTITY_CREATED)) {
       Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, subProcessInstance));
     }
 
@@ -594,7 +597,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       Collection<TimerJobEntity> timerJobsForExecution = timerJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (TimerJobEntity job : timerJobsForExecution) {
         timerJobEntityManager.delete(job);
-        if (getEventDispatcher().isEnabled()) {
+        if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.JOB_CANCELED)) {
           getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.JOB_CANCELED, job));
         }
       }
@@ -606,7 +609,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       Collection<JobEntity> jobsForExecution = jobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (JobEntity job : jobsForExecution) {
         getJobEntityManager().delete(job);
-        if (getEventDispatcher().isEnabled()) {
+        if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.JOB_CANCELED)) {
           getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.JOB_CANCELED, job));
         }
       }
@@ -618,7 +621,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       Collection<SuspendedJobEntity> suspendedJobsForExecution = suspendedJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (SuspendedJobEntity job : suspendedJobsForExecution) {
         suspendedJobEntityManager.delete(job);
-        if (getEventDispatcher().isEnabled()) {
+        if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.JOB_CANCELED)) {
           getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.JOB_CANCELED, job));
         }
       }
@@ -630,7 +633,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       Collection<DeadLetterJobEntity> deadLetterJobsForExecution = deadLetterJobEntityManager.findJobsByExecutionId(executionEntity.getId());
       for (DeadLetterJobEntity job : deadLetterJobsForExecution) {
         deadLetterJobEntityManager.delete(job);
-        if (getEventDispatcher().isEnabled()) {
+        if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.JOB_CANCELED)) {
           getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.JOB_CANCELED, job));
         }
       }
@@ -674,7 +677,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
       executionEntity.setBusinessKey(businessKey);
       getHistoryManager().updateProcessBusinessKeyInHistory(executionEntity);
 
-      if (getEventDispatcher().isEnabled()) {
+      if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.ENTITY_UPDATED)) {
         getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_UPDATED, executionEntity));
       }
 
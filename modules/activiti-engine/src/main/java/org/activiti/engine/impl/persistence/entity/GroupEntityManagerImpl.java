@@ -23,6 +23,8 @@ import org.activiti.engine.identity.GroupQuery;
 import org.activiti.engine.impl.GroupQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.identity.UserGroupCache;
+import org.activiti.engine.impl.identity.UserGroupCacheInvalidator;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.GroupDataManager;
 
@@ -80,7 +82,19 @@ public class GroupEntityManagerImpl extends AbstractEntityManager<GroupEntity> i
   }
 
   public List<Group> findGroupsByUser(String userId) {
-    return groupDataManager.findGroupsByUser(userId);
+    UserGroupCache userGroupCache = getProcessEngineConfiguration().getUserGroupCache();
+    if (userGroupCache != null) {
+      List<Group> groups = userGroupCache.get(userId);
+      if (groups != null) {
+        return groups;
+      }
+    }
+
+    List<Group> groups = groupDataManager.findGroupsByUser(userId);
+    if (userGroupCache != null) {
+      userGroupCache.add(userId, groups);
+    }
+    return groups;
   }
 
   public List<Group> findGroupsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
@@ -91,6 +105,20 @@ public class GroupEntityManagerImpl extends AbstractEntityManager<GroupEntity> i
     return groupDataManager.findGroupCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public GroupEntity update(GroupEntity entity, boolean fireUpdateEvent) {
+    GroupEntity updatedEntity = super.update(entity, fireUpdateEvent);
+    invalidateUserGroupCache(); // the cached groups hold the previous name and type
+    return updatedEntity;
+  }
+
+  protected void invalidateUserGroupCache() {
+    UserGroupCache userGroupCache = getProcessEngineConfiguration().getUserGroupCache();
+    if (userGroupCache != null) {
+      UserGroupCacheInvalidator.getInvalidator(getCommandContext(), userGroupCache).invalidateAll();
+    }
+  }
+
   @Override
   public boolean isNewGroup(Group group) {
     return ((GroupEntity) group).getRevision() == 0;
@@ -28,6 +28,10 @@ public interface HistoricDetailEntityManager extends EntityManager<HistoricDetai
 
   HistoricDetailVariableInstanceUpdateEntity copyAndInsertHistoricDetailVariableInstanceUpdateEntity(VariableInstanceEntity variableInstance);
 
+  HistoricDetailVariableInstanceUpdateEntity createHistoricDetailVariableInstanceUpdate();
+
+  HistoricFormPropertyEntity createHistoricFormProperty();
+
   
   long findHistoricDetailCountByQueryCriteria(HistoricDetailQueryImpl historicVariableUpdateQuery);
 
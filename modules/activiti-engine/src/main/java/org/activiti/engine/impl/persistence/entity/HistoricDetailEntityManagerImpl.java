@@ -86,6 +86,16 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     return historicVariableUpdate;
   }
   
+  @Override
+  public HistoricDetailVariableInstanceUpdateEntity createHistoricDetailVariableInstanceUpdate() {
+    return historicDetailDataManager.createHistoricDetailVariableInstanceUpdate();
+  }
+
+  @Override
+  public HistoricFormPropertyEntity createHistoricFormProperty() {
+    return historicDetailDataManager.createHistoricFormProperty();
+  }
+  
   @Override
   public void delete(HistoricDetailEntity entity, boolean fireDeleteEvent) {
     super.delete(entity, fireDeleteEvent);
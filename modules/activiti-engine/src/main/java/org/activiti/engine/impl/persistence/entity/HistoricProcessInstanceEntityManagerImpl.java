@@ -13,9 +13,13 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
@@ -29,6 +33,9 @@ import org.activiti.engine.impl.persistence.entity.data.HistoricProcessInstanceD
  */
 public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityManager<HistoricProcessInstanceEntity> implements HistoricProcessInstanceEntityManager {
 
+  /** The number of process instances of which the variables are fetched with one query, to stay within the IN-list limits of the databases. */
+  protected static final int VARIABLE_FETCH_BATCH_SIZE = 500;
+
   protected HistoricProcessInstanceDataManager historicProcessInstanceDataManager;
   
   public HistoricProcessInstanceEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, HistoricProcessInstanceDataManager historicProcessInstanceDataManager) {
@@ -100,11 +107,51 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (getHistoryManager().isHistoryEnabled()) {
+      if (historicProcessInstanceQuery.isFetchVariablesSeparately()) {
+        List<HistoricProcessInstance> processInstances = historicProcessInstanceDataManager.findHistoricProcessInstancesByQueryCriteria(historicProcessInstanceQuery);
+        fetchQueryVariables(processInstances, historicProcessInstanceQuery);
+        return processInstances;
+      }
       return historicProcessInstanceDataManager.findHistoricProcessInstancesAndVariablesByQueryCriteria(historicProcessInstanceQuery);
     }
     return Collections.EMPTY_LIST;
   }
 
+  /**
+   * Fetches the included variables of the given page of process instances with one query per {@link #VARIABLE_FETCH_BATCH_SIZE} 
+   * process instances and sets them as query variables on the process instances.
+   */
+  protected void fetchQueryVariables(List<HistoricProcessInstance> processInstances, HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
+    for (int fromIndex = 0; fromIndex < processInstances.size(); fromIndex += VARIABLE_FETCH_BATCH_SIZE) {
+      List<HistoricProcessInstance> batch = processInstances.subList(fromIndex, Math.min(fromIndex + VARIABLE_FETCH_BATCH_SIZE, processInstances.size()));
+
+      Set<String> processInstanceIds = new HashSet<String>();
+      for (HistoricProcessInstance processInstance : batch) {
+        processInstanceIds.add(processInstance.getId());
+      }
+
+      Map<String, List<HistoricVariableInstanceEntity>> variablesByProcessInstanceId = new HashMap<String, List<HistoricVariableInstanceEntity>>();
+      List<HistoricVariableInstanceEntity> variables = getHistoricVariableInstanceEntityManager().findHistoricVariableInstancesByProcessInstanceIds(
+          processInstanceIds, historicProcessInstanceQuery.getIncludedVariableNames());
+      for (HistoricVariableInstanceEntity variable : variables) {
+        List<HistoricVariableInstanceEntity> processInstanceVariables = variablesByProcessInstanceId.get(variable.getProcessInstanceId());
+        if (processInstanceVariables == null) {
+          processInstanceVariables = new ArrayList<HistoricVariableInstanceEntity>();
+          variablesByProcessInstanceId.put(variable.getProcessInstanceId(), processInstanceVariables);
+        }
+        processInstanceVariables.add(variable);
+      }
+
+      for (HistoricProcessInstance processInstance : batch) {
+        List<HistoricVariableInstanceEntity> queryVariables = new HistoricVariableInitializingList();
+        if (variablesByProcessInstanceId.containsKey(processInstance.getId())) {
+          queryVariables.addAll(variablesByProcessInstanceId.get(processInstance.getId()));
+        }
+        ((HistoricProcessInstanceEntity) processInstance).setQueryVariables(queryVariables);
+      }
+    }
+  }
+
   @Override
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return historicProcessInstanceDataManager.findHistoricProcessInstancesByNativeQuery(parameterMap, firstResult, maxResults);
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +33,12 @@ public interface HistoricVariableInstanceEntityManager extends EntityManager<His
 
   HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId);
 
+  /**
+   * Returns the process instance variables of the given process instances in one query, optionally restricted to the given 
+   * variable names (null for all variables).
+   */
+  List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds, Collection<String> names);
+
   long findHistoricVariableInstanceCountByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery);
 
   List<HistoricVariableInstance> findHistoricVariableInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
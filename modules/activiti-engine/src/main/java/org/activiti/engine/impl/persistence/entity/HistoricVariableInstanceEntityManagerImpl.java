@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +115,11 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
     return historicVariableInstanceDataManager.findHistoricVariableInstanceByVariableInstanceId(variableInstanceId);
   }
 
+  @Override
+  public List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds, Collection<String> names) {
+    return historicVariableInstanceDataManager.findHistoricVariableInstancesByProcessInstanceIds(processInstanceIds, names);
+  }
+
   @Override
   public void deleteHistoricVariableInstancesByTaskId(String taskId) {
     if (getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
@@ -16,6 +16,8 @@ package org.activiti.engine.impl.persistence.entity;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.identity.UserGroupCache;
+import org.activiti.engine.impl.identity.UserGroupCacheInvalidator;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.MembershipDataManager;
 
@@ -42,6 +44,7 @@ public class MembershipEntityManagerImpl extends AbstractEntityManager<Membershi
     membershipEntity.setUserId(userId);
     membershipEntity.setGroupId(groupId);
     insert(membershipEntity, false);
+    invalidateUserGroupCache(userId);
 
     if (getEventDispatcher().isEnabled()) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createMembershipEvent(ActivitiEventType.MEMBERSHIP_CREATED, groupId, userId));
@@ -50,6 +53,7 @@ public class MembershipEntityManagerImpl extends AbstractEntityManager<Membershi
 
   public void deleteMembership(String userId, String groupId) {
     membershipDataManager.deleteMembership(userId, groupId);  
+    invalidateUserGroupCache(userId);
     if (getEventDispatcher().isEnabled()) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createMembershipEvent(ActivitiEventType.MEMBERSHIP_DELETED, groupId, userId));
     }
@@ -58,11 +62,28 @@ public class MembershipEntityManagerImpl extends AbstractEntityManager<Membershi
   @Override
   public void deleteMembershipByGroupId(String groupId) {
     membershipDataManager.deleteMembershipByGroupId(groupId);
+    invalidateUserGroupCache(null);
   }
   
   @Override
   public void deleteMembershipByUserId(String userId) {
     membershipDataManager.deleteMembershipByUserId(userId);
+    invalidateUserGroupCache(userId);
+  }
+
+  /**
+   * Invalidates the cached groups of the given user, or of all users when no user is given.
+   */
+  protected void invalidateUserGroupCache(String userId) {
+    UserGroupCache userGroupCache = getProcessEngineConfiguration().getUserGroupCache();
+    if (userGroupCache != null) {
+      UserGroupCacheInvalidator invalidator = UserGroupCacheInvalidator.getInvalidator(getCommandContext(), userGroupCache);
+      if (userId != null) {
+        invalidator.invalidate(userId);
+      } else {
+        invalidator.invalidateAll();
+      }
+    }
   }
 
   public MembershipDataManager getMembershipDataManager() {
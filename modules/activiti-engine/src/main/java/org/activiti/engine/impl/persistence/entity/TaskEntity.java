@@ -73,4 +73,8 @@ public interface TaskEntity extends VariableScope, Task, DelegateTask, Entity, H
   boolean isCanceled();
   
   void setCanceled(boolean isCanceled);
+
+  List<VariableInstanceEntity> getQueryVariables();
+
+  void setQueryVariables(List<VariableInstanceEntity> queryVariables);
 }
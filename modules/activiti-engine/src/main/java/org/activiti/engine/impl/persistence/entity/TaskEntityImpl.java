@@ -27,6 +27,7 @@ import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.BulkDeleteable;
 import org.activiti.engine.impl.interceptor.CommandContext;
@@ -172,7 +173,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_CREATED)) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -188,7 +189,7 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && ActivitiEventDispatcherImpl.isEventEnabled(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_UPDATED)) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -13,14 +13,19 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.compatibility.Activiti5CompatibilityHandler;
 import org.activiti.engine.delegate.TaskListener;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
@@ -36,6 +41,9 @@ import org.activiti.engine.task.Task;
  */
 public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> implements TaskEntityManager {
   
+  /** The number of tasks of which the variables are fetched with one query, to stay within the IN-list limits of the databases. */
+  protected static final int VARIABLE_FETCH_BATCH_SIZE = 500;
+
   protected TaskDataManager taskDataManager;
   
   public TaskEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, TaskDataManager taskDataManager) {
@@ -93,7 +101,7 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
       countingExecutionEntity.setTaskCount(countingExecutionEntity.getTaskCount() + 1);
     }
     
-    if (getEventDispatcher().isEnabled()) {
+    if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.TASK_ASSIGNED)) {
       if (taskEntity.getAssignee() != null) {
         getEventDispatcher().dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_ASSIGNED, taskEntity));
@@ -141,7 +149,7 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
       .executeTaskListeners(taskEntity, TaskListener.EVENTNAME_ASSIGNMENT);
     getHistoryManager().recordTaskAssignment(taskEntity);
 
-    if (getEventDispatcher().isEnabled()) {
+    if (ActivitiEventDispatcherImpl.isEventEnabled(getEventDispatcher(), ActivitiEventType.TASK_ASSIGNED)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_ASSIGNED, taskEntity));
     }
 
@@ -251,9 +259,61 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
 
   @Override
   public List<Task> findTasksAndVariablesByQueryCriteria(TaskQueryImpl taskQuery) {
+    if (taskQuery.isFetchVariablesSeparately()) {
+      List<Task> tasks = taskDataManager.findTasksByQueryCriteria(taskQuery);
+      fetchQueryVariables(tasks, taskQuery);
+      return tasks;
+    }
     return taskDataManager.findTasksAndVariablesByQueryCriteria(taskQuery);
   }
 
+  /**
+   * Fetches the included variables of the given page of tasks with one query per {@link #VARIABLE_FETCH_BATCH_SIZE} tasks 
+   * and sets them as query variables on the tasks.
+   */
+  protected void fetchQueryVariables(List<Task> tasks, TaskQueryImpl taskQuery) {
+    for (int fromIndex = 0; fromIndex < tasks.size(); fromIndex += VARIABLE_FETCH_BATCH_SIZE) {
+      List<Task> batch = tasks.subList(fromIndex, Math.min(fromIndex + VARIABLE_FETCH_BATCH_SIZE, tasks.size()));
+
+      Set<String> taskIds = new HashSet<String>();
+      Set<String> processInstanceIds = new HashSet<String>();
+      for (Task task : batch) {
+        if (taskQuery.isIncludeTaskLocalVariables()) {
+          taskIds.add(task.getId());
+        }
+        if (taskQuery.isIncludeProcessVariables() && task.getProcessInstanceId() != null) {
+          processInstanceIds.add(task.getProcessInstanceId());
+        }
+      }
+
+      Map<String, List<VariableInstanceEntity>> variablesByScopeId = new HashMap<String, List<VariableInstanceEntity>>();
+      if (!taskIds.isEmpty() || !processInstanceIds.isEmpty()) {
+        List<VariableInstanceEntity> variables = getVariableInstanceEntityManager().findVariableInstancesByTaskIdsAndProcessInstanceIds(
+            taskIds, processInstanceIds, taskQuery.getIncludedVariableNames());
+        for (VariableInstanceEntity variable : variables) {
+          String scopeId = variable.getTaskId() != null ? variable.getTaskId() : variable.getExecutionId();
+          List<VariableInstanceEntity> scopeVariables = variablesByScopeId.get(scopeId);
+          if (scopeVariables == null) {
+            scopeVariables = new ArrayList<VariableInstanceEntity>();
+            variablesByScopeId.put(scopeId, scopeVariables);
+          }
+          scopeVariables.add(variable);
+        }
+      }
+
+      for (Task task : batch) {
+        List<VariableInstanceEntity> queryVariables = new VariableInitializingList();
+        if (taskQuery.isIncludeTaskLocalVariables() && variablesByScopeId.containsKey(task.getId())) {
+          queryVariables.addAll(variablesByScopeId.get(task.getId()));
+        }
+        if (taskQuery.isIncludeProcessVariables() && task.getProcessInstanceId() != null && variablesByScopeId.containsKey(task.getProcessInstanceId())) {
+          queryVariables.addAll(variablesByScopeId.get(task.getProcessInstanceId()));
+        }
+        ((TaskEntity) task).setQueryVariables(queryVariables);
+      }
+    }
+  }
+
   @Override
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     return taskDataManager.findTaskCountByQueryCriteria(taskQuery);
@@ -33,6 +33,13 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
   
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
 
+  /**
+   * Returns the variables of the given execution. The first call for an execution of a process instance loads the variables 
+   * (and their byte arrays) of all executions of that process instance in the entity cache, so the variables of the other 
+   * executions of the process instance are found in the entity cache for the rest of the command.
+   */
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdWithPrefetch(String executionId, String processInstanceId);
+
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
@@ -41,6 +48,12 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+  /**
+   * Returns the local variables of the given tasks and the process instance variables of the given process instances in one query, 
+   * optionally restricted to the given variable names (null for all variables).
+   */
+  List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndProcessInstanceIds(Collection<String> taskIds, Collection<String> processInstanceIds, Collection<String> names);
+
   void deleteVariableInstanceByTask(TaskEntity task);
 
 }
\ No newline at end of file
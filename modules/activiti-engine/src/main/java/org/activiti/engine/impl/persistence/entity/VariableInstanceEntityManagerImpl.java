@@ -14,6 +14,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -22,7 +23,9 @@ import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.ActivitiVariableEvent;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
@@ -35,6 +38,8 @@ import org.activiti.engine.impl.variable.VariableType;
  */
 public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<VariableInstanceEntity> implements VariableInstanceEntityManager {
 
+  protected static final String PREFETCHED_PROCESS_INSTANCE_IDS_ATTRIBUTE = "prefetchedVariablesProcessInstanceIds";
+
   protected VariableInstanceDataManager variableInstanceDataManager;
   
   public VariableInstanceEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, VariableInstanceDataManager variableInstanceDataManager) {
@@ -88,6 +93,30 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
   public List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds) {
     return variableInstanceDataManager.findVariableInstancesByExecutionIds(executionIds);
   }
+  
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndProcessInstanceIds(Collection<String> taskIds, Collection<String> processInstanceIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByTaskIdsAndProcessInstanceIds(taskIds, processInstanceIds, names);
+  }
+  
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdWithPrefetch(String executionId, String processInstanceId) {
+    CommandContext commandContext = getCommandContext();
+    Set<String> prefetchedProcessInstanceIds = (Set<String>) commandContext.getAttribute(PREFETCHED_PROCESS_INSTANCE_IDS_ATTRIBUTE);
+    if (prefetchedProcessInstanceIds == null) {
+      prefetchedProcessInstanceIds = new HashSet<String>();
+      commandContext.addAttribute(PREFETCHED_PROCESS_INSTANCE_IDS_ATTRIBUTE, prefetchedProcessInstanceIds);
+    }
+    
+    if (prefetchedProcessInstanceIds.add(processInstanceId)) {
+      variableInstanceDataManager.findVariableInstancesByProcessInstanceId(processInstanceId);
+      getByteArrayEntityManager().findVariableByteArraysByProcessInstanceId(processInstanceId);
+    }
+    
+    // All variables of the process instance are in the entity cache now, including the ones created during this command
+    return variableInstanceDataManager.findVariableInstancesByExecutionIdFromCache(executionId);
+  }
 
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
@@ -126,10 +155,13 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     }
 
     ActivitiEventDispatcher eventDispatcher =  getEventDispatcher();
-    if (fireDeleteEvent && eventDispatcher.isEnabled()) {
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
-      
-      eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+    if (fireDeleteEvent) {
+      if (ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.ENTITY_DELETED)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
+      }
+      if (ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.VARIABLE_DELETED)) {
+        eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+      }
     }
     
   }
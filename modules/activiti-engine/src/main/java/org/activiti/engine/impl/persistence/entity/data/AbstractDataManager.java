@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.metrics.CommandMetrics;
 import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
@@ -58,6 +59,10 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
 
     // Cache
     EntityImpl cachedEntity = getEntityCache().findInCache(getManagedEntityClass(), entityId);
+    CommandMetrics commandMetrics = getCommandContext().getCommandMetrics();
+    if (commandMetrics != null) {
+      commandMetrics.entityCacheLookup(getManagedEntityClass(), cachedEntity != null);
+    }
     if (cachedEntity != null) {
       return cachedEntity;
     }
@@ -182,7 +187,7 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     
     DbSqlSession dbSqlSession = getDbSqlSession();
     
-    List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects.size());
+    List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects != null ? cachedObjects.size() : 1);
     if (cachedObjects != null && entityMatcher != null) {
       for (CachedEntity cachedObject : cachedObjects) {
         EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
@@ -23,6 +23,8 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
   
   List<ByteArrayEntity> findAll();
   
+  List<ByteArrayEntity> findVariableByteArraysByProcessInstanceId(String processInstanceId);
+  
   void deleteByteArrayNoRevisionCheck(String byteArrayEntityId);
   
 }
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.EventSubscriptionQueryImpl;
@@ -40,6 +41,9 @@ public interface EventSubscriptionDataManager extends DataManager<EventSubscript
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventName(final String eventName, final String tenantId);
 
+  List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(final String eventName, final String tenantId, 
+      final String afterId, final String lastId, final Date createdBefore, final int maxResults);
+
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName);
 
   List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByNameAndExecution(final String name, final String executionId);
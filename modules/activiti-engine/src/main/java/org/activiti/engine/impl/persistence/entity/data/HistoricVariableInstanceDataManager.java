@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,8 @@ public interface HistoricVariableInstanceDataManager extends DataManager<Histori
   
   List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByTaskId(String taskId);
   
+  List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds, Collection<String> names);
+  
   long findHistoricVariableInstanceCountByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery);
 
   List<HistoricVariableInstance> findHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery, Page page);
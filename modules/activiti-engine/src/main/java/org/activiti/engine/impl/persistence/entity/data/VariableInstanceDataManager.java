@@ -30,6 +30,10 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
   List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId);
   
   List<VariableInstanceEntity> findVariableInstancesByExecutionIds(Set<String> executionIds);
+  
+  List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId);
+  
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId);
 
   VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName);
 
@@ -38,5 +42,7 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
   VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
+
+  List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndProcessInstanceIds(Collection<String> taskIds, Collection<String> processInstanceIds, Collection<String> names);
   
 }
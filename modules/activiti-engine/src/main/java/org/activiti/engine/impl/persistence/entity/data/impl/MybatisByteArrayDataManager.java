@@ -45,6 +45,12 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     return getDbSqlSession().selectList("selectByteArrays");
   }
   
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<ByteArrayEntity> findVariableByteArraysByProcessInstanceId(String processInstanceId) {
+    return getDbSqlSession().selectList("selectVariableByteArraysByProcessInstanceId", processInstanceId);
+  }
+  
   @Override
   public void deleteByteArrayNoRevisionCheck(String byteArrayEntityId) {
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -149,6 +150,24 @@ public class MybatisEventSubscriptionDataManager extends AbstractDataManager<Eve
     return toSignalEventSubscriptionEntityList(result);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAndIdRange(final String eventName, final String tenantId, 
+      final String afterId, final String lastId, final Date createdBefore, final int maxResults) {
+    
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    if (tenantId != null && !tenantId.equals(ProcessEngineConfiguration.NO_TENANT_ID)) {
+      params.put("tenantId", tenantId);
+    }
+    params.put("afterId", afterId);
+    params.put("lastId", lastId);
+    params.put("createdBefore", createdBefore);
+    
+    List<EventSubscriptionEntity> result = getDbSqlSession().selectList("selectSignalEventSubscriptionsByEventNameAndIdRange", params, 0, maxResults);
+    return toSignalEventSubscriptionEntityList(result);
+  }
+
   @Override
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByProcessInstanceAndEventName(final String processInstanceId, final String eventName) {
     final String query = "selectSignalEventSubscriptionsByProcessInstanceAndEventName";
@@ -12,6 +12,8 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -65,6 +67,15 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
     return getList("selectHistoricVariableInstanceByTaskId", taskId, historicVariableInstanceByTaskIdMatcher, true);
   }
   
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("processInstanceIds", processInstanceIds);
+    params.put("names", names);
+    return getDbSqlSession().selectList("selectHistoricVariableInstancesByProcessInstanceIds", params);
+  }
+  
   @Override
   public long findHistoricVariableInstanceCountByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery) {
     return (Long) getDbSqlSession().selectOne("selectHistoricVariableInstanceCountByQueryCriteria", historicProcessVariableQuery);
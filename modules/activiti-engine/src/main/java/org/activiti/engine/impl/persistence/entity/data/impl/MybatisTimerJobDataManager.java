@@ -66,6 +66,9 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
   @SuppressWarnings("unchecked")
   public List<TimerJobEntity> findTimerJobsToExecute(Page page) {
     Date now = getClock().getCurrentTime();
+    if (getDbSqlSession().getDbSqlSessionFactory().isSkipLockedJobAcquisitionEnabled()) {
+      return getDbSqlSession().selectList("selectTimerJobsToExecuteSkipLocked", now, page);
+    }
     return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
   }
   
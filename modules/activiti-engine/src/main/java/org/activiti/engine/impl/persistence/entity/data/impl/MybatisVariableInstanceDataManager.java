@@ -24,6 +24,8 @@ import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionVariableByExecutionIdMatcher;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionVariableByProcessInstanceIdMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariableByExecutionIdMatcher;
 
 /**
@@ -32,6 +34,10 @@ import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.Variab
 public class MybatisVariableInstanceDataManager extends AbstractDataManager<VariableInstanceEntity> implements VariableInstanceDataManager {
   
   protected CachedEntityMatcher<VariableInstanceEntity> variableInstanceEntity = new VariableByExecutionIdMatcher();
+  
+  protected CachedEntityMatcher<VariableInstanceEntity> executionVariableByProcessInstanceIdMatcher = new ExecutionVariableByProcessInstanceIdMatcher();
+  
+  protected CachedEntityMatcher<VariableInstanceEntity> executionVariableByExecutionIdMatcher = new ExecutionVariableByExecutionIdMatcher();
 
   public MybatisVariableInstanceDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
@@ -72,6 +78,16 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariablesByExecutionIds", executionIds);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceId(String processInstanceId) {
+    return getList("selectVariablesByProcessInstanceId", processInstanceId, executionVariableByProcessInstanceIdMatcher, true);
+  }
+  
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdFromCache(String executionId) {
+    return getListFromCache(executionVariableByExecutionIdMatcher, executionId);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByExecutionAndName(String executionId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
@@ -89,6 +105,16 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariableInstancesByExecutionAndNames", params);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdsAndProcessInstanceIds(Collection<String> taskIds, Collection<String> processInstanceIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("taskIds", taskIds);
+    params.put("processInstanceIds", processInstanceIds);
+    params.put("names", names);
+    return getDbSqlSession().selectList("selectVariablesByTaskIdsAndProcessInstanceIds", params);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
@@ -72,6 +72,15 @@ public class ExecutionGraphUtil {
     // Fetch source and target elements
     Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
 
+    // Precomputed at deploy time for the inclusive gateways
+    ReachabilityTable reachabilityTable = ProcessDefinitionUtil.getReachabilityTableFromCache(processDefinitionId);
+    if (reachabilityTable != null) {
+      Boolean reachable = reachabilityTable.isReachable(sourceElementId, targetElementId);
+      if (reachable != null) {
+        return reachable;
+      }
+    }
+
     FlowElement sourceFlowElement = process.getFlowElement(sourceElementId, true);
     FlowNode sourceElement = null;
     if (sourceFlowElement instanceof FlowNode) {
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * The executions of a process instance as they were at one moment of a command, indexed by activity id and 
+ * by parent execution id.
+ * 
+ * The snapshot doesn't follow later changes to the executions: it is meant to be taken, used and thrown away 
+ * within one evaluation, for example of a gateway join.
+ */
+public class ExecutionTreeSnapshot {
+
+  protected Map<String, List<ExecutionEntity>> executionsByActivityId = new LinkedHashMap<String, List<ExecutionEntity>>();
+  protected Map<String, List<ExecutionEntity>> executionsByParentId = new LinkedHashMap<String, List<ExecutionEntity>>();
+
+  public ExecutionTreeSnapshot(Collection<ExecutionEntity> executions) {
+    for (ExecutionEntity execution : executions) {
+      addToIndex(executionsByActivityId, execution.getActivityId(), execution);
+      addToIndex(executionsByParentId, execution.getParentId(), execution);
+    }
+  }
+
+  protected void addToIndex(Map<String, List<ExecutionEntity>> index, String key, ExecutionEntity execution) {
+    List<ExecutionEntity> executions = index.get(key);
+    if (executions == null) {
+      executions = new ArrayList<ExecutionEntity>(1);
+      index.put(key, executions);
+    }
+    executions.add(execution);
+  }
+
+  /**
+   * @return the ids of the activities that have at least one execution, in the order the executions were found.
+   */
+  public Set<String> getActivityIds() {
+    return Collections.unmodifiableSet(executionsByActivityId.keySet());
+  }
+
+  public List<ExecutionEntity> getExecutionsInActivity(String activityId) {
+    List<ExecutionEntity> executions = executionsByActivityId.get(activityId);
+    return executions != null ? Collections.unmodifiableList(executions) : Collections.<ExecutionEntity>emptyList();
+  }
+
+  public List<ExecutionEntity> getInactiveExecutionsInActivity(String activityId) {
+    List<ExecutionEntity> inactiveExecutions = new ArrayList<ExecutionEntity>();
+    for (ExecutionEntity execution : getExecutionsInActivity(activityId)) {
+      if (!execution.isActive()) {
+        inactiveExecutions.add(execution);
+      }
+    }
+    return inactiveExecutions;
+  }
+
+  public boolean hasActiveExecutionInActivity(String activityId) {
+    for (ExecutionEntity execution : getExecutionsInActivity(activityId)) {
+      if (execution.isActive()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public List<ExecutionEntity> getChildExecutions(String parentExecutionId) {
+    List<ExecutionEntity> executions = executionsByParentId.get(parentExecutionId);
+    return executions != null ? Collections.unmodifiableList(executions) : Collections.<ExecutionEntity>emptyList();
+  }
+
+}
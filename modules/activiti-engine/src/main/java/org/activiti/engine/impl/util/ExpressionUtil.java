@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+
+/**
+ * Gives access to the expressions that were compiled when the process definition was parsed.
+ * 
+ * Expression texts that are not part of the parsed process definition, like values overridden 
+ * through the {@link org.activiti.engine.DynamicBpmnService}, are never cached and compiled on every call.
+ */
+public class ExpressionUtil {
+
+  public static Expression getExpression(String processDefinitionId, String expressionText) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processDefinitionId != null) {
+      ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinitionId);
+      if (cacheEntry != null) {
+        Expression expression = cacheEntry.getCompiledExpression(expressionText);
+        if (expression != null) {
+          return expression;
+        }
+      }
+    }
+    return processEngineConfiguration.getExpressionManager().createExpression(expressionText);
+  }
+
+}
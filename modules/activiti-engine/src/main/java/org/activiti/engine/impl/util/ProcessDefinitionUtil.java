@@ -84,6 +84,22 @@ public class ProcessDefinitionUtil {
     return null;
   }
   
+  /**
+   * @return the reachability table of the cached process definition, or null when the process definition 
+   *         isn't cached or has no table.
+   */
+  public static ReachabilityTable getReachabilityTableFromCache(String processDefinitionId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration == null) {
+      return null;
+    }
+    ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinitionId);
+    if (cacheEntry != null) {
+      return cacheEntry.getReachabilityTable();
+    }
+    return null;
+  }
+  
   public static boolean isProcessDefinitionSuspended(String processDefinitionId) {
     ProcessDefinitionEntity processDefinition = getProcessDefinitionFromDatabase(processDefinitionId);
     return processDefinition.isSuspended();
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.SubProcess;
+
+/**
+ * Precomputed answers of {@link ExecutionGraphUtil#isReachable(String, String, String)} for a fixed set of target 
+ * elements of a process, so that the check becomes a lookup instead of a walk over the graph.
+ * 
+ * For every flow node and sequence flow of the process, the table keeps the set of targets that can be reached
+ * from it, following the same rules as the graph walk: an element without outgoing sequence flow continues 
+ * with its parent sub process.
+ */
+public class ReachabilityTable {
+
+  protected Map<String, Integer> targetIndexes = new HashMap<String, Integer>();
+  protected Map<String, BitSet> reachableTargets = new HashMap<String, BitSet>();
+
+  /**
+   * @return the table with the inclusive gateways of the process as targets, or null when the process has none.
+   */
+  public static ReachabilityTable forInclusiveGateways(Process process) {
+    List<InclusiveGateway> inclusiveGateways = process.findFlowElementsOfType(InclusiveGateway.class, true);
+    if (inclusiveGateways.isEmpty()) {
+      return null;
+    }
+    return new ReachabilityTable(process, inclusiveGateways);
+  }
+
+  public ReachabilityTable(Process process, List<? extends FlowNode> targets) {
+    for (FlowNode target : targets) {
+      if (!targetIndexes.containsKey(target.getId())) {
+        targetIndexes.put(target.getId(), targetIndexes.size());
+      }
+    }
+
+    List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class, true);
+    Map<String, FlowNode> continuations = new HashMap<String, FlowNode>(flowNodes.size());
+    for (FlowNode flowNode : flowNodes) {
+      continuations.put(flowNode.getId(), getContinuation(process, flowNode));
+    }
+
+    for (FlowNode flowNode : flowNodes) {
+      reachableTargets.put(flowNode.getId(), computeReachableTargets(process, flowNode, continuations));
+    }
+
+    for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class, true)) {
+      BitSet targetReachableTargets = reachableTargets.get(sequenceFlow.getTargetRef());
+      if (targetReachableTargets != null) {
+        reachableTargets.put(sequenceFlow.getId(), targetReachableTargets);
+      }
+    }
+  }
+
+  /**
+   * @return the element from which the walk continues: the element itself, its parent sub process when it 
+   *         has no outgoing sequence flow, or null when it is the end of the process.
+   */
+  protected FlowNode getContinuation(Process process, FlowNode flowNode) {
+    if (!flowNode.getOutgoingFlows().isEmpty()) {
+      return flowNode;
+    }
+    FlowElementsContainer parentElement = process.findParent(flowNode);
+    if (parentElement instanceof SubProcess) {
+      return (SubProcess) parentElement;
+    }
+    return null;
+  }
+
+  protected BitSet computeReachableTargets(Process process, FlowNode source, Map<String, FlowNode> continuations) {
+    BitSet result = new BitSet(targetIndexes.size());
+    Set<String> visitedElements = new HashSet<String>();
+    Deque<FlowNode> flowNodesToVisit = new ArrayDeque<FlowNode>();
+    visitedElements.add(source.getId());
+    flowNodesToVisit.add(source);
+
+    while (!flowNodesToVisit.isEmpty()) {
+      FlowNode continuation = continuations.get(flowNodesToVisit.poll().getId());
+      if (continuation == null) {
+        continue;
+      }
+
+      Integer targetIndex = targetIndexes.get(continuation.getId());
+      if (targetIndex != null) {
+        result.set(targetIndex);
+      }
+
+      for (SequenceFlow sequenceFlow : continuation.getOutgoingFlows()) {
+        FlowElement sequenceFlowTarget = process.getFlowElement(sequenceFlow.getTargetRef(), true);
+        if (sequenceFlowTarget instanceof FlowNode && visitedElements.add(sequenceFlowTarget.getId())) {
+          flowNodesToVisit.add((FlowNode) sequenceFlowTarget);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return whether the target can be reached from the source, or null when the table doesn't know the source 
+   *         or the target, in which case the graph needs to be walked.
+   */
+  public Boolean isReachable(String sourceElementId, String targetElementId) {
+    Integer targetIndex = targetIndexes.get(targetElementId);
+    BitSet sourceReachableTargets = reachableTargets.get(sourceElementId);
+    if (targetIndex == null || sourceReachableTargets == null) {
+      return null;
+    }
+    return sourceReachableTargets.get(targetIndex);
+  }
+
+  public boolean isTarget(String elementId) {
+    return targetIndexes.containsKey(elementId);
+  }
+
+}
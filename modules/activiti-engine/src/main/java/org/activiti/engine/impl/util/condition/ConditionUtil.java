@@ -7,6 +7,7 @@ import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.impl.Condition;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.el.UelExpressionCondition;
+import org.activiti.engine.impl.util.ExpressionUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -29,7 +30,7 @@ public class ConditionUtil {
     
     if (StringUtils.isNotEmpty(conditionExpression)) {
 
-      Expression expression = Context.getProcessEngineConfiguration().getExpressionManager().createExpression(conditionExpression);
+      Expression expression = ExpressionUtil.getExpression(execution.getProcessDefinitionId(), conditionExpression);
       Condition condition = new UelExpressionCondition(expression);
       if (condition.evaluate(sequenceFlow.getId(), execution)) {
         return true;
@@ -0,0 +1,122 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.activiti.engine.ActivitiException;
+
+/**
+ * Compresses the byte array values of the compact variable types with Deflate, once they reach the compression threshold.
+ * 
+ * Compressed values start with a header of two bytes: a 0 byte (which is never the first byte of a Java serialization 
+ * stream or of JSON text) followed by the format. Values without that header are stored and read as is, so the
+ * values written by {@link SerializableType} and {@link LongJsonType} can be read as well.
+ */
+public class CompactByteArrayCodec {
+
+  protected static final byte HEADER_MARKER = 0;
+  protected static final byte FORMAT_DEFLATE = 1;
+  protected static final int HEADER_LENGTH = 2;
+  protected static final int BUFFER_SIZE = 8192;
+
+  protected int compressionThreshold;
+  protected int compressionLevel;
+
+  public CompactByteArrayCodec(int compressionThreshold) {
+    this(compressionThreshold, Deflater.BEST_SPEED);
+  }
+
+  public CompactByteArrayCodec(int compressionThreshold, int compressionLevel) {
+    this.compressionThreshold = compressionThreshold;
+    this.compressionLevel = compressionLevel;
+  }
+
+  public byte[] encode(byte[] bytes) {
+    if (bytes == null || bytes.length < compressionThreshold) {
+      return bytes;
+    }
+    byte[] compressedBytes = compress(bytes);
+    return compressedBytes != null ? compressedBytes : bytes;
+  }
+
+  public byte[] decode(byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != HEADER_MARKER) {
+      return bytes;
+    }
+    if (bytes[1] != FORMAT_DEFLATE) {
+      throw new ActivitiException("Unknown compression format " + bytes[1] + " of variable value");
+    }
+    return decompress(bytes);
+  }
+
+  /**
+   * @return the compressed bytes, including the header, or null when compressing doesn't make the value smaller.
+   */
+  protected byte[] compress(byte[] bytes) {
+    Deflater deflater = new Deflater(compressionLevel);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.min(bytes.length, BUFFER_SIZE));
+      outputStream.write(HEADER_MARKER);
+      outputStream.write(FORMAT_DEFLATE);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, count);
+        if (outputStream.size() >= bytes.length) {
+          return null;
+        }
+      }
+      return outputStream.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  protected byte[] decompress(byte[] bytes) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+      byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new ActivitiException("Compressed variable value is truncated");
+        }
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    } catch (DataFormatException e) {
+      throw new ActivitiException("Could not decompress variable value", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  public int getCompressionLevel() {
+    return compressionLevel;
+  }
+
+}
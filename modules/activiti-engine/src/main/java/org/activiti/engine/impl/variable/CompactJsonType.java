@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+import org.activiti.engine.ActivitiException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores the JSON values that are too long for {@link JsonType} like {@link LongJsonType}, but compresses the 
+ * UTF-8 encoded JSON once it reaches the compression threshold of the {@link CompactByteArrayCodec}.
+ */
+public class CompactJsonType extends LongJsonType {
+
+  public static final String TYPE_NAME = "compactJson";
+
+  protected CompactByteArrayCodec codec;
+
+  public CompactJsonType(int minLength, ObjectMapper objectMapper, int compressionThreshold) {
+    super(minLength, objectMapper);
+    this.codec = new CompactByteArrayCodec(compressionThreshold);
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return codec.encode(objectMapper.writeValueAsBytes(value));
+    } catch (Exception e) {
+      throw new ActivitiException("Error getting bytes from json variable", e);
+    }
+  }
+
+  public byte[] getJsonBytes(byte[] bytes) {
+    return codec.decode(bytes);
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    return super.deserialize(codec.decode(bytes), valueFields);
+  }
+
+}
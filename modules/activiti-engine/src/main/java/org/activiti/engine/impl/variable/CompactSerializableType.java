@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.variable;
+
+/**
+ * Stores {@link java.io.Serializable} values like {@link SerializableType}, but compresses the serialized form
+ * once it reaches the compression threshold of the {@link CompactByteArrayCodec}.
+ */
+public class CompactSerializableType extends SerializableType {
+
+  public static final String TYPE_NAME = "compactSerializable";
+
+  protected CompactByteArrayCodec codec;
+
+  public CompactSerializableType(boolean trackDeserializedObjects, int compressionThreshold) {
+    super(trackDeserializedObjects);
+    this.codec = new CompactByteArrayCodec(compressionThreshold);
+  }
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public byte[] serialize(Object value, ValueFields valueFields) {
+    return codec.encode(super.serialize(value, valueFields));
+  }
+
+  public Object deserialize(byte[] bytes, ValueFields valueFields) {
+    return super.deserialize(codec.decode(bytes), valueFields);
+  }
+
+}
@@ -59,6 +59,13 @@ public class LongJsonType extends SerializableType {
     }
   }
   
+  /**
+   * @return the UTF-8 encoded JSON held by the given stored bytes.
+   */
+  public byte[] getJsonBytes(byte[] bytes) {
+    return bytes;
+  }
+
   public Object deserialize(byte[] bytes, ValueFields valueFields) {
     JsonNode valueNode = null;
     try {
@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.query;
+
+import java.util.List;
+
+/**
+ * One page of results of a {@link KeysetQuery}, with the cursor to fetch the next page.
+ */
+public class KeysetPage<U extends Object> {
+
+  protected List<U> results;
+  protected QueryCursor nextCursor;
+
+  public KeysetPage(List<U> results, QueryCursor nextCursor) {
+    this.results = results;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<U> getResults() {
+    return results;
+  }
+
+  /**
+   * @return the cursor to pass to {@link KeysetQuery#listPageAfter(QueryCursor, int)} for the next page, 
+   *         or null when this is the last page.
+   */
+  public QueryCursor getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasNextPage() {
+    return nextCursor != null;
+  }
+
+}
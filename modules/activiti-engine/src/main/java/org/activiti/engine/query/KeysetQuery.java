@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.query;
+
+/**
+ * A query that can be paged by position ("keyset" or "seek" paging): each page starts right after the last row 
+ * of the previous page, instead of skipping a number of rows. The cost of a page doesn't grow with its depth.
+ * 
+ * The query must be ordered by at most one property, and only by the properties the query supports for this 
+ * kind of paging (typically the id and a creation or start time). The id is always added as last order column, 
+ * so that rows with the same value for the property get a stable order.
+ */
+public interface KeysetQuery<U extends Object> {
+
+  /**
+   * Executes the query and returns at most maxResults results, starting after the given cursor.
+   * 
+   * @param cursor
+   *          the {@link KeysetPage#getNextCursor()} of the previous page, or null for the first page.
+   * @throws org.activiti.engine.ActivitiIllegalArgumentException
+   *           when the query is ordered in a way that doesn't allow this kind of paging.
+   */
+  KeysetPage<U> listPageAfter(QueryCursor cursor, int maxResults);
+
+}
@@ -14,6 +14,8 @@ package org.activiti.engine.task;
 
 import java.util.List;
 
+import org.activiti.engine.query.KeysetQuery;
+
 /**
  * Allows programmatic querying of {@link Task}s;
  * 
@@ -21,7 +23,7 @@ import java.util.List;
  * @author Falko Menge
  * @author Tijs Rademakers
  */
-public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
+public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task>, KeysetQuery<Task> {
 
   /** Only select tasks which don't have an assignee. */
   TaskQuery taskUnassigned();
@@ -48,4 +50,16 @@ public interface TaskQuery extends TaskInfoQuery<TaskQuery, Task> {
    * Only selects tasks which are active (ie. not suspended)
    */
   TaskQuery active();
+
+  /**
+   * Fetches the variables included with {@link #includeTaskLocalVariables()} or {@link #includeProcessVariables()} in a second query for
+   * the tasks of the requested page, instead of joining them in the task query. The paging is then done by the database and
+   * {@link #limitTaskVariables(Integer)} no longer caps the result.
+   */
+  TaskQuery fetchVariablesSeparately();
+
+  /**
+   * Only includes the task local and process variables with the given names. Implies {@link #fetchVariablesSeparately()}.
+   */
+  TaskQuery limitIncludedVariables(String... variableNames);
 }
@@ -22,6 +22,7 @@ import javax.el.MapELResolver;
 
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.el.LazyJsonELResolver;
 import org.activiti.engine.impl.el.VariableScopeElResolver;
 
 public class MockExpressionManager extends ExpressionManager {
@@ -34,6 +35,7 @@ public class MockExpressionManager extends ExpressionManager {
     compositeElResolver.add(new ArrayELResolver());
     compositeElResolver.add(new ListELResolver());
     compositeElResolver.add(new MapELResolver());
+    compositeElResolver.add(new LazyJsonELResolver());
     compositeElResolver.add(new BeanELResolver());
     return compositeElResolver;
   }
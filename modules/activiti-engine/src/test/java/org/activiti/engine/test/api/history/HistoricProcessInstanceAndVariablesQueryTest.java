@@ -183,6 +183,43 @@ public class HistoricProcessInstanceAndVariablesQueryTest extends PluggableActiv
     }
   }
   
+  public void testQueryWithVariablesFetchedSeparately() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      List<HistoricProcessInstance> instanceList = historyService.createHistoricProcessInstanceQuery().includeProcessVariables().fetchVariablesSeparately()
+          .processDefinitionKey(PROCESS_DEFINITION_KEY).orderByProcessInstanceId().asc().list();
+      assertEquals(4, instanceList.size());
+      for (HistoricProcessInstance processInstance : instanceList) {
+        Map<String, Object> variableMap = processInstance.getProcessVariables();
+        assertEquals(2, variableMap.size());
+        assertEquals("test", variableMap.get("test"));
+        assertEquals("test2", variableMap.get("test2"));
+      }
+
+      // the process instances are paged by the database
+      List<HistoricProcessInstance> pagedList = historyService.createHistoricProcessInstanceQuery().includeProcessVariables().fetchVariablesSeparately()
+          .processDefinitionKey(PROCESS_DEFINITION_KEY).orderByProcessInstanceId().asc().listPage(1, 2);
+      assertEquals(2, pagedList.size());
+      assertEquals(instanceList.get(1).getId(), pagedList.get(0).getId());
+      assertEquals(instanceList.get(2).getId(), pagedList.get(1).getId());
+      assertEquals(2, pagedList.get(0).getProcessVariables().size());
+
+      instanceList = historyService.createHistoricProcessInstanceQuery().includeProcessVariables().limitIncludedVariables("test2", "anothertest").list();
+      assertEquals(6, instanceList.size());
+      for (HistoricProcessInstance processInstance : instanceList) {
+        Map<String, Object> variableMap = processInstance.getProcessVariables();
+        if (PROCESS_DEFINITION_KEY.equals(processInstance.getProcessDefinitionKey())) {
+          assertEquals(1, variableMap.size());
+          assertEquals("test2", variableMap.get("test2"));
+        } else if (PROCESS_DEFINITION_KEY_2.equals(processInstance.getProcessDefinitionKey())) {
+          assertEquals(1, variableMap.size());
+          assertEquals(123, variableMap.get("anothertest"));
+        } else {
+          assertEquals(0, variableMap.size());
+        }
+      }
+    }
+  }
+
   public void testQueryByprocessDefinition() {
     if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
         // DeploymentId
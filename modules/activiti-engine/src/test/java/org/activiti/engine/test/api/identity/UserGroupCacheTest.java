@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.identity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.identity.DefaultUserGroupCache;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+
+public class UserGroupCacheTest extends PluggableActivitiTestCase {
+
+  protected DefaultUserGroupCache userGroupCache;
+  protected List<String> taskIds = new ArrayList<String>();
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    userGroupCache = new DefaultUserGroupCache(2, 60000L, processEngineConfiguration.getClock());
+    processEngineConfiguration.setUserGroupCache(userGroupCache);
+
+    identityService.saveUser(identityService.newUser("kermit"));
+    identityService.saveGroup(identityService.newGroup("management"));
+    identityService.saveGroup(identityService.newGroup("accountancy"));
+    identityService.createMembership("kermit", "management");
+
+    taskIds.add(createCandidateGroupTask("management"));
+    taskIds.add(createCandidateGroupTask("accountancy"));
+  }
+
+  protected void tearDown() throws Exception {
+    try {
+      taskService.deleteTasks(taskIds, true);
+      identityService.deleteGroup("accountancy");
+      identityService.deleteGroup("management");
+      identityService.deleteUser("kermit");
+    } finally {
+      processEngineConfiguration.setUserGroupCache(null);
+      processEngineConfiguration.getClock().reset();
+      super.tearDown();
+    }
+  }
+
+  protected String createCandidateGroupTask(String groupId) {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    taskService.addCandidateGroup(task.getId(), groupId);
+    return task.getId();
+  }
+
+  public void testCandidateGroupsAreCached() {
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(0, userGroupCache.getHitCount());
+    assertEquals(1, userGroupCache.getMissCount());
+
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(1, taskService.createTaskQuery().taskCandidateOrAssigned("kermit").count());
+    assertEquals(2, userGroupCache.getHitCount());
+    assertEquals(1, userGroupCache.getMissCount());
+  }
+
+  public void testMembershipChangesInvalidateCache() {
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+
+    identityService.createMembership("kermit", "accountancy");
+    assertEquals(2, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+
+    identityService.deleteMembership("kermit", "management");
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+
+    identityService.deleteGroup("accountancy");
+    assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(0, userGroupCache.getHitCount());
+    assertEquals(4, userGroupCache.getMissCount());
+  }
+
+  public void testExternalInvalidation() {
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+
+    // Groups changed in an external identity management system
+    List<Group> groups = new ArrayList<Group>();
+    groups.add(identityService.newGroup("accountancy"));
+    userGroupCache.add("kermit", groups);
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(taskIds.get(1), taskService.createTaskQuery().taskCandidateUser("kermit").singleResult().getId());
+
+    userGroupCache.invalidate("kermit");
+    assertEquals(taskIds.get(0), taskService.createTaskQuery().taskCandidateUser("kermit").singleResult().getId());
+
+    processEngineConfiguration.getUserGroupCache().invalidateAll();
+    assertEquals(0, userGroupCache.size());
+  }
+
+  public void testExpiration() {
+    Date now = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(now);
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertNotNull(userGroupCache.get("kermit"));
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 59999L));
+    assertNotNull(userGroupCache.get("kermit"));
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + 60000L));
+    assertNull(userGroupCache.get("kermit"));
+    assertEquals(0, userGroupCache.size());
+  }
+
+  public void testLeastRecentlyUsedUserIsEvicted() {
+    List<Group> groups = new ArrayList<Group>();
+    userGroupCache.add("kermit", groups);
+    userGroupCache.add("fozzie", groups);
+    assertNotNull(userGroupCache.get("kermit"));
+
+    userGroupCache.add("gonzo", groups);
+    assertEquals(2, userGroupCache.size());
+    assertEquals(1, userGroupCache.getEvictionCount());
+    assertNotNull(userGroupCache.get("kermit"));
+    assertNull(userGroupCache.get("fozzie"));
+    assertNotNull(userGroupCache.get("gonzo"));
+  }
+
+}
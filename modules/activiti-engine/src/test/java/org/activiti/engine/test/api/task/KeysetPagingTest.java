@@ -0,0 +1,185 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.task;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricTaskInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.query.KeysetPage;
+import org.activiti.engine.query.KeysetQuery;
+import org.activiti.engine.query.QueryCursor;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class KeysetPagingTest extends PluggableActivitiTestCase {
+
+  protected void tearDown() throws Exception {
+    for (Task task : taskService.createTaskQuery().list()) {
+      if (task.getProcessInstanceId() == null) {
+        taskService.deleteTask(task.getId(), true);
+      }
+    }
+    processEngineConfiguration.getClock().reset();
+    super.tearDown();
+  }
+
+  public void testTaskQueryByCreateTime() {
+    createTasks();
+
+    List<String> expectedIds = taskIds(taskService.createTaskQuery().orderByTaskCreateTime().desc().orderByTaskId().desc().list());
+    assertEquals(8, expectedIds.size());
+    assertEquals(expectedIds, pageThrough(taskService.createTaskQuery().orderByTaskCreateTime().desc(), 3));
+
+    expectedIds = taskIds(taskService.createTaskQuery().orderByTaskCreateTime().asc().orderByTaskId().asc().list());
+    assertEquals(expectedIds, pageThrough(taskService.createTaskQuery().orderByTaskCreateTime().asc(), 3));
+  }
+
+  public void testTaskQueryByPriorityWithCriteria() {
+    createTasks();
+
+    List<String> expectedIds = taskIds(taskService.createTaskQuery().taskNameLike("odd%").orderByTaskPriority().asc().orderByTaskId().asc().list());
+    assertEquals(4, expectedIds.size());
+    assertEquals(expectedIds, pageThrough(taskService.createTaskQuery().taskNameLike("odd%").orderByTaskPriority().asc(), 3));
+  }
+
+  public void testTaskQueryById() {
+    createTasks();
+
+    List<String> expectedIds = taskIds(taskService.createTaskQuery().orderByTaskId().asc().list());
+    assertEquals(expectedIds, pageThrough(taskService.createTaskQuery(), 5));
+    assertEquals(expectedIds, pageThrough(taskService.createTaskQuery().orderByTaskId().asc(), 8));
+
+    KeysetPage<Task> page = taskService.createTaskQuery().orderByTaskId().asc().listPageAfter(null, 8);
+    assertEquals(8, page.getResults().size());
+    assertFalse(page.hasNextPage());
+  }
+
+  public void testCountIgnoresCursor() {
+    createTasks();
+
+    KeysetQuery<Task> query = taskService.createTaskQuery().orderByTaskCreateTime().asc();
+    KeysetPage<Task> page = query.listPageAfter(null, 3);
+    page = query.listPageAfter(page.getNextCursor(), 3);
+    assertEquals(3, page.getResults().size());
+    assertEquals(8, taskService.createTaskQuery().count());
+  }
+
+  public void testUnsupportedOrder() {
+    try {
+      taskService.createTaskQuery().orderByTaskName().asc().listPageAfter(null, 10);
+      fail("Exception expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      taskService.createTaskQuery().orderByTaskCreateTime().asc().orderByTaskPriority().asc().listPageAfter(null, 10);
+      fail("Exception expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      // expected
+    }
+
+    try {
+      taskService.createTaskQuery().orderByTaskCreateTime().asc().listPageAfter(new QueryCursor(null, "1"), 10);
+      fail("Exception expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  public void testHistoricTaskInstanceQuery() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      return;
+    }
+    createTasks();
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (HistoricTaskInstance historicTaskInstance : historyService.createHistoricTaskInstanceQuery()
+        .orderByHistoricTaskInstanceStartTime().desc().orderByTaskId().desc().list()) {
+      expectedIds.add(historicTaskInstance.getId());
+    }
+    assertEquals(8, expectedIds.size());
+    assertEquals(expectedIds, pageThrough(historyService.createHistoricTaskInstanceQuery().orderByHistoricTaskInstanceStartTime().desc(), 3));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testHistoricProcessInstanceQuery() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+    Date now = processEngineConfiguration.getClock().getCurrentTime();
+    for (int i = 0; i < 7; i++) {
+      // Pairs of process instances with the same start time
+      processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc().orderByProcessInstanceId().asc().list()) {
+      expectedIds.add(historicProcessInstance.getId());
+    }
+    assertEquals(7, expectedIds.size());
+    assertEquals(expectedIds, pageThrough(historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().asc(), 2));
+  }
+
+  protected void createTasks() {
+    Date now = processEngineConfiguration.getClock().getCurrentTime();
+    for (int i = 0; i < 8; i++) {
+      // Pairs of tasks with the same create time and priority, to check the order on id
+      processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (i / 2) * 1000L));
+      Task task = taskService.newTask();
+      task.setName(i % 2 == 0 ? "even" + i : "odd" + i);
+      task.setPriority(i / 2);
+      taskService.saveTask(task);
+    }
+  }
+
+  protected <U> List<String> pageThrough(KeysetQuery<U> query, int pageSize) {
+    List<String> ids = new ArrayList<String>();
+    QueryCursor cursor = null;
+    do {
+      KeysetPage<U> page = query.listPageAfter(cursor, pageSize);
+      assertTrue(page.getResults().size() <= pageSize);
+      for (U result : page.getResults()) {
+        ids.add(getId(result));
+      }
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+    return ids;
+  }
+
+  protected String getId(Object result) {
+    if (result instanceof Task) {
+      return ((Task) result).getId();
+    } else if (result instanceof HistoricTaskInstance) {
+      return ((HistoricTaskInstance) result).getId();
+    }
+    return ((HistoricProcessInstance) result).getId();
+  }
+
+  protected List<String> taskIds(List<Task> tasks) {
+    List<String> ids = new ArrayList<String>();
+    for (Task task : tasks) {
+      ids.add(task.getId());
+    }
+    return ids;
+  }
+
+}
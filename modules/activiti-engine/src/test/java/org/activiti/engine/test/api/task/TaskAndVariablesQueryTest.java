@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.task.Task;
 import org.activiti.engine.task.TaskQuery;
@@ -165,6 +166,63 @@ public class TaskAndVariablesQueryTest extends PluggableActivitiTestCase {
     assertEquals(0, tasks.size());
   }
   
+  @Deployment(resources = "org/activiti/engine/test/api/task/TaskAndVariablesQueryTest.testQuery.bpmn20.xml")
+  public void testQueryWithVariablesFetchedSeparately() {
+    Map<String, Object> startMap = new HashMap<String, Object>();
+    startMap.put("processVar", true);
+    startMap.put("binaryVariable", "This is a binary process variable".getBytes());
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", startMap);
+
+    Task task = taskService.createTaskQuery().taskAssignee("kermit").singleResult();
+    taskService.setVariable(task.getId(), "anotherProcessVar", 123);
+    taskService.setVariableLocal(task.getId(), "localVar", "test");
+
+    task = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().fetchVariablesSeparately().taskAssignee("kermit").singleResult();
+    assertEquals(3, task.getProcessVariables().size());
+    assertEquals(1, task.getTaskLocalVariables().size());
+    assertEquals("test", task.getTaskLocalVariables().get("localVar"));
+    assertEquals(true, task.getProcessVariables().get("processVar"));
+    assertEquals(123, task.getProcessVariables().get("anotherProcessVar"));
+    assertEquals("This is a binary process variable", new String((byte[]) task.getProcessVariables().get("binaryVariable")));
+
+    task = taskService.createTaskQuery().includeProcessVariables().fetchVariablesSeparately().taskAssignee("kermit").singleResult();
+    assertEquals(3, task.getProcessVariables().size());
+    assertEquals(0, task.getTaskLocalVariables().size());
+
+    task = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().limitIncludedVariables("processVar", "localVar").taskAssignee("kermit").singleResult();
+    assertEquals(1, task.getProcessVariables().size());
+    assertEquals(true, task.getProcessVariables().get("processVar"));
+    assertEquals(1, task.getTaskLocalVariables().size());
+    assertEquals("test", task.getTaskLocalVariables().get("localVar"));
+
+    // the tasks are paged by the database, and each task only gets its own local variables
+    List<Task> tasks = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().fetchVariablesSeparately().orderByTaskPriority().asc().orderByTaskId().asc().list();
+    assertEquals(4, tasks.size());
+    List<Task> pagedTasks = taskService.createTaskQuery().includeTaskLocalVariables().includeProcessVariables().fetchVariablesSeparately().orderByTaskPriority().asc().orderByTaskId().asc().listPage(1, 2);
+    assertEquals(2, pagedTasks.size());
+    assertEquals(tasks.get(1).getId(), pagedTasks.get(0).getId());
+    assertEquals(tasks.get(2).getId(), pagedTasks.get(1).getId());
+    for (Task pagedTask : pagedTasks) {
+      if ("testTask".equals(pagedTask.getName())) {
+        assertEquals(0, pagedTask.getProcessVariables().size());
+        assertEquals(2, pagedTask.getTaskLocalVariables().size());
+        assertEquals("test", pagedTask.getTaskLocalVariables().get("test"));
+      }
+    }
+
+    tasks = taskService.createTaskQuery().includeTaskLocalVariables().limitIncludedVariables("testVar").taskAssignee("gonzo").list();
+    assertEquals(1, tasks.size());
+    assertEquals(1, tasks.get(0).getTaskLocalVariables().size());
+    assertEquals("someVariable", tasks.get(0).getTaskLocalVariables().get("testVar"));
+
+    try {
+      taskService.createTaskQuery().limitIncludedVariables((String[]) null);
+      fail("ActivitiIllegalArgumentException expected");
+    } catch (ActivitiIllegalArgumentException e) {
+      // expected
+    }
+  }
+
   // Unit test for https://activiti.atlassian.net/browse/ACT-4152
   public void testQueryWithIncludeTaskVariableAndTaskCategory() {
     List<Task> tasks = taskService.createTaskQuery().taskAssignee("gonzo").list();
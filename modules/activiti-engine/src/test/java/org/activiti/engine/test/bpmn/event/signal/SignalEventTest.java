@@ -123,6 +123,55 @@ public class SignalEventTest extends PluggableActivitiTestCase {
 
   }
 
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.catchAlertSignal.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.throwAlertSignal.bpmn20.xml" })
+  public void testAsyncSignalBroadcast() {
+    processEngineConfiguration.setEnableAsyncSignalBroadcast(true);
+    processEngineConfiguration.setAsyncSignalBroadcastBatchSize(2);
+    try {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("catchSignal");
+      }
+      assertEquals(5, createEventSubscriptionQuery().count());
+
+      runtimeService.signalEventReceived("alert");
+
+      // Nothing is delivered in the transaction of the signal
+      assertEquals(5, createEventSubscriptionQuery().count());
+      assertEquals(1, managementService.createJobQuery().count());
+
+      // 3 paging jobs and 3 delivery jobs for 2, 2 and 1 subscriptions
+      assertEquals(6, executeAvailableJobs());
+      assertEquals(0, createEventSubscriptionQuery().count());
+      assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+
+      // Same for a signal throw event
+      runtimeService.startProcessInstanceByKey("catchSignal");
+      runtimeService.startProcessInstanceByKey("throwSignal");
+      assertEquals(1, createEventSubscriptionQuery().count());
+      assertEquals(2, executeAvailableJobs());
+      assertEquals(0, createEventSubscriptionQuery().count());
+      assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+
+    } finally {
+      processEngineConfiguration.setEnableAsyncSignalBroadcast(false);
+      processEngineConfiguration.setAsyncSignalBroadcastBatchSize(100);
+    }
+  }
+
+  protected int executeAvailableJobs() {
+    int executedJobs = 0;
+    List<Job> jobs = managementService.createJobQuery().list();
+    while (!jobs.isEmpty()) {
+      for (Job job : jobs) {
+        managementService.executeJob(job.getId());
+        executedJobs++;
+      }
+      jobs = managementService.createJobQuery().list();
+    }
+    return executedJobs;
+  }
+
   @Deployment(resources = { "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.catchMultipleSignals.bpmn20.xml",
       "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.throwAlertSignal.bpmn20.xml", "org/activiti/engine/test/bpmn/event/signal/SignalEventTests.throwAbortSignal.bpmn20.xml" })
   public void testSignalCatchDifferentSignals() {
@@ -18,8 +18,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.task.Task;
@@ -39,6 +42,28 @@ public class ExclusiveGatewayTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/bpmn/gateway/ExclusiveGatewayTest.testDivergingExclusiveGateway.bpmn20.xml")
+  public void testCompiledConditionExpressions() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().processDefinitionKey("exclusiveGwDiverging").singleResult();
+    ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId());
+    Expression compiledExpression = cacheEntry.getCompiledExpression("${input == 2}");
+    assertNotNull(compiledExpression);
+    assertEquals(3, cacheEntry.getCompiledExpressions().size());
+
+    ProcessInstance pi = runtimeService.startProcessInstanceByKey("exclusiveGwDiverging", CollectionUtil.singletonMap("input", 2));
+    assertEquals("Task 2", taskService.createTaskQuery().singleResult().getName());
+    assertSame(compiledExpression, cacheEntry.getCompiledExpression("${input == 2}"));
+    runtimeService.deleteProcessInstance(pi.getId(), "testing deletion");
+
+    // A dynamic override is not part of the compiled expressions, but is still used
+    if (processEngineConfiguration.isEnableProcessDefinitionInfoCache()) {
+      dynamicBpmnService.saveProcessDefinitionInfo(processDefinition.getId(), dynamicBpmnService.changeSequenceFlowCondition("flow2", "${input == 2}"));
+      pi = runtimeService.startProcessInstanceByKey("exclusiveGwDiverging", CollectionUtil.singletonMap("input", 2));
+      assertEquals("Task 1", taskService.createTaskQuery().singleResult().getName());
+      runtimeService.deleteProcessInstance(pi.getId(), "testing deletion");
+    }
+  }
+
   @Deployment
   public void testSkipExpression() {
     for (int i = 1; i <= 3; i++) {
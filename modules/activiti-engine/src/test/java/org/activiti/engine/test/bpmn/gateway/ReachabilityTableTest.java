@@ -0,0 +1,69 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.bpmn.gateway;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.InclusiveGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.ExecutionGraphUtil;
+import org.activiti.engine.impl.util.ReachabilityTable;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.test.Deployment;
+
+public class ReachabilityTableTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = { 
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testLoop.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testJoinAfterSubprocesses.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testWithSignalBoundaryEvent.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testParentActivationOnNonJoiningEnd.bpmn20.xml" })
+  public void testSameAnswersAsGraphWalk() {
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+    assertEquals(4, processDefinitions.size());
+
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      ProcessDefinitionCacheEntry cacheEntry = processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId());
+      ReachabilityTable reachabilityTable = cacheEntry.getReachabilityTable();
+      assertNotNull(reachabilityTable);
+
+      Process process = cacheEntry.getProcess();
+      for (InclusiveGateway inclusiveGateway : process.findFlowElementsOfType(InclusiveGateway.class, true)) {
+        assertTrue(reachabilityTable.isTarget(inclusiveGateway.getId()));
+
+        for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class, true)) {
+          boolean expected = ExecutionGraphUtil.isReachable(process, flowNode, inclusiveGateway, new HashSet<String>());
+          assertEquals(flowNode.getId() + " -> " + inclusiveGateway.getId(), Boolean.valueOf(expected), reachabilityTable.isReachable(flowNode.getId(), inclusiveGateway.getId()));
+        }
+
+        for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class, true)) {
+          FlowNode target = (FlowNode) process.getFlowElement(sequenceFlow.getTargetRef(), true);
+          boolean expected = ExecutionGraphUtil.isReachable(process, target, inclusiveGateway, new HashSet<String>());
+          assertEquals(sequenceFlow.getId() + " -> " + inclusiveGateway.getId(), Boolean.valueOf(expected), reachabilityTable.isReachable(sequenceFlow.getId(), inclusiveGateway.getId()));
+        }
+      }
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testNoTableWithoutInclusiveGateway() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    assertNull(processEngineConfiguration.getProcessDefinitionCache().get(processDefinition.getId()).getReachabilityTable());
+  }
+
+}
@@ -1,4 +1,7 @@
 package org.activiti.engine.test.cfg.executioncount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -249,6 +252,63 @@ public class VerifyDatabaseOperationsTest extends PluggableActivitiTestCase {
     
   }
   
+  public void testProcessInstanceVariablePrefetch() {
+    deploy("process-variables-prefetch.bpmn20.xml");
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("stringVar", "test");
+    variables.put("serializableVar", new ArrayList<String>(Arrays.asList("a", "b")));
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process-variables-prefetch", variables).getId();
+    String childExecutionId = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("task1").singleResult().getId();
+    runtimeService.setVariableLocal(childExecutionId, "localVar", 123);
+
+    processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceVariablePrefetch(true);
+    try {
+      ActivitiProfiler.getInstance().startProfileSession("Profiling session");
+      Map<String, Object> childVariables = runtimeService.getVariables(childExecutionId);
+      stopProfiling();
+
+      Assert.assertEquals(3, childVariables.size());
+      Assert.assertEquals("test", childVariables.get("stringVar"));
+      Assert.assertEquals(Arrays.asList("a", "b"), childVariables.get("serializableVar"));
+      Assert.assertEquals(123, childVariables.get("localVar"));
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceVariablePrefetch(false);
+    }
+
+    // The variables of the child execution and the process instance are fetched in one query, the byte array in another one
+    Map<String, Long> dbSelects = getStats("GetExecutionVariablesCmd").getDbSelects();
+    Assert.assertEquals(Long.valueOf(1L), dbSelects.get("selectVariablesByProcessInstanceId"));
+    Assert.assertEquals(Long.valueOf(1L), dbSelects.get("selectVariableByteArraysByProcessInstanceId"));
+    Assert.assertNull(dbSelects.get("selectVariablesByExecutionId"));
+    Assert.assertNull(dbSelects.get("selectById org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl"));
+
+    for (Task task : taskService.createTaskQuery().processInstanceId(processInstanceId).list()) {
+      taskService.complete(task.getId());
+    }
+    Assert.assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+  
+  public void testProcessInstanceVariablePrefetchWithoutVariables() {
+    deploy("process-variables-prefetch.bpmn20.xml");
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process-variables-prefetch").getId();
+    String childExecutionId = runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("task1").singleResult().getId();
+
+    processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceVariablePrefetch(true);
+    try {
+      // No variable is in the entity cache, neither fetched nor created in the command
+      Assert.assertEquals(0, runtimeService.getVariables(childExecutionId).size());
+      Assert.assertEquals(0, runtimeService.getVariables(processInstanceId).size());
+      Assert.assertNull(runtimeService.getVariable(childExecutionId, "stringVar"));
+    } finally {
+      processEngineConfiguration.getPerformanceSettings().setEnableProcessInstanceVariablePrefetch(false);
+    }
+
+    for (Task task : taskService.createTaskQuery().processInstanceId(processInstanceId).list()) {
+      taskService.complete(task.getId());
+    }
+    Assert.assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+  
   
   // ---------------------------------
   // HELPERS
@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class JdbcBatchFlushTest extends ResourceActivitiTestCase {
+
+  public JdbcBatchFlushTest() {
+    super("org/activiti/engine/test/db/JdbcBatchFlushTest.activiti.cfg.xml");
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testProcessWithVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < 20; i++) {
+      variables.put("variable" + i, "value" + i);
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    assertEquals(20, runtimeService.getVariables(processInstance.getId()).size());
+
+    for (int i = 0; i < 20; i++) {
+      variables.put("variable" + i, "updated" + i);
+    }
+    runtimeService.setVariables(processInstance.getId(), variables);
+    assertEquals("updated7", runtimeService.getVariable(processInstance.getId(), "variable7"));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    assertEquals(0, runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count());
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId()).singleResult();
+    assertNotNull(historicProcessInstance.getEndTime());
+    assertEquals(20, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testOptimisticLocking() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    Task task1 = taskService.createTaskQuery().singleResult();
+    Task task2 = taskService.createTaskQuery().singleResult();
+
+    task1.setDescription("test description one");
+    taskService.saveTask(task1);
+
+    try {
+      task2.setDescription("test description two");
+      taskService.saveTask(task2);
+
+      fail("Expecting exception");
+    } catch (ActivitiOptimisticLockingException e) {
+      // Expected exception
+    }
+
+    // the failed flush must not have left anything behind
+    task1 = taskService.createTaskQuery().singleResult();
+    assertEquals("test description one", task1.getDescription());
+    task1.setDescription("test description three");
+    taskService.saveTask(task1);
+    assertEquals("test description three", taskService.createTaskQuery().singleResult().getDescription());
+  }
+
+}
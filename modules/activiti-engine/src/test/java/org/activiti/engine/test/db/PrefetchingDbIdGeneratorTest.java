@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.activiti.engine.impl.cfg.IdGenerator;
+import org.activiti.engine.impl.db.PrefetchingDbIdGenerator;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+public class PrefetchingDbIdGeneratorTest extends ResourceActivitiTestCase {
+
+  public PrefetchingDbIdGeneratorTest() {
+    super("org/activiti/engine/test/db/PrefetchingDbIdGeneratorTest.activiti.cfg.xml");
+  }
+
+  public void testUniqueIdsAcrossThreads() throws Exception {
+    IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+    assertTrue(idGenerator instanceof PrefetchingDbIdGenerator);
+    assertNotNull(processEngineConfiguration.getIdGeneratorPrefetchExecutor());
+    assertSame(processEngineConfiguration.getIdGeneratorPrefetchExecutor(), ((PrefetchingDbIdGenerator) idGenerator).getPrefetchExecutor());
+    assertUniqueIds(idGenerator);
+  }
+
+  public void testUniqueIdsAcrossThreadsWithThreadBlocks() throws Exception {
+    ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    try {
+      PrefetchingDbIdGenerator idGenerator = createIdGenerator(prefetchExecutor);
+      idGenerator.setThreadBlockSize(3);
+      assertUniqueIds(idGenerator);
+    } finally {
+      prefetchExecutor.shutdownNow();
+    }
+  }
+
+  public void testUniqueIdsAfterPrefetchExecutorShutdown() throws Exception {
+    ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    PrefetchingDbIdGenerator idGenerator = createIdGenerator(prefetchExecutor);
+    idGenerator.getNextId();
+    prefetchExecutor.shutdown();
+
+    // blocks are fetched by the calling threads once the executor rejects the prefetch
+    assertUniqueIds(idGenerator);
+  }
+
+  public void testUniqueIdsWithoutPrefetchExecutor() throws Exception {
+    assertUniqueIds(createIdGenerator(null));
+  }
+
+  protected PrefetchingDbIdGenerator createIdGenerator(ExecutorService prefetchExecutor) {
+    PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator();
+    idGenerator.setIdBlockSize(10);
+    idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+    idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+    idGenerator.setPrefetchExecutor(prefetchExecutor);
+    return idGenerator;
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testStartProcessInstancesConcurrently() throws Exception {
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 10; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 5; j++) {
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(50, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(50, taskService.createTaskQuery().count());
+  }
+
+  protected void assertUniqueIds(final IdGenerator idGenerator) throws Exception {
+    final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 10; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 200; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(2000, ids.size());
+  }
+}
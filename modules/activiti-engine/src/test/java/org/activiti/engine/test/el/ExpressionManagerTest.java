@@ -16,7 +16,11 @@ package org.activiti.engine.test.el;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.activiti.engine.delegate.VariableScope;
+import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.identity.Authentication;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.test.Deployment;
@@ -58,6 +62,31 @@ public class ExpressionManagerTest extends PluggableActivitiTestCase {
     assertEquals("myValue", value);
   }
 
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testBeanPropertiesWithSharedResolver() {
+    Map<String, Object> vars = new HashMap<String, Object>();
+    vars.put("bean", new PropertyTestVariable("parent", new PropertyTestVariable("child", null)));
+    final ProcessInstance processInstance1 = runtimeService.startProcessInstanceByKey("oneTaskProcess", vars);
+    final ProcessInstance processInstance2 = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+        VariableScope execution1 = commandContext.getExecutionEntityManager().findById(processInstance1.getId());
+        VariableScope execution2 = commandContext.getExecutionEntityManager().findById(processInstance2.getId());
+
+        assertEquals("parent", expressionManager.createExpression("${bean.name}").getValue(execution1));
+        assertEquals("child", expressionManager.createExpression("${bean.child.name}").getValue(execution1));
+        assertEquals(Boolean.TRUE, expressionManager.createExpression("${bean.named && !bean.child.named}").getValue(execution1));
+
+        // Only the variable scope differs between the contexts
+        assertSame(expressionManager.getElContext(execution1).getELResolver(), expressionManager.getElContext(execution2).getELResolver());
+        assertEquals(processInstance2.getId(), expressionManager.createExpression("${execution.id}").getValue(execution2));
+        return null;
+      }
+    });
+  }
+
   @Deployment
   public void testAuthenticatedUserIdAvailable() {
     try {
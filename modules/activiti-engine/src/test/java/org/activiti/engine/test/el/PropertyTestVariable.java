@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.el;
+
+import java.io.Serializable;
+
+public class PropertyTestVariable implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String name;
+  protected PropertyTestVariable child;
+
+  public PropertyTestVariable(String name, PropertyTestVariable child) {
+    this.name = name;
+    this.child = child;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public PropertyTestVariable getChild() {
+    return child;
+  }
+
+  public boolean isNamed() {
+    return name != null;
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import org.activiti.engine.impl.asyncexecutor.AdaptiveJobAcquisition;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveJobAcquisitionTest {
+
+  @Test
+  public void testBatchSizeGrowsWhenFullAndShrinksWhenEmpty() {
+    AdaptiveJobAcquisition adaptiveJobAcquisition = new AdaptiveJobAcquisition(1, 8, 100L, 10000L);
+    Assert.assertEquals(1, adaptiveJobAcquisition.getBatchSize());
+
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(1, 1));
+    Assert.assertEquals(2, adaptiveJobAcquisition.getBatchSize());
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(2, 2));
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(4, 4));
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize());
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(8, 8));
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize());
+
+    // Partially filled: batch size stays, minimal wait
+    Assert.assertEquals(100L, adaptiveJobAcquisition.jobsAcquired(3, 8));
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize());
+
+    // Empty: batch size halves, wait time backs off up to the maximum
+    Assert.assertEquals(100L, adaptiveJobAcquisition.jobsAcquired(0, 8));
+    Assert.assertEquals(4, adaptiveJobAcquisition.getBatchSize());
+    Assert.assertEquals(200L, adaptiveJobAcquisition.jobsAcquired(0, 4));
+    Assert.assertEquals(400L, adaptiveJobAcquisition.jobsAcquired(0, 2));
+    Assert.assertEquals(1, adaptiveJobAcquisition.getBatchSize());
+    for (int i = 0; i < 10; i++) {
+      adaptiveJobAcquisition.jobsAcquired(0, 1);
+    }
+    Assert.assertEquals(10000L, adaptiveJobAcquisition.jobsAcquired(0, 1));
+    Assert.assertEquals(1, adaptiveJobAcquisition.getBatchSize());
+
+    // Jobs found again: back to the minimal wait time
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(1, 1));
+    Assert.assertEquals(100L, adaptiveJobAcquisition.jobsAcquired(0, 2));
+  }
+
+  @Test
+  public void testBatchSizeLimitedByRemainingCapacity() {
+    AdaptiveJobAcquisition adaptiveJobAcquisition = new AdaptiveJobAcquisition(4, 16, 100L, 10000L);
+    adaptiveJobAcquisition.jobsAcquired(4, 4);
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize());
+    Assert.assertEquals(3, adaptiveJobAcquisition.getBatchSize(3));
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize(Integer.MAX_VALUE));
+
+    Assert.assertEquals(100L, adaptiveJobAcquisition.jobsRejected());
+    Assert.assertEquals(4, adaptiveJobAcquisition.getBatchSize());
+  }
+
+  @Test
+  public void testBatchSizeDoesNotGrowWhenLimitedByRemainingCapacity() {
+    AdaptiveJobAcquisition adaptiveJobAcquisition = new AdaptiveJobAcquisition(4, 16, 100L, 10000L);
+    int jobsRequested = adaptiveJobAcquisition.getBatchSize(2);
+    Assert.assertEquals(2, jobsRequested);
+
+    // A full batch limited by the remaining capacity doesn't show a backlog beyond the batch size
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(2, jobsRequested));
+    Assert.assertEquals(4, adaptiveJobAcquisition.getBatchSize());
+
+    jobsRequested = adaptiveJobAcquisition.getBatchSize(Integer.MAX_VALUE);
+    Assert.assertEquals(0L, adaptiveJobAcquisition.jobsAcquired(4, jobsRequested));
+    Assert.assertEquals(8, adaptiveJobAcquisition.getBatchSize());
+  }
+
+}
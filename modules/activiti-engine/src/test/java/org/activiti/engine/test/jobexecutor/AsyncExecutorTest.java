@@ -165,6 +165,49 @@ public class AsyncExecutorTest {
 
   }
 
+  @Test
+  public void testAsyncScriptExecutionOnVirtualThreads() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+
+      // Deploy. Falls back to the thread pool when the JVM doesn't support virtual threads
+      processEngine = createProcessEngine(true, null, true);
+      setClockToCurrentTime(processEngine);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+      // Start process instance. Wait for all jobs to be done
+      ProcessInstance processInstance = processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+      waitForAllJobsBeingExecuted(processEngine);
+
+      // Verify if all is as expected
+      Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+      Assert.assertEquals(1, processEngine.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).count());
+      Assert.assertEquals(1, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+
+      Assert.assertEquals(1, getAsyncExecutorJobCount(processEngine));
+
+      if (isVirtualThreadSupported()) {
+        // Concurrency is limited by the size of the connection pool, all permits are released again
+        DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) processEngine.getProcessEngineConfiguration().getAsyncExecutor();
+        int maxConcurrency = processEngine.getProcessEngineConfiguration().getJdbcMaxActiveConnections();
+        long waitUntil = System.currentTimeMillis() + 5000L;
+        while (asyncExecutor.getRemainingCapacity() < maxConcurrency && System.currentTimeMillis() < waitUntil) {
+          Thread.yield();
+        }
+        Assert.assertEquals(maxConcurrency, asyncExecutor.getRemainingCapacity());
+      }
+
+    } finally {
+
+      // Clean up
+      cleanup(processEngine);
+
+    }
+
+  }
+
   @Test
   public void testAsyncScriptExecutionOnTwoEngines() {
 
@@ -263,6 +306,10 @@ public class AsyncExecutorTest {
   }
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time) {
+    return createProcessEngine(enableAsyncExecutor, time, false);
+  }
+
+  private ProcessEngine createProcessEngine(boolean enableAsyncExecutor, Date time, boolean virtualThreads) {
     ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
     processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
     processEngineConfiguration.setDatabaseSchemaUpdate("true");
@@ -273,6 +320,7 @@ public class AsyncExecutorTest {
       CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
       countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50); // To avoid waiting too long when a retry happens
       countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setVirtualThreadExecution(virtualThreads);
       processEngineConfiguration.setAsyncExecutor(countingAsyncExecutor);
     }
 
@@ -315,6 +363,15 @@ public class AsyncExecutorTest {
     JobTestHelper.waitForJobExecutorToProcessAllJobsAndExecutableTimerJobs(processEngine.getProcessEngineConfiguration(), processEngine.getManagementService(), maxWaitTime, 1000L, false);
   }
 
+  private boolean isVirtualThreadSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   private int getAsyncExecutorJobCount(ProcessEngine processEngine) {
     AsyncExecutor asyncExecutor = processEngine.getProcessEngineConfiguration().getAsyncExecutor();
     if (asyncExecutor instanceof CountingAsyncExecutor) {
@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import java.util.Date;
+
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the 'for update skip locked' job acquisition statements of every supported database type,
+ * without connecting to such a database.
+ */
+public class SkipLockedJobAcquisitionMappingTest {
+
+  @Test
+  public void testSkipLockedStatementsAreMappedForSupportedDatabaseTypes() {
+    for (String databaseType : DbSqlSessionFactory.SKIP_LOCKED_DATABASE_TYPES) {
+      Configuration configuration = buildMybatisConfiguration(databaseType);
+
+      Assert.assertTrue(databaseType, configuration.hasStatement("selectJobsToExecuteSkipLocked"));
+      Assert.assertTrue(databaseType, configuration.hasStatement("selectTimerJobsToExecuteSkipLocked"));
+
+      String jobsSql = configuration.getMappedStatement("selectJobsToExecuteSkipLocked")
+          .getBoundSql(new ListQueryParameterObject(null, 0, 10)).getSql();
+      assertSkipLockedSql(databaseType, jobsSql, "ACT_RU_JOB");
+
+      String timerJobsSql = configuration.getMappedStatement("selectTimerJobsToExecuteSkipLocked")
+          .getBoundSql(new ListQueryParameterObject(new Date(), 0, 10)).getSql();
+      assertSkipLockedSql(databaseType, timerJobsSql, "ACT_RU_TIMER_JOB");
+    }
+  }
+
+  @Test
+  public void testSkipLockedStatementsAreNotMappedForOtherDatabaseTypes() {
+    Configuration configuration = buildMybatisConfiguration("h2");
+    Assert.assertFalse(configuration.hasStatement("selectJobsToExecuteSkipLocked"));
+    Assert.assertFalse(configuration.hasStatement("selectTimerJobsToExecuteSkipLocked"));
+  }
+
+  @Test
+  public void testSkipLockedStatementsOnlySelectedForSupportedDatabaseTypes() {
+    DbSqlSessionFactory dbSqlSessionFactory = new DbSqlSessionFactory();
+    dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(true);
+
+    for (String databaseType : new String[] { "postgres", "mysql", "oracle" }) {
+      dbSqlSessionFactory.setDatabaseType(databaseType);
+      Assert.assertTrue(databaseType, dbSqlSessionFactory.isSkipLockedJobAcquisitionEnabled());
+    }
+
+    for (String databaseType : new String[] { "h2", "hsql", "mssql", "db2" }) {
+      dbSqlSessionFactory.setDatabaseType(databaseType);
+      Assert.assertFalse(databaseType, dbSqlSessionFactory.isSkipLockedJobAcquisitionEnabled());
+    }
+
+    dbSqlSessionFactory.setDatabaseType("postgres");
+    dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(false);
+    Assert.assertFalse(dbSqlSessionFactory.isSkipLockedJobAcquisitionEnabled());
+  }
+
+  protected void assertSkipLockedSql(String databaseType, String sql, String tableName) {
+    String normalizedSql = sql.replaceAll("\\s+", " ").toLowerCase();
+    Assert.assertTrue(databaseType + ": " + sql, normalizedSql.contains(tableName.toLowerCase()));
+    Assert.assertTrue(databaseType + ": " + sql, normalizedSql.trim().endsWith("for update skip locked"));
+  }
+
+  protected Configuration buildMybatisConfiguration(String databaseType) {
+    StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setDatabaseType(databaseType);
+
+    // the data source is never connected, only the mapping files are parsed
+    processEngineConfiguration.setDataSource(new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:skip-locked-mapping", "sa", ""));
+    processEngineConfiguration.initTransactionFactory();
+    processEngineConfiguration.initSqlSessionFactory();
+    return processEngineConfiguration.getSqlSessionFactory().getConfiguration();
+  }
+
+}
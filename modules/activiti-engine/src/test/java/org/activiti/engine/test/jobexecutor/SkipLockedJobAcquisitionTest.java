@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs the job acquisition with skip locked job acquisition enabled. On H2 the regular acquisition queries are used, 
+ * the 'for update skip locked' queries are executed when the test suite runs with one of the database profiles 
+ * against PostgreSQL, MySQL or Oracle.
+ */
+public class SkipLockedJobAcquisitionTest extends PluggableActivitiTestCase {
+
+  protected DbSqlSessionFactory dbSqlSessionFactory;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    dbSqlSessionFactory.setSkipLockedJobAcquisitionEnabled(false);
+    processEngineConfiguration.getClock().reset();
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testAcquireJobs() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+
+    assertEquals(3, managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor(), 10)).size());
+    assertEquals(3, managementService.createJobQuery().locked().count());
+
+    // locked jobs are not acquired again
+    assertEquals(0, managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor(), 10)).size());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/timer/IntermediateTimerEventTest.testCatchingTimerEvent.bpmn20.xml")
+  public void testAcquireTimerJobs() {
+    Date startTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startTime);
+    runtimeService.startProcessInstanceByKey("intermediateTimerEventExample");
+    assertEquals(0, managementService.executeCommand(new AcquireTimerJobsCmd(processEngineConfiguration.getAsyncExecutor(), 10)).size());
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startTime.getTime() + 6 * 60 * 1000L));
+    assertEquals(1, managementService.executeCommand(new AcquireTimerJobsCmd(processEngineConfiguration.getAsyncExecutor(), 10)).size());
+    assertEquals(0, managementService.executeCommand(new AcquireTimerJobsCmd(processEngineConfiguration.getAsyncExecutor(), 10)).size());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testConcurrentSelectionsSkipLockedJobs() throws Exception {
+    if (!dbSqlSessionFactory.isSkipLockedJobAcquisitionEnabled()) {
+      return; // rows are only locked by the select on the databases supporting skip locked
+    }
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+
+    final CountDownLatch selected = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Set<String> lockedJobIds = new HashSet<String>();
+    Thread lockingThread = new Thread() {
+      public void run() {
+        managementService.executeCommand(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            for (JobEntity job : commandContext.getJobEntityManager().findJobsToExecute(new Page(0, 3))) {
+              lockedJobIds.add(job.getId());
+            }
+            selected.countDown();
+            try {
+              release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return null;
+          }
+        });
+      }
+    };
+    lockingThread.start();
+
+    try {
+      assertTrue(selected.await(30, TimeUnit.SECONDS));
+      assertEquals(3, lockedJobIds.size());
+
+      // the rows selected by the other transaction are skipped instead of waited for
+      List<JobEntity> jobs = managementService.executeCommand(new Command<List<JobEntity>>() {
+        public List<JobEntity> execute(CommandContext commandContext) {
+          return commandContext.getJobEntityManager().findJobsToExecute(new Page(0, 10));
+        }
+      });
+      assertEquals(2, jobs.size());
+      for (JobEntity job : jobs) {
+        assertFalse(lockedJobIds.contains(job.getId()));
+      }
+
+    } finally {
+      release.countDown();
+      lockingThread.join();
+    }
+  }
+
+}
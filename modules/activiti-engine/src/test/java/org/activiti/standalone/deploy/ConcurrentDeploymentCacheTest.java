@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.deploy;
+
+import java.text.MessageFormat;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.repository.Deployment;
+
+public class ConcurrentDeploymentCacheTest extends ResourceActivitiTestCase {
+
+  public ConcurrentDeploymentCacheTest() {
+    super("org/activiti/standalone/deploy/concurrent.deployment.cache.test.activiti.cfg.xml");
+  }
+
+  public void testConcurrentDeploymentCacheLimitAndStatistics() {
+    int processDefinitionCacheLimit = 3; // This is set in the configuration above
+
+    ConcurrentDeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache = (ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processEngineConfiguration.getProcessDefinitionCache();
+    assertEquals(0, processDefinitionCache.size());
+
+    String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/activiti/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+    for (int i = 1; i <= 5; i++) {
+      repositoryService.createDeployment().addString("Process " + i + ".bpmn20.xml", MessageFormat.format(processDefinitionTemplate, i)).deploy();
+
+      if (i < processDefinitionCacheLimit) {
+        assertEquals(i, processDefinitionCache.size());
+      } else {
+        assertEquals(processDefinitionCacheLimit, processDefinitionCache.size());
+      }
+    }
+    assertEquals(2, processDefinitionCache.getEvictionCount());
+    assertEquals(0, processDefinitionCache.getLoadCount());
+    assertTrue(processDefinitionCache.getWeight() > 0);
+
+    // The first process definition was evicted and needs to be loaded again
+    long missCount = processDefinitionCache.getMissCount();
+    runtimeService.startProcessInstanceByKey("myProcess1");
+    assertTrue(processDefinitionCache.getMissCount() > missCount);
+    assertEquals(1, processDefinitionCache.getLoadCount());
+    assertEquals(processDefinitionCacheLimit, processDefinitionCache.size());
+    assertEquals(3, processDefinitionCache.getEvictionCount());
+
+    // Now it is cached
+    long hitCount = processDefinitionCache.getHitCount();
+    missCount = processDefinitionCache.getMissCount();
+    runtimeService.startProcessInstanceByKey("myProcess1");
+    assertTrue(processDefinitionCache.getHitCount() > hitCount);
+    assertEquals(missCount, processDefinitionCache.getMissCount());
+    assertEquals(1, processDefinitionCache.getLoadCount());
+
+    // Cleanup
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  public void testProcessDefinitionInfoCacheSize() {
+    ProcessDefinitionInfoCache processDefinitionInfoCache = processEngineConfiguration.getDeploymentManager().getProcessDefinitionInfoCache();
+    assertTrue(processDefinitionInfoCache.getCache() instanceof ConcurrentDeploymentCache);
+    assertEquals(0, processDefinitionInfoCache.size());
+
+    String processDefinitionTemplate = DeploymentCacheTestUtil.readTemplateFile("/org/activiti/standalone/deploy/deploymentCacheTest.bpmn20.xml");
+    repositoryService.createDeployment().addString("Process 1.bpmn20.xml", MessageFormat.format(processDefinitionTemplate, 1)).deploy();
+    assertEquals(1, processDefinitionInfoCache.size());
+
+    // Cleanup
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  public void testWeightBoundedCacheEvictsLeastRecentlyUsed() throws Exception {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(-1, 10, new DeploymentCacheWeigher<String>() {
+      public long weigh(String id, String object) {
+        return object.length();
+      }
+    });
+
+    cache.add("a", "12345");
+    Thread.sleep(1);
+    cache.add("b", "1234");
+    Thread.sleep(1);
+    assertEquals("12345", cache.get("a"));
+    assertEquals(9, cache.getWeight());
+
+    // b is the least recently used entry
+    cache.add("c", "123");
+    assertEquals(2, cache.size());
+    assertEquals(8, cache.getWeight());
+    assertNull(cache.get("b"));
+    assertEquals("123", cache.get("c"));
+    assertEquals(1, cache.getEvictionCount());
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    // An entry heavier than the maximum weight is kept, everything else is evicted
+    cache.add("d", "12345678901");
+    assertEquals(1, cache.size());
+    assertEquals("12345678901", cache.get("d"));
+
+    cache.remove("d");
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getWeight());
+  }
+
+}
@@ -0,0 +1,122 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.el;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class LazyJsonVariablesTest extends ResourceActivitiTestCase {
+
+  protected ObjectMapper objectMapper = new ObjectMapper();
+
+  public LazyJsonVariablesTest() {
+    super("org/activiti/standalone/el/lazy.json.variables.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testPropertyAccess() {
+    assertPropertyAccess(createOrder(10));
+  }
+
+  @Deployment(resources = "org/activiti/standalone/el/LazyJsonVariablesTest.testPropertyAccess.bpmn20.xml")
+  public void testPropertyAccessLongJson() {
+    // Too long for the json variable type, stored as longJson
+    assertPropertyAccess(createOrder(500));
+  }
+
+  protected void assertPropertyAccess(ObjectNode order) {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("order", order);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("lazyJsonVariables", variables);
+
+    assertEquals("gold", runtimeService.getVariable(processInstance.getId(), "tier"));
+
+    // Objects passed to methods are parsed JSON nodes
+    JsonNode customer = (JsonNode) runtimeService.getVariable(processInstance.getId(), "customer");
+    assertEquals(order.get("customer"), customer);
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("goldTask", task.getTaskDefinitionKey());
+  }
+
+  @Deployment(resources = "org/activiti/standalone/el/LazyJsonVariablesTest.testPropertyAccess.bpmn20.xml")
+  public void testExpressionValues() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("order", createOrder(10));
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("lazyJsonVariables", variables);
+
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+        ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+
+        // Same values as for parsed JSON nodes
+        assertEquals("gold", expressionManager.createExpression("${order.customer.tier}").getValue(execution));
+        assertEquals("3", expressionManager.createExpression("${order.customer.level}").getValue(execution));
+        assertEquals(Boolean.TRUE, expressionManager.createExpression("${order.vip}").getValue(execution));
+        assertEquals(12.5, expressionManager.createExpression("${order.discount}").getValue(execution));
+        assertNull(expressionManager.createExpression("${order.customer.unknown}").getValue(execution));
+        assertNull(expressionManager.createExpression("${order.unknown.tier}").getValue(execution));
+        assertEquals("Order for Kermit", expressionManager.createExpression("Order for ${order.customer.name}").getValue(execution));
+
+        // The expression result is a parsed JSON node
+        Object lines = expressionManager.createExpression("${order.lines}").getValue(execution);
+        assertTrue(lines instanceof ArrayNode);
+        assertEquals(10, ((ArrayNode) lines).size());
+        assertTrue(expressionManager.createExpression("${order}").getValue(execution) instanceof ObjectNode);
+
+        // Changes are visible to the following expressions
+        Expression tierExpression = expressionManager.createExpression("${order.customer.tier}");
+        tierExpression.setValue("silver", execution);
+        assertEquals("silver", tierExpression.getValue(execution));
+        assertEquals("silver", ((JsonNode) execution.getVariable("order")).get("customer").get("tier").asText());
+        return null;
+      }
+    });
+  }
+
+  protected ObjectNode createOrder(int numberOfLines) {
+    ObjectNode order = objectMapper.createObjectNode();
+    ArrayNode lines = order.putArray("lines");
+    for (int i = 0; i < numberOfLines; i++) {
+      ObjectNode line = lines.addObject();
+      line.put("product", "product " + i);
+      line.put("quantity", i);
+      line.putObject("details").put("description", "A description of product " + i);
+    }
+    order.put("vip", true);
+    order.put("discount", 12.5);
+
+    ObjectNode customer = order.putObject("customer");
+    customer.put("name", "Kermit");
+    customer.put("tier", "gold");
+    customer.put("level", 3);
+    return order;
+  }
+
+}
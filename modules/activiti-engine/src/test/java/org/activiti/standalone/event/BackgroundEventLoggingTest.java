@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.event.logger.BackgroundEventLogWriter;
+import org.activiti.engine.impl.event.logger.EventLogger;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class BackgroundEventLoggingTest extends ResourceActivitiTestCase {
+
+  public BackgroundEventLoggingTest() {
+    super("org/activiti/standalone/event/activiti-background-event-log.cfg.xml");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testEventLogWrittenInBackground() {
+    BackgroundEventLogWriter eventLogWriter = processEngineConfiguration.getEventLogWriter();
+    assertNotNull(eventLogWriter);
+    long writtenEntryCount = eventLogWriter.getWrittenEntryCount();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    // Writes the queued entries
+    eventLogWriter.shutdown();
+
+    List<EventLogEntry> eventLogEntries = managementService.getEventLogEntriesByProcessInstanceId(processInstance.getId());
+    assertFalse(eventLogEntries.isEmpty());
+    assertEquals(eventLogEntries.size(), eventLogWriter.getWrittenEntryCount() - writtenEntryCount);
+    assertEquals(0L, eventLogWriter.getFailedEntryCount());
+    assertEquals(0, eventLogWriter.getQueuedBatchCount());
+
+    List<String> types = new ArrayList<String>();
+    for (EventLogEntry eventLogEntry : eventLogEntries) {
+      types.add(eventLogEntry.getType());
+    }
+    assertTrue(types.contains("PROCESSINSTANCE_START"));
+    assertTrue(types.contains(ActivitiEventType.TASK_CREATED.name()));
+    assertTrue(types.contains(ActivitiEventType.TASK_COMPLETED.name()));
+    assertTrue(types.contains("PROCESSINSTANCE_END"));
+
+    for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+      managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+    }
+  }
+
+  public void testSubmitAfterShutdownIsDropped() {
+    BackgroundEventLogWriter eventLogWriter = new BackgroundEventLogWriter(processEngineConfiguration.getCommandExecutor(), 10, 10);
+    EventLogger eventLogger = new EventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper());
+
+    eventLogWriter.submit(eventLogger, createEventLogEntries());
+    eventLogWriter.shutdown();
+    assertTrue(eventLogWriter.isShutdown());
+    assertEquals(1L, eventLogWriter.getWrittenEntryCount());
+
+    // Doesn't start the writer thread again
+    eventLogWriter.submit(eventLogger, createEventLogEntries());
+    assertEquals(1L, eventLogWriter.getDroppedEntryCount());
+    assertEquals(0, eventLogWriter.getQueuedBatchCount());
+    assertEquals(1L, eventLogWriter.getWrittenEntryCount());
+
+    for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+      managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+    }
+  }
+
+  protected List<EventLogEntryEntity> createEventLogEntries() {
+    EventLogEntryEntity eventLogEntry = new EventLogEntryEntityImpl();
+    eventLogEntry.setType("TEST");
+    eventLogEntry.setTimeStamp(processEngineConfiguration.getClock().getCurrentTime());
+    return Collections.singletonList(eventLogEntry);
+  }
+
+}
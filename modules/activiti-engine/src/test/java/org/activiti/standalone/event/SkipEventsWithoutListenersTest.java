@@ -0,0 +1,213 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.delegate.event.ActivitiAsyncEventListener;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+import org.activiti.engine.test.api.event.StaticTestActivitiEventListener;
+import org.activiti.engine.test.api.event.TestActivitiEventListener;
+
+public class SkipEventsWithoutListenersTest extends ResourceActivitiTestCase {
+
+  public SkipEventsWithoutListenersTest() {
+    super("org/activiti/standalone/event/activiti-skip-events.cfg.xml");
+  }
+
+  @Deployment(resources = "org/activiti/standalone/event/SkipEventsWithoutListenersTest.oneTaskProcess.bpmn20.xml")
+  public void testSkipEventsWithoutListeners() {
+    ActivitiEventDispatcher eventDispatcher = processEngineConfiguration.getEventDispatcher();
+    assertTrue(eventDispatcher.isEnabled());
+    assertTrue(ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.TASK_CREATED));
+    assertFalse(ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.ENTITY_CREATED));
+
+    TestActivitiEventListener listener = (TestActivitiEventListener) processEngineConfiguration.getBeans().get("eventListener");
+    listener.clearEventsReceived();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    assertEquals(1, listener.getEventsReceived().size());
+    assertEquals(ActivitiEventType.TASK_CREATED, listener.getEventsReceived().get(0).getType());
+
+    // Listeners added at runtime are taken into account right away
+    TestActivitiEventListener entityListener = new TestActivitiEventListener();
+    runtimeService.addEventListener(entityListener, ActivitiEventType.ENTITY_CREATED);
+    try {
+      assertTrue(ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.ENTITY_CREATED));
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+      assertFalse(entityListener.getEventsReceived().isEmpty());
+    } finally {
+      runtimeService.removeEventListener(entityListener);
+    }
+    assertFalse(ActivitiEventDispatcherImpl.isEventEnabled(eventDispatcher, ActivitiEventType.ENTITY_CREATED));
+  }
+
+  @Deployment
+  public void testProcessDefinitionListenerTypes() {
+    // The listener of the deployed process definition makes the dispatcher create its events
+    assertTrue(ActivitiEventDispatcherImpl.isEventEnabled(processEngineConfiguration.getEventDispatcher(), ActivitiEventType.TASK_COMPLETED));
+
+    StaticTestActivitiEventListener.clearEventsReceived();
+    try {
+      runtimeService.startProcessInstanceByKey("processWithListener");
+      Task task = taskService.createTaskQuery().singleResult();
+      taskService.complete(task.getId());
+
+      assertEquals(1, StaticTestActivitiEventListener.getEventsReceived().size());
+      assertEquals(ActivitiEventType.TASK_COMPLETED, StaticTestActivitiEventListener.getEventsReceived().get(0).getType());
+    } finally {
+      StaticTestActivitiEventListener.clearEventsReceived();
+    }
+  }
+
+  @Deployment
+  public void testProcessDefinitionListenerTypesAfterEngineReboot() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("processWithVariableListener",
+        Collections.<String, Object>singletonMap("var", "initial"));
+
+    // A new engine on the same database, as after a restart or on another node, hasn't parsed the process definition yet
+    ProcessEngineConfigurationImpl rebootedConfiguration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createProcessEngineConfigurationFromResource("org/activiti/standalone/event/activiti-skip-events.cfg.xml");
+    rebootedConfiguration.setProcessEngineName("rebootedSkipEventsEngine");
+    ProcessEngine rebootedEngine = rebootedConfiguration.buildProcessEngine();
+
+    StaticTestActivitiEventListener.clearEventsReceived();
+    try {
+      assertTrue(ActivitiEventDispatcherImpl.isEventEnabled(rebootedConfiguration.getEventDispatcher(), ActivitiEventType.VARIABLE_UPDATED));
+      assertFalse(ActivitiEventDispatcherImpl.isEventEnabled(rebootedConfiguration.getEventDispatcher(), ActivitiEventType.ENTITY_CREATED));
+
+      rebootedEngine.getRuntimeService().setVariable(processInstance.getId(), "var", "updated");
+
+      assertEquals(1, StaticTestActivitiEventListener.getEventsReceived().size());
+      assertEquals(ActivitiEventType.VARIABLE_UPDATED, StaticTestActivitiEventListener.getEventsReceived().get(0).getType());
+    } finally {
+      StaticTestActivitiEventListener.clearEventsReceived();
+      rebootedEngine.close();
+    }
+  }
+
+  @Deployment(resources = "org/activiti/standalone/event/SkipEventsWithoutListenersTest.oneTaskProcess.bpmn20.xml")
+  public void testAsyncEventListener() {
+    TestAsyncEventListener listener = new TestAsyncEventListener();
+    runtimeService.addEventListener(listener, ActivitiEventType.PROCESS_STARTED, ActivitiEventType.TASK_CREATED, ActivitiEventType.TASK_COMPLETED);
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+      Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      taskService.complete(task.getId());
+
+      // Events of a failing command are not delivered
+      try {
+        managementService.executeCommand(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            processEngineConfiguration.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.TASK_CREATED, "rolled back"));
+            throw new ActivitiException("rollback");
+          }
+        });
+        fail("Exception expected");
+      } catch (ActivitiException e) {
+        // expected
+      }
+
+      // Waits for the pending deliveries
+      processEngineConfiguration.getAsyncEventListenerExecutor().shutdown();
+
+      List<ActivitiEvent> events = listener.getEventsReceived();
+      assertEquals(3, events.size());
+      assertEquals(ActivitiEventType.PROCESS_STARTED, events.get(0).getType());
+      assertEquals(ActivitiEventType.TASK_CREATED, events.get(1).getType());
+      assertEquals(ActivitiEventType.TASK_COMPLETED, events.get(2).getType());
+      for (ActivitiEvent event : events) {
+        assertEquals(processInstance.getId(), event.getProcessInstanceId());
+      }
+
+      for (String threadName : listener.getThreadNames()) {
+        assertTrue(threadName.startsWith("activiti-async-event-listener-"));
+      }
+    } finally {
+      runtimeService.removeEventListener(listener);
+    }
+  }
+
+  @Deployment
+  public void testProcessDefinitionAsyncEventListener() {
+    StaticTestAsyncEventListener.LISTENER.getEventsReceived().clear();
+    StaticTestAsyncEventListener.LISTENER.getThreadNames().clear();
+
+    runtimeService.startProcessInstanceByKey("processWithAsyncListener");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    // Waits for the pending deliveries
+    processEngineConfiguration.getAsyncEventListenerExecutor().shutdown();
+
+    List<ActivitiEvent> events = StaticTestAsyncEventListener.LISTENER.getEventsReceived();
+    assertEquals(1, events.size());
+    assertEquals(ActivitiEventType.TASK_COMPLETED, events.get(0).getType());
+    assertTrue(StaticTestAsyncEventListener.LISTENER.getThreadNames().get(0).startsWith("activiti-async-event-listener-"));
+  }
+
+  public static class TestAsyncEventListener implements ActivitiAsyncEventListener {
+
+    protected List<ActivitiEvent> eventsReceived = Collections.synchronizedList(new ArrayList<ActivitiEvent>());
+    protected List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+
+    public void onEvent(ActivitiEvent event) {
+      eventsReceived.add(event);
+      threadNames.add(Thread.currentThread().getName());
+    }
+
+    public boolean isFailOnException() {
+      return false;
+    }
+
+    public List<ActivitiEvent> getEventsReceived() {
+      return eventsReceived;
+    }
+
+    public List<String> getThreadNames() {
+      return threadNames;
+    }
+  }
+
+  /**
+   * Declared by class name in a process definition, so each instance records into the same listener.
+   */
+  public static class StaticTestAsyncEventListener implements ActivitiAsyncEventListener {
+
+    public static final TestAsyncEventListener LISTENER = new TestAsyncEventListener();
+
+    public void onEvent(ActivitiEvent event) {
+      LISTENER.onEvent(event);
+    }
+
+    public boolean isFailOnException() {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.history;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.history.HistoricDetail;
+import org.activiti.engine.history.HistoricVariableUpdate;
+import org.activiti.engine.impl.jobexecutor.AsyncHistoryJobHandler;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class AsyncHistoryTest extends ResourceActivitiTestCase {
+
+  public AsyncHistoryTest() {
+    super("org/activiti/standalone/history/asynchistory.activiti.cfg.xml");
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testVariableUpdatesAreWrittenByJob() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("stringVar", "test");
+    variables.put("longVar", 123L);
+    variables.put("doubleVar", 1.5d);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    // The historic variable instances are written right away, the variable updates by the job
+    assertEquals(3, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+
+    executeAsyncHistoryJobs();
+
+    List<HistoricDetail> historicDetails = historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId())
+        .variableUpdates().orderByVariableName().asc().list();
+    assertEquals(3, historicDetails.size());
+    assertEquals("doubleVar", ((HistoricVariableUpdate) historicDetails.get(0)).getVariableName());
+    assertEquals(1.5d, ((HistoricVariableUpdate) historicDetails.get(0)).getValue());
+    assertEquals("longVar", ((HistoricVariableUpdate) historicDetails.get(1)).getVariableName());
+    assertEquals(123L, ((HistoricVariableUpdate) historicDetails.get(1)).getValue());
+    assertEquals("stringVar", ((HistoricVariableUpdate) historicDetails.get(2)).getVariableName());
+    assertEquals("test", ((HistoricVariableUpdate) historicDetails.get(2)).getValue());
+    assertEquals(processInstance.getId(), historicDetails.get(2).getExecutionId());
+
+    // Byte array values are written right away
+    runtimeService.setVariable(processInstance.getId(), "bytesVar", "bytes".getBytes());
+    assertEquals(4, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testCommentsAreWrittenByJob() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.addCandidateGroup(task.getId(), "management");
+    assertEquals(2, historyService.getHistoricIdentityLinksForTask(task.getId()).size());
+    assertEquals(0, taskService.getTaskEvents(task.getId()).size());
+
+    // The history of both commands is written by its own job
+    assertEquals(2, managementService.createJobQuery().count());
+    executeAsyncHistoryJobs();
+
+    assertEquals(2, taskService.getTaskEvents(task.getId()).size());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testHistoryOfDeletedProcessInstanceIsSkipped() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("stringVar", "test");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.addComment(task.getId(), processInstance.getId(), "comment");
+
+    // The process instance and its history are deleted before the async history is written
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+
+    executeAsyncHistoryJobs();
+
+    assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstance.getId()).count());
+    assertEquals(0, taskService.getProcessInstanceComments(processInstance.getId()).size());
+  }
+
+  public void testHistoryOfDeletedTaskIsSkipped() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    taskService.setVariable(task.getId(), "stringVar", "test");
+    taskService.addComment(task.getId(), null, "comment");
+
+    // The task and its history are deleted before the async history is written
+    taskService.deleteTask(task.getId(), true);
+
+    executeAsyncHistoryJobs();
+
+    assertEquals(0, historyService.createHistoricDetailQuery().taskId(task.getId()).count());
+    assertEquals(0, taskService.getTaskComments(task.getId()).size());
+  }
+
+  protected void executeAsyncHistoryJobs() {
+    for (Job job : managementService.createJobQuery().list()) {
+      assertEquals(AsyncHistoryJobHandler.TYPE, ((JobEntity) job).getJobHandlerType());
+      managementService.executeJob(job.getId());
+    }
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+}
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.metrics;
+
+import org.activiti.engine.impl.cmd.GetTaskVariableCmd;
+import org.activiti.engine.impl.cmd.StartProcessInstanceCmd;
+import org.activiti.engine.impl.metrics.CommandStatistics;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.PrometheusCommandMetricsExporter;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class CommandMetricsTest extends ResourceActivitiTestCase {
+
+  public CommandMetricsTest() {
+    super("org/activiti/standalone/metrics/command.metrics.test.activiti.cfg.xml");
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testCommandStatistics() {
+    DefaultCommandMetricsRegistry metricsRegistry = (DefaultCommandMetricsRegistry) processEngineConfiguration.getCommandMetricsRegistry();
+    metricsRegistry.reset();
+
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CommandStatistics statistics = metricsRegistry.getCommandStatistics(StartProcessInstanceCmd.class);
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getExecutionCount());
+    assertEquals(0, statistics.getFailureCount());
+    assertTrue(statistics.getInsertCount() > 0);
+    assertTrue(statistics.getSelectCount() > 0);
+    assertTrue(statistics.getAgendaOperationCount() > 0);
+    assertTrue(statistics.getFlushTimeInNanos() > 0);
+    assertEquals(1, statistics.getLatency().getCount());
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+    assertFalse(metricsRegistry.getEntityCacheStatistics().isEmpty());
+
+    try {
+      taskService.getVariable("unexisting", "var");
+      fail();
+    } catch (Exception e) {
+      // expected
+    }
+    assertEquals(1, metricsRegistry.getCommandStatistics(GetTaskVariableCmd.class).getFailureCount());
+
+    String metrics = new PrometheusCommandMetricsExporter(metricsRegistry).export();
+    assertTrue(metrics.contains("activiti_command_duration_seconds_bucket{command=\"" + StartProcessInstanceCmd.class.getName() + "\""));
+    assertTrue(metrics.contains("activiti_command_sql_statements_total{command=\"" + StartProcessInstanceCmd.class.getName() + "\",type=\"insert\"}"));
+    assertTrue(metrics.contains("activiti_entity_cache_lookups_total"));
+
+    metricsRegistry.reset();
+    assertTrue(metricsRegistry.getCommandStatistics().isEmpty());
+  }
+
+}
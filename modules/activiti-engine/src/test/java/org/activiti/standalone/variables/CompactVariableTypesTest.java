@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.variables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.impl.variable.CompactJsonType;
+import org.activiti.engine.impl.variable.CompactSerializableType;
+import org.activiti.engine.impl.variable.SerializableType;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class CompactVariableTypesTest extends ResourceActivitiTestCase {
+
+  public CompactVariableTypesTest() {
+    super("org/activiti/standalone/variables/compact.variable.types.activiti.cfg.xml");
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testCompactTypesAreUsedForNewVariables() {
+    List<String> serializableValue = createList(2000);
+    ObjectNode jsonValue = createJson(2000);
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("serializableVar", serializableValue);
+    variables.put("jsonVar", jsonValue);
+    variables.put("smallSerializableVar", createList(1));
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    assertEquals(CompactSerializableType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "serializableVar").getTypeName());
+    assertEquals(CompactJsonType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "jsonVar").getTypeName());
+    assertEquals(CompactSerializableType.TYPE_NAME, runtimeService.getVariableInstance(processInstance.getId(), "smallSerializableVar").getTypeName());
+
+    assertEquals(serializableValue, runtimeService.getVariable(processInstance.getId(), "serializableVar"));
+    assertEquals(jsonValue, runtimeService.getVariable(processInstance.getId(), "jsonVar"));
+    assertEquals(createList(1), runtimeService.getVariable(processInstance.getId(), "smallSerializableVar"));
+
+    // Updating the variable goes through the compact type as well
+    serializableValue.add("extra");
+    runtimeService.setVariable(processInstance.getId(), "serializableVar", serializableValue);
+    assertEquals(serializableValue, runtimeService.getVariable(processInstance.getId(), "serializableVar"));
+  }
+
+  public void testCompression() {
+    List<String> value = createList(2000);
+    byte[] serializedBytes = new SerializableType().serialize(value, null);
+    byte[] compactBytes = new CompactSerializableType(false, 1024).serialize(value, null);
+    assertTrue(compactBytes.length < serializedBytes.length / 2);
+
+    // Below the threshold the value is stored as is
+    byte[] smallSerializedBytes = new SerializableType().serialize(createList(1), null);
+    assertEquals(smallSerializedBytes.length, new CompactSerializableType(false, 1024).serialize(createList(1), null).length);
+  }
+
+  public void testLegacyValuesAreReadable() {
+    List<String> value = createList(2000);
+    byte[] serializedBytes = new SerializableType().serialize(value, null);
+    assertEquals(value, new CompactSerializableType(false, 1024).deserialize(serializedBytes, null));
+
+    ObjectNode jsonValue = createJson(10);
+    CompactJsonType compactJsonType = new CompactJsonType(0, new ObjectMapper(), 1024);
+    assertEquals(jsonValue, compactJsonType.deserialize(jsonValue.toString().getBytes(), null));
+  }
+
+  protected List<String> createList(int size) {
+    List<String> list = new ArrayList<String>();
+    for (int i = 0; i < size; i++) {
+      list.add("order line " + i);
+    }
+    return list;
+  }
+
+  protected ObjectNode createJson(int lineCount) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    ObjectNode order = objectMapper.createObjectNode();
+    order.put("orderId", "order-1");
+    ArrayNode lines = order.putArray("lines");
+    for (int i = 0; i < lineCount; i++) {
+      ObjectNode line = lines.addObject();
+      line.put("product", "product " + i);
+      line.put("quantity", i);
+    }
+    return order;
+  }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.management.jmx.mbeans;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.ProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.metrics.CommandStatistics;
+import org.activiti.engine.impl.metrics.DefaultCommandMetricsRegistry;
+import org.activiti.engine.impl.metrics.EntityCacheStatistics;
+import org.activiti.engine.impl.metrics.PrometheusCommandMetricsExporter;
+import org.activiti.management.jmx.annotations.ManagedAttribute;
+import org.activiti.management.jmx.annotations.ManagedOperation;
+import org.activiti.management.jmx.annotations.ManagedResource;
+
+@ManagedResource(description = "Command metrics MBean")
+public class CommandMetricsMBean {
+
+  DefaultCommandMetricsRegistry metricsRegistry;
+
+  public CommandMetricsMBean(ProcessEngineConfiguration processEngineConfig) {
+    if (processEngineConfig instanceof ProcessEngineConfigurationImpl
+        && ((ProcessEngineConfigurationImpl) processEngineConfig).getCommandMetricsRegistry() instanceof DefaultCommandMetricsRegistry) {
+      metricsRegistry = (DefaultCommandMetricsRegistry) ((ProcessEngineConfigurationImpl) processEngineConfig).getCommandMetricsRegistry();
+    }
+  }
+
+  @ManagedAttribute(description = "check if command metrics are collected")
+  public boolean isCommandMetricsEnabled() {
+    return metricsRegistry != null;
+  }
+
+  @ManagedAttribute(description = "List of executed commands with count, failures, average latency and sql statements")
+  public List<List<String>> getCommandStatistics() {
+    List<List<String>> result = new ArrayList<List<String>>();
+    if (metricsRegistry != null) {
+      for (CommandStatistics statistics : metricsRegistry.getCommandStatistics().values()) {
+        List<String> item = new ArrayList<String>(8);
+        item.add(statistics.getCommandName());
+        item.add(String.valueOf(statistics.getExecutionCount()));
+        item.add(String.valueOf(statistics.getFailureCount()));
+        item.add(String.valueOf(statistics.getLatency().getAverageInMillis()));
+        item.add(String.valueOf(statistics.getSelectCount()));
+        item.add(String.valueOf(statistics.getInsertCount()));
+        item.add(String.valueOf(statistics.getUpdateCount()));
+        item.add(String.valueOf(statistics.getDeleteCount()));
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  @ManagedAttribute(description = "List of entity types with entity cache hits and misses")
+  public List<List<String>> getEntityCacheStatistics() {
+    List<List<String>> result = new ArrayList<List<String>>();
+    if (metricsRegistry != null) {
+      for (EntityCacheStatistics statistics : metricsRegistry.getEntityCacheStatistics().values()) {
+        List<String> item = new ArrayList<String>(3);
+        item.add(statistics.getEntityType());
+        item.add(String.valueOf(statistics.getHitCount()));
+        item.add(String.valueOf(statistics.getMissCount()));
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  @ManagedOperation(description = "Command metrics in the Prometheus text exposition format")
+  public String getPrometheusMetrics() {
+    if (metricsRegistry == null) {
+      return "";
+    }
+    return new PrometheusCommandMetricsExporter(metricsRegistry).export();
+  }
+
+  @ManagedOperation(description = "Reset all collected command metrics")
+  public void reset() {
+    if (metricsRegistry != null) {
+      metricsRegistry.reset();
+    }
+  }
+
+}
@@ -14,6 +14,7 @@ package org.activiti.ldap;
 
 import java.text.MessageFormat;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.naming.directory.InitialDirContext;
@@ -21,10 +22,14 @@ import javax.naming.spi.InitialContextFactory;
 
 import org.activiti.engine.cfg.AbstractProcessEngineConfigurator;
 import org.activiti.engine.cfg.ProcessEngineConfigurator;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.identity.Group;
 import org.activiti.engine.identity.User;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.ldap.LDAPGroupCache.LDAPGroupCacheListener;
+import org.activiti.ldap.LDAPGroupCache.LDAPGroupLoader;
 
 /**
  * A {@link ProcessEngineConfigurator} that integrates a LDAP system with the Activiti process engine. The LDAP system will be consulted primarily for getting user information and in particular for
@@ -55,6 +60,7 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   protected String userBaseDn;
   protected String groupBaseDn;
   protected int searchTimeLimit = 0; // Default '0' == wait forever
+  protected int searchPageSize = 0; // Default '0' == no paging
 
   protected String queryUserByUserId;
   protected String queryGroupsForUser;
@@ -76,6 +82,13 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   // Group caching
   protected int groupCacheSize = -1;
   protected long groupCacheExpirationTime = 3600000L; // default: one hour
+  protected long groupCacheRefreshAheadTime = -1L;
+
+  // Connection pooling
+  protected int connectionPoolSize = 0; // Default '0' == a new connection for every call
+  protected long connectionPoolMaxWait = 5000L;
+  protected long connectionPoolValidationInterval = 30000L;
+  protected LDAPConnectionPool connectionPool;
 
   // Cache listener (experimental)
   protected LDAPGroupCacheListener groupCacheListener;
@@ -86,6 +99,11 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
 
   public void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
     
+    // Connections
+    if (connectionPoolSize > 0) {
+      connectionPool = new LDAPConnectionPool(this, connectionPoolSize, connectionPoolMaxWait, connectionPoolValidationInterval);
+    }
+
     // User 
     processEngineConfiguration.setUserEntityManager(new LDAPUserManager(processEngineConfiguration, this));
     
@@ -96,6 +114,9 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
       if (groupCacheListener != null) {
         ldapGroupCache.setLdapCacheListener(groupCacheListener);
       }
+      ldapGroupCache.setRefreshAheadTime(groupCacheRefreshAheadTime);
+      // Allows invalidating the cached groups through the engine configuration
+      processEngineConfiguration.setUserGroupCache(ldapGroupCache);
     }
     
     LDAPGroupManager ldapGroupManager = null;
@@ -103,8 +124,41 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
       ldapGroupManager = new LDAPGroupManager(processEngineConfiguration, this);
     } else {
       ldapGroupManager = new LDAPGroupManager(processEngineConfiguration, this, ldapGroupCache);
+      final LDAPGroupManager groupLoader = ldapGroupManager;
+      ldapGroupCache.setGroupLoader(new LDAPGroupLoader() {
+        public List<Group> loadGroups(String userId) {
+          return groupLoader.loadGroupsByUser(userId);
+        }
+      });
     }
     processEngineConfiguration.setGroupEntityManager(ldapGroupManager);
+
+    if (connectionPool != null || ldapGroupCache != null) {
+      final LDAPGroupCache closedGroupCache = ldapGroupCache;
+      processEngineConfiguration.getEventDispatcher().addEventListener(new ActivitiEventListener() {
+
+        public void onEvent(ActivitiEvent event) {
+          close(closedGroupCache);
+        }
+
+        public boolean isFailOnException() {
+          return false;
+        }
+
+      }, ActivitiEventType.ENGINE_CLOSED);
+    }
+  }
+
+  /**
+   * Called when the process engine is closed: closes the pooled connections and stops the background refreshes of the group cache.
+   */
+  protected void close(LDAPGroupCache ldapGroupCache) {
+    if (connectionPool != null) {
+      connectionPool.close();
+    }
+    if (ldapGroupCache != null) {
+      ldapGroupCache.shutdown();
+    }
   }
 
   // Getters and Setters //////////////////////////////////////////////////
@@ -239,6 +293,19 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
     this.searchTimeLimit = searchTimeLimit;
   }
 
+  public int getSearchPageSize() {
+    return searchPageSize;
+  }
+
+  /**
+   * When larger than zero, searches fetch their results in pages of this size (using the paged results control of RFC 2696), 
+   * which is needed when searches return more results than the size limit of the LDAP server (eg. 1000 for Active Directory).
+   * By default set to '0', which means no paging.
+   */
+  public void setSearchPageSize(int searchPageSize) {
+    this.searchPageSize = searchPageSize;
+  }
+
   public String getQueryUserByUserId() {
     return queryUserByUserId;
   }
@@ -437,6 +504,22 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
     this.groupCacheExpirationTime = groupCacheExpirationTime;
   }
 
+  public long getGroupCacheRefreshAheadTime() {
+    return groupCacheRefreshAheadTime;
+  }
+
+  /**
+   * Sets the time in milliseconds before the expiration of a cached entry (see {@link #setGroupCacheExpirationTime(long)}) in which reading the entry 
+   * reloads the groups of the user in the background. Frequently used entries are then refreshed before they expire, instead of being fetched again
+   * from the LDAP system by the thread that needs them. eg. with an expiration time of 1 hour and a refresh-ahead time of 10 mins, a read after 
+   * 50 minutes triggers the refresh.
+   * 
+   * By default set to -1, which means entries are only reloaded after they expired.
+   */
+  public void setGroupCacheRefreshAheadTime(long groupCacheRefreshAheadTime) {
+    this.groupCacheRefreshAheadTime = groupCacheRefreshAheadTime;
+  }
+
   public LDAPGroupCacheListener getGroupCacheListener() {
     return groupCacheListener;
   }
@@ -444,5 +527,50 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   public void setGroupCacheListener(LDAPGroupCacheListener groupCacheListener) {
     this.groupCacheListener = groupCacheListener;
   }
-  
+
+  public int getConnectionPoolSize() {
+    return connectionPoolSize;
+  }
+
+  /**
+   * The maximum number of pooled connections (bound with the configured user) that are in use at the same time. When larger than zero, 
+   * connections are kept open and reused instead of opening a new connection for every call to the LDAP system (see {@link LDAPConnectionPool}).
+   * 
+   * By default set to '0', which means no pooling.
+   */
+  public void setConnectionPoolSize(int connectionPoolSize) {
+    this.connectionPoolSize = connectionPoolSize;
+  }
+
+  public long getConnectionPoolMaxWait() {
+    return connectionPoolMaxWait;
+  }
+
+  /**
+   * The time in milliseconds to wait for a free pooled connection when all connections are in use, after which an exception is thrown. 
+   * By default set to 5 seconds.
+   */
+  public void setConnectionPoolMaxWait(long connectionPoolMaxWait) {
+    this.connectionPoolMaxWait = connectionPoolMaxWait;
+  }
+
+  public long getConnectionPoolValidationInterval() {
+    return connectionPoolValidationInterval;
+  }
+
+  /**
+   * Pooled connections that weren't validated for this time in milliseconds are checked before they are used, and replaced when they 
+   * were closed by the server in the meantime. By default set to 30 seconds. '0' validates a pooled connection every time it is used.
+   */
+  public void setConnectionPoolValidationInterval(long connectionPoolValidationInterval) {
+    this.connectionPoolValidationInterval = connectionPoolValidationInterval;
+  }
+
+  /**
+   * @return the pool of connections, or null when pooling is disabled or the engine isn't configured yet.
+   */
+  public LDAPConnectionPool getConnectionPool() {
+    return connectionPool;
+  }
+
 }
@@ -0,0 +1,216 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.ldap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.NamingException;
+import javax.naming.directory.InitialDirContext;
+
+import org.activiti.engine.ActivitiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of LDAP connections bound with the user of the {@link LDAPConfigurator}, used by the {@link LDAPTemplate} instead of
+ * opening (and binding) a new connection for every call. Connections bound with the credentials of other users, like for
+ * password checks, are never pooled.
+ * 
+ * At most maxSize connections are handed out at the same time, callers wait up to maxWait milliseconds for a free one.
+ * Connections are reused most recently used first. A connection that wasn't validated for longer than the validation interval 
+ * is checked with a cheap read of the root DSE before it is handed out, and replaced when the check fails (eg. because the server or a
+ * firewall closed the connection). Connections on which an error happened are discarded instead of returned to the pool.
+ */
+public class LDAPConnectionPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LDAPConnectionPool.class);
+
+  protected static final String[] VALIDATION_ATTRIBUTES = new String[] { "objectClass" };
+
+  protected LDAPConfigurator ldapConfigurator;
+  protected int maxSize;
+  protected long maxWait;
+  protected long validationInterval;
+
+  protected Semaphore permits;
+  protected LinkedBlockingDeque<PooledContext> idleContexts = new LinkedBlockingDeque<PooledContext>();
+  protected ConcurrentMap<InitialDirContext, PooledContext> borrowedContexts = new ConcurrentHashMap<InitialDirContext, PooledContext>();
+  protected volatile boolean closed;
+
+  protected AtomicLong createdCount = new AtomicLong();
+  protected AtomicLong discardedCount = new AtomicLong();
+  protected AtomicLong validationFailureCount = new AtomicLong();
+
+  public LDAPConnectionPool(LDAPConfigurator ldapConfigurator, int maxSize, long maxWait, long validationInterval) {
+    if (maxSize <= 0) {
+      throw new ActivitiException("The size of the LDAP connection pool must be larger than zero");
+    }
+    this.ldapConfigurator = ldapConfigurator;
+    this.maxSize = maxSize;
+    this.maxWait = maxWait;
+    this.validationInterval = validationInterval;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  public InitialDirContext borrowContext() {
+    if (closed) {
+      throw new ActivitiException("LDAP connection pool is closed");
+    }
+
+    try {
+      if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+        throw new ActivitiException("Timeout waiting " + maxWait + " ms for a free LDAP connection, all " + maxSize + " connections are in use");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ActivitiException("Interrupted while waiting for a free LDAP connection", e);
+    }
+
+    try {
+      PooledContext pooledContext = idleContexts.pollFirst();
+      while (pooledContext != null) {
+        if (isValid(pooledContext)) {
+          borrowedContexts.put(pooledContext.context, pooledContext);
+          return pooledContext.context;
+        }
+        validationFailureCount.incrementAndGet();
+        discard(pooledContext.context);
+        pooledContext = idleContexts.pollFirst();
+      }
+
+      InitialDirContext context = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+      createdCount.incrementAndGet();
+      borrowedContexts.put(context, new PooledContext(context, System.currentTimeMillis()));
+      return context;
+
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Gives a borrowed connection back to the pool.
+   * 
+   * @param reusable false when an error happened on the connection, in which case it is closed instead of pooled.
+   */
+  public void returnContext(InitialDirContext context, boolean reusable) {
+    PooledContext pooledContext = borrowedContexts.remove(context);
+    if (pooledContext == null) {
+      throw new ActivitiException("LDAP connection was not borrowed from this pool");
+    }
+
+    try {
+      if (reusable && !closed) {
+        idleContexts.offerFirst(pooledContext);
+
+        // A close that happened concurrently won't see the connection we just added
+        if (closed && idleContexts.remove(pooledContext)) {
+          discard(context);
+        }
+      } else {
+        discard(context);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  protected boolean isValid(PooledContext pooledContext) {
+    long now = System.currentTimeMillis();
+    if (now - pooledContext.lastValidated < validationInterval) {
+      return true;
+    }
+    try {
+      pooledContext.context.getAttributes("", VALIDATION_ATTRIBUTES);
+      pooledContext.lastValidated = now;
+      return true;
+    } catch (NamingException e) {
+      LOGGER.debug("Pooled LDAP connection is not valid anymore: {}", e.getMessage());
+      return false;
+    } catch (RuntimeException e) {
+      LOGGER.debug("Pooled LDAP connection is not valid anymore: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  protected void discard(InitialDirContext context) {
+    discardedCount.incrementAndGet();
+    LDAPConnectionUtil.closeDirectoryContext(context);
+  }
+
+  /**
+   * Closes all idle connections. Connections that are in use are closed when they are returned.
+   */
+  public void close() {
+    closed = true;
+    PooledContext pooledContext = idleContexts.pollFirst();
+    while (pooledContext != null) {
+      discard(pooledContext.context);
+      pooledContext = idleContexts.pollFirst();
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getMaxWait() {
+    return maxWait;
+  }
+
+  public long getValidationInterval() {
+    return validationInterval;
+  }
+
+  public int getActiveCount() {
+    return maxSize - permits.availablePermits();
+  }
+
+  public int getIdleCount() {
+    return idleContexts.size();
+  }
+
+  public long getCreatedCount() {
+    return createdCount.get();
+  }
+
+  public long getDiscardedCount() {
+    return discardedCount.get();
+  }
+
+  public long getValidationFailureCount() {
+    return validationFailureCount.get();
+  }
+
+  protected static class PooledContext {
+
+    protected final InitialDirContext context;
+    protected volatile long lastValidated;
+
+    public PooledContext(InitialDirContext context, long lastValidated) {
+      this.context = context;
+      this.lastValidated = lastValidated;
+    }
+  }
+
+}
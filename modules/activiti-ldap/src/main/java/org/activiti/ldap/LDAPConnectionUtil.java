@@ -17,6 +17,7 @@ import java.util.Properties;
 import javax.naming.Context;
 import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
+import javax.naming.ldap.InitialLdapContext;
 
 import org.activiti.engine.ActivitiException;
 import org.slf4j.Logger;
@@ -49,9 +50,10 @@ public class LDAPConnectionUtil {
       }
     }
 
+    // An ldap context (instead of a plain directory context) allows to send request controls, eg. for paged searches
     InitialDirContext context;
     try {
-      context = new InitialDirContext(properties);
+      context = new InitialLdapContext(properties, null);
     } catch (NamingException e) {
     	LOGGER.warn("Could not create InitialDirContext for LDAP connection : " + e.getMessage());
       throw new ActivitiException("Could not create InitialDirContext for LDAP connection : " + e.getMessage(), e);
@@ -12,166 +12,164 @@
  */
 package org.activiti.ldap;
 
-import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.identity.DefaultUserGroupCache;
+import org.activiti.engine.impl.identity.UserGroupCacheListener;
 import org.activiti.engine.runtime.ClockReader;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Simple cache for groups a user belongs to, which avoid hitting the LDAP system too much. Groups are fetched internally by the engine for exampe when doing queries, eg when fetching tasks for a
  * candidateUser. Configured through the {@link LDAPConfigurator}.
  * 
  * Cached entries have an expiration time. For example when set to one hour, changes to the ldap system around the groups of a user will be visible after that hour.
+ * The cache is also registered as user group cache of the process engine configuration, so changes in the ldap system can be 
+ * made visible earlier by invalidating the groups of a user.
+ * 
+ * With a refresh-ahead time and a {@link LDAPGroupLoader}, a cache hit on an entry that expires within the refresh-ahead time reloads the groups 
+ * in the background, so frequently used entries are kept fresh and don't cause an LDAP round trip on the calling thread when they expire.
  * 
  * Experimental: can have a listener for cache events, and instance of {@link LDAPGroupCacheListener}.
  * 
  * @author Joram Barrez
  */
-public class LDAPGroupCache {
+public class LDAPGroupCache extends DefaultUserGroupCache {
 
-  private final ClockReader clockReader;
-  protected Map<String, LDAPGroupCacheEntry> groupCache;
-  protected long expirationTime;
+  private static final Logger LOGGER = LoggerFactory.getLogger(LDAPGroupCache.class);
 
-  protected LDAPGroupCacheListener ldapCacheListener;
+  protected long refreshAheadTime = -1L;
+  protected LDAPGroupLoader groupLoader;
+  protected ExecutorService refreshExecutor;
+  protected Set<String> refreshingUserIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
   public LDAPGroupCache(final int cacheSize, final long expirationTime, final ClockReader clockReader) {
-    this.clockReader = clockReader;
-
-    // From
-    // http://stackoverflow.com/questions/224868/easy-simple-to-use-lru-cache-in-java
-    this.groupCache = new LinkedHashMap<String, LDAPGroupCache.LDAPGroupCacheEntry>(cacheSize + 1, 0.75f, true) {
-
-      private static final long serialVersionUID = 5207574193173514579L;
-
-      protected boolean removeEldestEntry(Map.Entry<String, LDAPGroupCacheEntry> eldest) {
-        boolean removeEldest = size() > cacheSize;
-
-        if (removeEldest && ldapCacheListener != null) {
-          ldapCacheListener.cacheEviction(eldest.getKey());
-        }
-
-        return removeEldest;
-      }
-
-    };
-    this.expirationTime = expirationTime;
+    super(cacheSize, expirationTime, clockReader);
   }
 
-  public void add(String userId, List<Group> groups) {
-    this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups));
+  public void clear() {
+    invalidateAll();
   }
 
-  public List<Group> get(String userId) {
-    LDAPGroupCacheEntry cacheEntry = groupCache.get(userId);
-    if (cacheEntry != null) {
-      if ((clockReader.getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) < expirationTime) {
-
-        if (ldapCacheListener != null) {
-          ldapCacheListener.cacheHit(userId);
-        }
-
-        return cacheEntry.getGroups();
-
-      } else {
-
-        this.groupCache.remove(userId);
-
-        if (ldapCacheListener != null) {
-          ldapCacheListener.cacheExpired(userId);
-          ldapCacheListener.cacheEviction(userId);
-        }
+  @Override
+  protected void entryRead(String userId, long cachedTime) {
+    if (refreshAheadTime <= 0 || expirationTime <= 0 || groupLoader == null) {
+      return;
+    }
+    if (clockReader.getCurrentTime().getTime() - cachedTime >= expirationTime - refreshAheadTime && refreshingUserIds.add(userId)) {
+      try {
+        getRefreshExecutor().execute(new RefreshGroupsRunnable(userId));
+      } catch (RejectedExecutionException e) {
+        // Too many refreshes queued (or shut down): the entry will be reloaded when it expires
+        refreshingUserIds.remove(userId);
+      }
+    }
+  }
 
+  protected void refresh(String userId) {
+    try {
+      List<Group> groups = groupLoader.loadGroups(userId);
+      if (groups != null) {
+        replace(userId, groups);
       }
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not refresh the cached groups of user {}: {}", userId, e.getMessage());
+    } finally {
+      refreshingUserIds.remove(userId);
     }
+  }
 
-    if (ldapCacheListener != null) {
-      ldapCacheListener.cacheMiss(userId);
+  protected synchronized ExecutorService getRefreshExecutor() {
+    if (refreshExecutor == null) {
+      BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("activiti-ldap-group-cache-refresh-%d").daemon(true).build();
+      ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(1000), threadFactory);
+      threadPoolExecutor.allowCoreThreadTimeOut(true);
+      refreshExecutor = threadPoolExecutor;
     }
+    return refreshExecutor;
+  }
 
-    return null;
+  /**
+   * Stops the background refreshes. Refreshes that are running are not waited for.
+   */
+  public synchronized void shutdown() {
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+      refreshExecutor = null;
+    }
   }
 
-  public void clear() {
-    groupCache.clear();
+  public long getRefreshAheadTime() {
+    return refreshAheadTime;
   }
 
-  public Map<String, LDAPGroupCacheEntry> getGroupCache() {
-    return groupCache;
+  /**
+   * Time in milliseconds before the expiration of an entry in which a cache hit reloads the groups in the background. 0 or less disables refresh-ahead.
+   */
+  public void setRefreshAheadTime(long refreshAheadTime) {
+    this.refreshAheadTime = refreshAheadTime;
   }
 
-  public void setGroupCache(Map<String, LDAPGroupCacheEntry> groupCache) {
-    this.groupCache = groupCache;
+  public LDAPGroupLoader getGroupLoader() {
+    return groupLoader;
   }
 
-  public long getExpirationTime() {
-    return expirationTime;
+  public void setGroupLoader(LDAPGroupLoader groupLoader) {
+    this.groupLoader = groupLoader;
   }
 
-  public void setExpirationTime(long expirationTime) {
-    this.expirationTime = expirationTime;
+  public synchronized void setRefreshExecutor(ExecutorService refreshExecutor) {
+    this.refreshExecutor = refreshExecutor;
   }
 
   public LDAPGroupCacheListener getLdapCacheListener() {
-    return ldapCacheListener;
+    return (LDAPGroupCacheListener) cacheListener;
   }
 
   public void setLdapCacheListener(LDAPGroupCacheListener ldapCacheListener) {
-    this.ldapCacheListener = ldapCacheListener;
+    this.cacheListener = ldapCacheListener;
   }
 
-  // Helper classes ////////////////////////////////////
-
-  static class LDAPGroupCacheEntry {
-
-    protected Date timestamp;
-    protected List<Group> groups;
-
-    public LDAPGroupCacheEntry() {
-
-    }
-
-    public LDAPGroupCacheEntry(Date timestamp, List<Group> groups) {
-      this.timestamp = timestamp;
-      this.groups = groups;
-    }
-
-    public Date getTimestamp() {
-      return timestamp;
-    }
-
-    public void setTimestamp(Date timestamp) {
-      this.timestamp = timestamp;
-    }
+  // Cache listeners. Currently not yet exposed (only programmatically for the
+  // moment)
 
-    public List<Group> getGroups() {
-      return groups;
-    }
+  // Experimental stuff!
 
-    public void setGroups(List<Group> groups) {
-      this.groups = groups;
-    }
+  public static interface LDAPGroupCacheListener extends UserGroupCacheListener {
 
   }
 
-  // Cache listeners. Currently not yet exposed (only programmatically for the
-  // moment)
+  /**
+   * Loads the groups of a user from the LDAP system, used to refresh cached entries ahead of their expiration.
+   */
+  public static interface LDAPGroupLoader {
 
-  // Experimental stuff!
-
-  public static interface LDAPGroupCacheListener {
+    List<Group> loadGroups(String userId);
 
-    void cacheHit(String userId);
+  }
 
-    void cacheMiss(String userId);
+  protected class RefreshGroupsRunnable implements Runnable {
 
-    void cacheEviction(String userId);
+    protected String userId;
 
-    void cacheExpired(String userId);
+    public RefreshGroupsRunnable(String userId) {
+      this.userId = userId;
+    }
 
+    public void run() {
+      refresh(userId);
+    }
   }
 
 }
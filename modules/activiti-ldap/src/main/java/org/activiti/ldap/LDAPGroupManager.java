@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.SearchControls;
@@ -104,7 +103,7 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
   }
 
   @Override
-  public List<Group> findGroupsByUser(final String userId) {
+  public List<Group> findGroupsByUser(String userId) {
 
     // First try the cache (if one is defined)
     if (ldapGroupCache != null) {
@@ -114,8 +113,21 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
       }
     }
 
-    // Do the search against Ldap
-    LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+    List<Group> groups = loadGroupsByUser(userId);
+
+    // Cache results for later
+    if (ldapGroupCache != null) {
+      ldapGroupCache.add(userId, groups);
+    }
+
+    return groups;
+  }
+
+  /**
+   * Does the search for the groups of a user against Ldap, without using the cache. Also used to refresh the cached groups ahead of their expiration.
+   */
+  public List<Group> loadGroupsByUser(final String userId) {
+    final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
     return ldapTemplate.execute(new LDAPCallBack<List<Group>>() {
 
       public List<Group> executeInContext(InitialDirContext initialDirContext) {
@@ -125,10 +137,7 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
         List<Group> groups = new ArrayList<Group>();
         try {
           String baseDn = ldapConfigurator.getGroupBaseDn() != null ? ldapConfigurator.getGroupBaseDn() : ldapConfigurator.getBaseDn();
-          NamingEnumeration<?> namingEnum = initialDirContext.search(baseDn, searchExpression, createSearchControls());
-          while (namingEnum.hasMore()) { // Should be only one
-            SearchResult result = (SearchResult) namingEnum.next();
-
+          for (SearchResult result : ldapTemplate.search(initialDirContext, baseDn, searchExpression, createSearchControls())) {
             GroupEntity group = new GroupEntityImpl();
             if (ldapConfigurator.getGroupIdAttribute() != null) {
               group.setId(result.getAttributes().get(ldapConfigurator.getGroupIdAttribute()).get().toString());
@@ -142,13 +151,6 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
             groups.add(group);
           }
 
-          namingEnum.close();
-
-          // Cache results for later
-          if (ldapGroupCache != null) {
-            ldapGroupCache.add(userId, groups);
-          }
-
           return groups;
 
         } catch (NamingException e) {
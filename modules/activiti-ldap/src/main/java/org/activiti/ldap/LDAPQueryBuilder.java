@@ -14,7 +14,6 @@ package org.activiti.ldap;
 
 import java.text.MessageFormat;
 
-import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.SearchControls;
@@ -50,7 +49,7 @@ public class LDAPQueryBuilder {
     if (ldapConfigurator.getQueryGroupsForUser() != null) {
 
       // Fetch the dn of the user
-      LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+      final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
       String userDn = ldapTemplate.execute(new LDAPCallBack<String>() {
 
         public String executeInContext(InitialDirContext initialDirContext) {
@@ -58,12 +57,9 @@ public class LDAPQueryBuilder {
           String userDnSearch = buildQueryByUserId(ldapConfigurator, userId);
           try {
             String baseDn = ldapConfigurator.getUserBaseDn() != null ? ldapConfigurator.getUserBaseDn() : ldapConfigurator.getBaseDn();
-            NamingEnumeration<?> namingEnum = initialDirContext.search(baseDn, userDnSearch, createSearchControls(ldapConfigurator));
-            while (namingEnum.hasMore()) { // Should be only one
-              SearchResult result = (SearchResult) namingEnum.next();
+            for (SearchResult result : ldapTemplate.search(initialDirContext, baseDn, userDnSearch, createSearchControls(ldapConfigurator))) { // Should be only one
               return result.getNameInNamespace();
             }
-            namingEnum.close();
           } catch (NamingException e) {
             LOGGER.debug("Could not find user dn : " + e.getMessage(), e);
           }
@@ -12,8 +12,24 @@
  */
 package org.activiti.ldap;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
 
+import org.activiti.engine.ActivitiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,20 +44,116 @@ public class LDAPTemplate {
 
   protected LDAPConfigurator ldapConfigurator;
 
+  /**
+   * Contexts on which a search failed. The callbacks catch the {@link NamingException}s themselves, 
+   * so this is how a pooled connection that failed is kept out of the pool.
+   */
+  protected Set<InitialDirContext> failedContexts = Collections.newSetFromMap(new ConcurrentHashMap<InitialDirContext, Boolean>());
+
   public LDAPTemplate(LDAPConfigurator ldapConfigurator) {
     this.ldapConfigurator = ldapConfigurator;
   }
 
   public <T> T execute(LDAPCallBack<T> ldapCallBack) {
+    LDAPConnectionPool connectionPool = ldapConfigurator.getConnectionPool();
+    if (connectionPool != null) {
+      return execute(connectionPool, ldapCallBack);
+    }
+
     InitialDirContext initialDirContext = null;
     try {
       initialDirContext = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
     } catch (Exception e) {
       LOGGER.info("Could not create LDAP connection : " + e.getMessage(), e);
     }
-    T result = ldapCallBack.executeInContext(initialDirContext);
-    LDAPConnectionUtil.closeDirectoryContext(initialDirContext);
-    return result;
+    try {
+      return ldapCallBack.executeInContext(initialDirContext);
+    } finally {
+      if (initialDirContext != null) {
+        failedContexts.remove(initialDirContext);
+      }
+      LDAPConnectionUtil.closeDirectoryContext(initialDirContext);
+    }
+  }
+
+  protected <T> T execute(LDAPConnectionPool connectionPool, LDAPCallBack<T> ldapCallBack) {
+    InitialDirContext initialDirContext = connectionPool.borrowContext();
+    boolean reusable = false;
+    try {
+      T result = ldapCallBack.executeInContext(initialDirContext);
+      reusable = true;
+      return result;
+    } finally {
+      // A search that failed on the connection makes it unusable, even when the callback handled the exception
+      if (failedContexts.remove(initialDirContext)) {
+        reusable = false;
+      }
+      connectionPool.returnContext(initialDirContext, reusable);
+    }
+  }
+
+  /**
+   * Executes a search and returns all results. When a search page size is configured (see {@link LDAPConfigurator#setSearchPageSize(int)}), 
+   * the results are fetched in pages using the paged results control of RFC 2696, so large result sets don't hit the size limit of the server.
+   * Servers that don't support the control return all results at once.
+   * 
+   * When the search fails, the context is not given back to the connection pool once the callback is done.
+   */
+  public List<SearchResult> search(InitialDirContext initialDirContext, String baseDn, String searchExpression, SearchControls searchControls) throws NamingException {
+    try {
+      return doSearch(initialDirContext, baseDn, searchExpression, searchControls);
+    } catch (NamingException e) {
+      failedContexts.add(initialDirContext);
+      throw e;
+    }
+  }
+
+  protected List<SearchResult> doSearch(InitialDirContext initialDirContext, String baseDn, String searchExpression, SearchControls searchControls) throws NamingException {
+    List<SearchResult> results = new ArrayList<SearchResult>();
+    int pageSize = ldapConfigurator.getSearchPageSize();
+    if (pageSize <= 0 || !(initialDirContext instanceof LdapContext)) {
+      collectResults(initialDirContext.search(baseDn, searchExpression, searchControls), results);
+      return results;
+    }
+
+    LdapContext ldapContext = (LdapContext) initialDirContext;
+    try {
+      byte[] cookie = null;
+      do {
+        ldapContext.setRequestControls(new Control[] { new PagedResultsControl(pageSize, cookie, Control.NONCRITICAL) });
+        collectResults(ldapContext.search(baseDn, searchExpression, searchControls), results);
+        cookie = getPagedResultsCookie(ldapContext.getResponseControls());
+      } while (cookie != null && cookie.length > 0);
+
+    } catch (IOException e) {
+      throw new ActivitiException("Could not create paged results control", e);
+
+    } finally {
+      // The context can be pooled, so the next user shouldn't inherit the control
+      ldapContext.setRequestControls(null);
+    }
+    return results;
+  }
+
+  protected void collectResults(NamingEnumeration<SearchResult> namingEnum, List<SearchResult> results) throws NamingException {
+    try {
+      while (namingEnum.hasMore()) {
+        results.add(namingEnum.next());
+      }
+    } finally {
+      namingEnum.close();
+    }
+  }
+
+  protected byte[] getPagedResultsCookie(Control[] responseControls) {
+    if (responseControls != null) {
+      for (Control responseControl : responseControls) {
+        if (responseControl instanceof PagedResultsResponseControl) {
+          return ((PagedResultsResponseControl) responseControl).getCookie();
+        }
+      }
+    }
+    return null;
   }
 
   public LDAPConfigurator getLdapConfigurator() {
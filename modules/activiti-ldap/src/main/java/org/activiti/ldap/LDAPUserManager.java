@@ -16,7 +16,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
 import javax.naming.directory.SearchControls;
@@ -90,7 +89,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
 
   @Override
   public UserEntity findById(final String userId) {
-    LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+    final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
     return ldapTemplate.execute(new LDAPCallBack<UserEntity>() {
 
       public UserEntity executeInContext(InitialDirContext initialDirContext) {
@@ -99,13 +98,10 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
           String searchExpression = ldapConfigurator.getLdapQueryBuilder().buildQueryByUserId(ldapConfigurator, userId);
 
           String baseDn = ldapConfigurator.getUserBaseDn() != null ? ldapConfigurator.getUserBaseDn() : ldapConfigurator.getBaseDn();
-          NamingEnumeration<?> namingEnum = initialDirContext.search(baseDn, searchExpression, createSearchControls());
           UserEntity user = new UserEntityImpl();
-          while (namingEnum.hasMore()) { // Should be only one
-            SearchResult result = (SearchResult) namingEnum.next();
+          for (SearchResult result : ldapTemplate.search(initialDirContext, baseDn, searchExpression, createSearchControls())) { // Should be only one
             mapSearchResultToUser(result, user);
           }
-          namingEnum.close();
 
           return user;
 
@@ -134,7 +130,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
       
       final String fullNameLike = query.getFullNameLike().replaceAll("%", "");
       
-      LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+      final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
       return ldapTemplate.execute(new LDAPCallBack<List<User>>() {
 
         public List<User> executeInContext(InitialDirContext initialDirContext) {
@@ -142,17 +138,11 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
           try {
             String searchExpression = ldapConfigurator.getLdapQueryBuilder().buildQueryByFullNameLike(ldapConfigurator, fullNameLike);
             String baseDn = ldapConfigurator.getUserBaseDn() != null ? ldapConfigurator.getUserBaseDn() : ldapConfigurator.getBaseDn();
-            NamingEnumeration<?> namingEnum = initialDirContext.search(baseDn, searchExpression, createSearchControls());
-
-            while (namingEnum.hasMore()) {
-              SearchResult searchResult = (SearchResult) namingEnum.next();
-
+            for (SearchResult searchResult : ldapTemplate.search(initialDirContext, baseDn, searchExpression, createSearchControls())) {
               UserEntity user = new UserEntityImpl();
               mapSearchResultToUser(searchResult, user);
               result.add(user);
-
             }
-            namingEnum.close();
 
           } catch (NamingException ne) {
             logger.debug("Could not execute LDAP query: " + ne.getMessage(), ne);
@@ -243,7 +233,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
     }
 
     try {
-      LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+      final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
       return ldapTemplate.execute(new LDAPCallBack<Boolean>() {
 
         public Boolean executeInContext(InitialDirContext initialDirContext) {
@@ -258,13 +248,9 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
 
             String searchExpression = ldapConfigurator.getLdapQueryBuilder().buildQueryByUserId(ldapConfigurator, userId);
             String baseDn = ldapConfigurator.getUserBaseDn() != null ? ldapConfigurator.getUserBaseDn() : ldapConfigurator.getBaseDn();
-            NamingEnumeration<?> namingEnum = initialDirContext.search(baseDn, searchExpression, createSearchControls());
-
-            while (namingEnum.hasMore()) { // Should be only one
-              SearchResult result = (SearchResult) namingEnum.next();
+            for (SearchResult result : ldapTemplate.search(initialDirContext, baseDn, searchExpression, createSearchControls())) { // Should be only one
               userDn = result.getNameInNamespace();
             }
-            namingEnum.close();
 
           } catch (NamingException ne) {
             logger.info("Could not authenticate user " + userId + " : " + ne.getMessage(), ne);
@@ -0,0 +1,153 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.ldap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.NamingException;
+import javax.naming.directory.InitialDirContext;
+import javax.naming.directory.SearchControls;
+
+import org.activiti.engine.cfg.ProcessEngineConfigurator;
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.identity.User;
+import org.activiti.ldap.LDAPCallBack;
+import org.activiti.ldap.LDAPConfigurator;
+import org.activiti.ldap.LDAPConnectionPool;
+import org.activiti.ldap.LDAPGroupCache;
+import org.activiti.ldap.LDAPGroupManager;
+import org.activiti.ldap.LDAPTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration("classpath:activiti-context-ldap-pooling.xml")
+public class LdapConnectionPoolTest extends LDAPTestCase {
+
+  protected LDAPConfigurator ldapConfigurator;
+  protected LDAPConnectionPool connectionPool;
+  protected LDAPGroupCache ldapGroupCache;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    for (ProcessEngineConfigurator configurator : processEngineConfiguration.getConfigurators()) {
+      if (configurator instanceof LDAPConfigurator) {
+        ldapConfigurator = (LDAPConfigurator) configurator;
+        connectionPool = ldapConfigurator.getConnectionPool();
+      }
+    }
+    ldapGroupCache = ((LDAPGroupManager) processEngineConfiguration.getGroupEntityManager()).getLdapGroupCache();
+    ldapGroupCache.clear();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getClock().reset();
+    super.tearDown();
+  }
+
+  public void testConnectionsAreReused() {
+    assertNotNull(connectionPool);
+    long createdCount = connectionPool.getCreatedCount();
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals("kermit", identityService.createUserQuery().userId("kermit").singleResult().getId());
+      assertTrue(identityService.checkPassword("kermit", "pass"));
+    }
+
+    // The queries are done one after the other, so one pooled connection is enough
+    assertTrue(connectionPool.getCreatedCount() - createdCount <= 1);
+    assertEquals(0, connectionPool.getActiveCount());
+    assertTrue(connectionPool.getIdleCount() >= 1);
+  }
+
+  public void testFailedSearchDiscardsConnection() {
+    long discardedCount = connectionPool.getDiscardedCount();
+
+    final LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
+    Boolean failed = ldapTemplate.execute(new LDAPCallBack<Boolean>() {
+      public Boolean executeInContext(InitialDirContext initialDirContext) {
+        try {
+          ldapTemplate.search(initialDirContext, ldapConfigurator.getBaseDn(), "(((invalid", new SearchControls());
+          return false;
+        } catch (NamingException e) {
+          // Swallowed, like the callbacks of the user and group managers do
+          return true;
+        }
+      }
+    });
+
+    assertTrue(failed);
+    assertEquals(discardedCount + 1, connectionPool.getDiscardedCount());
+    assertEquals(0, connectionPool.getActiveCount());
+
+    // The next query gets a working connection
+    assertEquals("kermit", identityService.createUserQuery().userId("kermit").singleResult().getId());
+  }
+
+  public void testPagedSearches() {
+    // The page size is 1, so these searches need several pages
+    assertEquals(Arrays.asList("admin", "user"), getGroupIds(identityService.createGroupQuery().groupMember("kermit").list()));
+    assertEquals(Arrays.asList("sales", "user"), getGroupIds(identityService.createGroupQuery().groupMember("pepe").list()));
+
+    List<User> users = identityService.createUserQuery().userFullNameLike("o").list();
+    assertTrue(users.size() > 1);
+    assertEquals(0, connectionPool.getActiveCount());
+  }
+
+  public void testGroupsRefreshedAhead() throws Exception {
+    ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    ldapGroupCache.setRefreshExecutor(refreshExecutor);
+
+    long hitCount = ldapGroupCache.getHitCount();
+    long missCount = ldapGroupCache.getMissCount();
+
+    Date now = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(now);
+    assertEquals(2, identityService.createGroupQuery().groupMember("kermit").count());
+    assertEquals(missCount + 1, ldapGroupCache.getMissCount());
+
+    // Within the refresh-ahead time (10 mins) of the expiration (30 mins): a cache hit that reloads the groups in the background
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (25 * 60 * 1000)));
+    assertEquals(2, identityService.createGroupQuery().groupMember("kermit").count());
+    assertEquals(hitCount + 1, ldapGroupCache.getHitCount());
+
+    refreshExecutor.shutdown();
+    assertTrue(refreshExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+    // Without the refresh the entry would have expired by now
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (45 * 60 * 1000)));
+    assertEquals(2, identityService.createGroupQuery().groupMember("kermit").count());
+    assertEquals(hitCount + 2, ldapGroupCache.getHitCount());
+    assertEquals(missCount + 1, ldapGroupCache.getMissCount());
+
+    ldapGroupCache.setRefreshExecutor(null);
+  }
+
+  protected List<String> getGroupIds(List<Group> groups) {
+    List<String> groupIds = new ArrayList<String>();
+    for (Group group : groups) {
+      groupIds.add(group.getId());
+    }
+    Collections.sort(groupIds);
+    return groupIds;
+  }
+
+}
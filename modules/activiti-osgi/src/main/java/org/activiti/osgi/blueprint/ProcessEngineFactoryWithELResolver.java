@@ -13,6 +13,7 @@ import javax.el.MapELResolver;
 import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.el.LazyJsonELResolver;
 import org.activiti.engine.impl.el.VariableScopeElResolver;
 import org.activiti.engine.impl.scripting.BeansResolverFactory;
 import org.activiti.engine.impl.scripting.ResolverFactory;
@@ -54,6 +55,7 @@ public class ProcessEngineFactoryWithELResolver extends ProcessEngineFactory {
       compositeElResolver.add(new ArrayELResolver());
       compositeElResolver.add(new ListELResolver());
       compositeElResolver.add(new MapELResolver());
+      compositeElResolver.add(new LazyJsonELResolver());
       return compositeElResolver;
     }
   }
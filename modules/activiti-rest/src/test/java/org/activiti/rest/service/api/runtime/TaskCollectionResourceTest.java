@@ -13,7 +13,9 @@
 
 package org.activiti.rest.service.api.runtime;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 
 import org.activiti.engine.impl.cmd.ChangeDeploymentTenantIdCmd;
@@ -27,6 +29,7 @@ import org.activiti.rest.service.BaseSpringRestTestCase;
 import org.activiti.rest.service.api.RestUrls;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.StringEntity;
 
@@ -338,4 +341,58 @@ public class TaskCollectionResourceTest extends BaseSpringRestTestCase {
       }
     }
   }
+
+  /**
+   * Test paging through a collection of tasks with continuation tokens. GET runtime/tasks?paging=keyset
+   */
+  public void testGetTasksWithKeysetPaging() throws Exception {
+    try {
+      List<String> taskIds = new ArrayList<String>();
+      for (int i = 0; i < 5; i++) {
+        Task task = taskService.newTask();
+        task.setName("Task " + i);
+        taskService.saveTask(task);
+        taskIds.add(task.getId());
+      }
+      Collections.sort(taskIds);
+
+      List<String> pagedTaskIds = new ArrayList<String>();
+      String url = RestUrls.createRelativeResourceUrl(RestUrls.URL_TASK_COLLECTION) + "?paging=keyset&size=2";
+      String continuationToken = null;
+      int pageCount = 0;
+      do {
+        String pageUrl = continuationToken != null ? url + "&after=" + encode(continuationToken) : url;
+        CloseableHttpResponse response = executeRequest(new HttpGet(SERVER_URL_PREFIX + pageUrl), HttpStatus.SC_OK);
+        JsonNode rootNode = objectMapper.readTree(response.getEntity().getContent());
+        closeResponse(response);
+
+        assertEquals(-1L, rootNode.get("total").asLong());
+        for (JsonNode taskNode : rootNode.get("data")) {
+          pagedTaskIds.add(taskNode.get("id").asText());
+        }
+        continuationToken = rootNode.hasNonNull("continuationToken") ? rootNode.get("continuationToken").asText() : null;
+        pageCount++;
+      } while (continuationToken != null);
+
+      assertEquals(3, pageCount);
+      assertEquals(taskIds, pagedTaskIds);
+
+      // The total can still be requested
+      CloseableHttpResponse response = executeRequest(new HttpGet(SERVER_URL_PREFIX + url + "&includeTotal=true"), HttpStatus.SC_OK);
+      JsonNode rootNode = objectMapper.readTree(response.getEntity().getContent());
+      closeResponse(response);
+      assertEquals(5L, rootNode.get("total").asLong());
+      assertTrue(rootNode.hasNonNull("continuationToken"));
+
+      // A token can't be used with another sort
+      String token = rootNode.get("continuationToken").asText();
+      closeResponse(executeRequest(new HttpGet(SERVER_URL_PREFIX + url + "&sort=createTime&after=" + encode(token)), HttpStatus.SC_BAD_REQUEST));
+      closeResponse(executeRequest(new HttpGet(SERVER_URL_PREFIX + url + "&after=invalid"), HttpStatus.SC_BAD_REQUEST));
+
+    } finally {
+      for (Task task : taskService.createTaskQuery().list()) {
+        taskService.deleteTask(task.getId(), true);
+      }
+    }
+  }
 }
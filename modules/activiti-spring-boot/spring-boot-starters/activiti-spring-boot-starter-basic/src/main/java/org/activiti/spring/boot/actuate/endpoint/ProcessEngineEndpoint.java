@@ -14,6 +14,7 @@ package org.activiti.spring.boot.actuate.endpoint;
 
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
@@ -86,6 +87,13 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
         DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getProcessDefinitionCache();
         if (deploymentCache instanceof DefaultDeploymentCache) {
             metrics.put("cachedProcessDefinitionCount", ((DefaultDeploymentCache) deploymentCache).size());
+        } else if (deploymentCache instanceof ConcurrentDeploymentCache) {
+            ConcurrentDeploymentCache concurrentDeploymentCache = (ConcurrentDeploymentCache) deploymentCache;
+            metrics.put("cachedProcessDefinitionCount", concurrentDeploymentCache.size());
+            metrics.put("processDefinitionCacheWeight", concurrentDeploymentCache.getWeight());
+            metrics.put("processDefinitionCacheHitRate", concurrentDeploymentCache.getHitRate());
+            metrics.put("processDefinitionCacheEvictionCount", concurrentDeploymentCache.getEvictionCount());
+            metrics.put("processDefinitionCacheAverageLoadTime", concurrentDeploymentCache.getAverageLoadTime());
         }
         return metrics;
     }
@@ -16,17 +16,15 @@ package org.activiti.spring;
 import java.util.Map;
 
 import javax.el.ArrayELResolver;
-import javax.el.BeanELResolver;
 import javax.el.CompositeELResolver;
 import javax.el.ELResolver;
 import javax.el.ListELResolver;
 import javax.el.MapELResolver;
 
-import org.activiti.engine.delegate.VariableScope;
 import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.el.JsonNodeELResolver;
+import org.activiti.engine.impl.el.LazyJsonELResolver;
 import org.activiti.engine.impl.el.ReadOnlyMapELResolver;
-import org.activiti.engine.impl.el.VariableScopeElResolver;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -50,9 +48,9 @@ public class SpringExpressionManager extends ExpressionManager {
   }
 
   @Override
-  protected ELResolver createElResolver(VariableScope variableScope) {
+  protected ELResolver createElResolverChain(ELResolver variableScopeElResolver) {
     CompositeELResolver compositeElResolver = new CompositeELResolver();
-    compositeElResolver.add(new VariableScopeElResolver(variableScope));
+    compositeElResolver.add(variableScopeElResolver);
 
     if (beans != null) {
       // Only expose limited set of beans in expressions
@@ -65,8 +63,9 @@ public class SpringExpressionManager extends ExpressionManager {
     compositeElResolver.add(new ArrayELResolver());
     compositeElResolver.add(new ListELResolver());
     compositeElResolver.add(new MapELResolver());
+    compositeElResolver.add(new LazyJsonELResolver());
     compositeElResolver.add(new JsonNodeELResolver());
-    compositeElResolver.add(new BeanELResolver());
+    compositeElResolver.add(beanElResolver);
     return compositeElResolver;
   }
 
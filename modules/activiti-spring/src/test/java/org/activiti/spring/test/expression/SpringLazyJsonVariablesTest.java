@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.test.expression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+import org.activiti.spring.SpringExpressionManager;
+import org.activiti.spring.impl.test.SpringActivitiTestCase;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Test resolving JSON variables lazily with the resolver chain of the {@link SpringExpressionManager}.
+ */
+@ContextConfiguration("classpath:org/activiti/spring/test/expression/lazyJsonVariables-context.xml")
+public class SpringLazyJsonVariablesTest extends SpringActivitiTestCase {
+
+  protected ObjectMapper objectMapper = new ObjectMapper();
+
+  @Deployment
+  public void testPropertyAccess() {
+    assertTrue(processEngineConfiguration.getExpressionManager() instanceof SpringExpressionManager);
+
+    ObjectNode order = createOrder();
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("order", order);
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("springLazyJsonVariables", variables);
+
+    assertEquals("gold", runtimeService.getVariable(processInstance.getId(), "tier"));
+    assertEquals(order.get("customer"), runtimeService.getVariable(processInstance.getId(), "customer"));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("goldTask", task.getTaskDefinitionKey());
+
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+        ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+
+        assertEquals("Kermit", expressionManager.createExpression("${order.customer.name}").getValue(execution));
+        assertNull(expressionManager.createExpression("${order.customer.unknown}").getValue(execution));
+        assertTrue(expressionManager.createExpression("${order.customer}").getValue(execution) instanceof JsonNode);
+        return null;
+      }
+    });
+
+    taskService.complete(task.getId());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().processInstanceId(processInstance.getId()).count());
+  }
+
+  protected ObjectNode createOrder() {
+    ObjectNode order = objectMapper.createObjectNode();
+    order.put("vip", true);
+    ObjectNode customer = order.putObject("customer");
+    customer.put("name", "Kermit");
+    customer.put("tier", "gold");
+    return order;
+  }
+
+}